@@ -1,13 +1,21 @@
 package fr.fresnel.fourPolar.algorithm.fourPolar;
 
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
 import fr.fresnel.fourPolar.algorithm.exceptions.fourPolar.IteratorMissMatch;
 import fr.fresnel.fourPolar.algorithm.exceptions.fourPolar.converters.ImpossibleOrientationVector;
 import fr.fresnel.fourPolar.algorithm.fourPolar.converters.IIntensityToOrientationConverter;
 import fr.fresnel.fourPolar.core.fourPolar.IIntensityVectorIterator;
 import fr.fresnel.fourPolar.core.fourPolar.IOrientationVectorIterator;
+import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.pixel.Pixel;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.physics.dipole.IOrientationVector;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationVector;
 import fr.fresnel.fourPolar.core.physics.polarization.IntensityVector;
+import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
 
 /**
  * An implementation of the 4Polar algorithm, which can be used to convert an
@@ -16,8 +24,19 @@ import fr.fresnel.fourPolar.core.physics.polarization.IntensityVector;
  * Note that essentialy this implementation can be used to convert all
  * intensities associated with one channel.
  * 
+ * Intensities are buffered and converted in batches using
+ * {@link IIntensityToOrientationConverter#convert(double[], double[], double[], double[], float[], float[], float[])},
+ * so that no exception is thrown for impossible orientations.
+ * 
+ * Optionally, the sum of intensities (SoI) of each vector is written to an SoI
+ * cursor in the same pass, so that the intensities are iterated only once.
  */
 public class FourPolarMapper {
+    /**
+     * Number of intensity vectors that are converted together.
+     */
+    private static final int _BATCH_SIZE = 4096;
+
     final private IIntensityToOrientationConverter _converter;
 
     /**
@@ -37,24 +56,7 @@ public class FourPolarMapper {
      */
     public void map(IIntensityVectorIterator intensityIterator, IOrientationVectorIterator orientationIterator)
             throws IteratorMissMatch {
-        if (orientationIterator.size() != intensityIterator.size()) {
-            throw new IteratorMissMatch("Orientation and intensity iterators don't have same size. Hence,"
-                    + " orientation image does not correspond to polarization image.");
-        }
-
-        IOrientationVector orientationVector = new OrientationVector(0, 0, 0);
-        while (intensityIterator.hasNext()) {
-            IntensityVector intensity = intensityIterator.next();
-
-            try {
-                _converter.convert(intensity, orientationVector);
-            } catch (ImpossibleOrientationVector e) {
-                orientationVector.setAngles(Double.NaN, Double.NaN, Double.NaN);
-            }
-
-            orientationIterator.next();
-            orientationIterator.set(orientationVector);
-        }
+        this._map(intensityIterator, orientationIterator, Double.NEGATIVE_INFINITY, null);
     }
 
     /**
@@ -69,30 +71,140 @@ public class FourPolarMapper {
      */
     public void map(IIntensityVectorIterator intensityIterator, IOrientationVectorIterator orientationIterator,
             double soiThreshold) throws IteratorMissMatch {
+        this._map(intensityIterator, orientationIterator, soiThreshold, null);
+    }
+
+    /**
+     * Same as
+     * {@link #map(IIntensityVectorIterator, IOrientationVectorIterator, double)},
+     * but also puts the sum of intensity of every vector into the SoI image via
+     * its cursor, in the same pass. The sum is clamped to {@link UINT16#MAX_VAL}.
+     * 
+     * @param intensityIterator   is the intensity set iterator.
+     * @param orientationIterator is the orientation vector set iterator.
+     * @param soiCursor           is the cursor of the SoI image.
+     * @throws IteratorMissMatch if the iterators and cursor don't have the same
+     *                           size.
+     */
+    public void map(IIntensityVectorIterator intensityIterator, IOrientationVectorIterator orientationIterator,
+            double soiThreshold, IPixelCursor<UINT16> soiCursor) throws IteratorMissMatch {
+        Objects.requireNonNull(soiCursor, "soiCursor can't be null");
+        _checkSoICursorSize(intensityIterator, soiCursor);
+
+        Pixel<UINT16> pixel = new Pixel<>(new UINT16(0));
+        this._map(intensityIterator, orientationIterator, soiThreshold, (soi) -> {
+            soiCursor.next();
+            pixel.value().set((int) Math.min(soi, UINT16.MAX_VAL));
+            soiCursor.setPixel(pixel);
+        });
+    }
+
+    /**
+     * Same as
+     * {@link #map(IIntensityVectorIterator, IOrientationVectorIterator, double, IPixelCursor)},
+     * but the sum of intensity is put without clamping, into a {@link Float32}
+     * image.
+     * 
+     * @param intensityIterator   is the intensity set iterator.
+     * @param orientationIterator is the orientation vector set iterator.
+     * @param soiCursor           is the cursor of the SoI image.
+     * @throws IteratorMissMatch if the iterators and cursor don't have the same
+     *                           size.
+     */
+    public void mapWithFloat32SoI(IIntensityVectorIterator intensityIterator,
+            IOrientationVectorIterator orientationIterator, double soiThreshold, IPixelCursor<Float32> soiCursor)
+            throws IteratorMissMatch {
+        Objects.requireNonNull(soiCursor, "soiCursor can't be null");
+        _checkSoICursorSize(intensityIterator, soiCursor);
+
+        Pixel<Float32> pixel = new Pixel<>(new Float32(0));
+        this._map(intensityIterator, orientationIterator, soiThreshold, (soi) -> {
+            soiCursor.next();
+            pixel.value().set((float) soi);
+            soiCursor.setPixel(pixel);
+        });
+    }
+
+    private static void _checkSoICursorSize(IIntensityVectorIterator intensityIterator, IPixelCursor<?> soiCursor)
+            throws IteratorMissMatch {
+        if (soiCursor.size() != intensityIterator.size()) {
+            throw new IteratorMissMatch("SoI cursor and intensity iterator don't have same size. Hence,"
+                    + " SoI image does not correspond to polarization image.");
+        }
+    }
+
+    /**
+     * @param soiWriter accepts the SoI of every vector in order, or is null if SoI
+     *                  is not written.
+     */
+    private void _map(IIntensityVectorIterator intensityIterator, IOrientationVectorIterator orientationIterator,
+            double soiThreshold, DoubleConsumer soiWriter) throws IteratorMissMatch {
         if (orientationIterator.size() != intensityIterator.size()) {
             throw new IteratorMissMatch("Orientation and intensity iterators don't have same size. Hence,"
                     + " orientation image does not correspond to polarization image.");
         }
 
+        double[] pol0 = new double[_BATCH_SIZE];
+        double[] pol45 = new double[_BATCH_SIZE];
+        double[] pol90 = new double[_BATCH_SIZE];
+        double[] pol135 = new double[_BATCH_SIZE];
+
+        float[] rho = new float[_BATCH_SIZE];
+        float[] delta = new float[_BATCH_SIZE];
+        float[] eta = new float[_BATCH_SIZE];
+        double[] soi = new double[_BATCH_SIZE];
+
         IOrientationVector orientationVector = new OrientationVector(0, 0, 0);
         while (intensityIterator.hasNext()) {
-            IntensityVector intensity = intensityIterator.next();
+            int batchLength = 0;
+            for (; batchLength < _BATCH_SIZE && intensityIterator.hasNext(); batchLength++) {
+                IntensityVector intensity = intensityIterator.next();
 
-            if (intensity.getSumOfIntensity() >= soiThreshold) {
-                try {
-                    _converter.convert(intensity, orientationVector);
-                } catch (ImpossibleOrientationVector e) {
-                    orientationVector.setAngles(Double.NaN, Double.NaN, Double.NaN);
+                // Intensities below threshold are marked with a zero pol0 intensity, which
+                // is always converted to NaN angles.
+                soi[batchLength] = intensity.getSumOfIntensity();
+                if (soi[batchLength] >= soiThreshold) {
+                    pol0[batchLength] = intensity.getIntensity(Polarization.pol0);
+                } else {
+                    pol0[batchLength] = 0;
                 }
+                pol45[batchLength] = intensity.getIntensity(Polarization.pol45);
+                pol90[batchLength] = intensity.getIntensity(Polarization.pol90);
+                pol135[batchLength] = intensity.getIntensity(Polarization.pol135);
+            }
 
-            } else {
-                orientationVector.setAngles(Double.NaN, Double.NaN, Double.NaN);
+            if (batchLength < _BATCH_SIZE) {
+                this._fillTail(batchLength, pol0, pol45, pol90, pol135);
             }
+            this._converter.convert(pol0, pol45, pol90, pol135, rho, delta, eta);
 
-            orientationIterator.next();
-            orientationIterator.set(orientationVector);
+            for (int i = 0; i < batchLength; i++) {
+                orientationVector.setAngles(rho[i], delta[i], eta[i]);
 
+                orientationIterator.next();
+                orientationIterator.set(orientationVector);
+            }
+
+            if (soiWriter != null) {
+                for (int i = 0; i < batchLength; i++) {
+                    soiWriter.accept(soi[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Zeroes the unused tail of the last (partial) batch, so that it's quickly
+     * converted to NaN without touching the stale intensities of the previous
+     * batch.
+     */
+    private void _fillTail(int batchLength, double[] pol0, double[] pol45, double[] pol90, double[] pol135) {
+        for (int i = batchLength; i < _BATCH_SIZE; i++) {
+            pol0[i] = 0;
+            pol45[i] = 0;
+            pol90[i] = 0;
+            pol135[i] = 0;
         }
     }
 
-}
\ No newline at end of file
+}
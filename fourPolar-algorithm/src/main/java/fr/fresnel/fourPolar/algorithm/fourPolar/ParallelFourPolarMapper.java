@@ -0,0 +1,439 @@
+package fr.fresnel.fourPolar.algorithm.fourPolar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import fr.fresnel.fourPolar.algorithm.exceptions.fourPolar.IteratorMissMatch;
+import fr.fresnel.fourPolar.algorithm.fourPolar.converters.IIntensityToOrientationConverter;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.pixel.Pixel;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
+import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
+import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIForegroundMask;
+import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
+import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+
+/**
+ * A parallel counterpart of {@link FourPolarMapper}, which maps the
+ * polarization image set of one channel to its orientation image.
+ * <p>
+ * The images are split into tiles, where each tile is a set of consecutive rows
+ * of one xy plane. Tiles are then dispatched to the given executor, and each
+ * tile is mapped with its own cursors over the polarization and angle images.
+ * Because every pixel belongs to exactly one tile and is converted with the
+ * same converter, the resulting orientation image is identical to that of
+ * {@link FourPolarMapper}, regardless of the number of threads.
+ * <p>
+ * Optionally, the sum of intensities (SoI) of each tile is written to an SoI
+ * image in the same pass, so that the polarization images are read only once.
+ * Alternatively, given an {@link SoIForegroundMask}, only the foreground pixels
+ * are mapped, plane by plane.
+ */
+public class ParallelFourPolarMapper {
+    /**
+     * Approximate number of pixels in each tile.
+     */
+    private static final int _TILE_SIZE = 1 << 16;
+
+    final private IIntensityToOrientationConverter _converter;
+    final private ExecutorService _executor;
+
+    /**
+     * Maps using the {@link ForkJoinPool#commonPool()}.
+     *
+     * @param converter is the intensity converter for one channel.
+     */
+    public ParallelFourPolarMapper(IIntensityToOrientationConverter converter) {
+        this(converter, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param converter is the intensity converter for one channel. Note that the
+     *                  converter is shared between all threads.
+     * @param executor  is the executor to which tiles are dispatched. The caller
+     *                  is responsible for shutting it down.
+     */
+    public ParallelFourPolarMapper(IIntensityToOrientationConverter converter, ExecutorService executor) {
+        Objects.requireNonNull(converter, "converter can't be null");
+        Objects.requireNonNull(executor, "executor can't be null");
+
+        this._converter = converter;
+        this._executor = executor;
+    }
+
+    /**
+     * Maps the intensity of the polarization image set to the orientation image.
+     *
+     * @param polarizationImageSet is the polarization image set.
+     * @param orientationImage     is the orientation image of the set.
+     * @throws IteratorMissMatch if orientation image and polarization image don't
+     *                           have the same dimension.
+     */
+    public void map(IPolarizationImageSet polarizationImageSet, IOrientationImage orientationImage)
+            throws IteratorMissMatch {
+        this._map(polarizationImageSet, orientationImage, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Maps the intensity of the polarization image set to the orientation image if
+     * the sum of intensity is greater than the threshold. Puts NaN for all
+     * orientation angles if the position does not exceed threshold.
+     *
+     * @param polarizationImageSet is the polarization image set.
+     * @param orientationImage     is the orientation image of the set.
+     * @param soiThreshold         is the threshold on sum of intensities.
+     * @throws IteratorMissMatch if orientation image and polarization image don't
+     *                           have the same dimension.
+     */
+    public void map(IPolarizationImageSet polarizationImageSet, IOrientationImage orientationImage,
+            double soiThreshold) throws IteratorMissMatch {
+        this._map(polarizationImageSet, orientationImage, soiThreshold, null, null);
+    }
+
+    /**
+     * Same as {@link #map(IPolarizationImageSet, IOrientationImage, double)}, but
+     * also writes the sum of intensities of every pixel to the SoI image, in the
+     * same pass. The sum is clamped to {@link UINT16#MAX_VAL}.
+     *
+     * @param polarizationImageSet is the polarization image set.
+     * @param orientationImage     is the orientation image of the set.
+     * @param soiImage             is the SoI image of the set.
+     * @param soiThreshold         is the threshold on sum of intensities.
+     * @throws IteratorMissMatch if orientation, SoI and polarization images don't
+     *                           have the same dimension.
+     */
+    public void map(IPolarizationImageSet polarizationImageSet, IOrientationImage orientationImage,
+            ISoIImage soiImage, double soiThreshold) throws IteratorMissMatch {
+        Objects.requireNonNull(soiImage, "soiImage can't be null");
+
+        Image<UINT16> image = soiImage.getImage();
+        this._map(polarizationImageSet, orientationImage, soiThreshold, image,
+                (bottomCorner, len, soi) -> _writeUINT16SoI(image, bottomCorner, len, soi));
+    }
+
+    /**
+     * Same as {@link #map(IPolarizationImageSet, IOrientationImage, ISoIImage, double)},
+     * but the sum of intensities is written without clamping, as a {@link Float32}
+     * image.
+     *
+     * @param polarizationImageSet is the polarization image set.
+     * @param orientationImage     is the orientation image of the set.
+     * @param soiImage             is the SoI image of the set.
+     * @param soiThreshold         is the threshold on sum of intensities.
+     * @throws IteratorMissMatch if orientation, SoI and polarization images don't
+     *                           have the same dimension.
+     */
+    public void mapWithFloat32SoI(IPolarizationImageSet polarizationImageSet, IOrientationImage orientationImage,
+            Image<Float32> soiImage, double soiThreshold) throws IteratorMissMatch {
+        Objects.requireNonNull(soiImage, "soiImage can't be null");
+
+        this._map(polarizationImageSet, orientationImage, soiThreshold, soiImage,
+                (bottomCorner, len, soi) -> _writeFloat32SoI(soiImage, bottomCorner, len, soi));
+    }
+
+    /**
+     * Maps only the foreground pixels of the given mask, where each plane is
+     * dispatched as one task. The polarization planes are read, the foreground
+     * intensities are gathered and converted, and the angles are scattered into
+     * new angle planes, which are set with one {@link Image#setPlane(long, float[])}
+     * per plane. The background pixels are set to NaN, as the pixels below the SoI
+     * threshold in {@link #map(IPolarizationImageSet, IOrientationImage, double)}.
+     *
+     * @param polarizationImageSet is the polarization image set.
+     * @param orientationImage     is the orientation image of the set.
+     * @param foreground           is the foreground mask, created from the SoI
+     *                             image of the set.
+     * @throws IteratorMissMatch if orientation image, foreground mask and
+     *                           polarization image don't have the same dimension.
+     */
+    public void map(IPolarizationImageSet polarizationImageSet, IOrientationImage orientationImage,
+            SoIForegroundMask foreground) throws IteratorMissMatch {
+        Objects.requireNonNull(polarizationImageSet, "polarizationImageSet can't be null");
+        Objects.requireNonNull(orientationImage, "orientationImage can't be null");
+        Objects.requireNonNull(foreground, "foreground can't be null");
+
+        IMetadata polMetadata = polarizationImageSet.getPolarizationImage(Polarization.pol0).getImage()
+                .getMetadata();
+        IMetadata angleMetadata = orientationImage.getAngleImage(OrientationAngle.rho).getImage().getMetadata();
+        if (!MetadataUtil.isDimensionEqual(polMetadata, angleMetadata)
+                || !MetadataUtil.isDimensionEqual(polMetadata, foreground.getMetadata())) {
+            throw new IteratorMissMatch("Orientation, foreground and polarization images don't have same"
+                    + " dimension. Hence, orientation image does not correspond to polarization image.");
+        }
+
+        List<Future<?>> planes = new ArrayList<>();
+        for (long planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(polMetadata); planeIndex++) {
+            int[] runs = foreground.getRuns(planeIndex);
+            long plane = planeIndex;
+            planes.add(this._executor
+                    .submit(() -> this._mapForeground(polarizationImageSet, orientationImage, plane, runs)));
+        }
+
+        this._waitForTiles(planes);
+    }
+
+    /**
+     * @param soiImage  is the SoI image, or null if SoI is not written.
+     * @param soiWriter writes the SoI of each tile, or null if SoI is not written.
+     */
+    private void _map(IPolarizationImageSet polarizationImageSet, IOrientationImage orientationImage,
+            double soiThreshold, Image<?> soiImage, SoITileWriter soiWriter) throws IteratorMissMatch {
+        Objects.requireNonNull(polarizationImageSet, "polarizationImageSet can't be null");
+        Objects.requireNonNull(orientationImage, "orientationImage can't be null");
+
+        IMetadata polMetadata = polarizationImageSet.getPolarizationImage(Polarization.pol0).getImage()
+                .getMetadata();
+        IMetadata angleMetadata = orientationImage.getAngleImage(OrientationAngle.rho).getImage().getMetadata();
+        if (!MetadataUtil.isDimensionEqual(polMetadata, angleMetadata)) {
+            throw new IteratorMissMatch("Orientation and polarization images don't have same dimension. Hence,"
+                    + " orientation image does not correspond to polarization image.");
+        }
+
+        if (soiImage != null && !MetadataUtil.isDimensionEqual(polMetadata, soiImage.getMetadata())) {
+            throw new IteratorMissMatch("SoI and polarization images don't have same dimension. Hence,"
+                    + " SoI image does not correspond to polarization image.");
+        }
+
+        List<Future<?>> tiles = new ArrayList<>();
+        for (long[][] tile : _createTiles(polMetadata)) {
+            tiles.add(this._executor.submit(() -> this._mapTile(polarizationImageSet, orientationImage, tile[0],
+                    tile[1], soiThreshold, soiWriter)));
+        }
+
+        this._waitForTiles(tiles);
+    }
+
+    /**
+     * Splits each plane of the image into tiles of consecutive rows.
+     *
+     * @return tiles, where each tile is given as [bottomCorner, len].
+     */
+    private static List<long[][]> _createTiles(IMetadata metadata) {
+        long[] planeDim = MetadataUtil.getPlaneDim(metadata);
+        long rowsPerTile = Math.max(1, _TILE_SIZE / planeDim[0]);
+
+        List<long[][]> tiles = new ArrayList<>();
+        for (int planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(metadata); planeIndex++) {
+            long[] planeStart = MetadataUtil.getPlaneCoordinates(metadata, planeIndex)[0];
+
+            for (long row = 0; row < planeDim[1]; row += rowsPerTile) {
+                long[] bottomCorner = planeStart.clone();
+                bottomCorner[1] = row;
+
+                long[] len = new long[planeStart.length];
+                Arrays.fill(len, 1);
+                len[0] = planeDim[0];
+                len[1] = Math.min(rowsPerTile, planeDim[1] - row);
+
+                tiles.add(new long[][] { bottomCorner, len });
+            }
+        }
+
+        return tiles;
+    }
+
+    /**
+     * Maps one tile of the image, using its own cursors.
+     */
+    private void _mapTile(IPolarizationImageSet polarizationImageSet, IOrientationImage orientationImage,
+            long[] bottomCorner, long[] len, double soiThreshold, SoITileWriter soiWriter) {
+        int tileSize = (int) (len[0] * len[1]);
+
+        double[] pol0 = new double[tileSize];
+        double[] pol45 = new double[tileSize];
+        double[] pol90 = new double[tileSize];
+        double[] pol135 = new double[tileSize];
+
+        _readIntensity(polarizationImageSet, Polarization.pol0, bottomCorner, len, pol0);
+        _readIntensity(polarizationImageSet, Polarization.pol45, bottomCorner, len, pol45);
+        _readIntensity(polarizationImageSet, Polarization.pol90, bottomCorner, len, pol90);
+        _readIntensity(polarizationImageSet, Polarization.pol135, bottomCorner, len, pol135);
+
+        // Intensities below threshold are marked with a zero pol0 intensity, which
+        // is always converted to NaN angles.
+        double[] soi = new double[tileSize];
+        for (int i = 0; i < tileSize; i++) {
+            soi[i] = pol0[i] + pol45[i] + pol90[i] + pol135[i];
+            if (!(soi[i] >= soiThreshold)) {
+                pol0[i] = 0;
+            }
+        }
+
+        float[] rho = new float[tileSize];
+        float[] delta = new float[tileSize];
+        float[] eta = new float[tileSize];
+        this._converter.convert(pol0, pol45, pol90, pol135, rho, delta, eta);
+
+        _writeAngle(orientationImage, OrientationAngle.rho, bottomCorner, len, rho);
+        _writeAngle(orientationImage, OrientationAngle.delta, bottomCorner, len, delta);
+        _writeAngle(orientationImage, OrientationAngle.eta, bottomCorner, len, eta);
+
+        if (soiWriter != null) {
+            soiWriter.write(bottomCorner, len, soi);
+        }
+    }
+
+    /**
+     * Maps the foreground runs of one plane.
+     */
+    private void _mapForeground(IPolarizationImageSet polarizationImageSet, IOrientationImage orientationImage,
+            long planeIndex, int[] runs) {
+        int foregroundSize = 0;
+        for (int run = 0; run < runs.length; run += 2) {
+            foregroundSize += runs[run + 1] - runs[run];
+        }
+
+        if (foregroundSize == 0) {
+            for (OrientationAngle angle : OrientationAngle.values()) {
+                _scatterForeground(orientationImage, angle, planeIndex, runs, new float[0]);
+            }
+            return;
+        }
+
+        double[][] intensities = new double[Polarization.values().length][];
+        for (Polarization pol : Polarization.values()) {
+            short[] polPlane = polarizationImageSet.getPolarizationImage(pol).getImage().getShortPlane(planeIndex);
+            intensities[pol.ordinal()] = _gatherForeground(polPlane, runs, foregroundSize);
+        }
+
+        float[] rho = new float[foregroundSize];
+        float[] delta = new float[foregroundSize];
+        float[] eta = new float[foregroundSize];
+        this._converter.convert(intensities[Polarization.pol0.ordinal()],
+                intensities[Polarization.pol45.ordinal()], intensities[Polarization.pol90.ordinal()],
+                intensities[Polarization.pol135.ordinal()], rho, delta, eta);
+
+        _scatterForeground(orientationImage, OrientationAngle.rho, planeIndex, runs, rho);
+        _scatterForeground(orientationImage, OrientationAngle.delta, planeIndex, runs, delta);
+        _scatterForeground(orientationImage, OrientationAngle.eta, planeIndex, runs, eta);
+    }
+
+    private static double[] _gatherForeground(short[] plane, int[] runs, int foregroundSize) {
+        double[] foreground = new double[foregroundSize];
+
+        int i = 0;
+        for (int run = 0; run < runs.length; run += 2) {
+            for (int index = runs[run]; index < runs[run + 1]; index++) {
+                foreground[i++] = plane[index] & 0xffff;
+            }
+        }
+        return foreground;
+    }
+
+    /**
+     * Sets the angle plane to the foreground angles, and NaN elsewhere.
+     */
+    private static void _scatterForeground(IOrientationImage orientationImage, OrientationAngle angle,
+            long planeIndex, int[] runs, float[] foreground) {
+        Image<Float32> image = orientationImage.getAngleImage(angle).getImage();
+        float[] plane = new float[(int) MetadataUtil.getPlaneSize(image.getMetadata())];
+        Arrays.fill(plane, Float.NaN);
+
+        int i = 0;
+        for (int run = 0; run < runs.length; run += 2) {
+            System.arraycopy(foreground, i, plane, runs[run], runs[run + 1] - runs[run]);
+            i += runs[run + 1] - runs[run];
+        }
+        image.setPlane(planeIndex, plane);
+    }
+
+    private static void _readIntensity(IPolarizationImageSet polarizationImageSet, Polarization pol,
+            long[] bottomCorner, long[] len, double[] intensity) {
+        Image<UINT16> image = polarizationImageSet.getPolarizationImage(pol).getImage();
+
+        int i = 0;
+        for (IPixelCursor<UINT16> cursor = image.getCursor(bottomCorner, len); cursor.hasNext();) {
+            intensity[i++] = cursor.next().value().get();
+        }
+    }
+
+    private static void _writeAngle(IOrientationImage orientationImage, OrientationAngle angle,
+            long[] bottomCorner, long[] len, float[] values) {
+        Image<Float32> image = orientationImage.getAngleImage(angle).getImage();
+        Pixel<Float32> pixel = new Pixel<>(new Float32(0));
+
+        int i = 0;
+        for (IPixelCursor<Float32> cursor = image.getCursor(bottomCorner, len); cursor.hasNext();) {
+            cursor.next();
+            pixel.value().set(values[i++]);
+            cursor.setPixel(pixel);
+        }
+    }
+
+    /**
+     * The sum of UINT16 intensities is an integer, hence only clamping is needed.
+     */
+    private static void _writeUINT16SoI(Image<UINT16> image, long[] bottomCorner, long[] len, double[] soi) {
+        Pixel<UINT16> pixel = new Pixel<>(new UINT16(0));
+
+        int i = 0;
+        for (IPixelCursor<UINT16> cursor = image.getCursor(bottomCorner, len); cursor.hasNext();) {
+            cursor.next();
+            pixel.value().set((int) Math.min(soi[i++], UINT16.MAX_VAL));
+            cursor.setPixel(pixel);
+        }
+    }
+
+    private static void _writeFloat32SoI(Image<Float32> image, long[] bottomCorner, long[] len, double[] soi) {
+        Pixel<Float32> pixel = new Pixel<>(new Float32(0));
+
+        int i = 0;
+        for (IPixelCursor<Float32> cursor = image.getCursor(bottomCorner, len); cursor.hasNext();) {
+            cursor.next();
+            pixel.value().set((float) soi[i++]);
+            cursor.setPixel(pixel);
+        }
+    }
+
+    /**
+     * Waits for all tiles to finish. If a tile fails, the remaining tiles are
+     * cancelled and the cause is rethrown.
+     */
+    private void _waitForTiles(List<Future<?>> tiles) {
+        try {
+            for (Future<?> tile : tiles) {
+                tile.get();
+            }
+        } catch (ExecutionException e) {
+            _cancel(tiles);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            _cancel(tiles);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Orientation mapping was interrupted.");
+        }
+    }
+
+    private static void _cancel(List<Future<?>> tiles) {
+        for (Future<?> tile : tiles) {
+            tile.cancel(true);
+        }
+    }
+
+    /**
+     * Writes the sum of intensities of one tile to the SoI image.
+     */
+    private interface SoITileWriter {
+        public void write(long[] bottomCorner, long[] len, double[] soi);
+    }
+
+}
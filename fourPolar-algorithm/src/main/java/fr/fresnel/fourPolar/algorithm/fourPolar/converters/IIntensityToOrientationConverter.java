@@ -17,4 +17,41 @@ public interface IIntensityToOrientationConverter {
      * @return
      */
     public void convert(IntensityVector intensity, IOrientationVector orientationVector) throws ImpossibleOrientationVector;
+
+    /**
+     * Same as {@link #convert(IntensityVector, IOrientationVector)}, except that
+     * the angles are computed in the given buffer. Hence, a caller that converts
+     * many vectors one by one can allocate the buffer once, as is done with the
+     * angle arrays of the batch conversion.
+     * 
+     * @param intensity         is the polarization intensity vector.
+     * @param orientationVector is the vector to put the angles in.
+     * @param angles            is the buffer of the angles, with at least three
+     *                          elements. Its content is overwritten.
+     * 
+     * @throws ImpossibleOrientationVector if no orientation exists for the
+     *                                     intensity vector.
+     */
+    public void convert(IntensityVector intensity, IOrientationVector orientationVector, double[] angles)
+            throws ImpossibleOrientationVector;
+
+    /**
+     * Convert a batch of polarization intensities to their orientation angles.
+     * The i-th element of each intensity array forms one intensity vector, whose
+     * angles are put in the i-th element of the angle arrays. Unlike
+     * {@link #convert(IntensityVector, IOrientationVector)}, no exception is
+     * thrown for impossible orientations. Instead, all three angles are set to NaN.
+     * 
+     * @param pol0    is the intensity of polarization 0.
+     * @param pol45   is the intensity of polarization 45.
+     * @param pol90   is the intensity of polarization 90.
+     * @param pol135  is the intensity of polarization 135.
+     * @param rho     is the array to put rho angle (in radian) in.
+     * @param delta   is the array to put delta angle (in radian) in.
+     * @param eta     is the array to put eta angle (in radian) in.
+     * 
+     * @throws IllegalArgumentException if arrays don't have the same length.
+     */
+    public void convert(double[] pol0, double[] pol45, double[] pol90, double[] pol135, float[] rho, float[] delta,
+            float[] eta);
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package fr.fresnel.fourPolar.algorithm.fourPolar.converters;
 
+import java.util.Objects;
+
 import fr.fresnel.fourPolar.algorithm.exceptions.fourPolar.converters.ImpossibleOrientationVector;
 import fr.fresnel.fourPolar.core.physics.dipole.DipoleSquaredComponent;
 import fr.fresnel.fourPolar.core.physics.dipole.IOrientationVector;
@@ -59,6 +61,24 @@ public class IntensityToOrientationConverter implements IIntensityToOrientationC
      */
     private final static double ERR_DeltaIsPi = Math.PI / 180 * 0.05;
 
+    /**
+     * Position of each angle in the array filled by {@link #_computeAngles}.
+     */
+    private final static int _RHO = 0;
+    private final static int _DELTA = 1;
+    private final static int _ETA = 2;
+    private final static int _NUM_ANGLES = 3;
+
+    /**
+     * Status codes of {@link #_computeAngles}, which indicate whether angles exist,
+     * or otherwise which condition prevents their computation.
+     */
+    private final static int _ANGLES_EXIST = 0;
+    private final static int _ZERO_INTENSITY = 1;
+    private final static int _NON_POSITIVE_NORM = 2;
+    private final static int _DELTA_NOT_EXISTS = 3;
+    private final static int _ETA_NOT_EXISTS = 4;
+
     final private double _iProp_0_xx;
     final private double _iProp_0_yy;
     final private double _iProp_0_zz;
@@ -149,16 +169,81 @@ public class IntensityToOrientationConverter implements IIntensityToOrientationC
         return eta;
     }
 
+    /**
+     * Note that a buffer for the angles is allocated on each call. To convert many
+     * vectors, use {@link #convert(IntensityVector, IOrientationVector, double[])}
+     * instead.
+     */
     @Override
     public void convert(IntensityVector intensityVector, IOrientationVector orientationVector)
             throws ImpossibleOrientationVector {
-        // TODO : get rid of the exception and just return Nan for impossible situations
-        // Getting intensities.
-        double pol0Intensity = intensityVector.getIntensity(Polarization.pol0);
-        double pol45Intensity = intensityVector.getIntensity(Polarization.pol45);
-        double pol90Intensity = intensityVector.getIntensity(Polarization.pol90);
-        double pol135Intensity = intensityVector.getIntensity(Polarization.pol135);
+        this.convert(intensityVector, orientationVector, new double[_NUM_ANGLES]);
+    }
+
+    @Override
+    public void convert(IntensityVector intensityVector, IOrientationVector orientationVector, double[] angles)
+            throws ImpossibleOrientationVector {
+        if (angles.length < _NUM_ANGLES) {
+            throw new IllegalArgumentException("angles buffer must have at least three elements.");
+        }
+
+        int status = this._computeAngles(intensityVector.getIntensity(Polarization.pol0),
+                intensityVector.getIntensity(Polarization.pol45), intensityVector.getIntensity(Polarization.pol90),
+                intensityVector.getIntensity(Polarization.pol135), angles);
+
+        if (status != _ANGLES_EXIST) {
+            throw new ImpossibleOrientationVector(_getImpossibleOrientationMessage(status));
+        }
+
+        orientationVector.setAngles(angles[_RHO], angles[_DELTA], angles[_ETA]);
+    }
+
+    @Override
+    public void convert(double[] pol0, double[] pol45, double[] pol90, double[] pol135, float[] rho, float[] delta,
+            float[] eta) {
+        Objects.requireNonNull(pol0, "pol0 can't be null");
+        Objects.requireNonNull(pol45, "pol45 can't be null");
+        Objects.requireNonNull(pol90, "pol90 can't be null");
+        Objects.requireNonNull(pol135, "pol135 can't be null");
+        Objects.requireNonNull(rho, "rho can't be null");
+        Objects.requireNonNull(delta, "delta can't be null");
+        Objects.requireNonNull(eta, "eta can't be null");
+
+        int length = pol0.length;
+        if (pol45.length != length || pol90.length != length || pol135.length != length || rho.length != length
+                || delta.length != length || eta.length != length) {
+            throw new IllegalArgumentException("Intensity and angle arrays must have the same length.");
+        }
+
+        double[] angles = new double[_NUM_ANGLES];
+        for (int i = 0; i < length; i++) {
+            // Negative intensities are set to zero, as is done by IntensityVector.
+            int status = this._computeAngles(pol0[i] > 0 ? pol0[i] : 0, pol45[i] > 0 ? pol45[i] : 0,
+                    pol90[i] > 0 ? pol90[i] : 0, pol135[i] > 0 ? pol135[i] : 0, angles);
 
+            if (status == _ANGLES_EXIST) {
+                rho[i] = (float) angles[_RHO];
+                delta[i] = (float) angles[_DELTA];
+                eta[i] = (float) angles[_ETA];
+            } else {
+                rho[i] = Float.NaN;
+                delta[i] = Float.NaN;
+                eta[i] = Float.NaN;
+            }
+        }
+    }
+
+    /**
+     * Computes the orientation angles of the given intensities and puts them in
+     * the angles array as [rho, delta, eta]. No exception is thrown for impossible
+     * orientations. Instead, the reason is returned as a status code, and the
+     * angles array is left untouched.
+     * 
+     * @return {@link #_ANGLES_EXIST} if angles could be computed, or the code of
+     *         the condition that was violated otherwise.
+     */
+    private int _computeAngles(double pol0Intensity, double pol45Intensity, double pol90Intensity,
+            double pol135Intensity, double[] angles) {
         /**
          * If one of the intensities is zero, then the dipole amplitude lambda_3 is
          * infinite, which is mathematically impossible. Also if all intensities are
@@ -167,8 +252,7 @@ public class IntensityToOrientationConverter implements IIntensityToOrientationC
          */
         if (pol0Intensity - 0 < ERR_ZeroIntensity || pol45Intensity - 0 < ERR_ZeroIntensity
                 || pol90Intensity - 0 < ERR_ZeroIntensity || pol135Intensity - 0 < ERR_ZeroIntensity) {
-            throw new ImpossibleOrientationVector(
-                    "Can't compute the orientation vector because intensities can't be zero.");
+            return _ZERO_INTENSITY;
         }
 
         // Computing dipole squared.
@@ -182,8 +266,7 @@ public class IntensityToOrientationConverter implements IIntensityToOrientationC
                 pol135Intensity);
 
         if (dipoleSquared_XX + dipoleSquared_YY + dipoleSquared_ZZ < ERR_PositiveNormDipoleSquared) {
-            throw new ImpossibleOrientationVector(
-                    "Can't compute the orientation vector because norm of dipole squareds must be positive.");
+            return _NON_POSITIVE_NORM;
         }
 
         // Computing normalized dipole squared.
@@ -200,8 +283,13 @@ public class IntensityToOrientationConverter implements IIntensityToOrientationC
                 normalizedDipoleSquared_XYdiff, normalizedDipoleSquared_Z);
 
         // Check necessary conditions for angles to exist.
-        _checkDeltaExistsAndPositive(sumNormalizedDipoleSquared);
-        _checkEtaExists(normalizedDipoleSquared_Z, sumNormalizedDipoleSquared);
+        if (!_deltaExistsAndPositive(sumNormalizedDipoleSquared)) {
+            return _DELTA_NOT_EXISTS;
+        }
+
+        if (!_etaExists(normalizedDipoleSquared_Z, sumNormalizedDipoleSquared)) {
+            return _ETA_NOT_EXISTS;
+        }
 
         // Computing the angles
         double delta = this._getDelta(sumNormalizedDipoleSquared);
@@ -209,19 +297,49 @@ public class IntensityToOrientationConverter implements IIntensityToOrientationC
         double rho = Double.NaN;
 
         boolean deltaIsPI = Math.PI - delta < ERR_DeltaIsPi;
-        if (deltaIsPI) {
-            orientationVector.setAngles(rho, delta, eta);
-        } else {
+        if (!deltaIsPI) {
             eta = this._getEta(normalizedDipoleSquared_Z, sumNormalizedDipoleSquared);
             boolean etaIs0 = eta - 0 < ETA_DisTo0;
-            if (etaIs0) {
-                orientationVector.setAngles(rho, delta, eta);
-            } else {
+            if (!etaIs0) {
                 rho = this._getRho(normalizedDipoleSquared_XY, normalizedDipoleSquared_XYdiff);
-                orientationVector.setAngles(rho, delta, eta);
             }
         }
 
+        angles[_RHO] = rho;
+        angles[_DELTA] = delta;
+        angles[_ETA] = eta;
+
+        return _ANGLES_EXIST;
+    }
+
+    /**
+     * Returns the message of {@link ImpossibleOrientationVector} for the given
+     * status code of {@link #_computeAngles}.
+     */
+    private static String _getImpossibleOrientationMessage(int status) {
+        String message = null;
+        switch (status) {
+            case _ZERO_INTENSITY:
+                message = "Can't compute the orientation vector because intensities can't be zero.";
+                break;
+
+            case _NON_POSITIVE_NORM:
+                message = "Can't compute the orientation vector because norm of dipole squareds must be positive.";
+                break;
+
+            case _DELTA_NOT_EXISTS:
+                message = "Can't compute the orientation vector because delta can't be computed.";
+                break;
+
+            case _ETA_NOT_EXISTS:
+                message = "Can't compute the orientation vector because eta can't be computed.";
+                break;
+
+            default:
+                break;
+        }
+
+        return message;
     }
 
     private double _computeDipoleSquared_XX(double pol0Intensity, double pol45Intensity, double pol90Intensity,
@@ -264,7 +382,7 @@ public class IntensityToOrientationConverter implements IIntensityToOrientationC
     }
 
     private double _sumNormalizedDipoleSquared(double normalizedDipoleSquared_XY, double normalizedDipoleSquared_XYdiff,
-            double normalizedDipoleSquared_Z) throws ImpossibleOrientationVector {
+            double normalizedDipoleSquared_Z) {
         return normalizedDipoleSquared_Z + Math.sqrt(normalizedDipoleSquared_XYdiff * normalizedDipoleSquared_XYdiff
                 + normalizedDipoleSquared_XY * normalizedDipoleSquared_XY);
     }
@@ -272,11 +390,8 @@ public class IntensityToOrientationConverter implements IIntensityToOrientationC
     /**
      * Check that delta exists and positive is in the range 0.5 and 1.
      */
-    private void _checkDeltaExistsAndPositive(double sumNormalizedDipoleSquared) throws ImpossibleOrientationVector {
-        if (sumNormalizedDipoleSquared - 1 / 3 < ERR_DeltaExists) {
-            throw new ImpossibleOrientationVector(
-                    "Can't compute the orientation vector because delta can't be computed.");
-        }
+    private boolean _deltaExistsAndPositive(double sumNormalizedDipoleSquared) {
+        return !(sumNormalizedDipoleSquared - 1 / 3 < ERR_DeltaExists);
     }
 
     /**
@@ -284,12 +399,7 @@ public class IntensityToOrientationConverter implements IIntensityToOrientationC
      * sumNormalizedDipoleSquared and normalizedDipoleSquared_Z >= 0.5(1 -
      * sumNormalizedDipoleSquared)
      */
-    private void _checkEtaExists(double normalizedDipoleSquared_Z, double sumNormalizedDipoleSquared)
-            throws ImpossibleOrientationVector {
-        if (normalizedDipoleSquared_Z - 0.5 * (1 - sumNormalizedDipoleSquared) < ERR_EtaExists) {
-            throw new ImpossibleOrientationVector(
-                    "Can't compute the orientation vector because eta can't be computed.");
-        }
-
+    private boolean _etaExists(double normalizedDipoleSquared_Z, double sumNormalizedDipoleSquared) {
+        return !(normalizedDipoleSquared_Z - 0.5 * (1 - sumNormalizedDipoleSquared) < ERR_EtaExists);
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package fr.fresnel.fourPolar.algorithm.fourPolar.inversePropagation;
 
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.MatrixUtils;
 import org.apache.commons.math3.linear.RealMatrix;
@@ -16,8 +19,20 @@ import fr.fresnel.fourPolar.core.physics.propagation.InverseOpticalPropagation;
 /**
  * This class is used for calculating the inverse propagation factors, by
  * forming the matrix representation of optical propagation.
+ * <p>
+ * The inverse matrices are memoised for the whole process, keyed on the
+ * content of the propagation matrix. Hence, inverting the same optics again
+ * (e.g, for every file set of a batch) only forms the matrix and copies the
+ * cached inverse into a new {@link IInverseOpticalPropagation}. The cache is
+ * shared between threads.
  */
 public class MatrixBasedInverseOpticalPropagationCalculator implements IInverseOpticalPropagationCalculator {
+    /**
+     * Inverse of each propagation matrix calculated so far. Singular matrices are
+     * not cached.
+     */
+    private static final ConcurrentHashMap<MatrixKey, double[][]> _inverseCache = new ConcurrentHashMap<>();
+
     @Override
     public IInverseOpticalPropagation getInverse(IOpticalPropagation opticalPropagation)
             throws PropagationFactorNotFound, OpticalPropagationNotInvertible {
@@ -25,12 +40,32 @@ public class MatrixBasedInverseOpticalPropagationCalculator implements IInverseO
 
         double[][] propagationMatrix = _formPropagationMatrix(opticalPropagation);
 
-        double[][] inversePropMatrix = _calculateMatrixInverse(propagationMatrix);
+        double[][] inversePropMatrix = _getMatrixInverse(propagationMatrix);
 
         _setInverseFactorsFromMatrix(inversePropMatrix, iProp);
         return iProp; 
     }
 
+    /**
+     * Returns the inverse of the matrix from the cache, or calculates and caches
+     * it. The cached inverse is never modified.
+     */
+    private double[][] _getMatrixInverse(double[][] matrix) throws OpticalPropagationNotInvertible {
+        MatrixKey key = new MatrixKey(matrix);
+
+        double[][] inverse = _inverseCache.get(key);
+        if (inverse == null) {
+            inverse = _calculateMatrixInverse(matrix);
+
+            double[][] cachedInverse = _inverseCache.putIfAbsent(key, inverse);
+            if (cachedInverse != null) {
+                inverse = cachedInverse;
+            }
+        }
+
+        return inverse;
+    }
+
     /**
      * Form the propagation matrix as follows: [[XX_0, YY_0, ZZ_0, XY_0], [XX_90,
      * YY_90, ZZ_90, XY_90] [XX_45, YY_45, ZZ_45, XY_45] [XX_135, YY_135, ZZ_135,
@@ -112,4 +147,25 @@ public class MatrixBasedInverseOpticalPropagationCalculator implements IInverseO
         iProp.setInverseFactor(Polarization.pol135, DipoleSquaredComponent.XY, matrixForm[3][3]);
     }
 
-}
\ No newline at end of file
+    /**
+     * Key of the inverse cache, which compares matrices by their content.
+     */
+    private static class MatrixKey {
+        private final double[][] _matrix;
+
+        public MatrixKey(double[][] matrix) {
+            this._matrix = matrix;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof MatrixKey && Arrays.deepEquals(this._matrix, ((MatrixKey) obj)._matrix);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.deepHashCode(this._matrix);
+        }
+    }
+
+}
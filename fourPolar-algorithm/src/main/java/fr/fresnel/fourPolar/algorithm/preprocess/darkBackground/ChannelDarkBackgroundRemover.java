@@ -1,8 +1,7 @@
 package fr.fresnel.fourPolar.algorithm.preprocess.darkBackground;
 
-import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.Image;
-import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
 import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
@@ -53,10 +52,9 @@ public class ChannelDarkBackgroundRemover implements IChannelDarkBackgroundRemov
      * 
      */
     private void _removePolarizationBackground(Image<UINT16> image, int background) {
-        for (IPixelCursor<UINT16> cursor = image.getCursor(); cursor.hasNext();) {
-            final IPixel<UINT16> pixel = cursor.next();
-            pixel.value().set(pixel.value().get() - background);
-            cursor.setPixel(pixel);
+        for (IPrimitivePixelCursor cursor = image.getPrimitiveCursor(); cursor.hasNext();) {
+            cursor.next();
+            cursor.setInt(cursor.getInt() - background);
         }
     }
 }
\ No newline at end of file
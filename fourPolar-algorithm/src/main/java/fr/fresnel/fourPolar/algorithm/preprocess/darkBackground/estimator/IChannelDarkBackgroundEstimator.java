@@ -1,5 +1,6 @@
 package fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.estimator;
 
+import fr.fresnel.fourPolar.algorithm.util.image.polarization.PolarizationImageSetProfile;
 import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
 import fr.fresnel.fourPolar.core.preprocess.darkBackground.IChannelDarkBackground;
 
@@ -12,4 +13,16 @@ public interface IChannelDarkBackgroundEstimator {
      * set that channel.
      */
     public IChannelDarkBackground estimate(IPolarizationImageSet imageSet);
+
+    /**
+     * Same as {@link #estimate(IPolarizationImageSet)}, except that the statistics
+     * of the set are taken from the given profile of the set, so that the set is
+     * not traversed again.
+     * 
+     * @param imageSet        is the polarization image set of the channel.
+     * @param imageSetProfile is the profile of the set, with histograms.
+     * @throws IllegalStateException if the set was profiled without histograms.
+     */
+    public IChannelDarkBackground estimate(IPolarizationImageSet imageSet,
+            PolarizationImageSetProfile imageSetProfile);
 }
\ No newline at end of file
@@ -1,50 +1,56 @@
 package fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.estimator.percentile;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.UINT16Histogram;
+import fr.fresnel.fourPolar.algorithm.util.image.polarization.PolarizationImageSetProfile;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
-import fr.fresnel.fourPolar.core.image.polarization.PolarizationImageUtils;
 import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
 
 /**
  * Using this class, we can estimate the background of one camera using a
  * polarization image set and with the knowledge of polarizations present in
- * that camera. The background is estimates using the first plane of the
- * polarization images.
+ * that camera. The background is estimated using either the first plane or all
+ * planes of the polarization images.
+ * <p>
+ * The percentile is computed from the {@link UINT16Histogram} of the camera,
+ * which gives the same value as sorting the intensities. The histogram is
+ * either built from the images, or merged from the profile of the set.
  */
 class CameraPercentileBackgroundEstimator {
     /**
      * Estimate background for the given camera, using the polarization image set
      * and polarizations present in that camera.
+     * 
+     * @param allPlanes if true, all planes of polarization images are used,
+     *                  otherwise only the first plane.
      */
     public static double estimate(IPolarizationImageSet imageSet, Polarization[] polarizations,
-            int percentileThreshold) {
-        double[] cameraIntensities = _getCameraFirstImagePlaneAsArray(imageSet, polarizations);
-        return PercentileDarkBackgroundUtil.computePercentile(cameraIntensities, percentileThreshold);
-    }
-
-    private static double[] _getCameraFirstImagePlaneAsArray(IPolarizationImageSet imageSet,
-            Polarization[] polarizations) {
-        int polarizationsPerCamera = polarizations.length;
-        int polarizationPlaneSize = _getPolarizationImagePlaneSize(imageSet);
-        double[] cameraIntensities = new double[polarizationsPerCamera * polarizationPlaneSize];
-
-        for (int polIndex = 0; polIndex < polarizationsPerCamera; polIndex++) {
-            double[] polAsArray = _getPolarizationImageFirstPlaneAsArray(imageSet, polarizations[polIndex]);
-            System.arraycopy(polAsArray, 0, cameraIntensities, polarizationPlaneSize * polIndex, polarizationPlaneSize);
+            int percentileThreshold, boolean allPlanes) {
+        List<Image<UINT16>> cameraImages = new ArrayList<>(polarizations.length);
+        for (Polarization polarization : polarizations) {
+            cameraImages.add(imageSet.getPolarizationImage(polarization).getImage());
         }
 
-        return cameraIntensities;
+        UINT16Histogram cameraHistogram = UINT16Histogram.create(cameraImages, allPlanes);
+        return PercentileDarkBackgroundUtil.computePercentile(cameraHistogram, percentileThreshold);
     }
 
-    private static double[] _getPolarizationImageFirstPlaneAsArray(IPolarizationImageSet imageSet,
-            Polarization polarization) {
-        Image<UINT16> polImage = imageSet.getPolarizationImage(polarization).getImage();
-        return PercentileDarkBackgroundUtil.getFirstPlaneAsArray(polImage);
-    }
-
-    private static int _getPolarizationImagePlaneSize(IPolarizationImageSet imageSet) {
-        return (int) PolarizationImageUtils.getPlaneSize(imageSet);
+    /**
+     * Same as {@link #estimate(IPolarizationImageSet, Polarization[], int, boolean)},
+     * except that the histogram of the camera is merged from the plane histograms
+     * of the given profile of the polarization image set, without another pass
+     * over the images.
+     * 
+     * @throws IllegalStateException if the set was profiled without histograms.
+     */
+    public static double estimate(PolarizationImageSetProfile imageSetProfile, Polarization[] polarizations,
+            int percentileThreshold, boolean allPlanes) {
+        UINT16Histogram cameraHistogram = imageSetProfile.getHistogram(polarizations, allPlanes);
+        return PercentileDarkBackgroundUtil.computePercentile(cameraHistogram, percentileThreshold);
     }
 
-}
\ No newline at end of file
+}
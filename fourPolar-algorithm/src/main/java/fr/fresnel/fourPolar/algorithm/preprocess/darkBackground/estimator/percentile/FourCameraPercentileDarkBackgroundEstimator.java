@@ -1,6 +1,9 @@
 package fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.estimator.percentile;
 
+import java.util.function.ToDoubleFunction;
+
 import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.estimator.IChannelDarkBackgroundEstimator;
+import fr.fresnel.fourPolar.algorithm.util.image.polarization.PolarizationImageSetProfile;
 import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
 import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
 import fr.fresnel.fourPolar.core.preprocess.darkBackground.IChannelDarkBackground;
@@ -12,32 +15,46 @@ import fr.fresnel.fourPolar.core.preprocess.darkBackground.IChannelDarkBackgroun
  */
 class FourCameraPercentileDarkBackgroundEstimator implements IChannelDarkBackgroundEstimator {
     private final int _percentileThreshold;
+    private final boolean _allPlanes;
 
     public FourCameraPercentileDarkBackgroundEstimator(int percentileThreshold) {
+        this(percentileThreshold, false);
+    }
+
+    /**
+     * @param allPlanes if true, all planes of polarization images are used for
+     *                  estimation, otherwise only the first plane.
+     */
+    public FourCameraPercentileDarkBackgroundEstimator(int percentileThreshold, boolean allPlanes) {
         this._percentileThreshold = percentileThreshold;
+        this._allPlanes = allPlanes;
     }
 
     @Override
     public IChannelDarkBackground estimate(IPolarizationImageSet imageSet) {
-        double pol0Camerabackground = _estimateCameraPolarizationBackgrounds(imageSet,
-                new Polarization[] { Polarization.pol0 });
-        double pol45Camerabackground = _estimateCameraPolarizationBackgrounds(imageSet,
-                new Polarization[] { Polarization.pol45 });
-        double pol90Camerabackground = _estimateCameraPolarizationBackgrounds(imageSet,
-                new Polarization[] { Polarization.pol90 });
-        double pol135Camerabackground = _estimateCameraPolarizationBackgrounds(imageSet,
-                new Polarization[] { Polarization.pol135 });
-
-        return new ChannelDarkBackground(imageSet.channel(), pol0Camerabackground, pol45Camerabackground,
-                pol90Camerabackground, pol135Camerabackground);
+        return this._estimate(imageSet.channel(), (polarizations) -> CameraPercentileBackgroundEstimator
+                .estimate(imageSet, polarizations, this._percentileThreshold, this._allPlanes));
+    }
+
+    @Override
+    public IChannelDarkBackground estimate(IPolarizationImageSet imageSet,
+            PolarizationImageSetProfile imageSetProfile) {
+        return this._estimate(imageSet.channel(), (polarizations) -> CameraPercentileBackgroundEstimator
+                .estimate(imageSetProfile, polarizations, this._percentileThreshold, this._allPlanes));
     }
 
     /**
-     * Estimate the polarization for the given camera (that contains polarizations).
+     * Estimate the background of the channel, using the given estimator of the
+     * background of a camera (that contains polarizations).
      */
-    private double _estimateCameraPolarizationBackgrounds(IPolarizationImageSet imageSet,
-            Polarization[] polarizations) {
-        return CameraPercentileBackgroundEstimator.estimate(imageSet, polarizations, this._percentileThreshold);
+    private IChannelDarkBackground _estimate(int channel, ToDoubleFunction<Polarization[]> cameraEstimator) {
+        double pol0Camerabackground = cameraEstimator.applyAsDouble(new Polarization[] { Polarization.pol0 });
+        double pol45Camerabackground = cameraEstimator.applyAsDouble(new Polarization[] { Polarization.pol45 });
+        double pol90Camerabackground = cameraEstimator.applyAsDouble(new Polarization[] { Polarization.pol90 });
+        double pol135Camerabackground = cameraEstimator.applyAsDouble(new Polarization[] { Polarization.pol135 });
+
+        return new ChannelDarkBackground(channel, pol0Camerabackground, pol45Camerabackground,
+                pol90Camerabackground, pol135Camerabackground);
     }
 
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.estimator.percentile;
 
+import java.util.function.ToDoubleFunction;
+
 import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.estimator.IChannelDarkBackgroundEstimator;
+import fr.fresnel.fourPolar.algorithm.util.image.polarization.PolarizationImageSetProfile;
 import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
 import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
 import fr.fresnel.fourPolar.core.preprocess.darkBackground.IChannelDarkBackground;
@@ -12,26 +15,43 @@ import fr.fresnel.fourPolar.core.preprocess.darkBackground.IChannelDarkBackgroun
  */
 class OneCameraPercentileDarkBackgroundEstimator implements IChannelDarkBackgroundEstimator {
     private final int _percentileThreshold;
+    private final boolean _allPlanes;
 
     public OneCameraPercentileDarkBackgroundEstimator(int percentileThreshold) {
+        this(percentileThreshold, false);
+    }
+
+    /**
+     * @param allPlanes if true, all planes of polarization images are used for
+     *                  estimation, otherwise only the first plane.
+     */
+    public OneCameraPercentileDarkBackgroundEstimator(int percentileThreshold, boolean allPlanes) {
         this._percentileThreshold = percentileThreshold;
+        this._allPlanes = allPlanes;
     }
 
     @Override
     public IChannelDarkBackground estimate(IPolarizationImageSet imageSet) {
-        double pol0_45_90_135_CameraBackgrounds = this._estimateCameraPolarizationBackgrounds(imageSet,
-                Polarization.values());
+        return this._estimate(imageSet.channel(), (polarizations) -> CameraPercentileBackgroundEstimator
+                .estimate(imageSet, polarizations, this._percentileThreshold, this._allPlanes));
+    }
 
-        return new ChannelDarkBackground(imageSet.channel(), pol0_45_90_135_CameraBackgrounds,
-                pol0_45_90_135_CameraBackgrounds, pol0_45_90_135_CameraBackgrounds, pol0_45_90_135_CameraBackgrounds);
+    @Override
+    public IChannelDarkBackground estimate(IPolarizationImageSet imageSet,
+            PolarizationImageSetProfile imageSetProfile) {
+        return this._estimate(imageSet.channel(), (polarizations) -> CameraPercentileBackgroundEstimator
+                .estimate(imageSetProfile, polarizations, this._percentileThreshold, this._allPlanes));
     }
 
     /**
-     * Estimate the polarization for the given camera (that contains polarizations).
+     * Estimate the background of the channel, using the given estimator of the
+     * background of a camera (that contains polarizations).
      */
-    private double _estimateCameraPolarizationBackgrounds(IPolarizationImageSet imageSet,
-            Polarization[] polarizations) {
-        return CameraPercentileBackgroundEstimator.estimate(imageSet, polarizations, this._percentileThreshold);
+    private IChannelDarkBackground _estimate(int channel, ToDoubleFunction<Polarization[]> cameraEstimator) {
+        double pol0_45_90_135_CameraBackgrounds = cameraEstimator.applyAsDouble(Polarization.values());
+
+        return new ChannelDarkBackground(channel, pol0_45_90_135_CameraBackgrounds,
+                pol0_45_90_135_CameraBackgrounds, pol0_45_90_135_CameraBackgrounds, pol0_45_90_135_CameraBackgrounds);
     }
 
 }
\ No newline at end of file
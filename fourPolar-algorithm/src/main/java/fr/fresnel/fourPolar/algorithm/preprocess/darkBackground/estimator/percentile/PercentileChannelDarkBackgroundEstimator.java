@@ -3,6 +3,7 @@ package fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.estimator.perce
 import java.util.Objects;
 
 import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.estimator.IChannelDarkBackgroundEstimator;
+import fr.fresnel.fourPolar.algorithm.util.image.polarization.PolarizationImageSetProfile;
 import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
 import fr.fresnel.fourPolar.core.imagingSetup.imageFormation.Cameras;
 import fr.fresnel.fourPolar.core.preprocess.darkBackground.IChannelDarkBackground;
@@ -13,9 +14,14 @@ import fr.fresnel.fourPolar.core.preprocess.darkBackground.IChannelDarkBackgroun
  * values, and then setting all pixels below that value to zero, and subtracting
  * that percentile value from all values that are above this value.
  * <p>
- * To estimate the background, note that the estimator uses only the first xy
- * plane of an image. This is because the noise does not change for possible z
- * or t points.
+ * To estimate the background, note that by default the estimator uses only the
+ * first xy plane of an image. This is because the noise does not change for
+ * possible z or t points. All planes can be used instead, for example when the
+ * first plane has too few background pixels.
+ * <p>
+ * The percentile is computed from the histogram of intensities, which is
+ * built in parallel over the planes of each camera, or merged from the profile
+ * of the set when one is given.
  */
 public class PercentileChannelDarkBackgroundEstimator implements IChannelDarkBackgroundEstimator {
     /**
@@ -28,24 +34,33 @@ public class PercentileChannelDarkBackgroundEstimator implements IChannelDarkBac
     private final IChannelDarkBackgroundEstimator _estimator;
 
     public PercentileChannelDarkBackgroundEstimator(Cameras cameras) {
+        this(cameras, false);
+    }
+
+    /**
+     * @param cameras   is the camera constellation.
+     * @param allPlanes if true, all planes of the images are used for
+     *                  estimation, otherwise only the first plane.
+     */
+    public PercentileChannelDarkBackgroundEstimator(Cameras cameras, boolean allPlanes) {
         Objects.requireNonNull(cameras, "cameras can't be null");
 
-        this._estimator = this._chooseSegmenter(cameras);
+        this._estimator = this._chooseSegmenter(cameras, allPlanes);
     }
 
     /**
      * Create a proper noise estimator based on the camera constellation.
      */
-    private IChannelDarkBackgroundEstimator _chooseSegmenter(Cameras cameras) {
+    private IChannelDarkBackgroundEstimator _chooseSegmenter(Cameras cameras, boolean allPlanes) {
         switch (cameras) {
             case One:
-                return new OneCameraPercentileDarkBackgroundEstimator(PERCENTILE_THRESHOLD);
+                return new OneCameraPercentileDarkBackgroundEstimator(PERCENTILE_THRESHOLD, allPlanes);
 
             case Two:
-                return new TwoCameraPercentileDarkBackgroundEstimator(PERCENTILE_THRESHOLD);
+                return new TwoCameraPercentileDarkBackgroundEstimator(PERCENTILE_THRESHOLD, allPlanes);
 
             case Four:
-                return new FourCameraPercentileDarkBackgroundEstimator(PERCENTILE_THRESHOLD);
+                return new FourCameraPercentileDarkBackgroundEstimator(PERCENTILE_THRESHOLD, allPlanes);
 
             default:
                 return null;
@@ -57,4 +72,10 @@ public class PercentileChannelDarkBackgroundEstimator implements IChannelDarkBac
         return this._estimator.estimate(imageSet);
     }
 
+    @Override
+    public IChannelDarkBackground estimate(IPolarizationImageSet imageSet,
+            PolarizationImageSetProfile imageSetProfile) {
+        return this._estimator.estimate(imageSet, imageSetProfile);
+    }
+
 }
\ No newline at end of file
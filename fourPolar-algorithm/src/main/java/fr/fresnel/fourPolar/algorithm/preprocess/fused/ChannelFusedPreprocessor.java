@@ -0,0 +1,186 @@
+package fr.fresnel.fourPolar.algorithm.preprocess.fused;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import fr.fresnel.fourPolar.algorithm.preprocess.realignment.NearestNeighborPlaneGather;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
+import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIImage;
+import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
+import fr.fresnel.fourPolar.core.preprocess.darkBackground.IChannelDarkBackground;
+import fr.fresnel.fourPolar.core.preprocess.registration.IChannelRegistrationResult;
+import fr.fresnel.fourPolar.core.preprocess.registration.RegistrationRule;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+import fr.fresnel.fourPolar.core.util.transform.Affine2D;
+
+/**
+ * A concrete implementation of {@link IChannelFusedPreprocessor}. Each plane is
+ * divided into tiles of rows, which are processed in parallel. For every pixel
+ * of a tile, the realigned value of each polarization is gathered from the
+ * source plane using the gather table of its affine transform (see
+ * {@link NearestNeighborPlaneGather}), its dark background is subtracted
+ * (saturating at zero), and if requested, the four values are summed into the
+ * SoI plane.
+ * <p>
+ * The gather tables only depend on the plane size, hence they're calculated
+ * once per plane size and reused for all the image sets of the channel.
+ */
+public class ChannelFusedPreprocessor implements IChannelFusedPreprocessor {
+    /**
+     * Number of rows of a plane that are processed together by one task.
+     */
+    private static final int _TILE_ROWS = 64;
+
+    private final IChannelRegistrationResult _channelRegistrationResult;
+    private final int[] _backgrounds;
+
+    /**
+     * Gather tables of each polarization (indexed by ordinal, null if no
+     * realignment is needed), for each plane size and number of image axes.
+     */
+    private final Map<List<Long>, int[][]> _gatherTables;
+
+    /**
+     * Create an instance for the desired channel, based on its registration result
+     * and dark background.
+     */
+    public static IChannelFusedPreprocessor create(final IChannelRegistrationResult channelRegistrationResult,
+            final IChannelDarkBackground darkBackground) {
+        Objects.requireNonNull(channelRegistrationResult, "channelRegistrationResult can't be null");
+        Objects.requireNonNull(darkBackground, "darkBackground can't be null");
+
+        return new ChannelFusedPreprocessor(channelRegistrationResult, darkBackground);
+    }
+
+    private ChannelFusedPreprocessor(final IChannelRegistrationResult channelRegistrationResult,
+            final IChannelDarkBackground darkBackground) {
+        this._channelRegistrationResult = channelRegistrationResult;
+        this._backgrounds = _getBackgroundLevels(darkBackground);
+        this._gatherTables = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void process(IPolarizationImageSet imageSet) {
+        this._process(imageSet, null);
+    }
+
+    @Override
+    public ISoIImage processWithSoI(IPolarizationImageSet imageSet) {
+        ISoIImage soiImage = SoIImage.create(imageSet);
+        this._process(imageSet, soiImage.getImage());
+        return soiImage;
+    }
+
+    /**
+     * Processes the image set, and sums the polarizations into the SoI image if
+     * it's not null.
+     */
+    private void _process(IPolarizationImageSet imageSet, Image<UINT16> soiImage) {
+        @SuppressWarnings("unchecked")
+        Image<UINT16>[] polImages = new Image[Polarization.values().length];
+        for (Polarization polarization : Polarization.values()) {
+            polImages[polarization.ordinal()] = imageSet.getPolarizationImage(polarization).getImage();
+        }
+
+        IMetadata metadata = polImages[0].getMetadata();
+        int[][] gatherTables = this._getGatherTables(metadata);
+        int planeSize = (int) MetadataUtil.getPlaneSize(metadata);
+        int planeWidth = (int) metadata.getDim()[0];
+
+        for (long planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(metadata); planeIndex++) {
+            this._processPlane(polImages, soiImage, planeIndex, gatherTables, planeSize, planeWidth);
+        }
+    }
+
+    private void _processPlane(Image<UINT16>[] polImages, Image<UINT16> soiImage, long planeIndex,
+            int[][] gatherTables, int planeSize, int planeWidth) {
+        short[][] sources = new short[polImages.length][];
+        short[][] destinations = new short[polImages.length][];
+        for (int pol = 0; pol < polImages.length; pol++) {
+            sources[pol] = polImages[pol].getShortPlane(planeIndex);
+
+            // Without realignment, each pixel only reads itself, hence the plane can
+            // be written in place.
+            destinations[pol] = gatherTables[pol] == null ? sources[pol] : new short[planeSize];
+        }
+        short[] soiPlane = soiImage == null ? null : soiImage.getShortPlane(planeIndex);
+
+        int tileSize = _TILE_ROWS * planeWidth;
+        int numTiles = (planeSize + tileSize - 1) / tileSize;
+        IntStream.range(0, numTiles).parallel().forEach((tile) -> this._processTile(sources, destinations, soiPlane,
+                gatherTables, tile * tileSize, Math.min(planeSize, (tile + 1) * tileSize)));
+
+        for (int pol = 0; pol < polImages.length; pol++) {
+            polImages[pol].setPlane(planeIndex, destinations[pol]);
+        }
+        if (soiImage != null) {
+            soiImage.setPlane(planeIndex, soiPlane);
+        }
+    }
+
+    /**
+     * Processes the pixels of the plane in [start, end). The SoI plane is null if
+     * the SoI is not calculated.
+     */
+    private void _processTile(short[][] sources, short[][] destinations, short[] soiPlane, int[][] gatherTables,
+            int start, int end) {
+        for (int index = start; index < end; index++) {
+            int soi = 0;
+            for (int pol = 0; pol < sources.length; pol++) {
+                int sourceIndex = gatherTables[pol] == null ? index : gatherTables[pol][index];
+                int value = sourceIndex < 0 ? 0 : (sources[pol][sourceIndex] & 0xffff);
+                value = _saturate(value - this._backgrounds[pol]);
+
+                destinations[pol][index] = (short) value;
+                soi += value;
+            }
+            if (soiPlane != null) {
+                soiPlane[index] = (short) _saturate(soi);
+            }
+        }
+    }
+
+    private static int _saturate(int value) {
+        return Math.min(Math.max(value, UINT16.MIN_VAL), UINT16.MAX_VAL);
+    }
+
+    private int[][] _getGatherTables(IMetadata metadata) {
+        long[] dim = metadata.getDim();
+        List<Long> key = Arrays.asList(dim[0], dim[1], (long) dim.length);
+        return this._gatherTables.computeIfAbsent(key, (planeKey) -> this._createGatherTables(metadata));
+    }
+
+    private int[][] _createGatherTables(IMetadata metadata) {
+        int[][] gatherTables = new int[Polarization.values().length][];
+        for (RegistrationRule rule : RegistrationRule.values()) {
+            Affine2D affine2D = this._channelRegistrationResult.getAffineTransform(rule);
+            NearestNeighborPlaneGather gather = NearestNeighborPlaneGather.create(metadata, affine2D);
+
+            if (!gather.isIdentity()) {
+                gatherTables[rule.getToRegisterImagePolarization().ordinal()] = gather.getGatherTable();
+            }
+        }
+        return gatherTables;
+    }
+
+    /**
+     * Background levels are truncated to int, as done by the dark background
+     * remover.
+     */
+    private static int[] _getBackgroundLevels(IChannelDarkBackground darkBackground) {
+        int[] backgrounds = new int[Polarization.values().length];
+        for (Polarization polarization : Polarization.values()) {
+            backgrounds[polarization.ordinal()] = (int) darkBackground.getBackgroundLevel(polarization);
+        }
+        return backgrounds;
+    }
+
+}
@@ -0,0 +1,32 @@
+package fr.fresnel.fourPolar.algorithm.preprocess.fused;
+
+import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
+import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+
+/**
+ * Preprocesses the polarization images of a given channel in one traversal of
+ * their pixels. The result is the same as realigning the images with an
+ * {@link IChannelRealigner}, removing their dark background with an
+ * {@link IChannelDarkBackgroundRemover} and (optionally) then calculating their
+ * SoI with an {@link ISoICalculator}.
+ */
+public interface IChannelFusedPreprocessor {
+    /**
+     * Realigns and removes the dark background of the given polarization image
+     * set (in place).
+     *
+     * @param imageSet
+     */
+    public void process(IPolarizationImageSet imageSet);
+
+    /**
+     * Realigns and removes the dark background of the given polarization image
+     * set (in place), and calculates the SoI of the resulting set in the same
+     * traversal. Use this method only if the SoI image is consumed, because it's
+     * an extra image of the size of one polarization image.
+     *
+     * @param imageSet
+     * @return the SoI image of the preprocessed set.
+     */
+    public ISoIImage processWithSoI(IPolarizationImageSet imageSet);
+}
@@ -1,24 +1,48 @@
 package fr.fresnel.fourPolar.algorithm.preprocess.realignment;
 
-import fr.fresnel.fourPolar.algorithm.util.image.generic.transform.ImageAffineTransformer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
 import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
 import fr.fresnel.fourPolar.core.preprocess.registration.IChannelRegistrationResult;
 import fr.fresnel.fourPolar.core.preprocess.registration.RegistrationRule;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
 import fr.fresnel.fourPolar.core.util.transform.Affine2D;
 import javassist.tools.reflect.CannotCreateException;
 
 /**
  * A concrete implementation of {@link IChannelRealigner.}
+ * <p>
+ * The nearest neighbor source of every pixel only depends on the affine
+ * transform and the plane size. Hence, for each plane size, a
+ * {@link NearestNeighborPlaneGather} is created once per
+ * {@link RegistrationRule}, and is reused for all the image sets realigned by
+ * this instance. The rows of each plane are then gathered in parallel.
  */
 public class ChannelRealigner implements IChannelRealigner {
+    /**
+     * Number of rows of a plane that are gathered together by one task.
+     */
+    private static final int _TILE_ROWS = 64;
+
     private final IChannelRegistrationResult _channelRegistrationResult;
 
+    /**
+     * The gather of each rule (indexed by ordinal), for each plane size and
+     * number of image axes.
+     */
+    private final Map<List<Long>, NearestNeighborPlaneGather[]> _gathers;
+
     /**
      * Create an instance for the desired channel, based on its registration result.
-     * 
+     *
      * @return
      * @throws CannotCreateException
      */
@@ -27,21 +51,63 @@ public class ChannelRealigner implements IChannelRealigner {
     }
 
     /**
-     * Realign polarization images using ImgLib2 library.
+     * Realign polarization images using precomputed gathers.
      */
     private ChannelRealigner(final IChannelRegistrationResult channelRegistrationResult) {
         this._channelRegistrationResult = channelRegistrationResult;
+        this._gathers = new ConcurrentHashMap<>();
     }
 
     @Override
     public void realign(final IPolarizationImageSet imageSet) {
         for (RegistrationRule rule : RegistrationRule.values()) {
-            this._realingImage(_getPolImage(imageSet, rule), _getAffineTransform(rule));
+            Image<UINT16> image = _getPolImage(imageSet, rule);
+            this._realingImage(image, this._getPlaneGather(image.getMetadata(), rule));
         }
     }
 
-    private void _realingImage(Image<UINT16> image, Affine2D affine2D) {
-        ImageAffineTransformer.apply2DNearestNeighborInterplation(image, affine2D);
+    /**
+     * Returns the gather of the given rule for images with the given metadata.
+     * The gather is created on the first call, and is then reused.
+     */
+    private NearestNeighborPlaneGather _getPlaneGather(IMetadata metadata, RegistrationRule rule) {
+        long[] dim = metadata.getDim();
+        List<Long> key = Arrays.asList(dim[0], dim[1], (long) dim.length);
+
+        NearestNeighborPlaneGather[] gathers = this._gathers.computeIfAbsent(key,
+                (planeKey) -> new NearestNeighborPlaneGather[RegistrationRule.values().length]);
+        synchronized (gathers) {
+            if (gathers[rule.ordinal()] == null) {
+                gathers[rule.ordinal()] = NearestNeighborPlaneGather.create(metadata, _getAffineTransform(rule));
+            }
+            return gathers[rule.ordinal()];
+        }
+    }
+
+    /**
+     * Each plane is copied to a buffer, and then gathered back in place. Hence,
+     * only one plane buffer is allocated per image.
+     */
+    private void _realingImage(Image<UINT16> image, NearestNeighborPlaneGather gather) {
+        if (gather.isIdentity()) {
+            return;
+        }
+
+        IMetadata metadata = image.getMetadata();
+        int planeSize = (int) MetadataUtil.getPlaneSize(metadata);
+        int planeHeight = (int) metadata.getDim()[1];
+        short[] source = new short[planeSize];
+
+        for (long planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(metadata); planeIndex++) {
+            short[] plane = image.getShortPlane(planeIndex);
+            System.arraycopy(plane, 0, source, 0, planeSize);
+
+            int numTiles = (planeHeight + _TILE_ROWS - 1) / _TILE_ROWS;
+            IntStream.range(0, numTiles).parallel().forEach((tile) -> gather.gather(source, plane,
+                    tile * _TILE_ROWS, Math.min(planeHeight, (tile + 1) * _TILE_ROWS)));
+
+            image.setPlane(planeIndex, plane);
+        }
     }
 
     private Image<UINT16> _getPolImage(IPolarizationImageSet imageSet, RegistrationRule rule) {
@@ -52,4 +118,4 @@ public class ChannelRealigner implements IChannelRealigner {
     private Affine2D _getAffineTransform(RegistrationRule rule) {
         return this._channelRegistrationResult.getAffineTransform(rule);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package fr.fresnel.fourPolar.algorithm.preprocess.realignment;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import fr.fresnel.fourPolar.algorithm.util.image.generic.transform.ImageAffineTransformer;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.util.transform.Affine2D;
+
+/**
+ * Applies the nearest neighbor realignment of an {@link Affine2D} to the planes
+ * of images of a given size, as a gather: every pixel of the destination plane
+ * is copied from a fixed pixel of the source plane, or set to zero if that
+ * pixel is outside. The result is the same as
+ * {@link ImageAffineTransformer#apply2DNearestNeighborInterplation}.
+ * <p>
+ * If the affine is a translation by an integer number of pixels, each row is
+ * copied as a block. Otherwise, the source index of every pixel is taken from
+ * a gather table, which is calculated once when this instance is created.
+ * Hence, an instance should be reused for all the images of the same size.
+ */
+public class NearestNeighborPlaneGather {
+    private final int _planeWidth;
+    private final int _planeHeight;
+
+    /**
+     * The integer translation of the affine, or null if it's not a translation.
+     */
+    private final int[] _translation;
+
+    /**
+     * The source index of every pixel, or -1 for outside. Created lazily for
+     * translations.
+     */
+    private volatile int[] _gatherTable;
+
+    /**
+     * Create the gather of the given affine transform for images with the given
+     * metadata.
+     *
+     * @throws IllegalArgumentException if the given affine transform is not
+     *                                  invertible.
+     */
+    public static NearestNeighborPlaneGather create(IMetadata metadata, Affine2D affine2D) {
+        Objects.requireNonNull(metadata, "metadata can't be null");
+        Objects.requireNonNull(affine2D, "affine2D can't be null");
+
+        return new NearestNeighborPlaneGather(metadata, affine2D);
+    }
+
+    private NearestNeighborPlaneGather(IMetadata metadata, Affine2D affine2D) {
+        this._planeWidth = (int) metadata.getDim()[0];
+        this._planeHeight = (int) metadata.getDim()[1];
+        this._translation = _getIntegerTranslation(affine2D);
+
+        if (this._translation == null) {
+            this._gatherTable = ImageAffineTransformer.create2DNearestNeighborGatherTable(metadata, affine2D);
+        }
+    }
+
+    /**
+     * Returns true if every pixel is copied from itself.
+     */
+    public boolean isIdentity() {
+        return this._translation != null && this._translation[0] == 0 && this._translation[1] == 0;
+    }
+
+    /**
+     * Returns the gather table, which is the source index of every pixel of the
+     * plane (stored row by row), or -1 if the pixel is set to zero.
+     */
+    public int[] getGatherTable() {
+        if (this._gatherTable == null) {
+            this._gatherTable = this._createTranslationGatherTable();
+        }
+        return this._gatherTable;
+    }
+
+    /**
+     * Gathers the rows [fromRow, toRow) of the destination plane from the source
+     * plane. The two planes must not be the same array.
+     */
+    public void gather(short[] source, short[] destination, int fromRow, int toRow) {
+        if (this._translation != null) {
+            this._gatherTranslation(source, destination, fromRow, toRow);
+        } else {
+            int[] table = this._gatherTable;
+            for (int index = fromRow * this._planeWidth; index < toRow * this._planeWidth; index++) {
+                int sourceIndex = table[index];
+                destination[index] = sourceIndex < 0 ? 0 : source[sourceIndex];
+            }
+        }
+    }
+
+    private void _gatherTranslation(short[] source, short[] destination, int fromRow, int toRow) {
+        int dx = this._translation[0];
+        int dy = this._translation[1];
+
+        // Destination columns whose source column is inside the plane.
+        int fromColumn = Math.min(Math.max(dx, 0), this._planeWidth);
+        int toColumn = Math.max(Math.min(this._planeWidth + dx, this._planeWidth), fromColumn);
+
+        for (int row = fromRow; row < toRow; row++) {
+            int rowStart = row * this._planeWidth;
+            int sourceRow = row - dy;
+
+            if (sourceRow < 0 || sourceRow >= this._planeHeight || fromColumn == toColumn) {
+                Arrays.fill(destination, rowStart, rowStart + this._planeWidth, (short) 0);
+            } else {
+                Arrays.fill(destination, rowStart, rowStart + fromColumn, (short) 0);
+                System.arraycopy(source, sourceRow * this._planeWidth + fromColumn - dx, destination,
+                        rowStart + fromColumn, toColumn - fromColumn);
+                Arrays.fill(destination, rowStart + toColumn, rowStart + this._planeWidth, (short) 0);
+            }
+        }
+    }
+
+    private int[] _createTranslationGatherTable() {
+        int[] table = new int[this._planeWidth * this._planeHeight];
+        for (int y = 0, index = 0; y < this._planeHeight; y++) {
+            for (int x = 0; x < this._planeWidth; x++, index++) {
+                int sourceX = x - this._translation[0];
+                int sourceY = y - this._translation[1];
+
+                boolean isInside = sourceX >= 0 && sourceX < this._planeWidth && sourceY >= 0
+                        && sourceY < this._planeHeight;
+                table[index] = isInside ? sourceY * this._planeWidth + sourceX : -1;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the translation of the affine if its linear part is identity and its
+     * translation is integer, otherwise null. For such affines, the nearest
+     * neighbor of each pixel is found exactly by subtracting the translation.
+     */
+    private static int[] _getIntegerTranslation(Affine2D affine2D) {
+        double[][] matrix = affine2D.get();
+        boolean isTranslation = matrix[0][0] == 1 && matrix[0][1] == 0 && matrix[1][0] == 0 && matrix[1][1] == 1;
+        boolean isInteger = Math.rint(matrix[0][2]) == matrix[0][2] && Math.rint(matrix[1][2]) == matrix[1][2]
+                && Math.abs(matrix[0][2]) < (1 << 30) && Math.abs(matrix[1][2]) < (1 << 30);
+
+        if (isTranslation && isInteger) {
+            return new int[] { (int) matrix[0][2], (int) matrix[1][2] };
+        }
+        return null;
+    }
+
+}
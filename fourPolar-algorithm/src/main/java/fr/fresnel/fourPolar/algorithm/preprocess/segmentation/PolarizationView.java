@@ -1,32 +1,62 @@
 package fr.fresnel.fourPolar.algorithm.preprocess.segmentation;
 
+import java.util.Optional;
+
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.axis.AxisReassigner;
 
 /**
  * Wraps an interval {@link IPixelCursor<UINT16>} in an image interface to hold
- * a segmented image as a quasi-image interface. The interval iterator and
- * random access methods of this implementation throw exception. The cursor is a
- * single instance, and copies are not made in each call.
+ * a segmented image as a quasi-image interface. The interval iterator,
+ * primitive cursor, plane write and random access methods of this
+ * implementation throw exception. The cursor is a single instance, and copies
+ * are not made in each call.
  */
 class PolarizationView implements Image<UINT16> {
     private final IPixelCursor<UINT16> _cursor;
     private final ImageFactory _factory;
     private final IMetadata _metadata;
 
-    public PolarizationView(IPixelCursor<UINT16> cursor, ImageFactory factory, IMetadata metadata) {
+    /**
+     * The viewed image and the interval of the view.
+     */
+    private final Image<UINT16> _image;
+    private final long[] _bottomCorner;
+    private final long[] _len;
+
+    /**
+     * Creates the view over the interval [bottomCorner, bottomCorner + len) of
+     * the image.
+     */
+    public PolarizationView(Image<UINT16> image, long[] bottomCorner, long[] len, IMetadata metadata) {
+        IPixelCursor<UINT16> cursor = image.getCursor(bottomCorner, len);
         cursor.next();
         if (cursor.localize().length != metadata.getDim().length) {
             throw new IllegalArgumentException("cursor and metadata should be of the same dimension.");
         }
 
         this._cursor = cursor;
-        this._factory = factory;
+        this._factory = image.getFactory();
         this._metadata = metadata;
+        this._image = image;
+        this._bottomCorner = bottomCorner;
+        this._len = len;
+    }
+
+    /**
+     * Returns an XYCZT image that shares the pixels of the viewed image, and only
+     * copies them when written to (see {@link AxisReassigner#viewAsXYCZT}). If the
+     * viewed image does not support such views, returns an empty optional.
+     */
+    public Optional<Image<UINT16>> viewAsXYCZT() {
+        return AxisReassigner.viewAsXYCZT(this._image, this._bottomCorner, this._len);
     }
 
     @Override
@@ -40,6 +70,48 @@ class PolarizationView implements Image<UINT16> {
         throw new AssertionError();
     }
 
+    @Override
+    public IPrimitivePixelCursor getPrimitiveCursor() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Reads the plane using a cursor over the plane interval of the viewed image,
+     * hence the shared cursor of this view is not moved.
+     */
+    @Override
+    public short[] getShortPlane(long planeIndex) {
+        long[][] planeCoords = MetadataUtil.getPlaneCoordinates(this._metadata, planeIndex);
+        long[] planeBottomCorner = new long[this._bottomCorner.length];
+        long[] planeLen = new long[this._bottomCorner.length];
+        for (int i = 0; i < planeBottomCorner.length; i++) {
+            planeBottomCorner[i] = this._bottomCorner[i] + planeCoords[0][i];
+            planeLen[i] = planeCoords[1][i] - planeCoords[0][i] + 1;
+        }
+
+        short[] plane = new short[(int) MetadataUtil.getPlaneSize(this._metadata)];
+        int i = 0;
+        for (IPixelCursor<UINT16> cursor = this._image.getCursor(planeBottomCorner, planeLen); cursor.hasNext();) {
+            plane[i++] = (short) cursor.next().value().get();
+        }
+        return plane;
+    }
+
+    @Override
+    public float[] getFloatPlane(long planeIndex) {
+        throw new AssertionError();
+    }
+
+    @Override
+    public void setPlane(long planeIndex, short[] plane) {
+        throw new AssertionError();
+    }
+
+    @Override
+    public void setPlane(long planeIndex, float[] plane) {
+        throw new AssertionError();
+    }
+
     @Override
     public IPixelRandomAccess<UINT16> getRandomAccess() {
         throw new AssertionError();
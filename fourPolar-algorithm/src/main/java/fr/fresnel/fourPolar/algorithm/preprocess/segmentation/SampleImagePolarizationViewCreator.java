@@ -7,7 +7,6 @@ import java.util.stream.IntStream;
 import fr.fresnel.fourPolar.core.image.captured.ICapturedImage;
 import fr.fresnel.fourPolar.core.image.captured.ICapturedImageSet;
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
-import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
@@ -63,10 +62,9 @@ class SampleImagePolarizationViewCreator {
         long[] viewBottomCorner = this._createViewBottomCorner(image.getMetadata(), _fov.getFoV(pol), channelAxis);
         long[] viewLength = this._createViewLength(image.getMetadata(), _fov.getFoV(pol), channelAxis);
 
-        IPixelCursor<UINT16> channelPolCursor = image.getCursor(viewBottomCorner, viewLength);
         IMetadata viewImageMetadata = this._createChannelPolViewMetadata(image.getMetadata(), viewLength);
 
-        return new PolarizationView(channelPolCursor, image.getFactory(), viewImageMetadata);
+        return new PolarizationView(image, viewBottomCorner, viewLength, viewImageMetadata);
     }
 
     /**
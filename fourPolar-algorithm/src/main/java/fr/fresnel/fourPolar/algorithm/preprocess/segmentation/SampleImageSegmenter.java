@@ -3,6 +3,7 @@ package fr.fresnel.fourPolar.algorithm.preprocess.segmentation;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 import fr.fresnel.fourPolar.core.exceptions.image.polarization.CannotFormPolarizationImageSet;
 import fr.fresnel.fourPolar.core.image.captured.ICapturedImageSet;
@@ -23,7 +24,10 @@ import fr.fresnel.fourPolar.core.util.image.generic.metadata.axis.AxisReassigner
  * extracted polarizations are resized with respect to
  * {@link IFieldOfView#getMaximumSize()}, so that they all have the same size.
  * For this end, it might be necessary to add some black pixels to the image,
- * which is accomplished using {@link AxisReassigner#reassignXYCZTAndResize()}
+ * which is accomplished using {@link AxisReassigner#reassignXYCZTAndResize()}.
+ * If no black pixel is needed, the polarization images are views over the
+ * captured image (see {@link AxisReassigner#viewAsXYCZT}), so that the captured
+ * image is only copied once a polarization image is written to.
  */
 public class SampleImageSegmenter implements ICapturedImageSetSegmenter {
     private final int _numChannels;
@@ -96,9 +100,34 @@ public class SampleImageSegmenter implements ICapturedImageSetSegmenter {
         return this._polViewCreator.create(capturedImageSet, channel);
     }
 
+    /**
+     * If the polarization view already has the resize dimension, the polarization
+     * image is a view that shares the pixels of the captured image, which are only
+     * copied if the polarization image is written to. Otherwise, the view is
+     * copied to a resized image.
+     */
     private Image<UINT16> _resizeAndCreatePolImage(PolarizationView polView) {
         long[] resizeDimension = this._createPolarizationImageResizeDimension(polView.getMetadata());
-        return AxisReassigner.reassignToXYCZTAndResize(polView, UINT16.zero(), resizeDimension);
+
+        Optional<Image<UINT16>> polImageView = polView.viewAsXYCZT();
+        if (polImageView.isPresent()
+                && _isResizeDimensionEqualToViewDimension(polView.getMetadata(), resizeDimension)) {
+            return polImageView.get();
+        }
+
+        // The XYCZT view reads its planes faster than the polarization view.
+        Image<UINT16> polImage = polImageView.orElse(polView);
+        return AxisReassigner.reassignToXYCZTAndResize(polImage, UINT16.zero(), resizeDimension);
+    }
+
+    /**
+     * Checks whether the x and y of the resize dimension equal the polarization
+     * view (the other axis are never resized).
+     */
+    private static boolean _isResizeDimensionEqualToViewDimension(IMetadata polViewMetadata,
+            long[] resizeDimension) {
+        long[] viewDim = polViewMetadata.getDim();
+        return viewDim[0] == resizeDimension[0] && viewDim[1] == resizeDimension[1];
     }
 
     /**
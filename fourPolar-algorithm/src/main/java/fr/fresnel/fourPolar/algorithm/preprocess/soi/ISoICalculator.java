@@ -2,7 +2,9 @@ package fr.fresnel.fourPolar.algorithm.preprocess.soi;
 
 import fr.fresnel.fourPolar.core.fourPolar.IIntensityVectorIterator;
 import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
 
 /**
  * An interface for calculating the sum of intensity from a given
@@ -18,4 +20,15 @@ public interface ISoICalculator {
      */
     public void calculateUINT16Sum(IIntensityVectorIterator intensityIterator, IPixelCursor<UINT16> pixelCursor);
 
-}
\ No newline at end of file
+    /**
+     * Same as {@link #calculateUINT16Sum(IIntensityVectorIterator, IPixelCursor)},
+     * but reads the polarization images and writes the SoI image directly using
+     * their primitive cursors. The SoI image must have the same dimension as the
+     * polarization images, and be created with the same image factory.
+     * 
+     * @param polarizationImageSet is the polarization image set.
+     * @param soiImage             is the image to which SoI is written.
+     */
+    public void calculateUINT16Sum(IPolarizationImageSet polarizationImageSet, Image<UINT16> soiImage);
+
+}
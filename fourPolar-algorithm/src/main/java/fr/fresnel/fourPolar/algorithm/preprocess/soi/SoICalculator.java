@@ -2,8 +2,11 @@ package fr.fresnel.fourPolar.algorithm.preprocess.soi;
 
 import fr.fresnel.fourPolar.core.fourPolar.IIntensityVectorIterator;
 import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.pixel.Pixel;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
 import fr.fresnel.fourPolar.core.physics.polarization.IntensityVector;
 import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
 
@@ -20,18 +23,43 @@ public class SoICalculator implements ISoICalculator {
     private SoICalculator() {
     }
 
+    /**
+     * The same pixel is reused for all positions, and the sum is clamped to
+     * {@link UINT16#MAX_VAL}.
+     */
     @Override
     public void calculateUINT16Sum(IIntensityVectorIterator intensityIterator, IPixelCursor<UINT16> pixelCursor) {
+        Pixel<UINT16> pixel = new Pixel<UINT16>(new UINT16(0));
         while (intensityIterator.hasNext()) {
             IntensityVector intensity = intensityIterator.next();
 
-            double soi = intensity.getIntensity(Polarization.pol0) + intensity.getIntensity(Polarization.pol90)
-                    + intensity.getIntensity(Polarization.pol45) + intensity.getIntensity(Polarization.pol135);
-
             pixelCursor.next();
-            pixelCursor.setPixel(new Pixel<UINT16>(new UINT16((int) soi)));
+            pixel.value().set((int) Math.min(intensity.getSumOfIntensity(), UINT16.MAX_VAL));
+            pixelCursor.setPixel(pixel);
         }
 
     }
 
-}
\ No newline at end of file
+    @Override
+    public void calculateUINT16Sum(IPolarizationImageSet polarizationImageSet, Image<UINT16> soiImage) {
+        IPrimitivePixelCursor pol0 = polarizationImageSet.getPolarizationImage(Polarization.pol0).getImage()
+                .getPrimitiveCursor();
+        IPrimitivePixelCursor pol45 = polarizationImageSet.getPolarizationImage(Polarization.pol45).getImage()
+                .getPrimitiveCursor();
+        IPrimitivePixelCursor pol90 = polarizationImageSet.getPolarizationImage(Polarization.pol90).getImage()
+                .getPrimitiveCursor();
+        IPrimitivePixelCursor pol135 = polarizationImageSet.getPolarizationImage(Polarization.pol135).getImage()
+                .getPrimitiveCursor();
+
+        for (IPrimitivePixelCursor soiCursor = soiImage.getPrimitiveCursor(); soiCursor.hasNext();) {
+            pol0.next();
+            pol45.next();
+            pol90.next();
+            pol135.next();
+            soiCursor.next();
+
+            soiCursor.setInt(pol0.getInt() + pol90.getInt() + pol45.getInt() + pol135.getInt());
+        }
+    }
+
+}
@@ -3,7 +3,8 @@ package fr.fresnel.fourPolar.algorithm.util.image.generic.color;
 import java.util.Objects;
 
 import fr.fresnel.fourPolar.algorithm.util.image.generic.color.GrayScaleToColorConverter.Color;
-import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.ImageStatistics;
+import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.ImageProfile;
+import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.ImageProfiler;
 import fr.fresnel.fourPolar.core.exceptions.image.generic.imgLib2Model.ConverterToImgLib2NotFound;
 import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
 import fr.fresnel.fourPolar.core.image.generic.Image;
@@ -35,12 +36,22 @@ class GrayImagesToMonoColorConverter {
     }
 
     public static IPixelRandomAccess<ARGB8> convert(Image<UINT16> image, Color color) {
+        Objects.requireNonNull(image);
+        return convert(image, color, ImageProfiler.profile(image, false));
+    }
+
+    /**
+     * Same as {@link #convert(Image, Color)}, except that the minimum and maximum
+     * of each plane are taken from the given profile of the image.
+     */
+    public static IPixelRandomAccess<ARGB8> convert(Image<UINT16> image, Color color, ImageProfile imageProfile) {
         Objects.requireNonNull(image);
         Objects.requireNonNull(color);
+        Objects.requireNonNull(imageProfile);
 
         Channel imageColor = _getImgLib2ColorChannel(color);
 
-        RandomAccessible<UnsignedByteType> unsignedByteImgRA = _getUnsignedByteImage(image);
+        RandomAccessible<UnsignedByteType> unsignedByteImgRA = _getUnsignedByteImage(image, imageProfile);
 
         Converter<UnsignedByteType, ARGBType> toColorConverter = new ChannelARGBConverter(imageColor);
         RandomAccess<ARGBType> monochromeImageView = Converters
@@ -49,10 +60,11 @@ class GrayImagesToMonoColorConverter {
         return ImgLib2RandomAccessConverter.convertARGBType(monochromeImageView);
     }
 
-    public static RandomAccessible<UnsignedByteType> _getUnsignedByteImage(final Image<UINT16> uint16Image) {
+    public static RandomAccessible<UnsignedByteType> _getUnsignedByteImage(final Image<UINT16> uint16Image,
+            final ImageProfile imageProfile) {
         Img<UnsignedByteType> byteImg = new ArrayImgFactory<UnsignedByteType>(new UnsignedByteType())
                 .create(uint16Image.getMetadata().getDim());
-        final double[][] minMax = _getPlaneMinMax(uint16Image);
+        final double[][] minMax = _getPlaneMinMax(imageProfile);
 
         Cursor<UnsignedShortType> grayCursor = null;
         try {
@@ -81,8 +93,8 @@ class GrayImagesToMonoColorConverter {
         return byteImg;
     }
 
-    private static double[][] _getPlaneMinMax(final Image<UINT16> grayImage) {
-        final double[][] minMax = ImageStatistics.getPlaneMinMax(grayImage);
+    private static double[][] _getPlaneMinMax(final ImageProfile imageProfile) {
+        final double[][] minMax = imageProfile.getPlaneMinMax();
         for (int i = 0; i < minMax[0].length; i++) {
             if (minMax[0][i] == minMax[1][i]) {
                 minMax[1][i]++;
@@ -1,5 +1,6 @@
 package fr.fresnel.fourPolar.algorithm.util.image.generic.color;
 
+import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.ImageProfile;
 import fr.fresnel.fourPolar.core.exceptions.image.generic.imgLib2Model.ConverterToImgLib2NotFound;
 import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
 import fr.fresnel.fourPolar.core.image.generic.Image;
@@ -33,6 +34,23 @@ public class GrayScaleToColorConverter {
         return MaxPlaneGrayScaleToColorConverter.convert(grayImage);
     }
 
+    /**
+     * Same as {@link #colorUsingMaxEachPlane(Image)}, except that the minimum and
+     * maximum of each plane are taken from the given profile of the gray image.
+     * Use this method when the image is already profiled, to avoid another pass
+     * over it.
+     * 
+     * @param grayImage   is the gray scale image.
+     * @param grayProfile is the profile of the gray scale image.
+     * @throws ConverterToImgLib2NotFound if the image model can't be converted to
+     *                                    ImgLib2 model.
+     * 
+     */
+    public static <T extends RealType> Image<ARGB8> colorUsingMaxEachPlane(final Image<T> grayImage,
+            ImageProfile grayProfile) throws ConverterToImgLib2NotFound {
+        return MaxPlaneGrayScaleToColorConverter.convert(grayImage, grayProfile);
+    }
+
     /**
      * Convertes the given source gray image to an {@link ARGB8} and puts in the
      * destination image. Note that an 8 bit lookup table is used for the
@@ -59,4 +77,20 @@ public class GrayScaleToColorConverter {
     public static IPixelRandomAccess<ARGB8> createMonochromeView(Image<UINT16> image, Color color) {
         return GrayImagesToMonoColorConverter.convert(image, color);
     }
+
+    /**
+     * Same as {@link #createMonochromeView(Image, Color)}, except that the minimum
+     * and maximum of each plane are taken from the given profile of the image. Use
+     * this method when the image is already profiled, to avoid another pass over
+     * it.
+     * 
+     * @param image        is the first image.
+     * @param color        is the mono color for image 1.
+     * @param imageProfile is the profile of the image.
+     * @return a random accessible mono color view of the gray image.
+     */
+    public static IPixelRandomAccess<ARGB8> createMonochromeView(Image<UINT16> image, Color color,
+            ImageProfile imageProfile) {
+        return GrayImagesToMonoColorConverter.convert(image, color, imageProfile);
+    }
 }
\ No newline at end of file
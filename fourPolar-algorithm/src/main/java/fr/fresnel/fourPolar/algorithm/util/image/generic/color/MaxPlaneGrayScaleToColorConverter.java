@@ -2,7 +2,8 @@ package fr.fresnel.fourPolar.algorithm.util.image.generic.color;
 
 import java.util.Objects;
 
-import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.ImageStatistics;
+import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.ImageProfile;
+import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.ImageProfiler;
 import fr.fresnel.fourPolar.core.exceptions.image.generic.imgLib2Model.ConverterToImgLib2NotFound;
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
@@ -41,12 +42,24 @@ class MaxPlaneGrayScaleToColorConverter {
     public static <T extends RealType> Image<ARGB8> convert(final Image<T> grayImage)
             throws ConverterToImgLib2NotFound {
         Objects.requireNonNull(grayImage, "grayImage cannot be null");
-        Objects.requireNonNull(grayImage, "colorImage cannot be null");
+        return convert(grayImage, ImageProfiler.profile(grayImage, false));
+    }
+
+    /**
+     * Same as {@link #convert(Image)}, using the given profile of the gray image
+     * for the minimum and maximum of planes.
+     * 
+     * @throws ConverterToImgLib2NotFound if the image model can't be converted to
+     *                                    ImgLib2 model.
+     */
+    public static <T extends RealType> Image<ARGB8> convert(final Image<T> grayImage, ImageProfile grayProfile)
+            throws ConverterToImgLib2NotFound {
+        Objects.requireNonNull(grayImage, "grayImage cannot be null");
 
         IMetadata colorMetadata = _copyGaryMetadataForColorImage(grayImage.getMetadata());
         Image<ARGB8> colorImage = grayImage.getFactory().create(colorMetadata, ARGB8.zero());
 
-        convert(grayImage, colorImage);
+        convert(grayImage, colorImage, grayProfile);
 
         return colorImage;
     }
@@ -61,7 +74,20 @@ class MaxPlaneGrayScaleToColorConverter {
      */
     public static <T extends RealType> void convert(final Image<T> srcImg, Image<ARGB8> destImg) {
         Objects.requireNonNull(srcImg, "grayImage cannot be null");
+        convert(srcImg, destImg, ImageProfiler.profile(srcImg, false));
+    }
+
+    /**
+     * Same as {@link #convert(Image, Image)}, using the given profile of the
+     * source image for the minimum and maximum of planes.
+     * 
+     * @throws IllegalArgumentException if the images don't have the same dimension.
+     */
+    public static <T extends RealType> void convert(final Image<T> srcImg, Image<ARGB8> destImg,
+            ImageProfile srcProfile) {
+        Objects.requireNonNull(srcImg, "grayImage cannot be null");
         Objects.requireNonNull(destImg, "colorImage cannot be null");
+        Objects.requireNonNull(srcProfile, "srcProfile cannot be null");
 
         IMetadata src_metadata = srcImg.getMetadata();
         IMetadata dest_metadata = destImg.getMetadata();
@@ -81,7 +107,7 @@ class MaxPlaneGrayScaleToColorConverter {
         final DoubleType doubleType = new DoubleType();
         final ARGBType argbType = new ARGBType();
 
-        final double[][] minMax = _getPlaneMinMax(srcImg);
+        final double[][] minMax = _getPlaneMinMax(srcProfile);
 
         final long planeSize = MetadataUtil.getPlaneSize(srcImg.getMetadata());
 
@@ -107,8 +133,8 @@ class MaxPlaneGrayScaleToColorConverter {
         }
     }
 
-    private static <T extends RealType> double[][] _getPlaneMinMax(final Image<T> grayImage) {
-        final double[][] minMax = ImageStatistics.getPlaneMinMax(grayImage);
+    private static double[][] _getPlaneMinMax(final ImageProfile grayProfile) {
+        final double[][] minMax = grayProfile.getPlaneMinMax();
         for (int i = 0; i < minMax[0].length; i++) {
             if (minMax[0][i] == minMax[1][i]) {
                 minMax[1][i]++;
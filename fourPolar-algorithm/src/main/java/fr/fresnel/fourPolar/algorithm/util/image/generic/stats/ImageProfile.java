@@ -0,0 +1,98 @@
+package fr.fresnel.fourPolar.algorithm.util.image.generic.stats;
+
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+
+/**
+ * The statistics of each plane of an image, as calculated by
+ * {@link ImageProfiler}. NaN pixels are ignored by all statistics. If a plane
+ * has only NaN pixels, its statistics are NaN.
+ * <p>
+ * Plane indices start from 1, as in {@link Image#getShortPlane(long)}.
+ */
+public class ImageProfile {
+    private final double[] _min;
+    private final double[] _max;
+    private final double[] _mean;
+    private final double[] _variance;
+    private final UINT16Histogram[] _histograms;
+
+    /**
+     * @param histograms are the histogram of each plane, or null if histograms
+     *                   are not calculated.
+     */
+    ImageProfile(double[] min, double[] max, double[] mean, double[] variance, UINT16Histogram[] histograms) {
+        this._min = min;
+        this._max = max;
+        this._mean = mean;
+        this._variance = variance;
+        this._histograms = histograms;
+    }
+
+    /**
+     * Returns the number of planes of the image.
+     */
+    public int numPlanes() {
+        return this._min.length;
+    }
+
+    /**
+     * Returns the minimum of the plane.
+     */
+    public double getPlaneMin(int planeIndex) {
+        return this._min[planeIndex - 1];
+    }
+
+    /**
+     * Returns the maximum of the plane.
+     */
+    public double getPlaneMax(int planeIndex) {
+        return this._max[planeIndex - 1];
+    }
+
+    /**
+     * Returns the mean of the plane.
+     */
+    public double getPlaneMean(int planeIndex) {
+        return this._mean[planeIndex - 1];
+    }
+
+    /**
+     * Returns the (population) variance of the plane.
+     */
+    public double getPlaneVariance(int planeIndex) {
+        return this._variance[planeIndex - 1];
+    }
+
+    /**
+     * Returns true if the profile contains the histogram of planes.
+     */
+    public boolean hasHistograms() {
+        return this._histograms != null;
+    }
+
+    /**
+     * Returns the histogram of the plane. The histogram is shared with other
+     * users of this profile, and must not be modified.
+     * 
+     * @throws IllegalStateException if the profile has no histograms, i.e, if
+     *                               the image was profiled without histograms,
+     *                               or it's not {@link UINT16}. Use
+     *                               {@link #hasHistograms()} to check.
+     */
+    public UINT16Histogram getPlaneHistogram(int planeIndex) {
+        if (!this.hasHistograms()) {
+            throw new IllegalStateException("The profile has no histograms.");
+        }
+        return this._histograms[planeIndex - 1];
+    }
+
+    /**
+     * Returns the minimum and maximum of each plane, in the format of
+     * {@link ImageStatistics#getPlaneMinMax(Image)}.
+     */
+    public double[][] getPlaneMinMax() {
+        return new double[][] { this._min.clone(), this._max.clone() };
+    }
+
+}
@@ -0,0 +1,134 @@
+package fr.fresnel.fourPolar.algorithm.util.image.generic.stats;
+
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.RealType;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.util.image.generic.ImageUtil;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+
+/**
+ * Calculates the {@link ImageProfile} of an image, i.e, the minimum, maximum,
+ * mean, variance and (for {@link UINT16}) histogram of each plane, in one pass
+ * over the image. Planes are profiled in parallel.
+ * <p>
+ * Profiles are not cached, because an image may be modified in place after it's
+ * profiled. Users that need the same statistics of an image (e.g, color
+ * conversion and display range setup) should share the returned profile
+ * instead of profiling the image again.
+ */
+public class ImageProfiler {
+    private ImageProfiler() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Profiles the image.
+     * 
+     * @param image          is the image.
+     * @param withHistograms if true, the histograms of planes are calculated for
+     *                       {@link UINT16} images. Note that each histogram takes
+     *                       512KB of memory.
+     * @return the profile of the image.
+     */
+    public static <T extends RealType> ImageProfile profile(Image<T> image, boolean withHistograms) {
+        Objects.requireNonNull(image, "image can't be null");
+
+        int nPlanes = MetadataUtil.getNPlanes(image.getMetadata());
+        double[] min = new double[nPlanes];
+        double[] max = new double[nPlanes];
+        double[] mean = new double[nPlanes];
+        double[] variance = new double[nPlanes];
+
+        boolean isUINT16 = _isUINT16(image);
+        UINT16Histogram[] histograms = withHistograms && isUINT16 ? new UINT16Histogram[nPlanes] : null;
+
+        IntStream.range(0, nPlanes).parallel().forEach(plane -> {
+            if (isUINT16) {
+                _profileUINT16Plane(image.getShortPlane(plane + 1), plane, min, max, mean, variance, histograms);
+            } else {
+                _profileFloatPlane(image.getFloatPlane(plane + 1), plane, min, max, mean, variance);
+            }
+        });
+
+        return new ImageProfile(min, max, mean, variance, histograms);
+    }
+
+    private static <T extends RealType> boolean _isUINT16(Image<T> image) {
+        return ImageUtil.getPixelType(image) == PixelTypes.UINT_16;
+    }
+
+    private static void _profileUINT16Plane(short[] pixels, int plane, double[] min, double[] max, double[] mean,
+            double[] variance, UINT16Histogram[] histograms) {
+        int planeMin = Integer.MAX_VALUE;
+        int planeMax = Integer.MIN_VALUE;
+        long sum = 0;
+        long sumOfSquares = 0;
+        for (short value : pixels) {
+            int pixel = value & 0xffff;
+            planeMin = pixel < planeMin ? pixel : planeMin;
+            planeMax = pixel > planeMax ? pixel : planeMax;
+            sum += pixel;
+            sumOfSquares += (long) pixel * pixel;
+        }
+
+        if (pixels.length == 0) {
+            _setNaN(plane, min, max, mean, variance);
+        } else {
+            double planeMean = (double) sum / pixels.length;
+            min[plane] = planeMin;
+            max[plane] = planeMax;
+            mean[plane] = planeMean;
+            variance[plane] = Math.max(0, (double) sumOfSquares / pixels.length - planeMean * planeMean);
+        }
+
+        if (histograms != null) {
+            histograms[plane] = new UINT16Histogram();
+            histograms[plane].add(pixels);
+        }
+    }
+
+    /**
+     * Profiles the float plane, using Welford's algorithm for the variance.
+     */
+    private static void _profileFloatPlane(float[] pixels, int plane, double[] min, double[] max, double[] mean,
+            double[] variance) {
+        double planeMin = Double.POSITIVE_INFINITY;
+        double planeMax = Double.NEGATIVE_INFINITY;
+        double planeMean = 0;
+        double m2 = 0;
+        long count = 0;
+        for (float pixel : pixels) {
+            if (Float.isNaN(pixel)) {
+                continue;
+            }
+
+            planeMin = pixel < planeMin ? pixel : planeMin;
+            planeMax = pixel > planeMax ? pixel : planeMax;
+
+            double delta = pixel - planeMean;
+            planeMean += delta / ++count;
+            m2 += delta * (pixel - planeMean);
+        }
+
+        if (count == 0) {
+            _setNaN(plane, min, max, mean, variance);
+        } else {
+            min[plane] = planeMin;
+            max[plane] = planeMax;
+            mean[plane] = planeMean;
+            variance[plane] = m2 / count;
+        }
+    }
+
+    private static void _setNaN(int plane, double[] min, double[] max, double[] mean, double[] variance) {
+        min[plane] = Double.NaN;
+        max[plane] = Double.NaN;
+        mean[plane] = Double.NaN;
+        variance[plane] = Double.NaN;
+    }
+
+}
@@ -2,9 +2,10 @@ package fr.fresnel.fourPolar.algorithm.util.image.generic.stats;
 
 import org.apache.commons.math3.stat.descriptive.rank.Percentile;
 
-import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.RealType;
+import fr.fresnel.fourPolar.core.util.image.generic.ImageUtil;
 import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
 
 public class ImageStatistics {
@@ -19,22 +20,23 @@ public class ImageStatistics {
         int nPlanes = MetadataUtil.getNPlanes(image.getMetadata());
         double[][] minMax = new double[2][nPlanes];
 
-        long[] planeDim = MetadataUtil.getPlaneDim(image.getMetadata());
-        long planeSize = planeDim[0] * planeDim[1];
-
-        IPixelCursor<T> cursor = image.getCursor();
+        PixelTypes pixelType = ImageUtil.getPixelType(image);
         for (int plane = 0; plane < nPlanes; plane++) {
-            int planeCounter = 1;
-
             double planeMin = Double.POSITIVE_INFINITY;
             double planeMax = 0;
-            while (cursor.hasNext() && planeCounter++ <= planeSize) {
-                double pixel = cursor.next().value().getRealValue();
 
-                planeMin = pixel < planeMin ? pixel : planeMin;
-                planeMax = pixel > planeMax ? pixel : planeMax;
+            if (pixelType == PixelTypes.UINT_16) {
+                for (short value : image.getShortPlane(plane + 1)) {
+                    int pixel = value & 0xffff;
+                    planeMin = pixel < planeMin ? pixel : planeMin;
+                    planeMax = pixel > planeMax ? pixel : planeMax;
+                }
+            } else {
+                for (float pixel : image.getFloatPlane(plane + 1)) {
+                    planeMin = pixel < planeMin ? pixel : planeMin;
+                    planeMax = pixel > planeMax ? pixel : planeMax;
+                }
             }
-            planeCounter = 1;
             minMax[0][plane] = planeMin;
             minMax[1][plane] = planeMax;
 
@@ -0,0 +1,150 @@
+package fr.fresnel.fourPolar.algorithm.util.image.generic.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.commons.math3.stat.descriptive.rank.Percentile;
+
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+
+/**
+ * The histogram of {@link UINT16} values, with one bin per possible value.
+ * Percentiles are computed from the histogram in O(n + 65536), and are equal to
+ * those of {@link Percentile} with its default (legacy) estimation, without
+ * copying the pixels to an array.
+ */
+public class UINT16Histogram {
+    private static final int _NUM_BINS = UINT16.MAX_VAL + 1;
+
+    private final long[] _counts;
+    private long _size;
+
+    /**
+     * Creates an empty histogram.
+     */
+    public UINT16Histogram() {
+        this._counts = new long[_NUM_BINS];
+        this._size = 0;
+    }
+
+    /**
+     * Creates the histogram of the given images in parallel, where each plane is
+     * added by a separate task, and the partial histograms are then merged.
+     * 
+     * @param images    are the images.
+     * @param allPlanes if true, all planes of images are used, otherwise only the
+     *                  first plane.
+     * @return the histogram of the images.
+     */
+    public static UINT16Histogram create(List<Image<UINT16>> images, boolean allPlanes) {
+        Objects.requireNonNull(images, "images can't be null");
+
+        List<PlaneOfImage> planes = new ArrayList<>();
+        for (Image<UINT16> image : images) {
+            long nPlanes = allPlanes ? MetadataUtil.getNPlanes(image.getMetadata()) : 1;
+            for (long planeIndex = 1; planeIndex <= nPlanes; planeIndex++) {
+                planes.add(new PlaneOfImage(image, planeIndex));
+            }
+        }
+
+        return planes.parallelStream().collect(UINT16Histogram::new,
+                (histogram, plane) -> histogram.add(plane.image.getShortPlane(plane.planeIndex)),
+                UINT16Histogram::add);
+    }
+
+    /**
+     * Adds the values of the plane (as returned by
+     * {@link Image#getShortPlane(long)}) to the histogram.
+     */
+    public void add(short[] plane) {
+        for (short value : plane) {
+            this._counts[value & 0xffff]++;
+        }
+        this._size += plane.length;
+    }
+
+    /**
+     * Merges the given histogram into this histogram.
+     */
+    public void add(UINT16Histogram histogram) {
+        for (int bin = 0; bin < _NUM_BINS; bin++) {
+            this._counts[bin] += histogram._counts[bin];
+        }
+        this._size += histogram._size;
+    }
+
+    /**
+     * Returns the number of times the given value is in the histogram.
+     */
+    public long getCount(int value) {
+        return this._counts[value];
+    }
+
+    /**
+     * Returns the number of values in the histogram.
+     */
+    public long size() {
+        return this._size;
+    }
+
+    /**
+     * Computes the percentile of the values, exactly as {@link Percentile} would
+     * for the array of the values.
+     * 
+     * @param quantile is the desired percentile, in (0, 100].
+     * @return the percentile, or NaN if the histogram is empty.
+     * @throws IllegalArgumentException if quantile is not in (0, 100].
+     */
+    public double percentile(double quantile) {
+        if (quantile <= 0 || quantile > 100) {
+            throw new IllegalArgumentException("quantile must be in (0, 100].");
+        }
+
+        if (this._size == 0) {
+            return Double.NaN;
+        }
+
+        double p = quantile / 100d;
+        double pos = p == 1d ? this._size : p * (this._size + 1);
+        double fpos = Math.floor(pos);
+        long intPos = (long) fpos;
+        double dif = pos - fpos;
+
+        if (pos < 1) {
+            return this._select(0);
+        }
+        if (pos >= this._size) {
+            return this._select(this._size - 1);
+        }
+
+        double lower = this._select(intPos - 1);
+        double upper = this._select(intPos);
+        return lower + dif * (upper - lower);
+    }
+
+    /**
+     * Returns the k-th smallest value (starting from zero).
+     */
+    private int _select(long k) {
+        long cumulativeCount = 0;
+        int bin = 0;
+        while ((cumulativeCount += this._counts[bin]) <= k) {
+            bin++;
+        }
+        return bin;
+    }
+
+    private static class PlaneOfImage {
+        private final Image<UINT16> image;
+        private final long planeIndex;
+
+        public PlaneOfImage(Image<UINT16> image, long planeIndex) {
+            this.image = image;
+            this.planeIndex = planeIndex;
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package fr.fresnel.fourPolar.algorithm.util.image.generic.transform;
 
 import fr.fresnel.fourPolar.core.exceptions.image.generic.imgLib2Model.ConverterToImgLib2NotFound;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImageToImgLib2Converter;
 import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
@@ -61,4 +62,19 @@ public class ImageAffineTransformer {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Creates the nearest neighbor gather table of the given affine transform for
+     * images with the given metadata. For every pixel of a plane (stored row by
+     * row), the table gives the index of the pixel in the same plane that
+     * {@link #apply2DNearestNeighborInterplation(Image, Affine2D)} would copy to
+     * it, or -1 if the pixel would be set to zero. Hence, the transform can be
+     * applied to each plane of an image as {@code dst[i] = src[table[i]]}.
+     * 
+     * @throws IllegalArgumentException if the given affine transform is not
+     *                                  invertible.
+     */
+    public static int[] create2DNearestNeighborGatherTable(IMetadata metadata, Affine2D affineTransform) {
+        return ImgLib2Affine2DTransformer.createNearestNeighborGatherTable(metadata.getDim(), affineTransform);
+    }
+
+}
@@ -1,5 +1,6 @@
 package fr.fresnel.fourPolar.algorithm.util.image.generic.transform;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.stream.IntStream;
 
@@ -9,6 +10,9 @@ import fr.fresnel.fourPolar.core.util.transform.AffineTransform;
 import net.imglib2.RandomAccessible;
 import net.imglib2.RealRandomAccessible;
 import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.img.basictypeaccess.array.IntArray;
 import net.imglib2.interpolation.InterpolatorFactory;
 import net.imglib2.interpolation.randomaccess.FloorInterpolatorFactory;
 import net.imglib2.loops.LoopBuilder;
@@ -16,6 +20,7 @@ import net.imglib2.realtransform.AffineGet;
 import net.imglib2.realtransform.AffineRandomAccessible;
 import net.imglib2.realtransform.RealViews;
 import net.imglib2.type.numeric.NumericType;
+import net.imglib2.type.numeric.integer.IntType;
 import net.imglib2.util.ImgUtil;
 import net.imglib2.util.Util;
 import net.imglib2.view.IntervalView;
@@ -51,6 +56,50 @@ class ImgLib2Affine2DTransformer {
         _copyTransformedImageToOriginalImage(image, boundedTransformedImage);
     }
 
+    /**
+     * Creates the table that gives, for every pixel of a plane of the image, the
+     * index of the pixel that {@link #applyWithNearestNeighbor(Img, Affine2D)}
+     * would copy to it. The table is calculated by applying the same transform
+     * view to an image that holds the index of each pixel of a plane, hence the
+     * result is identical to what the transform view would give. Pixels that are
+     * mapped from outside the plane are marked with -1.
+     * 
+     * @param imageDim is the dimension of the image (only the first two are used
+     *                 as plane dimension).
+     * @return the table, with pixels stored row by row.
+     * 
+     * @throws IllegalArgumentException if the given affine transform is not
+     *                                  invertible.
+     */
+    public static int[] createNearestNeighborGatherTable(long[] imageDim, Affine2D affine2D) {
+        Objects.requireNonNull(imageDim, "imageDim can't be null");
+        Objects.requireNonNull(affine2D, "affine2D can't be null");
+        _checkAffineTransformIsInvertible(affine2D);
+
+        long[] indexImageDim = new long[imageDim.length];
+        Arrays.fill(indexImageDim, 1);
+        indexImageDim[0] = imageDim[0];
+        indexImageDim[1] = imageDim[1];
+
+        // Indices are shifted by one, so that the zero extension marks outside.
+        final ArrayImg<IntType, IntArray> indexImage = ArrayImgs.ints(indexImageDim);
+        final int[] indices = indexImage.update(null).getCurrentStorageArray();
+        Arrays.setAll(indices, (index) -> index + 1);
+
+        final AffineRandomAccessible<IntType, AffineGet> affineTransformedImage = _applyAffineTransform(indexImage,
+                affine2D, new FloorInterpolatorFactory<>());
+
+        final IntervalView<IntType> boundedTransformedImage = _boundTheTransformedImageToOriginalSize(indexImage,
+                affineTransformedImage);
+
+        final ArrayImg<IntType, IntArray> gatherTable = ArrayImgs.ints(indexImageDim);
+        LoopBuilder.setImages(gatherTable, boundedTransformedImage).forEachPixel(IntType::set);
+
+        final int[] table = gatherTable.update(null).getCurrentStorageArray();
+        Arrays.setAll(table, (index) -> table[index] - 1);
+        return table;
+    }
+
     private static void _checkAffineTransformIsInvertible(AffineTransform affineTransform) {
         if (!affineTransform.isInvertible()) {
             throw new IllegalArgumentException("The given affine transform is not invvertible");
@@ -0,0 +1,84 @@
+package fr.fresnel.fourPolar.algorithm.util.image.orientation;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+
+/**
+ * A read-only view of an angle image (in radian) in degrees. Each plane is
+ * converted when it's read, hence only one plane buffer is allocated per read,
+ * rather than a complete image. Only the plane read methods of this view are
+ * supported, the rest throw {@link UnsupportedOperationException}.
+ */
+class AngleImageInDegreeView implements Image<Float32> {
+    private final Image<Float32> _angleImage;
+
+    public AngleImageInDegreeView(Image<Float32> angleImage) {
+        this._angleImage = angleImage;
+    }
+
+    /**
+     * The plane of the angle image is converted to a new plane, hence the angle
+     * image is not modified.
+     */
+    @Override
+    public float[] getFloatPlane(long planeIndex) {
+        float[] anglePlane = this._angleImage.getFloatPlane(planeIndex);
+
+        float[] degreePlane = new float[anglePlane.length];
+        for (int i = 0; i < anglePlane.length; i++) {
+            degreePlane[i] = (float) Math.toDegrees(anglePlane[i]);
+        }
+        return degreePlane;
+    }
+
+    @Override
+    public short[] getShortPlane(long planeIndex) {
+        throw new UnsupportedOperationException("Image is not of UINT_16 type.");
+    }
+
+    @Override
+    public void setPlane(long planeIndex, short[] plane) {
+        throw new UnsupportedOperationException("The degree view can't be written to.");
+    }
+
+    @Override
+    public void setPlane(long planeIndex, float[] plane) {
+        throw new UnsupportedOperationException("The degree view can't be written to.");
+    }
+
+    @Override
+    public IPixelCursor<Float32> getCursor() {
+        throw new UnsupportedOperationException("The degree view can only be read plane by plane.");
+    }
+
+    @Override
+    public IPixelCursor<Float32> getCursor(long[] bottomCorner, long[] len) throws IllegalArgumentException {
+        throw new UnsupportedOperationException("The degree view can only be read plane by plane.");
+    }
+
+    @Override
+    public IPrimitivePixelCursor getPrimitiveCursor() {
+        throw new UnsupportedOperationException("The degree view can only be read plane by plane.");
+    }
+
+    @Override
+    public IPixelRandomAccess<Float32> getRandomAccess() {
+        throw new UnsupportedOperationException("The degree view can only be read plane by plane.");
+    }
+
+    @Override
+    public ImageFactory getFactory() {
+        return this._angleImage.getFactory();
+    }
+
+    @Override
+    public IMetadata getMetadata() {
+        return this._angleImage.getMetadata();
+    }
+
+}
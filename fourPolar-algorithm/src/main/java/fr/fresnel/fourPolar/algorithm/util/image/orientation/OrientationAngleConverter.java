@@ -1,15 +1,17 @@
 package fr.fresnel.fourPolar.algorithm.util.image.orientation;
 
+import java.util.Arrays;
+
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
-import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
-import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
-import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
 import fr.fresnel.fourPolar.core.image.orientation.IAngleImage;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIForegroundMask;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
 
 /**
  * Contains a set of utility methods for post-processing the orientation images.
@@ -21,37 +23,81 @@ public class OrientationAngleConverter {
 
     /**
      * Converts the given {@link OrientationAngle} to degrees and returns a new
-     * image from that.
+     * image from that. The degree image is created with the factory of the angle
+     * image, hence both images are iterated in the same order.
      */
     public static Image<Float32> convertToDegree(IOrientationImage orientationImage, OrientationAngle angle) {
         Image<Float32> degreeImage = _duplicateAngleImage(orientationImage.getAngleImage(angle));
 
-        IPixelRandomAccess<Float32> ra_degreeImage = degreeImage.getRandomAccess();
-        for (IPixelCursor<Float32> angleCursor = orientationImage.getAngleImage(angle).getImage()
-                .getCursor(); angleCursor.hasNext();) {
-            IPixel<Float32> angleInRadian = angleCursor.next();
-            double angleInDegree = Math.toDegrees(angleInRadian.value().get());
+        IPrimitivePixelCursor degreeCursor = degreeImage.getPrimitiveCursor();
+        for (IPrimitivePixelCursor angleCursor = orientationImage.getAngleImage(angle).getImage()
+                .getPrimitiveCursor(); angleCursor.hasNext();) {
+            angleCursor.next();
+            degreeCursor.next();
+            degreeCursor.setFloat((float) Math.toDegrees(angleCursor.getFloat()));
+        }
 
-            ra_degreeImage.setPosition(angleCursor.localize());
-            IPixel<Float32> pixelInRadian = ra_degreeImage.getPixel();
-            pixelInRadian.value().set((float) angleInDegree);
-            ra_degreeImage.setPixel(pixelInRadian);
+        return degreeImage;
+
+    }
+
+    /**
+     * Same as {@link #convertToDegree(IOrientationImage, OrientationAngle)}, but
+     * only the foreground pixels of the given mask are converted, plane by plane.
+     * The background pixels of the degree image are set to NaN, as the angles of
+     * the pixels below the SoI threshold.
+     *
+     * @throws IllegalArgumentException if the mask and the orientation image don't
+     *                                  have the same dimension.
+     */
+    public static Image<Float32> convertToDegree(IOrientationImage orientationImage, OrientationAngle angle,
+            SoIForegroundMask foreground) {
+        Image<Float32> angleImage = orientationImage.getAngleImage(angle).getImage();
+        if (!MetadataUtil.isDimensionEqual(angleImage.getMetadata(), foreground.getMetadata())) {
+            throw new IllegalArgumentException("The foreground mask must have the same dimension as the angle image.");
+        }
+
+        Image<Float32> degreeImage = _duplicateAngleImage(orientationImage.getAngleImage(angle));
+        int planeSize = (int) MetadataUtil.getPlaneSize(angleImage.getMetadata());
+        for (long planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(angleImage.getMetadata()); planeIndex++) {
+            int[] runs = foreground.getRuns(planeIndex);
+
+            float[] degreePlane = new float[planeSize];
+            Arrays.fill(degreePlane, Float.NaN);
+
+            float[] anglePlane = runs.length == 0 ? null : angleImage.getFloatPlane(planeIndex);
+            for (int run = 0; run < runs.length; run += 2) {
+                for (int index = runs[run]; index < runs[run + 1]; index++) {
+                    degreePlane[index] = (float) Math.toDegrees(anglePlane[index]);
+                }
+            }
+            degreeImage.setPlane(planeIndex, degreePlane);
         }
 
         return degreeImage;
+    }
 
+    /**
+     * Returns a read-only view of the given {@link OrientationAngle} in degrees,
+     * which converts each plane when it's read (see
+     * {@link Image#getFloatPlane(long)}). Unlike
+     * {@link #convertToDegree(IOrientationImage, OrientationAngle)}, no image is
+     * created, hence it should be used for writing the angles in degrees plane by
+     * plane. The other methods of the view throw
+     * {@link UnsupportedOperationException}.
+     */
+    public static Image<Float32> viewInDegree(IOrientationImage orientationImage, OrientationAngle angle) {
+        return new AngleImageInDegreeView(orientationImage.getAngleImage(angle).getImage());
     }
 
     /**
      * Converts an image interface that has angle in degrees to radian in place.
      */
     public static void convertToRadian(Image<Float32> angleImageInDegree) {
-        for (IPixelCursor<Float32> angleCursor = angleImageInDegree.getCursor(); angleCursor.hasNext();) {
-            IPixel<Float32> angle = angleCursor.next();
-            double angleInRadian = Math.toRadians(angle.value().get());
-
-            angle.value().set((float) angleInRadian);
-            angleCursor.setPixel(angle);
+        for (IPrimitivePixelCursor angleCursor = angleImageInDegree.getPrimitiveCursor(); angleCursor
+                .hasNext();) {
+            angleCursor.next();
+            angleCursor.setFloat((float) Math.toRadians(angleCursor.getFloat()));
         }
 
     }
@@ -0,0 +1,99 @@
+package fr.fresnel.fourPolar.algorithm.util.image.polarization;
+
+import java.util.EnumMap;
+import java.util.Objects;
+
+import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.ImageProfile;
+import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.ImageProfiler;
+import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.UINT16Histogram;
+import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
+import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
+
+/**
+ * The {@link ImageProfile} of each polarization image of a polarization image
+ * set. The steps that need the statistics of the same set (e.g, the dark
+ * background estimation and the composite creation of a registration set)
+ * should share one profile, so that the set is traversed only once.
+ * <p>
+ * A profile is not updated when the images of the set are modified in place
+ * (e.g, by realignment). Hence, the set should be profiled once it's
+ * preprocessed.
+ */
+public class PolarizationImageSetProfile {
+    private final EnumMap<Polarization, ImageProfile> _profiles;
+
+    private PolarizationImageSetProfile(EnumMap<Polarization, ImageProfile> profiles) {
+        this._profiles = profiles;
+    }
+
+    /**
+     * Profiles every polarization image of the set, together with the histogram
+     * of each plane.
+     *
+     * @param imageSet is the polarization image set.
+     * @return the profile of the set.
+     */
+    public static PolarizationImageSetProfile profile(IPolarizationImageSet imageSet) {
+        return profile(imageSet, true);
+    }
+
+    /**
+     * Profiles every polarization image of the set.
+     *
+     * @param imageSet       is the polarization image set.
+     * @param withHistograms if true, the histogram of each plane is calculated
+     *                       as well. Note that each histogram takes 512KB of
+     *                       memory.
+     * @return the profile of the set.
+     */
+    public static PolarizationImageSetProfile profile(IPolarizationImageSet imageSet, boolean withHistograms) {
+        Objects.requireNonNull(imageSet, "imageSet can't be null");
+
+        EnumMap<Polarization, ImageProfile> profiles = new EnumMap<>(Polarization.class);
+        for (Polarization polarization : Polarization.values()) {
+            profiles.put(polarization,
+                    ImageProfiler.profile(imageSet.getPolarizationImage(polarization).getImage(), withHistograms));
+        }
+
+        return new PolarizationImageSetProfile(profiles);
+    }
+
+    /**
+     * Returns the profile of the given polarization image.
+     */
+    public ImageProfile getProfile(Polarization polarization) {
+        return this._profiles.get(polarization);
+    }
+
+    /**
+     * Returns true if the profile contains the histogram of planes.
+     */
+    public boolean hasHistograms() {
+        return this._profiles.get(Polarization.pol0).hasHistograms();
+    }
+
+    /**
+     * Returns a new histogram, that merges the plane histograms of the given
+     * polarization images.
+     *
+     * @param polarizations are the polarizations whose images are merged.
+     * @param allPlanes     if true, all planes of the images are merged,
+     *                      otherwise only the first plane.
+     * @throws IllegalStateException if the set was profiled without histograms.
+     */
+    public UINT16Histogram getHistogram(Polarization[] polarizations, boolean allPlanes) {
+        Objects.requireNonNull(polarizations, "polarizations can't be null");
+
+        UINT16Histogram histogram = new UINT16Histogram();
+        for (Polarization polarization : polarizations) {
+            ImageProfile profile = this._profiles.get(polarization);
+            int nPlanes = allPlanes ? profile.numPlanes() : 1;
+            for (int planeIndex = 1; planeIndex <= nPlanes; planeIndex++) {
+                histogram.add(profile.getPlaneHistogram(planeIndex));
+            }
+        }
+
+        return histogram;
+    }
+
+}
@@ -0,0 +1,184 @@
+package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Paints the sticks of a gauge figure in parallel. The rows of each figure
+ * plane (or group of planes that sticks can cross) are divided into tiles,
+ * and each tile is painted by one task, which draws only the rows of its tile.
+ * A tile draws every stick whose center is inside the tile or its halo, i.e,
+ * the rows above and below the tile that a stick can reach from its center.
+ * <p>
+ * The sticks of a tile are drawn in the order they're given. Hence, the sticks
+ * that overlap on a pixel are blended in the same order as drawing them one
+ * after the other, and the figure does not depend on the number of threads.
+ *
+ * @param <S> is the stick type.
+ */
+public class TiledStickPainter<S> {
+    /**
+     * Number of figure rows painted by one task.
+     */
+    private static final int _TILE_ROWS = 64;
+
+    /**
+     * Draws the part of a stick that is inside the given rows of the figure.
+     */
+    public interface TileDrawer<S> {
+        /**
+         * @param stick    is the stick to be drawn.
+         * @param rowStart is the first row of the tile.
+         * @param rowEnd   is the last row of the tile (inclusive).
+         */
+        void draw(S stick, long rowStart, long rowEnd);
+    }
+
+    private final ExecutorService _executor;
+    private final long _nRows;
+    private final long _halo;
+    private final ToLongFunction<S> _row;
+    private final ToLongFunction<S> _group;
+
+    /**
+     * @param executor is the executor that paints the tiles.
+     * @param nRows    is the number of rows of the figure.
+     * @param halo     is the maximum number of rows that a stick reaches above or
+     *                 below its center row.
+     * @param row      returns the center row of a stick.
+     * @param group    returns the group of a stick, where sticks of different
+     *                 groups never share a pixel (e.g, the figure plane).
+     */
+    public TiledStickPainter(ExecutorService executor, long nRows, long halo, ToLongFunction<S> row,
+            ToLongFunction<S> group) {
+        Objects.requireNonNull(executor, "executor can't be null");
+        Objects.requireNonNull(row, "row can't be null");
+        Objects.requireNonNull(group, "group can't be null");
+
+        if (nRows < 1 || halo < 0) {
+            throw new IllegalArgumentException("nRows must be positive and halo non-negative.");
+        }
+
+        this._executor = executor;
+        this._nRows = nRows;
+        this._halo = halo;
+        this._row = row;
+        this._group = group;
+    }
+
+    /**
+     * Paints the given sticks, and returns when all the tiles are painted.
+     *
+     * @param sticks  is the sticks in drawing order.
+     * @param drawers creates the drawer of each tile, which draws the sticks of
+     *                that tile only. It's called once per tile by the task of the
+     *                tile, hence per tile state (e.g, a random access over the
+     *                figure) can be created here and is released with the tile.
+     *
+     * @throws IllegalArgumentException if the center row of a stick is outside
+     *                                  the figure.
+     */
+    public void paint(List<S> sticks, Supplier<TileDrawer<S>> drawers) {
+        Map<Long, List<S>> groups = new LinkedHashMap<>();
+        for (S stick : sticks) {
+            groups.computeIfAbsent(this._group.applyAsLong(stick), (group) -> new ArrayList<>()).add(stick);
+        }
+
+        List<Future<?>> tiles = new ArrayList<>();
+        try {
+            for (List<S> groupSticks : groups.values()) {
+                this._submitTiles(groupSticks, drawers, tiles);
+            }
+        } catch (RuntimeException e) {
+            _cancel(tiles);
+            throw e;
+        }
+
+        _waitForTiles(tiles);
+    }
+
+    /**
+     * Sorts the sticks of the group by row, then submits one task per tile over
+     * the sticks of its rows and halo.
+     */
+    private void _submitTiles(List<S> groupSticks, Supplier<TileDrawer<S>> drawers, List<Future<?>> tiles) {
+        int[] rowStarts = new int[(int) this._nRows + 1];
+        for (S stick : groupSticks) {
+            rowStarts[(int) this._getRow(stick) + 1]++;
+        }
+        for (int row = 0; row < this._nRows; row++) {
+            rowStarts[row + 1] += rowStarts[row];
+        }
+
+        int[] sticksByRow = new int[groupSticks.size()];
+        int[] rowPositions = Arrays.copyOf(rowStarts, rowStarts.length);
+        for (int stick = 0; stick < groupSticks.size(); stick++) {
+            sticksByRow[rowPositions[(int) this._getRow(groupSticks.get(stick))]++] = stick;
+        }
+
+        for (long tileStart = 0; tileStart < this._nRows; tileStart += _TILE_ROWS) {
+            long tileEnd = Math.min(this._nRows, tileStart + _TILE_ROWS) - 1;
+            int from = rowStarts[(int) Math.max(0, tileStart - this._halo)];
+            int to = rowStarts[(int) Math.min(this._nRows - 1, tileEnd + this._halo) + 1];
+
+            if (from < to) {
+                long rowStart = tileStart;
+                tiles.add(this._executor.submit(() -> {
+                    // Back to drawing order, as the sticks of different rows may overlap.
+                    int[] tileSticks = Arrays.copyOfRange(sticksByRow, from, to);
+                    Arrays.sort(tileSticks);
+                    TileDrawer<S> drawer = drawers.get();
+                    for (int stick : tileSticks) {
+                        drawer.draw(groupSticks.get(stick), rowStart, tileEnd);
+                    }
+                }));
+            }
+        }
+    }
+
+    private long _getRow(S stick) {
+        long row = this._row.applyAsLong(stick);
+        if (row < 0 || row >= this._nRows) {
+            throw new IllegalArgumentException("stick row is outside the figure.");
+        }
+        return row;
+    }
+
+    private static void _waitForTiles(List<Future<?>> tiles) {
+        try {
+            for (Future<?> tile : tiles) {
+                tile.get();
+            }
+        } catch (ExecutionException e) {
+            _cancel(tiles);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            _cancel(tiles);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Painting sticks was interrupted.");
+        }
+    }
+
+    private static void _cancel(List<Future<?>> tiles) {
+        for (Future<?> tile : tiles) {
+            tile.cancel(true);
+        }
+    }
+
+}
@@ -1,5 +1,8 @@
 package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge2D;
 
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.color.ColorBlender;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
 import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
@@ -28,4 +31,6 @@ abstract class IWholeSampleStick2DPainterBuilder {
     abstract OrientationAngle getSlopeAngle();
 
     abstract OrientationAngle getColorAngle();
+
+    abstract Optional<ExecutorService> getExecutor();
 }
\ No newline at end of file
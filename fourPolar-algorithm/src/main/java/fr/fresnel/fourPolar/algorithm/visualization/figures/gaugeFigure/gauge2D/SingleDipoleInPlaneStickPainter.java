@@ -8,6 +8,7 @@ import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImageRandomAccess;
 import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIForegroundMask;
 import fr.fresnel.fourPolar.core.physics.dipole.IOrientationVector;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationVector;
@@ -129,6 +130,14 @@ class SingleDipoleInPlaneStickPainter implements IAngleGaugePainter {
         }
     }
 
+    /**
+     * The single dipole is drawn regardless of SoI, hence the mask is not used.
+     */
+    @Override
+    public void draw(IShape region, SoIForegroundMask foreground) throws IllegalArgumentException {
+        this.draw(region, foreground.getSoIThreshold());
+    }
+
     @Override
     public IGaugeFigure getFigure() {
         return this._dipoleFigure;
@@ -0,0 +1,223 @@
+package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge2D;
+
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.shape.IShape;
+import fr.fresnel.fourPolar.core.shape.ShapeFactory;
+import fr.fresnel.fourPolar.core.shape.ShapeUtils;
+
+/**
+ * Rasterises the thick sticks of a whole sample figure row by row, clipped to
+ * the figure plane. A stick is the closed box [-len/2 + 1, len/2] x
+ * [-thickness/2 + 1, thickness/2], rotated around and translated to its
+ * center.
+ * <p>
+ * The pixels are the same as iterating the rotated and translated ImgLib2 box
+ * mask of the stick, anded with the figure plane. That is, a pixel is drawn iff
+ * it's inside the largest interval contained in the bounds of the rotated box
+ * (see {@link ShapeUtils#getIterationBox(IShape)}), and
+ * {@link IShape#isInside(long[])} of the mask is true. The latter is evaluated
+ * with the same floating point operations as the mask. Because each row of a
+ * stick is a single span, only the span ends are tested, and the pixels in
+ * between are visited without any test.
+ * <p>
+ * The bounds of the rotated box are computed from its corners. Only when a
+ * bound is so close to an integer that rounding decides whether the border
+ * pixels are in the interval (e.g, at axis-aligned and diagonal angles), the
+ * interval is taken from the mask itself.
+ */
+class StickRasterizer {
+    /**
+     * Receives the spans of a stick.
+     */
+    interface SpanConsumer {
+        /**
+         * @param y      is the row of the span.
+         * @param xStart is the first pixel of the span.
+         * @param xEnd   is the last pixel of the span (inclusive).
+         */
+        void accept(long y, long xStart, long xEnd);
+    }
+
+    /**
+     * Distance from an integer below which a bound of the stick is taken from the
+     * mask.
+     */
+    private static final double _BOUND_TOLERANCE = 1e-6;
+
+    private final double _uMin;
+    private final double _uMax;
+    private final double _vMin;
+    private final double _vMax;
+
+    /**
+     * Half of the bounding square of the stick for any rotation.
+     */
+    private final long _radius;
+
+    private final long _width;
+    private final long _height;
+
+    /**
+     * The stick as an XYCZT box mask, which gives the interval of the sticks whose
+     * bounds are close to an integer.
+     */
+    private final IShape _baseStick;
+
+    /**
+     * @param len          is the stick length.
+     * @param thickness    is the stick thickness.
+     * @param figureWidth  is the width of the figure plane.
+     * @param figureHeight is the height of the figure plane.
+     */
+    public StickRasterizer(int len, int thickness, long figureWidth, long figureHeight) {
+        this._uMin = -len / 2 + 1;
+        this._uMax = len / 2;
+        this._vMin = -thickness / 2 + 1;
+        this._vMax = thickness / 2;
+
+        double maxU = Math.max(Math.abs(this._uMin), Math.abs(this._uMax));
+        double maxV = Math.max(Math.abs(this._vMin), Math.abs(this._vMax));
+        this._radius = (long) Math.ceil(Math.hypot(maxU, maxV)) + 1;
+
+        this._width = figureWidth;
+        this._height = figureHeight;
+
+        long[] stickMin = { -len / 2 + 1, -thickness / 2 + 1, 0, 0, 0 };
+        long[] stickMax = { len / 2, thickness / 2, 0, 0, 0 };
+        this._baseStick = ShapeFactory.closedBox(stickMin, stickMax, AxisOrder.XYCZT);
+    }
+
+    /**
+     * Rasterises the stick rotated by the given angle (as in
+     * {@link fr.fresnel.fourPolar.core.shape.IShape#rotate2D(double)}) around the
+     * given center. Spans are given with increasing y, and only the parts inside
+     * the figure plane are given.
+     *
+     * @param angle    is the rotation angle of the stick.
+     * @param centerX  is the x position of the stick center.
+     * @param centerY  is the y position of the stick center.
+     * @param consumer receives the spans.
+     */
+    public void rasterize(double angle, long centerX, long centerY, SpanConsumer consumer) {
+        this.rasterize(angle, centerX, centerY, 0, this._height - 1, consumer);
+    }
+
+    /**
+     * Rasterises only the rows of the stick in [rowStart, rowEnd]. The spans of
+     * these rows are the same as the ones given by
+     * {@link #rasterize(double, long, long, SpanConsumer)}.
+     *
+     * @param angle    is the rotation angle of the stick.
+     * @param centerX  is the x position of the stick center.
+     * @param centerY  is the y position of the stick center.
+     * @param rowStart is the first row to rasterise.
+     * @param rowEnd   is the last row to rasterise (inclusive).
+     * @param consumer receives the spans.
+     */
+    public void rasterize(double angle, long centerX, long centerY, long rowStart, long rowEnd,
+            SpanConsumer consumer) {
+        // The transform back to stick coordinates, as set by the 2D rotation of
+        // the shape.
+        double cos = Math.cos(-angle);
+        double sin = Math.sin(-angle);
+        long[] box = this._getIterationBox(angle, centerX, centerY);
+
+        long yStart = Math.max(Math.max(0, rowStart), box[2]);
+        long yEnd = Math.min(Math.min(this._height - 1, rowEnd), box[3]);
+        for (long y = yStart; y <= yEnd; y++) {
+            double dy = y - centerY;
+
+            double[] uRange = _solve(cos, -sin * dy, this._uMin, this._uMax);
+            double[] vRange = _solve(sin, cos * dy, this._vMin, this._vMax);
+            double low = Math.max(Math.max(uRange[0], vRange[0]), -this._radius);
+            double high = Math.min(Math.min(uRange[1], vRange[1]), this._radius);
+
+            // The estimated span is widened by one pixel, then shrunk using the exact
+            // test, so that rounding of the estimate does not change the span. An
+            // empty row is shrunk to nothing.
+            long xStart = Math.max(centerX + (long) Math.ceil(low) - 1, Math.max(0, box[0]));
+            long xEnd = Math.min(centerX + (long) Math.floor(high) + 1, Math.min(this._width - 1, box[1]));
+
+            while (xStart <= xEnd && !this._isInside(cos, sin, xStart - centerX, dy)) {
+                xStart++;
+            }
+            while (xEnd >= xStart && !this._isInside(cos, sin, xEnd - centerX, dy)) {
+                xEnd--;
+            }
+
+            if (xStart <= xEnd) {
+                consumer.accept(y, xStart, xEnd);
+            }
+        }
+    }
+
+    /**
+     * Returns the maximum number of rows that a stick reaches above or below its
+     * center.
+     */
+    public long getRadius() {
+        return this._radius;
+    }
+
+    /**
+     * Returns the interval that the mask iterator of the stick visits in the
+     * plane, as {xMin, xMax, yMin, yMax}.
+     */
+    private long[] _getIterationBox(double angle, long centerX, long centerY) {
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+
+        double[] bounds = { Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY };
+        for (double u : new double[] { this._uMin, this._uMax }) {
+            for (double v : new double[] { this._vMin, this._vMax }) {
+                double x = cos * u - sin * v;
+                double y = sin * u + cos * v;
+                bounds[0] = Math.min(bounds[0], x);
+                bounds[1] = Math.max(bounds[1], x);
+                bounds[2] = Math.min(bounds[2], y);
+                bounds[3] = Math.max(bounds[3], y);
+            }
+        }
+
+        for (double bound : bounds) {
+            if (Math.abs(bound - Math.rint(bound)) < _BOUND_TOLERANCE) {
+                return this._getMaskIterationBox(angle, centerX, centerY);
+            }
+        }
+
+        return new long[] { centerX + (long) Math.ceil(bounds[0]), centerX + (long) Math.floor(bounds[1]),
+                centerY + (long) Math.ceil(bounds[2]), centerY + (long) Math.floor(bounds[3]) };
+    }
+
+    private long[] _getMaskIterationBox(double angle, long centerX, long centerY) {
+        IShape stick = this._baseStick.rotate2D(angle).translate(new long[] { centerX, centerY, 0, 0, 0 });
+        long[][] box = ShapeUtils.getIterationBox(stick);
+        return new long[] { box[0][0], box[1][0], box[0][1], box[1][1] };
+    }
+
+    /**
+     * Solves min <= slope * dx + offset <= max for dx, and returns the range of dx.
+     */
+    private static double[] _solve(double slope, double offset, double min, double max) {
+        if (slope == 0) {
+            boolean isInside = min <= offset && offset <= max;
+            return isInside ? new double[] { Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY }
+                    : new double[] { Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY };
+        }
+
+        double bound1 = (min - offset) / slope;
+        double bound2 = (max - offset) / slope;
+        return new double[] { Math.min(bound1, bound2), Math.max(bound1, bound2) };
+    }
+
+    /**
+     * The box test of the mask, after rotating the position relative to center.
+     */
+    private boolean _isInside(double cos, double sin, double dx, double dy) {
+        double u = cos * dx + -sin * dy;
+        double v = sin * dx + cos * dy;
+        return this._uMin <= u && u <= this._uMax && this._vMin <= v && v <= this._vMax;
+    }
+
+}
@@ -1,23 +1,33 @@
 package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge2D;
 
 import fr.fresnel.fourPolar.algorithm.util.image.generic.color.GrayScaleToColorConverter;
+import fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.TiledStickPainter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
 import fr.fresnel.fourPolar.core.image.generic.Image;
-import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
 import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.ARGB8;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.color.ColorBlender;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImageRandomAccess;
 import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIForegroundMask;
 import fr.fresnel.fourPolar.core.physics.dipole.IOrientationVector;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationVector;
 import fr.fresnel.fourPolar.core.shape.IShape;
 import fr.fresnel.fourPolar.core.shape.IShapeIterator;
-import fr.fresnel.fourPolar.core.shape.ShapeFactory;
+import fr.fresnel.fourPolar.core.shape.ShapeUtils;
 import fr.fresnel.fourPolar.core.util.image.generic.ImageUtil;
 import fr.fresnel.fourPolar.core.util.image.generic.colorMap.ColorMap;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
 import fr.fresnel.fourPolar.core.visualization.figures.gaugeFigure.GaugeFigure;
 import fr.fresnel.fourPolar.core.visualization.figures.gaugeFigure.IGaugeFigure;
 import fr.fresnel.fourPolar.core.visualization.figures.gaugeFigure.guage.IAngleGaugePainter;
@@ -27,25 +37,32 @@ class WholeSampleStick2DPainter implements IAngleGaugePainter {
 
     final private IOrientationImageRandomAccess _orientationRA;
     final private IPixelRandomAccess<UINT16> _soiRA;
+    final private Image<UINT16> _soiImage;
     final private ColorMap _colormap;
 
     /**
-     * We generate a single stick, and then rotate and translate it for different
-     * dipoles.
+     * Rasterises the stick of each dipole directly into the figure plane, rather
+     * than rotating and translating a stick shape for each dipole.
      */
-    final private IShape _baseStick;
+    final private StickRasterizer _stickRasterizer;
 
     private final OrientationAngle _slopeAngle;
     private final OrientationAngle _colorAngle;
     private final double _maxColorAngle;
 
-    private final IShape _stickFigureRegion;
     private final IShape _soiImageRegion;
 
     private final ColorBlender _colorBlender;
 
+    /**
+     * Paints the sticks in parallel row tiles of each figure plane, if an executor
+     * is given.
+     */
+    private final Optional<TiledStickPainter<Stick>> _tiledPainter;
+
     public WholeSampleStick2DPainter(IWholeSampleStick2DPainterBuilder builder) {
-        this._soiRA = builder.getSoIImage().getImage().getRandomAccess();
+        this._soiImage = builder.getSoIImage().getImage();
+        this._soiRA = this._soiImage.getRandomAccess();
 
         this._stick2DFigure = builder.getGauageFigure();
         _addSoIToFigureBackground(builder.getSoIImage());
@@ -59,10 +76,17 @@ class WholeSampleStick2DPainter implements IAngleGaugePainter {
         this._colorAngle = builder.getColorAngle();
         this._maxColorAngle = OrientationVector.maxAngle(_colorAngle);
 
-        this._baseStick = this._defineBaseStick(builder.getSticklength(), builder.getStickThickness());
+        long[] figureDim = this._stick2DFigure.getImage().getMetadata().getDim();
+        this._stickRasterizer = new StickRasterizer(builder.getSticklength(), builder.getStickThickness(),
+                figureDim[0], figureDim[1]);
 
-        this._stickFigureRegion = this._getImageBoundaryAsShape(this._stick2DFigure.getImage());
         this._soiImageRegion = this._getImageBoundaryAsShape(builder.getSoIImage().getImage());
+
+        IMetadata figureMetadata = this._stick2DFigure.getImage().getMetadata();
+        this._tiledPainter = builder.getExecutor()
+                .map((executor) -> new TiledStickPainter<Stick>(executor, figureDim[1],
+                        this._stickRasterizer.getRadius(), (stick) -> stick.position[1],
+                        (stick) -> MetadataUtil.getPlaneIndex(figureMetadata, stick.position)));
     }
 
     private void _addSoIToFigureBackground(ISoIImage soiImage) {
@@ -73,22 +97,6 @@ class WholeSampleStick2DPainter implements IAngleGaugePainter {
         return ImageUtil.getBoundaryAsBox(image);
     }
 
-    /**
-     * Basic stick complies with the gauge figure in number of dimensions.
-     */
-    private IShape _defineBaseStick(int len, int thickness) {
-        int numAxis = IGaugeFigure.AXIS_ORDER.numAxis;
-        long[] stickMin = new long[numAxis];
-        long[] stickMax = new long[numAxis];
-
-        stickMin[0] = -len / 2 + 1;
-        stickMin[1] = -thickness / 2 + 1;
-        stickMax[0] = len / 2;
-        stickMax[1] = thickness / 2;
-
-        return ShapeFactory.closedBox(stickMin, stickMax, AxisOrder.XYCZT);
-    }
-
     @Override
     public void draw(IShape region, UINT16 soiThreshold) {
         if (region.axisOrder() != ISoIImage.AXIS_ORDER) {
@@ -96,7 +104,8 @@ class WholeSampleStick2DPainter implements IAngleGaugePainter {
         }
 
         int threshold = soiThreshold.get();
-        IPixelRandomAccess<ARGB8> stickFigureRA = _stick2DFigure.getImage().getRandomAccess();
+        List<Stick> tiledSticks = new ArrayList<>();
+        Consumer<Stick> painter = this._createPainter(tiledSticks);
 
         IShapeIterator iterator = region.getIterator();
         while (iterator.hasNext()) {
@@ -106,66 +115,101 @@ class WholeSampleStick2DPainter implements IAngleGaugePainter {
                 this._soiRA.setPosition(stickCenterPosition);
                 final IOrientationVector orientationVector = this._getOrientationVector(stickCenterPosition);
                 if (_isSoIAboveThreshold(threshold) && _slopeAndColorAngleExist(orientationVector)) {
-                    _drawStick(orientationVector, stickCenterPosition, stickFigureRA);
+                    painter.accept(_createStick(orientationVector, stickCenterPosition));
                 }
             }
 
         }
 
+        this._paintTiles(tiledSticks);
     }
 
-    /**
-     * Draw the stick for the given orientation vector on the corresponding
-     * position.
-     */
-    private void _drawStick(IOrientationVector orientationVector, long[] stickCenterPosition,
-            IPixelRandomAccess<ARGB8> stickFigureRA) {
-        ARGB8 stickColor = _getStickColor(orientationVector);
+    @Override
+    public void draw(IShape region, SoIForegroundMask foreground) {
+        if (region.axisOrder() != ISoIImage.AXIS_ORDER) {
+            throw new IllegalArgumentException("The region should comply with the soi image axis order.");
+        }
 
-        IShapeIterator stickIterator = _createStickIteratorForThisDipole(orientationVector, stickCenterPosition);
-        while (stickIterator.hasNext()) {
-            long[] stickPosition = stickIterator.next();
-            stickFigureRA.setPosition(stickPosition);
+        if (!MetadataUtil.isDimensionEqual(this._soiImage.getMetadata(), foreground.getMetadata())) {
+            throw new IllegalArgumentException("The foreground mask should have the same dimension as soi image.");
+        }
 
-            IPixel<ARGB8> stickPositionPixel = stickFigureRA.getPixel();
-            _blendCurrentPixelWithStickColor(stickPositionPixel.value(), stickColor);
+        List<Stick> tiledSticks = new ArrayList<>();
+        Consumer<Stick> painter = this._createPainter(tiledSticks);
+        // Only the foreground inside the bounding box of the region is visited.
+        long[][] regionBox = ShapeUtils.getBoundingBox(region);
+        for (Iterator<long[]> iterator = foreground.getIterator(regionBox[0], regionBox[1]); iterator
+                .hasNext();) {
+            long[] stickCenterPosition = iterator.next();
 
-            stickFigureRA.setPixel(stickPositionPixel);
+            if (region.isInside(stickCenterPosition)) {
+                final IOrientationVector orientationVector = this._getOrientationVector(stickCenterPosition);
+                if (_slopeAndColorAngleExist(orientationVector)) {
+                    painter.accept(_createStick(orientationVector, stickCenterPosition));
+                }
+            }
         }
+
+        this._paintTiles(tiledSticks);
     }
 
     /**
-     * As opposed to simply replacing or adding the stick color to the current
-     * position, we blend it using a {@link ColorBlender} interface.
+     * Without an executor, each stick is drawn as soon as it's created. Otherwise,
+     * the sticks are gathered and painted in tiles by {@link #_paintTiles(List)}.
      */
-    private void _blendCurrentPixelWithStickColor(ARGB8 stickPositionPixel, ARGB8 stickColor) {
-        stickPositionPixel.add(stickColor);
-        this._colorBlender.blend(stickPositionPixel, stickColor);
+    private Consumer<Stick> _createPainter(List<Stick> tiledSticks) {
+        if (this._tiledPainter.isPresent()) {
+            return tiledSticks::add;
+        }
+
+        IPixelRandomAccess<ARGB8> stickFigureRA = _stick2DFigure.getImage().getRandomAccess();
+        return (stick) -> _drawStick(stick, stickFigureRA, 0, Long.MAX_VALUE);
     }
 
-    private IShapeIterator _createStickIteratorForThisDipole(IOrientationVector orientationVector,
-            long[] stickCenterPosition) {
-        IShape transformedStick = _transformStick(stickCenterPosition, orientationVector);
-        IShapeIterator stickIterator = this._getPortionOfStickInsideFigureFrame(transformedStick);
-        return stickIterator;
+    private void _paintTiles(List<Stick> tiledSticks) {
+        this._tiledPainter.ifPresent((tiledPainter) -> tiledPainter.paint(tiledSticks,
+                () -> {
+                    IPixelRandomAccess<ARGB8> tileFigureRA = this._stick2DFigure.getImage().getRandomAccess();
+                    return (stick, rowStart, rowEnd) -> _drawStick(stick, tileFigureRA, rowStart, rowEnd);
+                }));
     }
 
-    private IShapeIterator _getPortionOfStickInsideFigureFrame(IShape transformedStick) {
-        IShape portionInsideFrame = transformedStick.and(this._stickFigureRegion);
-        IShapeIterator stickIterator = portionInsideFrame.getIterator();
-        return stickIterator;
+    private Stick _createStick(IOrientationVector orientationVector, long[] stickCenterPosition) {
+        return new Stick(stickCenterPosition.clone(), Math.PI - orientationVector.getAngle(_slopeAngle),
+                _getStickColor(orientationVector));
     }
 
     /**
-     * Translate the stick to the position in the gauge figure that corresponds to
-     * the dipole position.
-     * 
-     * @param position          is the dipole position
-     * @param orientationVector is the orientation vector at the position
+     * Draw the stick on its position. The stick is the base stick, rotated by (pi -
+     * slope angle) and translated to the position, and only its portion inside the
+     * figure and the given rows is drawn.
      */
-    private IShape _transformStick(long[] position, IOrientationVector orientationVector) {
-        IShape transformedStick = this._baseStick.rotate2D(Math.PI - orientationVector.getAngle(_slopeAngle));
-        return transformedStick.translate(position.clone());
+    private void _drawStick(Stick stick, IPixelRandomAccess<ARGB8> stickFigureRA, long rowStart, long rowEnd) {
+        ARGB8 stickColor = stick.color;
+        long[] stickPosition = stick.position.clone();
+
+        this._stickRasterizer.rasterize(stick.angle, stick.position[0], stick.position[1], rowStart, rowEnd,
+                (y, xStart, xEnd) -> {
+                    stickPosition[1] = y;
+                    for (long x = xStart; x <= xEnd; x++) {
+                        stickPosition[0] = x;
+                        stickFigureRA.setPosition(stickPosition);
+
+                        IPixel<ARGB8> stickPositionPixel = stickFigureRA.getPixel();
+                        _blendCurrentPixelWithStickColor(stickPositionPixel.value(), stickColor);
+
+                        stickFigureRA.setPixel(stickPositionPixel);
+                    }
+                });
+    }
+
+    /**
+     * As opposed to simply replacing or adding the stick color to the current
+     * position, we blend it using a {@link ColorBlender} interface.
+     */
+    private void _blendCurrentPixelWithStickColor(ARGB8 stickPositionPixel, ARGB8 stickColor) {
+        stickPositionPixel.add(stickColor);
+        this._colorBlender.blend(stickPositionPixel, stickColor);
     }
 
     private IOrientationVector _getOrientationVector(long[] stickCenterPosition) {
@@ -192,4 +236,19 @@ class WholeSampleStick2DPainter implements IAngleGaugePainter {
     public IGaugeFigure getFigure() {
         return _stick2DFigure;
     }
+
+    /**
+     * The stick of a dipole, with its rotation angle and color.
+     */
+    private static class Stick {
+        final long[] position;
+        final double angle;
+        final ARGB8 color;
+
+        Stick(long[] position, double angle, ARGB8 color) {
+            this.position = position;
+            this.angle = angle;
+            this.color = color;
+        }
+    }
 }
\ No newline at end of file
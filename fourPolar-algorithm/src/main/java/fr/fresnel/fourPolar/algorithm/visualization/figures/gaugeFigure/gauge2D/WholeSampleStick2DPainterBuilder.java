@@ -1,6 +1,8 @@
 package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge2D;
 
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.color.ColorBlender;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.color.SoftLightColorBlender;
@@ -54,6 +56,12 @@ public class WholeSampleStick2DPainterBuilder extends IWholeSampleStick2DPainter
      */
     private ColorBlender _colorBlender = new SoftLightColorBlender();
 
+    /**
+     * Executor for painting the sticks in parallel. If null, sticks are painted
+     * serially.
+     */
+    private ExecutorService _executor = null;
+
     public WholeSampleStick2DPainterBuilder() {
     }
 
@@ -112,6 +120,18 @@ public class WholeSampleStick2DPainterBuilder extends IWholeSampleStick2DPainter
         return this;
     }
 
+    /**
+     * Paint the sticks in parallel using the given executor. The figure is the same
+     * as painting the sticks serially. Note that the executor is not shut down by
+     * the painter.
+     */
+    public WholeSampleStick2DPainterBuilder executor(ExecutorService executor) {
+        Objects.requireNonNull(executor, "executor can't be null.");
+
+        this._executor = executor;
+        return this;
+    }
+
     private void _setColorAngle(OrientationAngle colorAngle) {
         _colorAngle = colorAngle;
     }
@@ -271,4 +291,9 @@ public class WholeSampleStick2DPainterBuilder extends IWholeSampleStick2DPainter
         return this._colorAngle;
     }
 
+    @Override
+    Optional<ExecutorService> getExecutor() {
+        return Optional.ofNullable(this._executor);
+    }
+
 }
\ No newline at end of file
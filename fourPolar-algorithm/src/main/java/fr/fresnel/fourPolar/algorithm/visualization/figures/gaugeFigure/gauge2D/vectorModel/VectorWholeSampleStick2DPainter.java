@@ -1,5 +1,6 @@
 package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge2D.vectorModel;
 
+import java.util.Iterator;
 import java.util.Optional;
 
 import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
@@ -9,6 +10,7 @@ import fr.fresnel.fourPolar.core.image.generic.pixel.types.ARGB8;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImageRandomAccess;
 import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIForegroundMask;
 import fr.fresnel.fourPolar.core.image.vector.Vector;
 import fr.fresnel.fourPolar.core.image.vector.filter.FilterComposite;
 import fr.fresnel.fourPolar.core.physics.dipole.IOrientationVector;
@@ -18,8 +20,10 @@ import fr.fresnel.fourPolar.core.shape.ILineShape;
 import fr.fresnel.fourPolar.core.shape.IShape;
 import fr.fresnel.fourPolar.core.shape.IShapeIterator;
 import fr.fresnel.fourPolar.core.shape.ShapeFactory;
+import fr.fresnel.fourPolar.core.shape.ShapeUtils;
 import fr.fresnel.fourPolar.core.util.image.generic.ImageUtil;
 import fr.fresnel.fourPolar.core.util.image.generic.colorMap.ColorMap;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
 import fr.fresnel.fourPolar.core.visualization.figures.gaugeFigure.IGaugeFigure;
 import fr.fresnel.fourPolar.core.visualization.figures.gaugeFigure.guage.IAngleGaugePainter;
 import fr.fresnel.fourPolar.core.visualization.figures.gaugeFigure.vectorFigure.VectorGaugeFigure;
@@ -31,6 +35,7 @@ class VectorWholeSampleStick2DPainter implements IAngleGaugePainter {
     private final IShape _soiImageRegion;
     private final IOrientationImageRandomAccess _orientationRA;
     private final IPixelRandomAccess<UINT16> _soiRA;
+    private final Image<UINT16> _soiImage;
 
     private final OrientationAngle _slopeAngle;
     private final OrientationAngle _colorAngle;
@@ -49,7 +54,8 @@ class VectorWholeSampleStick2DPainter implements IAngleGaugePainter {
         _addSoIToFigureBackground(builder.getSoIImage());
 
         this._orientationRA = builder.getOrientationImage().getRandomAccess();
-        this._soiRA = builder.getSoIImage().getImage().getRandomAccess();
+        this._soiImage = builder.getSoIImage().getImage();
+        this._soiRA = this._soiImage.getRandomAccess();
 
         this._soiImageRegion = this._getImageBoundaryAsShape(builder.getSoIImage().getImage());
 
@@ -108,6 +114,30 @@ class VectorWholeSampleStick2DPainter implements IAngleGaugePainter {
         }
     }
 
+    @Override
+    public void draw(IShape region, SoIForegroundMask foreground) {
+        if (region.axisOrder() != ISoIImage.AXIS_ORDER) {
+            throw new IllegalArgumentException("The region should comply with the soi image axis order.");
+        }
+
+        if (!MetadataUtil.isDimensionEqual(this._soiImage.getMetadata(), foreground.getMetadata())) {
+            throw new IllegalArgumentException("The foreground mask should have the same dimension as soi image.");
+        }
+
+        // Only the foreground inside the bounding box of the region is visited.
+        long[][] regionBox = ShapeUtils.getBoundingBox(region);
+        for (Iterator<long[]> iterator = foreground.getIterator(regionBox[0], regionBox[1]); iterator
+                .hasNext();) {
+            long[] dipolePosition = iterator.next();
+            if (region.isInside(dipolePosition)) {
+                final IOrientationVector orientationVector = this._getOrientationVector(dipolePosition);
+                if (_slopeAndColorAngleExist(orientationVector)) {
+                    _drawStick(orientationVector, dipolePosition);
+                }
+            }
+        }
+    }
+
     private boolean _isPositionInsideSoI(long[] regionPosition) {
         return this._soiImageRegion.isInside(regionPosition);
     }
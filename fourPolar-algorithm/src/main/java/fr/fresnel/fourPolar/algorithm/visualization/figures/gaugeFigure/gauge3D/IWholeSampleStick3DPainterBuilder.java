@@ -1,5 +1,8 @@
 package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge3D;
 
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.color.ColorBlender;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
 import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
@@ -20,7 +23,11 @@ abstract public class IWholeSampleStick3DPainterBuilder {
 
     abstract int getStickThickness();
 
+    abstract double getStickAngleResolution();
+
     abstract ColorBlender getColorBlender();
 
     abstract GaugeFigure getGaugeFigure();
+
+    abstract Optional<ExecutorService> getExecutor();
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge3D;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import fr.fresnel.fourPolar.core.shape.IShape;
+import fr.fresnel.fourPolar.core.shape.IShapeIterator;
+import fr.fresnel.fourPolar.core.shape.Rotation3DOrder;
+
+/**
+ * Caches the voxels of the rotated 3D stick (a sprite) for each (rho, eta). The
+ * geometry of a stick only depends on these two angles, hence they are
+ * quantised to multiples of the angular resolution, and the voxels of the
+ * stick rotated by the quantised angles are computed once per (rho, eta) bin.
+ * Drawing a stick is then only a matter of offsetting the voxels of its
+ * sprite to the stick position.
+ * <p>
+ * Because angles are rounded to the nearest bin, each angle of a drawn stick
+ * is at most half the angular resolution away from the dipole angle. A zero
+ * resolution means no quantisation, in which case the sprite is computed for
+ * the exact angles of each stick and nothing is cached.
+ */
+class StickSpriteCache {
+    private final IShape _baseStick;
+    private final double _angleResolution;
+    private final int _zAxis;
+
+    /**
+     * Sprite of each bin, given as [x0, y0, z0, x1, y1, z1, ...] offsets from the
+     * stick position.
+     */
+    private final Map<Long, int[]> _sprites;
+
+    private final AtomicLong _hits;
+    private final AtomicLong _misses;
+
+    /**
+     * @param baseStick       is the stick before rotation.
+     * @param angleResolution is the angular resolution of the sprites in radian,
+     *                        or zero for exact angles.
+     *
+     * @throws IllegalArgumentException if the resolution is negative or NaN.
+     */
+    public StickSpriteCache(IShape baseStick, double angleResolution) {
+        if (!(angleResolution >= 0)) {
+            throw new IllegalArgumentException("angle resolution must be non-negative.");
+        }
+
+        this._baseStick = baseStick;
+        this._angleResolution = angleResolution;
+        this._zAxis = baseStick.axisOrder().z_axis;
+
+        this._sprites = new ConcurrentHashMap<>();
+        this._hits = new AtomicLong();
+        this._misses = new AtomicLong();
+    }
+
+    /**
+     * Returns the sprite of the stick with the given angles, as [x0, y0, z0, x1,
+     * y1, z1, ...] offsets from the stick position. The returned array must not be
+     * modified.
+     *
+     * @param rho is the in plane angle in radian.
+     * @param eta is the off plane angle in radian.
+     */
+    public int[] getSprite(double rho, double eta) {
+        if (this._angleResolution == 0) {
+            this._misses.incrementAndGet();
+            return this._createSprite(rho, eta);
+        }
+
+        long rhoBin = Math.round(rho / this._angleResolution);
+        long etaBin = Math.round(eta / this._angleResolution);
+        Long key = (rhoBin << 32) | (etaBin & 0xffffffffL);
+
+        int[] sprite = this._sprites.get(key);
+        if (sprite != null) {
+            this._hits.incrementAndGet();
+            return sprite;
+        }
+
+        this._misses.incrementAndGet();
+        return this._sprites.computeIfAbsent(key,
+                (bin) -> this._createSprite(rhoBin * this._angleResolution, etaBin * this._angleResolution));
+    }
+
+    /**
+     * See {@link WholeSampleStick3DPainter} for how the rotation angles are
+     * derived from rho and eta.
+     */
+    private int[] _createSprite(double rho, double eta) {
+        IShape rotatedStick = this._baseStick.rotate3D(eta, -Math.PI / 2 + rho, 0, Rotation3DOrder.XZY);
+
+        int[] sprite = new int[3 * 64];
+        int length = 0;
+        for (IShapeIterator iterator = rotatedStick.getIterator(); iterator.hasNext();) {
+            long[] voxel = iterator.next();
+            if (length == sprite.length) {
+                sprite = Arrays.copyOf(sprite, 2 * sprite.length);
+            }
+            sprite[length++] = (int) voxel[0];
+            sprite[length++] = (int) voxel[1];
+            sprite[length++] = (int) voxel[this._zAxis];
+        }
+        return Arrays.copyOf(sprite, length);
+    }
+
+    /**
+     * Returns the fraction of sprite requests that were found in the cache, or
+     * zero if no sprite is requested yet or the resolution is zero.
+     */
+    public double getHitRate() {
+        long hits = this._hits.get();
+        long requests = hits + this._misses.get();
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    /**
+     * Returns the maximum difference between an angle of a drawn stick and the
+     * corresponding dipole angle, in radian.
+     */
+    public double getMaxAngularError() {
+        return this._angleResolution / 2;
+    }
+
+    /**
+     * Returns the number of sprites in the cache.
+     */
+    public int size() {
+        return this._sprites.size();
+    }
+
+}
@@ -1,5 +1,13 @@
 package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge3D;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.TiledStickPainter;
+
 import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
@@ -10,50 +18,64 @@ import fr.fresnel.fourPolar.core.image.generic.pixel.types.color.ColorBlender;
 import fr.fresnel.fourPolar.core.image.orientation.IAngleImage;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImageRandomAccess;
 import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIForegroundMask;
 import fr.fresnel.fourPolar.core.physics.dipole.IOrientationVector;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationVector;
 import fr.fresnel.fourPolar.core.shape.IShape;
 import fr.fresnel.fourPolar.core.shape.IShapeIterator;
-import fr.fresnel.fourPolar.core.shape.Rotation3DOrder;
 import fr.fresnel.fourPolar.core.shape.ShapeFactory;
+import fr.fresnel.fourPolar.core.shape.ShapeUtils;
 import fr.fresnel.fourPolar.core.util.image.generic.ImageUtil;
 import fr.fresnel.fourPolar.core.util.image.generic.colorMap.ColorMap;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
 import fr.fresnel.fourPolar.core.visualization.figures.gaugeFigure.GaugeFigure;
 import fr.fresnel.fourPolar.core.visualization.figures.gaugeFigure.IGaugeFigure;
 import fr.fresnel.fourPolar.core.visualization.figures.gaugeFigure.guage.IAngleGaugePainter;
 
 /**
  * Class that fills the proper gauge with 3D sticks. See
- * {@link WholeSampleStick3DPainterBuilder}.
+ * {@link WholeSampleStick3DPainterBuilder}. The sprite cache of the rotated
+ * sticks can be inspected using {@link #getSpriteCacheHitRate()} and
+ * {@link #getMaxAngularError()}.
  */
-class WholeSampleStick3DPainter implements IAngleGaugePainter {
+public class WholeSampleStick3DPainter implements IAngleGaugePainter {
     final private GaugeFigure _stick3DFigure;
     final private IPixelRandomAccess<ARGB8> _stick3DFigureRA;
     final private IOrientationImageRandomAccess _orientationRA;
     final private IPixelRandomAccess<UINT16> _soiRA;
+    final private Image<UINT16> _soiImage;
     final private ColorMap _colormap;
     final private IShape _soiImageBoundary;
-    final private IShape _stick3DFigureBoundary;
+    final private long[] _stick3DFigureDim;
     final private int _stickLength;
     final private ColorBlender _colorBlender;
 
     /**
-     * We generate a single stick, and then rotate and translate it for different
-     * dipoles.
+     * We generate a single stick, and rotate it for each (rho, eta), or once per
+     * quantised (rho, eta) if a resolution is given. The rotated sticks are then
+     * translated for different dipoles.
      */
-    final private IShape _baseStick;
+    final private StickSpriteCache _spriteCache;
+
+    /**
+     * Paints the sticks in parallel row tiles of each time point, if an executor
+     * is given. The sticks of a time point cross the z planes of the interleaved
+     * figure, hence the tiles span all z planes.
+     */
+    final private Optional<TiledStickPainter<Stick>> _tiledPainter;
 
     /**
      * Create the 3D painter using the builder parameters.
      */
-    public WholeSampleStick3DPainter(IWholeSampleStick3DPainterBuilder builder) {
-        this._soiRA = builder.getSoIImage().getImage().getRandomAccess();
-        this._soiImageBoundary = _defineImageBoundaryAsBox(builder.getSoIImage().getImage());
+    WholeSampleStick3DPainter(IWholeSampleStick3DPainterBuilder builder) {
+        this._soiImage = builder.getSoIImage().getImage();
+        this._soiRA = this._soiImage.getRandomAccess();
+        this._soiImageBoundary = _defineImageBoundaryAsBox(this._soiImage);
 
         this._stick3DFigure = builder.getGaugeFigure();
         this._stick3DFigureRA = this._stick3DFigure.getImage().getRandomAccess();
-        this._stick3DFigureBoundary = _defineImageBoundaryAsBox(this._stick3DFigure.getImage());
+        this._stick3DFigureDim = this._stick3DFigure.getImage().getMetadata().getDim();
 
         this._orientationRA = builder.getOrientationImage().getRandomAccess();
 
@@ -61,8 +83,16 @@ class WholeSampleStick3DPainter implements IAngleGaugePainter {
         this._colorBlender = builder.getColorBlender();
         this._stickLength = builder.getSticklength();
 
-        this._baseStick = _defineBaseStick(this._stickLength, builder.getStickThickness(),
+        IShape baseStick = _defineBaseStick(this._stickLength, builder.getStickThickness(),
                 this._stick3DFigure.getImage().getMetadata().axisOrder());
+        this._spriteCache = new StickSpriteCache(baseStick, builder.getStickAngleResolution());
+
+        // A rotated stick reaches at most half its length plus its thickness in y.
+        long halo = this._stickLength / 2 + builder.getStickThickness() + 1;
+        int t_axis = IGaugeFigure.AXIS_ORDER.t_axis;
+        this._tiledPainter = builder.getExecutor()
+                .map((executor) -> new TiledStickPainter<Stick>(executor, this._stick3DFigureDim[1], halo,
+                        (stick) -> stick.translation[1], (stick) -> stick.translation[t_axis]));
     }
 
     /**
@@ -100,6 +130,8 @@ class WholeSampleStick3DPainter implements IAngleGaugePainter {
             throw new IllegalArgumentException("The region should have the same axis order as the soi image.");
         }
 
+        List<Stick> tiledSticks = new ArrayList<>();
+        Consumer<Stick> painter = this._createPainter(tiledSticks);
         for (IShapeIterator iterator = region.getIterator(); iterator.hasNext();) {
             long[] dipolePosition = iterator.next();
 
@@ -108,35 +140,101 @@ class WholeSampleStick3DPainter implements IAngleGaugePainter {
                 final IOrientationVector orientationVector = this._getOrientationVector(dipolePosition);
 
                 if (_isSoIAboveThreshold(soiThreshold.get()) && orientationVector.isWellDefined()) {
-                    _drawStick(orientationVector, dipolePosition);
+                    painter.accept(_createStick(orientationVector, dipolePosition));
                 }
             }
 
         }
+
+        this._paintTiles(tiledSticks);
     }
 
-    private void _drawStick(IOrientationVector orientationVector, long[] dipolePosition) {
-        final ARGB8 stickColor = _getStickColor(orientationVector);
+    @Override
+    public void draw(IShape region, SoIForegroundMask foreground) {
+        if (region.axisOrder() != ISoIImage.AXIS_ORDER) {
+            throw new IllegalArgumentException("The region should have the same axis order as the soi image.");
+        }
 
-        IShapeIterator stickIterator = _createStickIteratorForThisDipole(orientationVector, dipolePosition);
-        while (stickIterator.hasNext()) {
-            long[] stickPosition = stickIterator.next();
-            if (this._stick3DFigureBoundary.isInside(stickPosition)) {
-                this._stick3DFigureRA.setPosition(stickPosition);
+        if (!MetadataUtil.isDimensionEqual(this._soiImage.getMetadata(), foreground.getMetadata())) {
+            throw new IllegalArgumentException("The foreground mask should have the same dimension as soi image.");
+        }
 
-                IPixel<ARGB8> stickPositionPixel = this._stick3DFigureRA.getPixel();
-                this._blendCurrentPixelWithStickColor(stickPositionPixel.value(), stickColor);
+        List<Stick> tiledSticks = new ArrayList<>();
+        Consumer<Stick> painter = this._createPainter(tiledSticks);
+        // Only the foreground inside the bounding box of the region is visited.
+        long[][] regionBox = ShapeUtils.getBoundingBox(region);
+        for (Iterator<long[]> iterator = foreground.getIterator(regionBox[0], regionBox[1]); iterator
+                .hasNext();) {
+            long[] dipolePosition = iterator.next();
 
-                this._stick3DFigureRA.setPixel(stickPositionPixel);
+            if (region.isInside(dipolePosition)) {
+                final IOrientationVector orientationVector = this._getOrientationVector(dipolePosition);
+                if (orientationVector.isWellDefined()) {
+                    painter.accept(_createStick(orientationVector, dipolePosition));
+                }
             }
         }
+
+        this._paintTiles(tiledSticks);
+    }
+
+    /**
+     * Without an executor, each stick is drawn as soon as it's created. Otherwise,
+     * the sticks are gathered and painted in tiles by {@link #_paintTiles(List)}.
+     */
+    private Consumer<Stick> _createPainter(List<Stick> tiledSticks) {
+        if (this._tiledPainter.isPresent()) {
+            return tiledSticks::add;
+        }
+        return (stick) -> _drawStick(stick, this._stick3DFigureRA, 0, Long.MAX_VALUE);
     }
 
-    private IShapeIterator _createStickIteratorForThisDipole(IOrientationVector orientationVector,
-            long[] dipolePosition) {
-        IShape transformedShape = _transformStick(dipolePosition, orientationVector);
-        IShapeIterator stickIterator = transformedShape.getIterator();
-        return stickIterator;
+    private void _paintTiles(List<Stick> tiledSticks) {
+        this._tiledPainter.ifPresent((tiledPainter) -> tiledPainter.paint(tiledSticks,
+                () -> {
+                    IPixelRandomAccess<ARGB8> tileFigureRA = this._stick3DFigure.getImage().getRandomAccess();
+                    return (stick, rowStart, rowEnd) -> _drawStick(stick, tileFigureRA, rowStart, rowEnd);
+                }));
+    }
+
+    private Stick _createStick(IOrientationVector orientationVector, long[] dipolePosition) {
+        int[] sprite = this._spriteCache.getSprite(orientationVector.getAngle(OrientationAngle.rho),
+                orientationVector.getAngle(OrientationAngle.eta));
+        return new Stick(_getStickTranslation(dipolePosition), sprite, _getStickColor(orientationVector));
+    }
+
+    /**
+     * Draws the voxels of the stick that are inside the figure and the given rows.
+     */
+    private void _drawStick(Stick stick, IPixelRandomAccess<ARGB8> stickFigureRA, long rowStart, long rowEnd) {
+        int[] sprite = stick.sprite;
+        long[] stickTranslation = stick.translation;
+
+        int z_axis = IGaugeFigure.AXIS_ORDER.z_axis;
+        long[] stickPosition = stickTranslation.clone();
+        for (int voxel = 0; voxel < sprite.length; voxel += 3) {
+            stickPosition[0] = stickTranslation[0] + sprite[voxel];
+            stickPosition[1] = stickTranslation[1] + sprite[voxel + 1];
+            stickPosition[z_axis] = stickTranslation[z_axis] + sprite[voxel + 2];
+
+            if (rowStart <= stickPosition[1] && stickPosition[1] <= rowEnd && this._isInsideFigure(stickPosition)) {
+                stickFigureRA.setPosition(stickPosition);
+
+                IPixel<ARGB8> stickPositionPixel = stickFigureRA.getPixel();
+                this._blendCurrentPixelWithStickColor(stickPositionPixel.value(), stick.color);
+
+                stickFigureRA.setPixel(stickPositionPixel);
+            }
+        }
+    }
+
+    private boolean _isInsideFigure(long[] position) {
+        for (int axis = 0; axis < position.length; axis++) {
+            if (position[axis] < 0 || position[axis] >= this._stick3DFigureDim[axis]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private ARGB8 _getStickColor(IOrientationVector orientationVector) {
@@ -156,18 +254,16 @@ class WholeSampleStick3DPainter implements IAngleGaugePainter {
      * apply a -90 shift to the rho angle to ensure that the stick is represented
      * properly.
      * 
-     * @param dipolePosition    is the dipole position in the orientation image.
-     * @param orientationVector is the orientation of the dipole.
+     * The rotated stick is taken from the sprite cache, hence this method only
+     * returns the translation.
+     * 
+     * @param dipolePosition is the dipole position in the orientation image.
      */
-    private IShape _transformStick(long[] dipolePosition, IOrientationVector orientationVector) {
+    private long[] _getStickTranslation(long[] dipolePosition) {
         int z_axis = IAngleImage.AXIS_ORDER.z_axis;
         int t_axis = IAngleImage.AXIS_ORDER.t_axis;
-        long[] stickTranslation = { dipolePosition[0], dipolePosition[1], 0,
+        return new long[] { dipolePosition[0], dipolePosition[1], 0,
                 dipolePosition[z_axis] * this._stickLength + this._stickLength / 2 - 1, dipolePosition[t_axis] };
-
-        IShape transformedShape = this._baseStick.rotate3D(orientationVector.getAngle(OrientationAngle.eta),
-                -Math.PI / 2 + orientationVector.getAngle(OrientationAngle.rho), 0, Rotation3DOrder.XZY);
-        return transformedShape.translate(stickTranslation);
     }
 
     private IOrientationVector _getOrientationVector(long[] stickCenterPosition) {
@@ -184,6 +280,22 @@ class WholeSampleStick3DPainter implements IAngleGaugePainter {
         return _stick3DFigure;
     }
 
+    /**
+     * Returns the fraction of the drawn sticks whose rotated stick was found in the
+     * sprite cache, which is zero if the angles are not quantised.
+     */
+    public double getSpriteCacheHitRate() {
+        return this._spriteCache.getHitRate();
+    }
+
+    /**
+     * Returns the maximum difference (in radian) between rho or eta of a drawn
+     * stick and that of its dipole, due to quantisation of the angles.
+     */
+    public double getMaxAngularError() {
+        return this._spriteCache.getMaxAngularError();
+    }
+
     /**
      * As opposed to simply replacing or adding the stick color to the current
      * position, we blend it using a {@link ColorBlender} interface.
@@ -193,4 +305,19 @@ class WholeSampleStick3DPainter implements IAngleGaugePainter {
         this._colorBlender.blend(stickPositionPixel, stickColor);
     }
 
+    /**
+     * The stick of a dipole, as its sprite translated to the dipole position.
+     */
+    private static class Stick {
+        final long[] translation;
+        final int[] sprite;
+        final ARGB8 color;
+
+        Stick(long[] translation, int[] sprite, ARGB8 color) {
+            this.translation = translation;
+            this.sprite = sprite;
+            this.color = color;
+        }
+    }
+
 }
\ No newline at end of file
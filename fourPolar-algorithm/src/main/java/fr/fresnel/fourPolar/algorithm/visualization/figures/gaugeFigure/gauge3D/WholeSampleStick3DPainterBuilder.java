@@ -1,6 +1,8 @@
 package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge3D;
 
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.color.ColorBlender;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.color.SoftLightColorBlender;
@@ -37,11 +39,23 @@ public class WholeSampleStick3DPainterBuilder extends IWholeSampleStick3DPainter
     private int _thickness = 4;
     private int _length = 50;
 
+    /**
+     * Angular resolution of rho and eta of sticks, in radian. Zero means exact
+     * angles.
+     */
+    private double _angleResolution = Math.toRadians(1);
+
     /**
      * Color blender that is used for mixing overlapping pixel colors.
      */
     private ColorBlender _colorBlender = new SoftLightColorBlender();
 
+    /**
+     * Executor for painting the sticks in parallel. If null, sticks are painted
+     * serially.
+     */
+    private ExecutorService _executor = null;
+
     /**
      * Initialize the painter with the given orientation and soi image, for the
      * given angle gauge type.
@@ -105,6 +119,24 @@ public class WholeSampleStick3DPainterBuilder extends IWholeSampleStick3DPainter
         return this;
     }
 
+    /**
+     * Define the angular resolution (in radian) with which the sticks are drawn.
+     * For a positive resolution, the rotated sticks are computed once for each rho
+     * and eta that are multiples of this resolution, and each stick is drawn with
+     * the nearest such angles. Hence, rho and eta of a drawn stick are at most
+     * resolution / 2 away from the angles of its dipole, in exchange for faster
+     * drawing. For zero, each stick is drawn with the exact angles of its dipole,
+     * which is slower as every stick is rotated. Default is one degree.
+     */
+    public WholeSampleStick3DPainterBuilder stickAngleResolution(double resolution) {
+        if (!(resolution >= 0)) {
+            throw new IllegalArgumentException("resolution must be non-negative");
+        }
+
+        this._angleResolution = resolution;
+        return this;
+    }
+
     /**
      * Color blender that is used for mixing overlapping pixel colors.
      */
@@ -115,6 +147,18 @@ public class WholeSampleStick3DPainterBuilder extends IWholeSampleStick3DPainter
         return this;
     }
 
+    /**
+     * Paint the sticks in parallel using the given executor. The figure is the same
+     * as painting the sticks serially. Note that the executor is not shut down by
+     * the painter.
+     */
+    public WholeSampleStick3DPainterBuilder executor(ExecutorService executor) {
+        Objects.requireNonNull(executor, "executor can't be null.");
+
+        this._executor = executor;
+        return this;
+    }
+
     /**
      * Create the appropriate empty gauge figure.
      */
@@ -131,9 +175,9 @@ public class WholeSampleStick3DPainterBuilder extends IWholeSampleStick3DPainter
     /**
      * Build the Painter from the provided constraints.
      * 
-     * @return the interface for the painter of sticks.
+     * @return the painter of sticks.
      */
-    public IAngleGaugePainter build(ISoIImage soiImage, IOrientationImage orientationImage) {    
+    public WholeSampleStick3DPainter build(ISoIImage soiImage, IOrientationImage orientationImage) {    
         Objects.requireNonNull(soiImage, "soiImage cannot be null");
         Objects.requireNonNull(orientationImage, "orientationImage cannot be null");
 
@@ -168,6 +212,11 @@ public class WholeSampleStick3DPainterBuilder extends IWholeSampleStick3DPainter
         return _thickness;
     }
 
+    @Override
+    double getStickAngleResolution() {
+        return this._angleResolution;
+    }
+
     @Override
     ColorBlender getColorBlender() {
         return this._colorBlender;
@@ -178,4 +227,9 @@ public class WholeSampleStick3DPainterBuilder extends IWholeSampleStick3DPainter
         return this._gaugeFigure;
     }
 
+    @Override
+    Optional<ExecutorService> getExecutor() {
+        return Optional.ofNullable(this._executor);
+    }
+
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package fr.fresnel.fourPolar.algorithm.visualization.figures.polarization;
 
+import fr.fresnel.fourPolar.algorithm.util.image.polarization.PolarizationImageSetProfile;
 import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
 import fr.fresnel.fourPolar.core.visualization.figures.polarization.IPolarizationImageSetComposites;
 
@@ -12,4 +13,12 @@ public interface IPolarizationImageSetCompositesCreater {
      * Create the composite for the given polarization image set.
      */
     public IPolarizationImageSetComposites create(IPolarizationImageSet polImageSet);
+
+    /**
+     * Same as {@link #create(IPolarizationImageSet)}, except that the statistics of
+     * the polarization images are taken from the given profile of the set, so that
+     * the set is not traversed again.
+     */
+    public IPolarizationImageSetComposites create(IPolarizationImageSet polImageSet,
+            PolarizationImageSetProfile polImageSetProfile);
 }
\ No newline at end of file
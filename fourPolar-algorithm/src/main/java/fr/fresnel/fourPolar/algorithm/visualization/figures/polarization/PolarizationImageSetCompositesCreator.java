@@ -4,6 +4,7 @@ import java.util.HashMap;
 
 import fr.fresnel.fourPolar.algorithm.util.image.generic.color.GrayScaleToColorConverter;
 import fr.fresnel.fourPolar.algorithm.util.image.generic.color.GrayScaleToColorConverter.Color;
+import fr.fresnel.fourPolar.algorithm.util.image.polarization.PolarizationImageSetProfile;
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
@@ -49,15 +50,23 @@ public class PolarizationImageSetCompositesCreator implements IPolarizationImage
 
     @Override
     public IPolarizationImageSetComposites create(IPolarizationImageSet polImageSet) {
-        HashMap<RegistrationRule, Image<ARGB8>> compositeImages = this._createCompositesOfRules(polImageSet);
+        return this.create(polImageSet, PolarizationImageSetProfile.profile(polImageSet, false));
+    }
+
+    @Override
+    public IPolarizationImageSetComposites create(IPolarizationImageSet polImageSet,
+            PolarizationImageSetProfile polImageSetProfile) {
+        HashMap<RegistrationRule, Image<ARGB8>> compositeImages = this._createCompositesOfRules(polImageSet,
+                polImageSetProfile);
         return this._buildPolarizationImageSetComposites(compositeImages, polImageSet);
     }
 
-    private HashMap<RegistrationRule, Image<ARGB8>> _createCompositesOfRules(IPolarizationImageSet polImageSet) {
+    private HashMap<RegistrationRule, Image<ARGB8>> _createCompositesOfRules(IPolarizationImageSet polImageSet,
+            PolarizationImageSetProfile polImageSetProfile) {
         HashMap<RegistrationRule, Image<ARGB8>> compositeImages = new HashMap<>();
 
         for (RegistrationRule rule : RegistrationRule.values()) {
-            Image<ARGB8> compositeImage = this.createRuleCompositeImage(rule, polImageSet);
+            Image<ARGB8> compositeImage = this.createRuleCompositeImage(rule, polImageSet, polImageSetProfile);
             compositeImages.put(rule, compositeImage);
         }
         return compositeImages;
@@ -67,19 +76,20 @@ public class PolarizationImageSetCompositesCreator implements IPolarizationImage
         return polImageSet.getPolarizationImage(polarization).getImage();
     }
 
-    private Image<ARGB8> createRuleCompositeImage(RegistrationRule rule, IPolarizationImageSet polImageSet) {
+    private Image<ARGB8> createRuleCompositeImage(RegistrationRule rule, IPolarizationImageSet polImageSet,
+            PolarizationImageSetProfile polImageSetProfile) {
         IPixelRandomAccess<ARGB8> baseImageMonochromeView = this._getMonochromeViewOfPolarizationImage(polImageSet,
-                rule.getBaseImagePolarization(), this._baseImageColor);
+                polImageSetProfile, rule.getBaseImagePolarization(), this._baseImageColor);
         IPixelRandomAccess<ARGB8> toRegisterImageMonochromeView = this._getMonochromeViewOfPolarizationImage(
-                polImageSet, rule.getToRegisterImagePolarization(), this._registeredImageColor);
+                polImageSet, polImageSetProfile, rule.getToRegisterImagePolarization(), this._registeredImageColor);
         return this._mergeMonochromeViews(baseImageMonochromeView, toRegisterImageMonochromeView,
                 polImageSet.getPolarizationImage(rule.getBaseImagePolarization()));
     }
 
     private IPixelRandomAccess<ARGB8> _getMonochromeViewOfPolarizationImage(IPolarizationImageSet polImageSet,
-            Polarization pol, Color color) {
+            PolarizationImageSetProfile polImageSetProfile, Polarization pol, Color color) {
         Image<UINT16> baseImage = this._getPolarizationImage(polImageSet, pol);
-        return GrayScaleToColorConverter.createMonochromeView(baseImage, color);
+        return GrayScaleToColorConverter.createMonochromeView(baseImage, color, polImageSetProfile.getProfile(pol));
     }
 
     private Image<ARGB8> _mergeMonochromeViews(IPixelRandomAccess<ARGB8> baseMonochromeView,
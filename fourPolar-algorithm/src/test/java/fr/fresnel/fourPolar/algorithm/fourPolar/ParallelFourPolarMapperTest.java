@@ -0,0 +1,318 @@
+package fr.fresnel.fourPolar.algorithm.fourPolar;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntSupplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import fr.fresnel.fourPolar.algorithm.exceptions.fourPolar.IteratorMissMatch;
+import fr.fresnel.fourPolar.algorithm.fourPolar.converters.IntensityToOrientationConverter;
+import fr.fresnel.fourPolar.algorithm.preprocess.soi.SoICalculator;
+import fr.fresnel.fourPolar.core.exceptions.image.polarization.CannotFormPolarizationImageSet;
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFile;
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.Pixel;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
+import fr.fresnel.fourPolar.core.image.orientation.OrientationImageFactory;
+import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
+import fr.fresnel.fourPolar.core.image.polarization.PolarizationImageSetBuilder;
+import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIForegroundMask;
+import fr.fresnel.fourPolar.core.image.soi.SoIImage;
+import fr.fresnel.fourPolar.core.imagingSetup.imageFormation.Cameras;
+import fr.fresnel.fourPolar.core.physics.dipole.DipoleSquaredComponent;
+import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
+import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
+import fr.fresnel.fourPolar.core.physics.propagation.InverseOpticalPropagation;
+
+public class ParallelFourPolarMapperTest {
+    private static IntensityToOrientationConverter _converter;
+    private static ExecutorService _executor;
+
+    @BeforeAll
+    public static void setConverter() {
+        InverseOpticalPropagation inverseProp = new InverseOpticalPropagation(null);
+
+        inverseProp.setInverseFactor(Polarization.pol0, DipoleSquaredComponent.XX, 0.091685566886620);
+        inverseProp.setInverseFactor(Polarization.pol90, DipoleSquaredComponent.XX, -0.166595030225210);
+        inverseProp.setInverseFactor(Polarization.pol45, DipoleSquaredComponent.XX, 0.419325727568000);
+        inverseProp.setInverseFactor(Polarization.pol135, DipoleSquaredComponent.XX, 0.419325727568000);
+
+        inverseProp.setInverseFactor(Polarization.pol0, DipoleSquaredComponent.YY, -0.166595030225194);
+        inverseProp.setInverseFactor(Polarization.pol90, DipoleSquaredComponent.YY, 0.091685572902112);
+        inverseProp.setInverseFactor(Polarization.pol45, DipoleSquaredComponent.YY, 0.419325693894715);
+        inverseProp.setInverseFactor(Polarization.pol135, DipoleSquaredComponent.YY, 0.419325693894715);
+
+        inverseProp.setInverseFactor(Polarization.pol0, DipoleSquaredComponent.ZZ, 0.201522875905556);
+        inverseProp.setInverseFactor(Polarization.pol90, DipoleSquaredComponent.ZZ, 0.201522859722606);
+        inverseProp.setInverseFactor(Polarization.pol45, DipoleSquaredComponent.ZZ, -0.612462773475724);
+        inverseProp.setInverseFactor(Polarization.pol135, DipoleSquaredComponent.ZZ, -0.612462773475724);
+
+        inverseProp.setInverseFactor(Polarization.pol0, DipoleSquaredComponent.XY, -0.000000000000000);
+        inverseProp.setInverseFactor(Polarization.pol90, DipoleSquaredComponent.XY, 0.000000000000000);
+        inverseProp.setInverseFactor(Polarization.pol45, DipoleSquaredComponent.XY, 0.309169707239095);
+        inverseProp.setInverseFactor(Polarization.pol135, DipoleSquaredComponent.XY, -0.309169707239096);
+
+        _converter = new IntensityToOrientationConverter(inverseProp);
+        _executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterAll
+    public static void shutdownExecutor() {
+        _executor.shutdown();
+    }
+
+    @Test
+    public void map_RandomMultiPlaneImage_EqualsSerialMap() throws CannotFormPolarizationImageSet, IteratorMissMatch {
+        IPolarizationImageSet polSet = _createRandomPolarizationImageSet(new long[] { 13, 7, 1, 3, 2 });
+
+        IOrientationImage serial = OrientationImageFactory.create(new ImgLib2ImageFactory(), polSet);
+        new FourPolarMapper(_converter).map(polSet.getIterator(), serial.getOrientationVectorIterator());
+
+        IOrientationImage parallel = OrientationImageFactory.create(new ImgLib2ImageFactory(), polSet);
+        new ParallelFourPolarMapper(_converter, _executor).map(polSet, parallel);
+
+        assertTrue(_orientationImagesAreEqual(serial, parallel));
+    }
+
+    @Test
+    public void map_RandomMultiPlaneImageWithThreshold_EqualsSerialMap()
+            throws CannotFormPolarizationImageSet, IteratorMissMatch {
+        IPolarizationImageSet polSet = _createRandomPolarizationImageSet(new long[] { 9, 11, 1, 2, 3 });
+        double soiThreshold = 8000;
+
+        IOrientationImage serial = OrientationImageFactory.create(new ImgLib2ImageFactory(), polSet);
+        new FourPolarMapper(_converter).map(polSet.getIterator(), serial.getOrientationVectorIterator(),
+                soiThreshold);
+
+        IOrientationImage parallel = OrientationImageFactory.create(new ImgLib2ImageFactory(), polSet);
+        new ParallelFourPolarMapper(_converter, _executor).map(polSet, parallel, soiThreshold);
+
+        assertTrue(_orientationImagesAreEqual(serial, parallel));
+    }
+
+    @Test
+    public void map_DifferentDimensionImages_ThrowsIteratorMissMatch() throws CannotFormPolarizationImageSet {
+        IPolarizationImageSet polSet = _createRandomPolarizationImageSet(new long[] { 2, 2, 1, 1, 1 });
+        IPolarizationImageSet otherPolSet = _createRandomPolarizationImageSet(new long[] { 2, 3, 1, 1, 1 });
+        IOrientationImage orientationImage = OrientationImageFactory.create(new ImgLib2ImageFactory(), otherPolSet);
+
+        assertThrows(IteratorMissMatch.class, () -> {
+            new ParallelFourPolarMapper(_converter, _executor).map(polSet, orientationImage);
+        });
+    }
+
+    @Test
+    public void mapWithSoI_RandomMultiPlaneImageWithThreshold_EqualsSerialMapAndSoICalculator()
+            throws CannotFormPolarizationImageSet, IteratorMissMatch {
+        IPolarizationImageSet polSet = _createRandomPolarizationImageSet(new long[] { 9, 11, 1, 2, 3 });
+        double soiThreshold = 8000;
+
+        IOrientationImage serial = OrientationImageFactory.create(new ImgLib2ImageFactory(), polSet);
+        ISoIImage serialSoI = SoIImage.create(polSet);
+        new FourPolarMapper(_converter).map(polSet.getIterator(), serial.getOrientationVectorIterator(),
+                soiThreshold, serialSoI.getImage().getCursor());
+
+        IOrientationImage parallel = OrientationImageFactory.create(new ImgLib2ImageFactory(), polSet);
+        ISoIImage parallelSoI = SoIImage.create(polSet);
+        new ParallelFourPolarMapper(_converter, _executor).map(polSet, parallel, parallelSoI, soiThreshold);
+
+        ISoIImage calculatorSoI = SoIImage.create(polSet);
+        SoICalculator.create().calculateUINT16Sum(polSet, calculatorSoI.getImage());
+
+        assertTrue(_orientationImagesAreEqual(serial, parallel));
+        assertTrue(_soiImagesAreEqual(calculatorSoI.getImage(), serialSoI.getImage())
+                && _soiImagesAreEqual(calculatorSoI.getImage(), parallelSoI.getImage()));
+    }
+
+    @Test
+    public void mapWithSoI_SumAboveUINT16Max_UINT16SoIIsClampedAndFloat32SoIIsNot()
+            throws CannotFormPolarizationImageSet, IteratorMissMatch {
+        long[] dim = new long[] { 4, 3, 1, 2, 1 };
+        IPolarizationImageSet polSet = _createPolarizationImageSet(dim, () -> 30000);
+        IMetadata floatMetadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).build();
+
+        IOrientationImage serial = OrientationImageFactory.create(new ImgLib2ImageFactory(), polSet);
+        Image<Float32> serialSoI = new ImgLib2ImageFactory().create(floatMetadata, Float32.zero());
+        new FourPolarMapper(_converter).mapWithFloat32SoI(polSet.getIterator(),
+                serial.getOrientationVectorIterator(), 0, serialSoI.getCursor());
+
+        IOrientationImage parallel = OrientationImageFactory.create(new ImgLib2ImageFactory(), polSet);
+        Image<Float32> parallelSoI = new ImgLib2ImageFactory().create(floatMetadata, Float32.zero());
+        new ParallelFourPolarMapper(_converter, _executor).mapWithFloat32SoI(polSet, parallel, parallelSoI, 0);
+
+        IOrientationImage clamped = OrientationImageFactory.create(new ImgLib2ImageFactory(), polSet);
+        ISoIImage clampedSoI = SoIImage.create(polSet);
+        new ParallelFourPolarMapper(_converter, _executor).map(polSet, clamped, clampedSoI, 0);
+
+        boolean equals = true;
+        IPixelCursor<Float32> serialCursor = serialSoI.getCursor();
+        IPixelCursor<Float32> parallelCursor = parallelSoI.getCursor();
+        for (IPixelCursor<UINT16> cursor = clampedSoI.getImage().getCursor(); cursor.hasNext();) {
+            equals &= cursor.next().value().get() == UINT16.MAX_VAL
+                    && serialCursor.next().value().get() == 120000f && parallelCursor.next().value().get() == 120000f;
+        }
+        assertTrue(equals);
+    }
+
+    @Test
+    public void mapWithSoI_DifferentDimensionSoIImage_ThrowsIteratorMissMatch()
+            throws CannotFormPolarizationImageSet {
+        IPolarizationImageSet polSet = _createRandomPolarizationImageSet(new long[] { 2, 2, 1, 1, 1 });
+        IPolarizationImageSet otherPolSet = _createRandomPolarizationImageSet(new long[] { 2, 3, 1, 1, 1 });
+        IOrientationImage orientationImage = OrientationImageFactory.create(new ImgLib2ImageFactory(), polSet);
+        ISoIImage soiImage = SoIImage.create(otherPolSet);
+
+        assertThrows(IteratorMissMatch.class, () -> {
+            new ParallelFourPolarMapper(_converter, _executor).map(polSet, orientationImage, soiImage, 0);
+        });
+    }
+
+    @Test
+    public void mapForeground_RandomMultiPlaneImage_EqualsThresholdMap()
+            throws CannotFormPolarizationImageSet, IteratorMissMatch {
+        IPolarizationImageSet polSet = _createRandomPolarizationImageSet(new long[] { 9, 11, 1, 2, 3 });
+        int soiThreshold = 8000;
+
+        IOrientationImage thresholded = OrientationImageFactory.create(new ImgLib2ImageFactory(), polSet);
+        ISoIImage soiImage = SoIImage.create(polSet);
+        new ParallelFourPolarMapper(_converter, _executor).map(polSet, thresholded, soiImage, soiThreshold);
+
+        SoIForegroundMask foreground = SoIForegroundMask.create(soiImage, new UINT16(soiThreshold));
+        IOrientationImage masked = OrientationImageFactory.create(new ImgLib2ImageFactory(), polSet);
+        new ParallelFourPolarMapper(_converter, _executor).map(polSet, masked, foreground);
+
+        boolean equals = true;
+        for (OrientationAngle angle : OrientationAngle.values()) {
+            IPixelCursor<Float32> thresholdedCursor = thresholded.getAngleImage(angle).getImage().getCursor();
+            for (IPixelCursor<Float32> cursor = masked.getAngleImage(angle).getImage().getCursor(); cursor
+                    .hasNext();) {
+                float value = cursor.next().value().get();
+                float expected = thresholdedCursor.next().value().get();
+
+                // Both background and pixels below threshold are NaN.
+                equals &= Float.compare(value, expected) == 0;
+            }
+        }
+        assertTrue(equals);
+    }
+
+    @Test
+    public void mapForeground_DifferentDimensionMask_ThrowsIteratorMissMatch() throws CannotFormPolarizationImageSet {
+        IPolarizationImageSet polSet = _createRandomPolarizationImageSet(new long[] { 2, 2, 1, 1, 1 });
+        IPolarizationImageSet otherPolSet = _createRandomPolarizationImageSet(new long[] { 2, 3, 1, 1, 1 });
+        IOrientationImage orientationImage = OrientationImageFactory.create(new ImgLib2ImageFactory(), polSet);
+        SoIForegroundMask foreground = SoIForegroundMask.create(SoIImage.create(otherPolSet), new UINT16(0));
+
+        assertThrows(IteratorMissMatch.class, () -> {
+            new ParallelFourPolarMapper(_converter, _executor).map(polSet, orientationImage, foreground);
+        });
+    }
+
+    private IPolarizationImageSet _createRandomPolarizationImageSet(long[] dim)
+            throws CannotFormPolarizationImageSet {
+        Random random = new Random(0);
+        return _createPolarizationImageSet(dim, () -> random.nextInt(5000));
+    }
+
+    private IPolarizationImageSet _createPolarizationImageSet(long[] dim, IntSupplier values)
+            throws CannotFormPolarizationImageSet {
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).build();
+
+        return new PolarizationImageSetBuilder(1).channel(1).fileSet(new MapperDummyFileSet())
+                .pol0(_createImage(metadata, values)).pol45(_createImage(metadata, values))
+                .pol90(_createImage(metadata, values)).pol135(_createImage(metadata, values)).build();
+    }
+
+    private Image<UINT16> _createImage(IMetadata metadata, IntSupplier values) {
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+
+        Pixel<UINT16> pixel = new Pixel<>(new UINT16(0));
+        for (IPixelCursor<UINT16> cursor = image.getCursor(); cursor.hasNext();) {
+            cursor.next();
+            pixel.value().set(values.getAsInt());
+            cursor.setPixel(pixel);
+        }
+        return image;
+    }
+
+    private boolean _soiImagesAreEqual(Image<UINT16> image1, Image<UINT16> image2) {
+        IPixelCursor<UINT16> cursor1 = image1.getCursor();
+        IPixelCursor<UINT16> cursor2 = image2.getCursor();
+
+        boolean equals = true;
+        while (cursor1.hasNext() && equals) {
+            equals = cursor1.next().value().get() == cursor2.next().value().get();
+        }
+        return equals;
+    }
+
+    private boolean _orientationImagesAreEqual(IOrientationImage image1, IOrientationImage image2) {
+        boolean equals = true;
+        for (OrientationAngle angle : OrientationAngle.values()) {
+            IPixelCursor<Float32> cursor1 = image1.getAngleImage(angle).getImage().getCursor();
+            IPixelCursor<Float32> cursor2 = image2.getAngleImage(angle).getImage().getCursor();
+
+            while (cursor1.hasNext() && equals) {
+                equals = Float.compare(cursor1.next().value().get(), cursor2.next().value().get()) == 0;
+            }
+        }
+        return equals;
+    }
+
+}
+
+class MapperDummyFileSet implements ICapturedImageFileSet {
+
+    @Override
+    public ICapturedImageFile[] getFile(String label) {
+        return null;
+    }
+
+    @Override
+    public String getSetName() {
+        return null;
+    }
+
+    @Override
+    public Cameras getnCameras() {
+        return null;
+    }
+
+    @Override
+    public boolean hasLabel(String label) {
+        return false;
+    }
+
+    @Override
+    public boolean deepEquals(ICapturedImageFileSet fileset) {
+        return false;
+    }
+
+    @Override
+    public Iterator<ICapturedImageFile> getIterator() {
+        return null;
+    }
+
+    @Override
+    public int[] getChannels() {
+        return null;
+    }
+
+}
@@ -8,6 +8,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -180,6 +182,91 @@ public class IntensityToOrientationConverterTest {
         assertTrue(equals);
     }
 
+    @Test
+    public void convert_UnfeasibleIntensityArrays_ReturnsNaNAngles() {
+        double[] pol0 = { 1, 0 };
+        double[] pol45 = { 0, 0 };
+        double[] pol90 = { 0, 0 };
+        double[] pol135 = { 0, 0 };
+
+        float[] rho = new float[2];
+        float[] delta = new float[2];
+        float[] eta = new float[2];
+
+        _converter.convert(pol0, pol45, pol90, pol135, rho, delta, eta);
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(Float.isNaN(rho[i]) && Float.isNaN(delta[i]) && Float.isNaN(eta[i]));
+        }
+    }
+
+    @Test
+    public void convert_ArraysOfDifferentLength_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            _converter.convert(new double[2], new double[2], new double[2], new double[1], new float[2],
+                    new float[2], new float[2]);
+        });
+    }
+
+    @Test
+    public void convert_AnglesBufferWithTwoElements_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            _converter.convert(new IntensityVector(1, 1, 1, 1), new OrientationVector(0, 0, 0), new double[2]);
+        });
+    }
+
+    /**
+     * The batch conversion should yield exactly the same angles (as stored in a
+     * float image) as the conversion of each intensity vector.
+     */
+    @Test
+    public void convert_CurcioForwardValuesAsArray_EqualsVectorConversion() throws IOException {
+        BufferedReader forwardData = _readFile("ForwardMethodData-Curcio.txt");
+        forwardData.readLine();
+
+        List<double[]> intensities = new ArrayList<>();
+        String intensityOrientationPair = null;
+        while ((intensityOrientationPair = forwardData.readLine()) != null) {
+            String[] values = intensityOrientationPair.split(",");
+            intensities.add(new double[] { Double.parseDouble(values[0]), Double.parseDouble(values[2]),
+                    Double.parseDouble(values[1]), Double.parseDouble(values[3]) });
+        }
+
+        int length = intensities.size();
+        double[] pol0 = new double[length];
+        double[] pol45 = new double[length];
+        double[] pol90 = new double[length];
+        double[] pol135 = new double[length];
+        for (int i = 0; i < length; i++) {
+            pol0[i] = intensities.get(i)[0];
+            pol45[i] = intensities.get(i)[1];
+            pol90[i] = intensities.get(i)[2];
+            pol135[i] = intensities.get(i)[3];
+        }
+
+        float[] rho = new float[length];
+        float[] delta = new float[length];
+        float[] eta = new float[length];
+        _converter.convert(pol0, pol45, pol90, pol135, rho, delta, eta);
+
+        IOrientationVector calculated = new OrientationVector(0, 0, 0);
+        double[] angles = new double[3];
+        boolean equals = true;
+        for (int i = 0; i < length && equals; i++) {
+            try {
+                _converter.convert(new IntensityVector(pol0[i], pol45[i], pol90[i], pol135[i]), calculated, angles);
+            } catch (ImpossibleOrientationVector e) {
+                calculated.setAngles(Double.NaN, Double.NaN, Double.NaN);
+            }
+
+            equals = Float.compare((float) calculated.getAngle(OrientationAngle.rho), rho[i]) == 0
+                    && Float.compare((float) calculated.getAngle(OrientationAngle.delta), delta[i]) == 0
+                    && Float.compare((float) calculated.getAngle(OrientationAngle.eta), eta[i]) == 0;
+        }
+
+        assertTrue(equals);
+    }
+
     private boolean isGreaterThan(double value, BigDecimal threshold) {
         return new BigDecimal(value).compareTo(threshold) == 1;
     }
@@ -161,6 +161,56 @@ public class MatrixBasedInverseOpticalPropagationCalculatorTest {
             PropagationFactorNotFound.class, ()->{inverseCalculator.getInverse(opticalPropagation);});
     }
 
+    @Test
+    public void getInverse_TwoPropagationsWithSameFactors_ReturnsIndependentEqualInverses()
+            throws PropagationFactorNotFound, OpticalPropagationNotInvertible {
+        IOpticalPropagation propagation1 = _createDiagonalPropagation(2);
+        IOpticalPropagation propagation2 = _createDiagonalPropagation(2);
+
+        MatrixBasedInverseOpticalPropagationCalculator inverseCalculator = new MatrixBasedInverseOpticalPropagationCalculator();
+        IInverseOpticalPropagation inverse1 = inverseCalculator.getInverse(propagation1);
+
+        // Changing the first inverse must not change the cached inverse.
+        inverse1.setInverseFactor(Polarization.pol0, DipoleSquaredComponent.XX, 100);
+        IInverseOpticalPropagation inverse2 = new MatrixBasedInverseOpticalPropagationCalculator()
+                .getInverse(propagation2);
+
+        assertTrue(inverse2.getOpticalPropagation() == propagation2
+                && inverse2.getInverseFactor(Polarization.pol0, DipoleSquaredComponent.XX) == 0.5
+                && inverse2.getInverseFactor(Polarization.pol135, DipoleSquaredComponent.XY) == 0.5);
+    }
+
+    @Test
+    public void getInverse_PropagationWithDifferentFactors_ReturnsItsOwnInverse()
+            throws PropagationFactorNotFound, OpticalPropagationNotInvertible {
+        MatrixBasedInverseOpticalPropagationCalculator inverseCalculator = new MatrixBasedInverseOpticalPropagationCalculator();
+        inverseCalculator.getInverse(_createDiagonalPropagation(2));
+        IInverseOpticalPropagation inverse = inverseCalculator.getInverse(_createDiagonalPropagation(4));
+
+        assertTrue(inverse.getInverseFactor(Polarization.pol0, DipoleSquaredComponent.XX) == 0.25);
+    }
+
+    /**
+     * Creates a propagation whose matrix is the identity times the given factor.
+     */
+    private static IOpticalPropagation _createDiagonalPropagation(double factor) {
+        IChannel channel = new Channel(520, 1, 0.7, 1, 0.7);
+        INumericalAperture na = new NumericalAperture(1.45, 1.015, 1.45, 1.015);
+        IOpticalPropagation opticalPropagation = new OpticalPropagation(channel, na);
+
+        Polarization[] matrixRows = { Polarization.pol0, Polarization.pol90, Polarization.pol45, Polarization.pol135 };
+        DipoleSquaredComponent[] matrixColumns = { DipoleSquaredComponent.XX, DipoleSquaredComponent.YY,
+                DipoleSquaredComponent.ZZ, DipoleSquaredComponent.XY };
+        for (int row = 0; row < 4; row++) {
+            for (int column = 0; column < 4; column++) {
+                opticalPropagation.setPropagationFactor(matrixColumns[column], matrixRows[row],
+                        row == column ? factor : 0);
+            }
+        }
+
+        return opticalPropagation;
+    }
+
     private static boolean _checkFactorPrecision(Polarization pol, DipoleSquaredComponent component, IInverseOpticalPropagation inv1, 
         IInverseOpticalPropagation inv2, double error) {
         double val1 = inv1.getInverseFactor(pol, component);
@@ -2,6 +2,7 @@ package fr.fresnel.fourPolar.algorithm.postProcess;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
 import java.util.Iterator;
 
 import org.junit.jupiter.api.Test;
@@ -18,8 +19,11 @@ import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
 import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
 import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
 import fr.fresnel.fourPolar.core.image.orientation.OrientationImageFactory;
+import fr.fresnel.fourPolar.core.image.soi.SoIForegroundMask;
+import fr.fresnel.fourPolar.core.image.soi.SoIImage;
 import fr.fresnel.fourPolar.core.imagingSetup.imageFormation.Cameras;
 import fr.fresnel.fourPolar.core.physics.dipole.IOrientationVector;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
@@ -62,6 +66,70 @@ public class OrientationAngleConverterTest {
         
     }
 
+    @Test
+    public void viewInDegree_MultiPlaneOrientationImage_PlanesEqualConvertToDegree() throws CannotFormOrientationImage {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 3, 2, 1, 2, 2 }).axisOrder(AxisOrder.XYCZT)
+                .build();
+
+        Image<Float32> rho = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        Image<Float32> delta = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        Image<Float32> eta = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        for (long planeIndex = 1; planeIndex <= 4; planeIndex++) {
+            float[] plane = new float[6];
+            for (int i = 0; i < plane.length; i++) {
+                plane[i] = (float) (planeIndex * i * IOrientationVector.MAX_Rho / 24);
+            }
+            plane[0] = Float.NaN;
+            rho.setPlane(planeIndex, plane);
+        }
+
+        IOrientationImage orientationImage = OrientationImageFactory.create(new DummySet(), 1, rho, delta, eta);
+        Image<Float32> degreeImage = OrientationAngleConverter.convertToDegree(orientationImage, OrientationAngle.rho);
+        Image<Float32> degreeView = OrientationAngleConverter.viewInDegree(orientationImage, OrientationAngle.rho);
+
+        boolean equals = true;
+        for (long planeIndex = 1; planeIndex <= 4; planeIndex++) {
+            equals &= Arrays.equals(degreeImage.getFloatPlane(planeIndex), degreeView.getFloatPlane(planeIndex));
+        }
+        assertTrue(equals);
+        assertTrue(_isPixelEqualToValue(rho, new long[] { 1, 0, 0, 0, 0 },
+                (float) (IOrientationVector.MAX_Rho / 24)));
+    }
+
+    @Test
+    public void convertToDegree_ForegroundMask_ForegroundEqualsConvertToDegreeAndBackgroundIsNaN()
+            throws CannotFormOrientationImage {
+        long[] dim = new long[] { 3, 2, 1, 2, 1 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).build();
+
+        Image<Float32> rho = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        Image<Float32> delta = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        Image<Float32> eta = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        rho.setPlane(1, new float[] { 0.1f, 0.2f, 0.3f, 0.4f, 0.5f, 0.6f });
+        rho.setPlane(2, new float[] { 0.7f, 0.8f, 0.9f, 1.0f, 1.1f, 1.2f });
+        IOrientationImage orientationImage = OrientationImageFactory.create(new DummySet(), 1, rho, delta, eta);
+
+        Image<UINT16> soi = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+        soi.setPlane(1, new short[] { 0, 5, 5, 0, 0, 5 });
+        SoIForegroundMask foreground = SoIForegroundMask.create(SoIImage.create(new DummySet(), soi, 1),
+                new UINT16(5));
+
+        Image<Float32> degreeImage = OrientationAngleConverter.convertToDegree(orientationImage, OrientationAngle.rho);
+        Image<Float32> maskedDegreeImage = OrientationAngleConverter.convertToDegree(orientationImage,
+                OrientationAngle.rho, foreground);
+
+        boolean equals = true;
+        for (long planeIndex = 1; planeIndex <= 2; planeIndex++) {
+            float[] degrees = degreeImage.getFloatPlane(planeIndex);
+            float[] maskedDegrees = maskedDegreeImage.getFloatPlane(planeIndex);
+            for (int i = 0; i < degrees.length; i++) {
+                boolean isForeground = foreground.isForeground(new long[] { i % 3, i / 3, 0, planeIndex - 1, 0 });
+                equals &= isForeground ? maskedDegrees[i] == degrees[i] : Float.isNaN(maskedDegrees[i]);
+            }
+        }
+        assertTrue(equals);
+    }
+
     @Test
     public void convertToRadian_RhoImageWithCritialPointData_ReturnsCorrectDegrees() {
         IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 1, 1, 1, 1 }).axisOrder(AxisOrder.XYCZT)
@@ -1,9 +1,13 @@
 package fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.estimator.percentile;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
+import fr.fresnel.fourPolar.algorithm.util.image.polarization.PolarizationImageSetProfile;
 import fr.fresnel.fourPolar.core.fourPolar.IIntensityVectorIterator;
 import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
@@ -35,8 +39,52 @@ public class CameraPercentileBackgroundEstimatorTest {
         DummyPolImgSet polSet = new DummyPolImgSet(pol0, pol45, pol90, pol135);
 
         assertTrue((int) CameraPercentileBackgroundEstimator.estimate(polSet, new Polarization[] { Polarization.pol0 },
-                50) == 2);
+                50, false) == 2);
+
+    }
+
+    @Test
+    public void estimate_ProfileOfRandomSet_EqualsEstimateOfImagesForFirstAndAllPlanes() {
+        long[] dim = { 13, 7, 1, 3, 1 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).build();
+
+        Random random = new Random(0);
+        Image<UINT16>[] images = new Image[4];
+        for (int i = 0; i < images.length; i++) {
+            images[i] = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+            for (int planeIndex = 1; planeIndex <= 3; planeIndex++) {
+                short[] plane = new short[13 * 7];
+                for (int j = 0; j < plane.length; j++) {
+                    plane[j] = (short) random.nextInt(UINT16.MAX_VAL + 1);
+                }
+                images[i].setPlane(planeIndex, plane);
+            }
+        }
+
+        DummyPolImgSet polSet = new DummyPolImgSet(images[0], images[1], images[2], images[3]);
+        PolarizationImageSetProfile profile = PolarizationImageSetProfile.profile(polSet);
+
+        Polarization[] polarizations = { Polarization.pol45, Polarization.pol135 };
+        boolean equals = true;
+        for (boolean allPlanes : new boolean[] { false, true }) {
+            equals &= CameraPercentileBackgroundEstimator.estimate(profile, polarizations, 10,
+                    allPlanes) == CameraPercentileBackgroundEstimator.estimate(polSet, polarizations, 10, allPlanes);
+        }
+
+        assertTrue(equals);
+    }
+
+    @Test
+    public void estimate_ProfileWithoutHistograms_ThrowsIllegalStateException() {
+        long[] dim = { 4, 1, 1, 1, 1 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).build();
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+
+        PolarizationImageSetProfile profile = PolarizationImageSetProfile
+                .profile(new DummyPolImgSet(image, image, image, image), false);
 
+        assertThrows(IllegalStateException.class, () -> CameraPercentileBackgroundEstimator.estimate(profile,
+                new Polarization[] { Polarization.pol0 }, 10, false));
     }
 
     private void _setPixel(Image<UINT16> pol0, int value1, int value2, int value3, int value4) {
@@ -0,0 +1,249 @@
+package fr.fresnel.fourPolar.algorithm.preprocess.fused;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.ChannelDarkBackgroundRemover;
+import fr.fresnel.fourPolar.algorithm.preprocess.realignment.ChannelRealigner;
+import fr.fresnel.fourPolar.algorithm.preprocess.soi.SoICalculator;
+import fr.fresnel.fourPolar.core.exceptions.image.polarization.CannotFormPolarizationImageSet;
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFile;
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
+import fr.fresnel.fourPolar.core.image.polarization.PolarizationImageSetBuilder;
+import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIImage;
+import fr.fresnel.fourPolar.core.imagingSetup.imageFormation.Cameras;
+import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
+import fr.fresnel.fourPolar.core.preprocess.darkBackground.IChannelDarkBackground;
+import fr.fresnel.fourPolar.core.preprocess.registration.IChannelRegistrationResult;
+import fr.fresnel.fourPolar.core.preprocess.registration.RegistrationRule;
+import fr.fresnel.fourPolar.core.util.transform.Affine2D;
+
+public class ChannelFusedPreprocessorTest {
+    @Test
+    public void process_IdentityAffines_EqualsSequentialPreprocess() throws CannotFormPolarizationImageSet {
+        FusedDummyRegistrationResult regResult = new FusedDummyRegistrationResult();
+        for (RegistrationRule rule : RegistrationRule.values()) {
+            regResult.affines.put(rule, new Affine2D());
+        }
+        FusedDummyDarkBackground background = new FusedDummyDarkBackground(100, 2000, 0, 4999);
+
+        assertTrue(_fusedEqualsSequentialPreprocess(new long[] { 17, 9, 1, 2, 2 }, regResult, background));
+    }
+
+    @Test
+    public void process_TranslationAndRotationAffines_EqualsSequentialPreprocess()
+            throws CannotFormPolarizationImageSet {
+        FusedDummyRegistrationResult regResult = new FusedDummyRegistrationResult();
+        regResult.affines.put(RegistrationRule.Pol45_to_Pol0, _createAffine(0, 3, -2));
+        regResult.affines.put(RegistrationRule.Pol90_to_Pol0, _createAffine(0.05, 1.5, 0.25));
+        regResult.affines.put(RegistrationRule.Pol135_to_Pol0, _createAffine(-0.1, -4, 7));
+        FusedDummyDarkBackground background = new FusedDummyDarkBackground(10, 20, 30, 40);
+
+        assertTrue(_fusedEqualsSequentialPreprocess(new long[] { 150, 70, 1, 3, 1 }, regResult, background));
+    }
+
+    @Test
+    public void process_LargeIntensities_SoIIsSaturated() throws CannotFormPolarizationImageSet {
+        FusedDummyRegistrationResult regResult = new FusedDummyRegistrationResult();
+        for (RegistrationRule rule : RegistrationRule.values()) {
+            regResult.affines.put(rule, new Affine2D());
+        }
+        IPolarizationImageSet polSet = _createConstantPolarizationImageSet(new long[] { 4, 4, 1, 1, 1 }, 30000);
+
+        ISoIImage soi = ChannelFusedPreprocessor.create(regResult, new FusedDummyDarkBackground(0, 0, 0, 0))
+                .processWithSoI(polSet);
+
+        boolean isSaturated = true;
+        for (IPrimitivePixelCursor cursor = soi.getImage().getPrimitiveCursor(); cursor.hasNext();) {
+            cursor.next();
+            isSaturated &= cursor.getInt() == UINT16.MAX_VAL;
+        }
+        assertTrue(isSaturated);
+    }
+
+    private boolean _fusedEqualsSequentialPreprocess(long[] dim, IChannelRegistrationResult regResult,
+            IChannelDarkBackground background) throws CannotFormPolarizationImageSet {
+        IPolarizationImageSet sequential = _createRandomPolarizationImageSet(dim);
+        ChannelRealigner.create(regResult).realign(sequential);
+        ChannelDarkBackgroundRemover.create(background).remove(sequential);
+        ISoIImage sequentialSoI = SoIImage.create(sequential);
+        SoICalculator.create().calculateUINT16Sum(sequential, sequentialSoI.getImage());
+
+        IPolarizationImageSet fused = _createRandomPolarizationImageSet(dim);
+        ISoIImage fusedSoI = ChannelFusedPreprocessor.create(regResult, background).processWithSoI(fused);
+
+        IPolarizationImageSet fusedWithoutSoI = _createRandomPolarizationImageSet(dim);
+        ChannelFusedPreprocessor.create(regResult, background).process(fusedWithoutSoI);
+
+        boolean equals = _imagesAreEqual(sequentialSoI.getImage(), fusedSoI.getImage());
+        for (Polarization pol : Polarization.values()) {
+            Image<UINT16> sequentialImage = sequential.getPolarizationImage(pol).getImage();
+            equals &= _imagesAreEqual(sequentialImage, fused.getPolarizationImage(pol).getImage());
+            equals &= _imagesAreEqual(sequentialImage, fusedWithoutSoI.getPolarizationImage(pol).getImage());
+        }
+        return equals;
+    }
+
+    private static Affine2D _createAffine(double angle, double tx, double ty) {
+        Affine2D affine = new Affine2D();
+        affine.set(new double[][] { { Math.cos(angle), -Math.sin(angle), tx },
+                { Math.sin(angle), Math.cos(angle), ty } });
+        return affine;
+    }
+
+    private IPolarizationImageSet _createRandomPolarizationImageSet(long[] dim)
+            throws CannotFormPolarizationImageSet {
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).build();
+        Random random = new Random(0);
+
+        return new PolarizationImageSetBuilder(1).channel(1).fileSet(new FusedDummyFileSet())
+                .pol0(_createRandomImage(metadata, random)).pol45(_createRandomImage(metadata, random))
+                .pol90(_createRandomImage(metadata, random)).pol135(_createRandomImage(metadata, random)).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private IPolarizationImageSet _createConstantPolarizationImageSet(long[] dim, int value)
+            throws CannotFormPolarizationImageSet {
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).build();
+
+        Image<UINT16>[] images = new Image[4];
+        for (int i = 0; i < images.length; i++) {
+            images[i] = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+            for (IPrimitivePixelCursor cursor = images[i].getPrimitiveCursor(); cursor.hasNext();) {
+                cursor.next();
+                cursor.setInt(value);
+            }
+        }
+
+        return new PolarizationImageSetBuilder(1).channel(1).fileSet(new FusedDummyFileSet()).pol0(images[0])
+                .pol45(images[1]).pol90(images[2]).pol135(images[3]).build();
+    }
+
+    private Image<UINT16> _createRandomImage(IMetadata metadata, Random random) {
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+        for (IPrimitivePixelCursor cursor = image.getPrimitiveCursor(); cursor.hasNext();) {
+            cursor.next();
+            cursor.setInt(random.nextInt(5000));
+        }
+        return image;
+    }
+
+    private boolean _imagesAreEqual(Image<UINT16> image1, Image<UINT16> image2) {
+        IPrimitivePixelCursor cursor1 = image1.getPrimitiveCursor();
+        IPrimitivePixelCursor cursor2 = image2.getPrimitiveCursor();
+
+        boolean equals = cursor1.size() == cursor2.size();
+        while (cursor1.hasNext() && equals) {
+            cursor1.next();
+            cursor2.next();
+            equals = cursor1.getInt() == cursor2.getInt();
+        }
+        return equals;
+    }
+
+}
+
+class FusedDummyRegistrationResult implements IChannelRegistrationResult {
+    EnumMap<RegistrationRule, Affine2D> affines = new EnumMap<>(RegistrationRule.class);
+
+    @Override
+    public Affine2D getAffineTransform(RegistrationRule rule) {
+        return affines.get(rule);
+    }
+
+    @Override
+    public double error(RegistrationRule rule) {
+        return 0;
+    }
+
+    @Override
+    public int channel() {
+        return 1;
+    }
+
+    @Override
+    public String registrationMethod() {
+        return null;
+    }
+
+}
+
+class FusedDummyDarkBackground implements IChannelDarkBackground {
+    EnumMap<Polarization, Double> levels = new EnumMap<>(Polarization.class);
+
+    FusedDummyDarkBackground(double pol0, double pol45, double pol90, double pol135) {
+        levels.put(Polarization.pol0, pol0);
+        levels.put(Polarization.pol45, pol45);
+        levels.put(Polarization.pol90, pol90);
+        levels.put(Polarization.pol135, pol135);
+    }
+
+    @Override
+    public double getBackgroundLevel(Polarization polarization) {
+        return levels.get(polarization);
+    }
+
+    @Override
+    public int channel() {
+        return 1;
+    }
+
+    @Override
+    public String estimationMethod() {
+        return null;
+    }
+
+}
+
+class FusedDummyFileSet implements ICapturedImageFileSet {
+
+    @Override
+    public ICapturedImageFile[] getFile(String label) {
+        return null;
+    }
+
+    @Override
+    public String getSetName() {
+        return "FusedDummy";
+    }
+
+    @Override
+    public Cameras getnCameras() {
+        return null;
+    }
+
+    @Override
+    public boolean hasLabel(String label) {
+        return false;
+    }
+
+    @Override
+    public boolean deepEquals(ICapturedImageFileSet fileset) {
+        return false;
+    }
+
+    @Override
+    public Iterator<ICapturedImageFile> getIterator() {
+        return null;
+    }
+
+    @Override
+    public int[] getChannels() {
+        return new int[] { 1 };
+    }
+
+}
@@ -2,12 +2,17 @@ package fr.fresnel.fourPolar.algorithm.preprocess.realignment;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
+import fr.fresnel.fourPolar.algorithm.util.image.generic.transform.ImageAffineTransformer;
+
 import fr.fresnel.fourPolar.core.fourPolar.IIntensityVectorIterator;
 import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
 import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
@@ -88,6 +93,92 @@ public class ChannelRealignerTest {
 
     }
 
+    @Test
+    public void realign_RotationAndTranslation_EqualsImageAffineTransformer() throws CannotCreateException {
+        Affine2D transform2d = new Affine2D();
+        transform2d.set(new double[][] { { Math.cos(0.1), -Math.sin(0.1), 2.5 },
+                { Math.sin(0.1), Math.cos(0.1), -3 } });
+
+        assertTrue(_realignEqualsImageAffineTransformer(new long[] { 67, 130, 1, 2, 2 }, transform2d));
+    }
+
+    @Test
+    public void realign_IntegerTranslationOutsideImage_EqualsImageAffineTransformer() throws CannotCreateException {
+        Affine2D transform2d = new Affine2D();
+        transform2d.set(0, 2, -5);
+        transform2d.set(1, 2, 70);
+
+        boolean equals = _realignEqualsImageAffineTransformer(new long[] { 40, 90, 1, 3, 1 }, transform2d);
+
+        transform2d.set(0, 2, 100);
+        equals &= _realignEqualsImageAffineTransformer(new long[] { 40, 90, 1, 3, 1 }, transform2d);
+
+        assertTrue(equals);
+    }
+
+    @Test
+    public void realign_SameRealignerForTwoImageSets_BothAreRealigned() throws CannotCreateException {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 3, 3 }).axisOrder(AxisOrder.XY).build();
+
+        Affine2D transform2d = new Affine2D();
+        transform2d.set(0, 2, 1);
+        IChannelRealigner realigner = ChannelRealigner.create(new DummyChannelRegistrationResult(transform2d));
+
+        boolean isRealigned = true;
+        for (int i = 0; i < 2; i++) {
+            Image<UINT16> pol45 = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+            _setPixel(pol45, new long[] { 0, 2 }, 1);
+
+            realigner.realign(_createPolImgSet(metadata, pol45));
+            isRealigned &= _getPixel(pol45, new long[] { 1, 2 }).get() == 1;
+        }
+
+        assertTrue(isRealigned);
+    }
+
+    /**
+     * Compares the realigned pol45 with the result of the generic affine
+     * transformer.
+     */
+    private boolean _realignEqualsImageAffineTransformer(long[] dim, Affine2D transform2d) {
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).build();
+        Image<UINT16> pol = _createRandomImage(metadata, new Random(0));
+        Image<UINT16> expected = _createRandomImage(metadata, new Random(0));
+
+        ChannelRealigner.create(new DummyChannelRegistrationResult(transform2d))
+                .realign(_createPolImgSet(metadata, pol));
+        ImageAffineTransformer.apply2DNearestNeighborInterplation(expected, transform2d);
+
+        IPrimitivePixelCursor cursor = pol.getPrimitiveCursor();
+        IPrimitivePixelCursor expectedCursor = expected.getPrimitiveCursor();
+        boolean equals = true;
+        while (cursor.hasNext() && equals) {
+            cursor.next();
+            expectedCursor.next();
+            equals = cursor.getInt() == expectedCursor.getInt();
+        }
+        return equals;
+    }
+
+    /**
+     * Creates a set with the given pol45, and separate zero images for the other
+     * polarizations.
+     */
+    private DummyPolImgSet _createPolImgSet(IMetadata metadata, Image<UINT16> pol45) {
+        ImgLib2ImageFactory factory = new ImgLib2ImageFactory();
+        return new DummyPolImgSet(factory.create(metadata, UINT16.zero()), pol45,
+                factory.create(metadata, UINT16.zero()), factory.create(metadata, UINT16.zero()));
+    }
+
+    private Image<UINT16> _createRandomImage(IMetadata metadata, Random random) {
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+        for (IPrimitivePixelCursor cursor = image.getPrimitiveCursor(); cursor.hasNext();) {
+            cursor.next();
+            cursor.setInt(random.nextInt(5000) + 1);
+        }
+        return image;
+    }
+
     private void _setPixel(Image<UINT16> image, long[] position, int value) {
         IPixelRandomAccess<UINT16> ra = image.getRandomAccess();
         ra.setPosition(position);
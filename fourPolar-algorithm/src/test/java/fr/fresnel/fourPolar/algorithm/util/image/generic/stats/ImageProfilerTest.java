@@ -0,0 +1,99 @@
+package fr.fresnel.fourPolar.algorithm.util.image.generic.stats;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+
+public class ImageProfilerTest {
+    private static final double _ERROR = 1e-6;
+
+    @Test
+    public void profile_RandomUINT16Image_EqualsStatisticsOfEachPlane() {
+        Image<UINT16> image = _createUINT16Image(new long[] { 17, 9, 1, 3, 2 });
+        Random random = new Random(0);
+        short[][] planes = new short[6][];
+        for (int planeIndex = 1; planeIndex <= 6; planeIndex++) {
+            planes[planeIndex - 1] = new short[17 * 9];
+            for (int i = 0; i < planes[planeIndex - 1].length; i++) {
+                planes[planeIndex - 1][i] = (short) random.nextInt(UINT16.MAX_VAL + 1);
+            }
+            image.setPlane(planeIndex, planes[planeIndex - 1]);
+        }
+
+        ImageProfile profile = ImageProfiler.profile(image, true);
+
+        boolean equals = profile.numPlanes() == 6;
+        for (int planeIndex = 1; planeIndex <= 6; planeIndex++) {
+            double[] expected = _naiveStatistics(planes[planeIndex - 1]);
+            equals &= profile.getPlaneMin(planeIndex) == expected[0] && profile.getPlaneMax(planeIndex) == expected[1]
+                    && Math.abs(profile.getPlaneMean(planeIndex) - expected[2]) < _ERROR
+                    && Math.abs(profile.getPlaneVariance(planeIndex) - expected[3]) < expected[3] * _ERROR
+                    && profile.getPlaneHistogram(planeIndex).size() == 17 * 9;
+        }
+
+        assertTrue(equals);
+    }
+
+    @Test
+    public void profile_Float32ImageWithNaN_IgnoresNaN() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2, 1, 2, 1 }).axisOrder(AxisOrder.XYCZT)
+                .build();
+        Image<Float32> image = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        image.setPlane(1, new float[] { 1, Float.NaN, 3, 5 });
+        image.setPlane(2, new float[] { Float.NaN, Float.NaN, Float.NaN, Float.NaN });
+
+        ImageProfile profile = ImageProfiler.profile(image, true);
+
+        assertTrue(profile.getPlaneMin(1) == 1 && profile.getPlaneMax(1) == 5 && profile.getPlaneMean(1) == 3
+                && Math.abs(profile.getPlaneVariance(1) - 8.0 / 3) < _ERROR && Double.isNaN(profile.getPlaneMean(2))
+                && !profile.hasHistograms());
+    }
+
+    @Test
+    public void getPlaneHistogram_ProfileWithoutHistograms_ThrowsIllegalStateException() {
+        ImageProfile profile = ImageProfiler.profile(_createUINT16Image(new long[] { 2, 2 }), false);
+
+        assertThrows(IllegalStateException.class, () -> profile.getPlaneHistogram(1));
+    }
+
+    private static Image<UINT16> _createUINT16Image(long[] dim) {
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(dim.length == 5 ? AxisOrder.XYCZT
+                : dim.length == 4 ? AxisOrder.XYCT : AxisOrder.XY).build();
+        return new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+    }
+
+    /**
+     * Returns min, max, mean and variance of the values.
+     */
+    private static double[] _naiveStatistics(short[] plane) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        for (short value : plane) {
+            int pixel = value & 0xffff;
+            min = Math.min(min, pixel);
+            max = Math.max(max, pixel);
+            sum += pixel;
+        }
+
+        double mean = sum / plane.length;
+        double variance = 0;
+        for (short value : plane) {
+            variance += ((value & 0xffff) - mean) * ((value & 0xffff) - mean);
+        }
+
+        return new double[] { min, max, mean, variance / plane.length };
+    }
+
+}
@@ -0,0 +1,113 @@
+package fr.fresnel.fourPolar.algorithm.util.image.generic.stats;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.math3.stat.descriptive.rank.Percentile;
+import org.junit.jupiter.api.Test;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+
+public class UINT16HistogramTest {
+    @Test
+    public void percentile_RandomValues_EqualsCommonsMathPercentile() {
+        Random random = new Random(0);
+        double[] quantiles = { 0.1, 10, 25, 50, 80, 99.9, 100 };
+
+        boolean equals = true;
+        for (int size : new int[] { 1, 2, 3, 7, 100, 10001 }) {
+            short[] values = new short[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = (short) random.nextInt(UINT16.MAX_VAL + 1);
+            }
+
+            UINT16Histogram histogram = new UINT16Histogram();
+            histogram.add(values);
+
+            double[] valuesAsDouble = _toDouble(values);
+            for (double quantile : quantiles) {
+                equals &= histogram.percentile(quantile) == new Percentile(quantile).evaluate(valuesAsDouble);
+            }
+        }
+
+        assertTrue(equals);
+    }
+
+    @Test
+    public void percentile_RepeatedValues_EqualsCommonsMathPercentile() {
+        short[] values = { 5, 5, 5, 1, 1, (short) 65535, (short) 65535, 0 };
+
+        UINT16Histogram histogram = new UINT16Histogram();
+        histogram.add(values);
+
+        boolean equals = true;
+        double[] valuesAsDouble = _toDouble(values);
+        for (int quantile = 1; quantile <= 100; quantile++) {
+            equals &= histogram.percentile(quantile) == new Percentile(quantile).evaluate(valuesAsDouble);
+        }
+
+        assertTrue(equals);
+    }
+
+    @Test
+    public void percentile_EmptyHistogram_ReturnsNaN() {
+        assertTrue(Double.isNaN(new UINT16Histogram().percentile(10)));
+    }
+
+    @Test
+    public void percentile_ZeroQuantile_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new UINT16Histogram().percentile(0));
+    }
+
+    @Test
+    public void add_TwoHistograms_EqualsHistogramOfAllValues() {
+        short[] values1 = { 1, 2, 3, 3 };
+        short[] values2 = { 3, 4, (short) 40000 };
+
+        UINT16Histogram histogram1 = new UINT16Histogram();
+        histogram1.add(values1);
+        UINT16Histogram histogram2 = new UINT16Histogram();
+        histogram2.add(values2);
+        histogram1.add(histogram2);
+
+        assertTrue(histogram1.size() == 7 && histogram1.getCount(3) == 3 && histogram1.getCount(40000) == 1);
+    }
+
+    @Test
+    public void create_MultiPlaneImages_UsesFirstOrAllPlanes() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 4, 3, 1, 3, 2 }).axisOrder(AxisOrder.XYCZT)
+                .build();
+        Image<UINT16> image1 = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+        Image<UINT16> image2 = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+
+        for (int planeIndex = 1; planeIndex <= 6; planeIndex++) {
+            short[] plane = new short[12];
+            Arrays.fill(plane, (short) planeIndex);
+            image1.setPlane(planeIndex, plane);
+            image2.setPlane(planeIndex, plane);
+        }
+
+        UINT16Histogram firstPlanes = UINT16Histogram.create(Arrays.asList(image1, image2), false);
+        UINT16Histogram allPlanes = UINT16Histogram.create(Arrays.asList(image1, image2), true);
+
+        assertTrue(firstPlanes.size() == 24 && firstPlanes.getCount(1) == 24 && allPlanes.size() == 144
+                && allPlanes.getCount(6) == 24);
+    }
+
+    private static double[] _toDouble(short[] values) {
+        double[] valuesAsDouble = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            valuesAsDouble[i] = values[i] & 0xffff;
+        }
+        return valuesAsDouble;
+    }
+
+}
@@ -0,0 +1,122 @@
+package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A stick in these tests is given as [row, group, id], and reaches the rows
+ * row - halo to row + halo. Each drawn row of a stick is recorded on a canvas
+ * of rows, for each group.
+ */
+public class TiledStickPainterTest {
+    private static final int _N_ROWS = 300;
+    private static final int _HALO = 20;
+
+    private ExecutorService _executor;
+
+    @BeforeEach
+    public void createExecutor() {
+        _executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    public void shutdownExecutor() {
+        _executor.shutdown();
+    }
+
+    @Test
+    public void paint_RandomSticks_DrawsEachRowOfSticksInDrawingOrder() {
+        Random random = new Random(3);
+        List<long[]> sticks = new ArrayList<>();
+        for (int id = 0; id < 5000; id++) {
+            sticks.add(new long[] { random.nextInt(_N_ROWS), random.nextInt(3), id });
+        }
+
+        List<List<List<Long>>> serialCanvas = _createCanvas(3);
+        for (long[] stick : sticks) {
+            _draw(serialCanvas, stick, 0, _N_ROWS - 1);
+        }
+
+        List<List<List<Long>>> tiledCanvas = _createCanvas(3);
+        new TiledStickPainter<long[]>(_executor, _N_ROWS, _HALO, (stick) -> stick[0], (stick) -> stick[1])
+                .paint(sticks, () -> (stick, rowStart, rowEnd) -> _draw(tiledCanvas, stick, rowStart, rowEnd));
+
+        assertEquals(serialCanvas, tiledCanvas);
+    }
+
+    @Test
+    public void paint_StickRowOutsideFigure_ThrowsIllegalArgumentException() {
+        TiledStickPainter<long[]> painter = new TiledStickPainter<>(_executor, _N_ROWS, _HALO, (stick) -> stick[0],
+                (stick) -> stick[1]);
+        List<long[]> sticks = Arrays.asList(new long[] { 0, 0, 0 }, new long[] { _N_ROWS, 0, 1 });
+
+        assertThrows(IllegalArgumentException.class, () -> painter.paint(sticks, () -> (stick, rowStart, rowEnd) -> {
+        }));
+    }
+
+    @Test
+    public void paint_DrawerThrowsException_RethrowsTheException() {
+        TiledStickPainter<long[]> painter = new TiledStickPainter<>(_executor, _N_ROWS, _HALO, (stick) -> stick[0],
+                (stick) -> stick[1]);
+        List<long[]> sticks = Arrays.asList(new long[] { 0, 0, 0 }, new long[] { 150, 0, 1 });
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> painter.paint(sticks, () -> (stick, rowStart, rowEnd) -> {
+                    throw new UnsupportedOperationException();
+                }));
+    }
+
+    @Test
+    public void paint_SticksOfTwoTiles_CreatesOneDrawerPerTile() {
+        TiledStickPainter<long[]> painter = new TiledStickPainter<>(_executor, _N_ROWS, _HALO, (stick) -> stick[0],
+                (stick) -> stick[1]);
+        List<long[]> sticks = Arrays.asList(new long[] { 0, 0, 0 }, new long[] { 1, 0, 1 },
+                new long[] { 150, 0, 2 });
+
+        AtomicInteger nDrawers = new AtomicInteger();
+        painter.paint(sticks, () -> {
+            nDrawers.incrementAndGet();
+            return (stick, rowStart, rowEnd) -> {
+            };
+        });
+
+        assertEquals(2, nDrawers.get());
+    }
+
+    private static List<List<List<Long>>> _createCanvas(int nGroups) {
+        List<List<List<Long>>> canvas = new ArrayList<>();
+        for (int group = 0; group < nGroups; group++) {
+            List<List<Long>> rows = new ArrayList<>();
+            for (int row = 0; row < _N_ROWS; row++) {
+                rows.add(new ArrayList<>());
+            }
+            canvas.add(rows);
+        }
+        return canvas;
+    }
+
+    /**
+     * Each row is owned by one tile, hence the canvas rows need no
+     * synchronization.
+     */
+    private static void _draw(List<List<List<Long>>> canvas, long[] stick, long rowStart, long rowEnd) {
+        long start = Math.max(rowStart, Math.max(0, stick[0] - _HALO));
+        long end = Math.min(rowEnd, Math.min(_N_ROWS - 1, stick[0] + _HALO));
+        for (long row = start; row <= end; row++) {
+            canvas.get((int) stick[1]).get((int) row).add(stick[2]);
+        }
+    }
+
+}
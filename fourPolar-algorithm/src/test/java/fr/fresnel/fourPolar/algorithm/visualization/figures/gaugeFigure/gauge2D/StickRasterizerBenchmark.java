@@ -0,0 +1,62 @@
+package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge2D;
+
+import java.util.Random;
+
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.shape.IShape;
+import fr.fresnel.fourPolar.core.shape.IShapeIterator;
+import fr.fresnel.fourPolar.core.shape.ShapeFactory;
+
+/**
+ * Prints the number of sticks per second painted on a 2048 x 2048 figure by the
+ * {@link StickRasterizer} and by iterating the rotated box shape of each stick.
+ * This is a benchmark that is run by hand (using its main method), and is not
+ * part of the unit tests.
+ */
+public class StickRasterizerBenchmark {
+    private static final int _FIGURE_SIZE = 2048;
+    private static final int _N_STICKS = 20000;
+    private static final int _LEN = 40;
+    private static final int _THICKNESS = 4;
+
+    public static void main(String[] args) {
+        Random random = new Random(0);
+        double[] angles = new double[_N_STICKS];
+        long[][] centers = new long[_N_STICKS][];
+        for (int stick = 0; stick < _N_STICKS; stick++) {
+            angles[stick] = random.nextDouble() * Math.PI;
+            centers[stick] = new long[] { random.nextInt(_FIGURE_SIZE), random.nextInt(_FIGURE_SIZE), 0, 0, 0 };
+        }
+
+        StickRasterizer rasterizer = new StickRasterizer(_LEN, _THICKNESS, _FIGURE_SIZE, _FIGURE_SIZE);
+        long[] nPixels = { 0 };
+        long start = System.nanoTime();
+        for (int stick = 0; stick < _N_STICKS; stick++) {
+            rasterizer.rasterize(angles[stick], centers[stick][0], centers[stick][1],
+                    (y, xStart, xEnd) -> nPixels[0] += xEnd - xStart + 1);
+        }
+        double rasterizerRate = _N_STICKS / ((System.nanoTime() - start) * 1e-9);
+
+        long[] stickMin = { -_LEN / 2 + 1, -_THICKNESS / 2 + 1, 0, 0, 0 };
+        long[] stickMax = { _LEN / 2, _THICKNESS / 2, 0, 0, 0 };
+        IShape baseStick = ShapeFactory.closedBox(stickMin, stickMax, AxisOrder.XYCZT);
+        IShape figureRegion = ShapeFactory.closedBox(new long[5],
+                new long[] { _FIGURE_SIZE - 1, _FIGURE_SIZE - 1, 0, 0, 0 }, AxisOrder.XYCZT);
+        long nShapePixels = 0;
+        start = System.nanoTime();
+        for (int stick = 0; stick < _N_STICKS; stick++) {
+            IShape stickShape = baseStick.rotate2D(angles[stick]).translate(centers[stick].clone());
+            for (IShapeIterator iterator = stickShape.and(figureRegion).getIterator(); iterator.hasNext();) {
+                iterator.next();
+                nShapePixels++;
+            }
+        }
+        double shapeRate = _N_STICKS / ((System.nanoTime() - start) * 1e-9);
+
+        System.out.println(String.format("Stick rasterizer: %.0f sticks/s, stick shape: %.0f sticks/s",
+                rasterizerRate, shapeRate));
+        System.out.println(String.format("Pixels drawn: %d by the rasterizer, %d by the stick shape", nPixels[0],
+                nShapePixels));
+    }
+
+}
@@ -0,0 +1,106 @@
+package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge2D;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.shape.IShape;
+import fr.fresnel.fourPolar.core.shape.IShapeIterator;
+import fr.fresnel.fourPolar.core.shape.ShapeFactory;
+
+public class StickRasterizerTest {
+    private static final long[] _FIGURE_DIM = { 200, 150, 1, 1, 1 };
+
+    @Test
+    public void rasterize_RandomAnglesAndPositions_EqualsRotatedBoxShape() {
+        Random random = new Random(11);
+
+        boolean equals = true;
+        for (int stick = 0; stick < 2000 && equals; stick++) {
+            int len = 2 + random.nextInt(60);
+            int thickness = 2 + random.nextInt(8);
+            double angle = Math.PI - random.nextDouble() * Math.PI;
+            long[] center = { random.nextInt((int) _FIGURE_DIM[0]), random.nextInt((int) _FIGURE_DIM[1]), 0, 0, 0 };
+
+            equals = _rasterize(len, thickness, angle, center).equals(_iterateShape(len, thickness, angle, center));
+        }
+        assertTrue(equals);
+    }
+
+    /**
+     * On these angles, the stick borders pass through pixel centers, and the
+     * bounds of the rotated box are subject to the rounding of its corners, which
+     * decides whether the mask iterator visits the border pixels.
+     */
+    @Test
+    public void rasterize_AxisAlignedAndDiagonalAngles_EqualsRotatedBoxShape() {
+        long[][] centers = { { 100, 75, 0, 0, 0 }, { 0, 0, 0, 0, 0 }, { 199, 149, 0, 0, 0 }, { 3, 148, 0, 0, 0 } };
+
+        boolean equals = true;
+        for (int degree = 0; degree <= 180; degree += 15) {
+            double angle = Math.PI - Math.toRadians(degree);
+            for (long[] center : centers) {
+                equals &= _rasterize(40, 4, angle, center).equals(_iterateShape(40, 4, angle, center));
+                equals &= _rasterize(21, 5, angle, center).equals(_iterateShape(21, 5, angle, center));
+                equals &= _rasterize(2, 2, angle, center).equals(_iterateShape(2, 2, angle, center));
+            }
+        }
+        assertTrue(equals);
+    }
+
+    @Test
+    public void rasterize_ZeroFortyFiveAndNinetyDegreesAtRandomPositions_EqualsRotatedBoxShape() {
+        Random random = new Random(7);
+        double[] angles = { 0, Math.PI / 4, Math.PI / 2, Math.PI, -Math.PI / 4 };
+
+        boolean equals = true;
+        for (int stick = 0; stick < 500 && equals; stick++) {
+            int len = 2 + random.nextInt(60);
+            int thickness = 2 + random.nextInt(8);
+            double angle = angles[random.nextInt(angles.length)];
+            long[] center = { random.nextInt((int) _FIGURE_DIM[0]), random.nextInt((int) _FIGURE_DIM[1]), 0, 0, 0 };
+
+            equals = _rasterize(len, thickness, angle, center).equals(_iterateShape(len, thickness, angle, center));
+        }
+        assertTrue(equals);
+    }
+
+    private static List<Long> _rasterize(int len, int thickness, double angle, long[] center) {
+        List<Long> pixels = new ArrayList<>();
+        new StickRasterizer(len, thickness, _FIGURE_DIM[0], _FIGURE_DIM[1]).rasterize(angle, center[0], center[1],
+                (y, xStart, xEnd) -> {
+                    for (long x = xStart; x <= xEnd; x++) {
+                        pixels.add(y * _FIGURE_DIM[0] + x);
+                    }
+                });
+        return pixels;
+    }
+
+    /**
+     * The stick pixels, as drawn by rotating and translating a box shape.
+     */
+    private static List<Long> _iterateShape(int len, int thickness, double angle, long[] center) {
+        IShape figureRegion = ShapeFactory.closedBox(new long[5],
+                new long[] { _FIGURE_DIM[0] - 1, _FIGURE_DIM[1] - 1, 0, 0, 0 }, AxisOrder.XYCZT);
+        IShape stick = _createBaseStick(len, thickness).rotate2D(angle).translate(center.clone());
+
+        List<Long> pixels = new ArrayList<>();
+        for (IShapeIterator iterator = stick.and(figureRegion).getIterator(); iterator.hasNext();) {
+            long[] position = iterator.next();
+            pixels.add(position[1] * _FIGURE_DIM[0] + position[0]);
+        }
+        return pixels;
+    }
+
+    private static IShape _createBaseStick(int len, int thickness) {
+        long[] stickMin = { -len / 2 + 1, -thickness / 2 + 1, 0, 0, 0 };
+        long[] stickMax = { len / 2, thickness / 2, 0, 0, 0 };
+        return ShapeFactory.closedBox(stickMin, stickMax, AxisOrder.XYCZT);
+    }
+
+}
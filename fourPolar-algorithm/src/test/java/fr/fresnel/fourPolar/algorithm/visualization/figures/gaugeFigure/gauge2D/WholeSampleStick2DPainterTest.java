@@ -4,6 +4,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.util.Iterator;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 
@@ -29,6 +33,7 @@ import fr.fresnel.fourPolar.core.image.generic.pixel.types.color.SoftLightColorB
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
 import fr.fresnel.fourPolar.core.image.orientation.OrientationImageFactory;
 import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIForegroundMask;
 import fr.fresnel.fourPolar.core.image.soi.SoIImage;
 import fr.fresnel.fourPolar.core.imagingSetup.imageFormation.Cameras;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
@@ -342,6 +347,114 @@ public class WholeSampleStick2DPainterTest {
 
     }
 
+    @Test
+    public void drawRho2DStick_WithForegroundMask_EqualsDrawWithThreshold() throws CannotFormOrientationImage {
+        long[] dim = { 300, 300, 1, 2, 1 };
+        AxisOrder axisOrder = AxisOrder.XYCZT;
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(axisOrder).build();
+
+        ICapturedImageFileSet fileSet = new DummyWholeSampleFileSet();
+        Image<Float32> rhoImage = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        Image<Float32> deltaImage = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        Image<Float32> etaImage = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        IPixelRandomAccess<Float32> ra = rhoImage.getRandomAccess();
+
+        IPixelCursor<Float32> rhoCursor = rhoImage.getCursor();
+        while (rhoCursor.hasNext()) {
+            IPixel<Float32> pixel = rhoCursor.next();
+            pixel.value().set(Float.NaN);
+            rhoCursor.setPixel(pixel);
+        }
+
+        for (int k = 0; k < dim[3]; k++) {
+            for (int j = 0; j < 5; j++) {
+                for (int i = 0; i < 5; i++) {
+                    setPixel(ra, new long[] { 30 + i * 60, 30 + j * 60, 0, k, 0 },
+                            new Float32((float) Math.toRadians((i + j + k) * 20)));
+                }
+            }
+        }
+
+        IOrientationImage orientationImage = OrientationImageFactory.create(fileSet, 1, rhoImage, deltaImage, etaImage);
+        ISoIImage soiImage = _createSoIImage(metadata, fileSet);
+        ColorMap cMap = ColorMapFactory.create(ColorMapFactory.IMAGEJ_PHASE);
+        IShape entireImageRegion = ShapeFactory.closedBox(new long[] { 0, 0, 0, 0, 0 },
+                new long[] { 299, 299, 0, 1, 0 }, axisOrder);
+
+        IAngleGaugePainter thresholdPainter = new WholeSampleStick2DPainter(new DummyWholeSampleBuilder(
+                orientationImage, soiImage, cMap, 4, 20, new SoftLightColorBlender(), OrientationAngle.rho,
+                OrientationAngle.rho));
+        thresholdPainter.draw(entireImageRegion, new UINT16(150));
+
+        IAngleGaugePainter maskPainter = new WholeSampleStick2DPainter(new DummyWholeSampleBuilder(orientationImage,
+                soiImage, cMap, 4, 20, new SoftLightColorBlender(), OrientationAngle.rho, OrientationAngle.rho));
+        maskPainter.draw(entireImageRegion, SoIForegroundMask.create(soiImage, new UINT16(150)));
+
+        IPixelCursor<ARGB8> thresholdCursor = ((GaugeFigure) thresholdPainter.getFigure()).getImage().getCursor();
+        IPixelCursor<ARGB8> maskCursor = ((GaugeFigure) maskPainter.getFigure()).getImage().getCursor();
+        boolean equals = true;
+        while (thresholdCursor.hasNext()) {
+            ARGB8 thresholdColor = thresholdCursor.next().value();
+            ARGB8 maskColor = maskCursor.next().value();
+            equals &= thresholdColor.getR() == maskColor.getR() && thresholdColor.getG() == maskColor.getG()
+                    && thresholdColor.getB() == maskColor.getB() && thresholdColor.getAlpha() == maskColor.getAlpha();
+        }
+        assertTrue(equals);
+    }
+
+    @Test
+    public void drawRho2DStick_ParallelTilesWithOverlappingSticks_EqualsSerialDraw() throws CannotFormOrientationImage {
+        long[] dim = { 300, 300, 1, 2, 1 };
+        AxisOrder axisOrder = AxisOrder.XYCZT;
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(axisOrder).build();
+
+        ICapturedImageFileSet fileSet = new DummyWholeSampleFileSet();
+        Image<Float32> rhoImage = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        Image<Float32> deltaImage = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        Image<Float32> etaImage = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+
+        Random random = new Random(5);
+        IPixelCursor<Float32> rhoCursor = rhoImage.getCursor();
+        while (rhoCursor.hasNext()) {
+            IPixel<Float32> pixel = rhoCursor.next();
+            pixel.value().set(random.nextInt(10) == 0 ? (float) (random.nextDouble() * Math.PI) : Float.NaN);
+            rhoCursor.setPixel(pixel);
+        }
+
+        IOrientationImage orientationImage = OrientationImageFactory.create(fileSet, 1, rhoImage, deltaImage, etaImage);
+        ISoIImage soiImage = _createSoIImage(metadata, fileSet);
+        ColorMap cMap = ColorMapFactory.create(ColorMapFactory.IMAGEJ_PHASE);
+        IShape entireImageRegion = ShapeFactory.closedBox(new long[] { 0, 0, 0, 0, 0 },
+                new long[] { 299, 299, 0, 1, 0 }, axisOrder);
+
+        IAngleGaugePainter serialPainter = new WholeSampleStick2DPainter(new DummyWholeSampleBuilder(
+                orientationImage, soiImage, cMap, 4, 40, new SoftLightColorBlender(), OrientationAngle.rho,
+                OrientationAngle.rho));
+        serialPainter.draw(entireImageRegion, new UINT16(0));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        DummyWholeSampleBuilder parallelBuilder = new DummyWholeSampleBuilder(orientationImage, soiImage, cMap, 4,
+                40, new SoftLightColorBlender(), OrientationAngle.rho, OrientationAngle.rho);
+        parallelBuilder.executor = executor;
+        IAngleGaugePainter parallelPainter = new WholeSampleStick2DPainter(parallelBuilder);
+        try {
+            parallelPainter.draw(entireImageRegion, new UINT16(0));
+        } finally {
+            executor.shutdown();
+        }
+
+        IPixelCursor<ARGB8> serialCursor = ((GaugeFigure) serialPainter.getFigure()).getImage().getCursor();
+        IPixelCursor<ARGB8> parallelCursor = ((GaugeFigure) parallelPainter.getFigure()).getImage().getCursor();
+        boolean equals = true;
+        while (serialCursor.hasNext()) {
+            ARGB8 serialColor = serialCursor.next().value();
+            ARGB8 parallelColor = parallelCursor.next().value();
+            equals &= serialColor.getR() == parallelColor.getR() && serialColor.getG() == parallelColor.getG()
+                    && serialColor.getB() == parallelColor.getB() && serialColor.getAlpha() == parallelColor.getAlpha();
+        }
+        assertTrue(equals);
+    }
+
     private void setPixel(IPixelRandomAccess<Float32> ra, long[] position, Float32 value) {
         ra.setPosition(position);
         ra.setPixel(new Pixel<Float32>(value));
@@ -429,6 +542,7 @@ class DummyWholeSampleBuilder extends IWholeSampleStick2DPainterBuilder {
     private int _thickness = 4;
     private int _length = 50;
     private ColorBlender _blender;
+    ExecutorService executor = null;
 
     @Override
     ColorMap getColorMap() {
@@ -496,4 +610,9 @@ class DummyWholeSampleBuilder extends IWholeSampleStick2DPainterBuilder {
         return colorAngle;
     }
 
+    @Override
+    Optional<ExecutorService> getExecutor() {
+        return Optional.ofNullable(executor);
+    }
+
 }
\ No newline at end of file
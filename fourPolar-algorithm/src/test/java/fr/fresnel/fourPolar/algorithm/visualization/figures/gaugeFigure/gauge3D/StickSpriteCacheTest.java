@@ -0,0 +1,87 @@
+package fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge3D;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.shape.IShape;
+import fr.fresnel.fourPolar.core.shape.IShapeIterator;
+import fr.fresnel.fourPolar.core.shape.Rotation3DOrder;
+import fr.fresnel.fourPolar.core.shape.ShapeFactory;
+
+public class StickSpriteCacheTest {
+    private static final IShape _BASE_STICK = ShapeFactory.closedBox(new long[] { -1, -1, 0, -9, 0 },
+            new long[] { 2, 2, 0, 10, 0 }, AxisOrder.XYCZT);
+
+    @Test
+    public void getSprite_AnglesOnBins_EqualsVoxelsOfRotatedBaseStick() {
+        double resolution = Math.toRadians(5);
+        StickSpriteCache cache = new StickSpriteCache(_BASE_STICK, resolution);
+
+        double rho = 7 * resolution;
+        double eta = 3 * resolution;
+
+        assertArrayEquals(_getRotatedStickVoxels(rho, eta), cache.getSprite(rho, eta));
+    }
+
+    @Test
+    public void getSprite_ZeroResolution_EqualsVoxelsOfStickRotatedByExactAngles() {
+        StickSpriteCache cache = new StickSpriteCache(_BASE_STICK, 0);
+
+        double rho = Math.toRadians(37.3);
+        double eta = Math.toRadians(61.7);
+
+        assertArrayEquals(_getRotatedStickVoxels(rho, eta), cache.getSprite(rho, eta));
+        assertArrayEquals(_getRotatedStickVoxels(rho, eta), cache.getSprite(rho, eta));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitRate());
+        assertEquals(0, cache.getMaxAngularError());
+    }
+
+    @Test
+    public void getSprite_AnglesInSameBin_ReturnsSameSpriteAndCountsHit() {
+        double resolution = Math.toRadians(2);
+        StickSpriteCache cache = new StickSpriteCache(_BASE_STICK, resolution);
+
+        int[] sprite = cache.getSprite(10 * resolution, 20 * resolution);
+        int[] nearbySprite = cache.getSprite(10 * resolution + 0.4 * resolution, 20 * resolution - 0.4 * resolution);
+        cache.getSprite(11 * resolution, 20 * resolution);
+
+        assertSame(sprite, nearbySprite);
+        assertEquals(2, cache.size());
+        assertEquals(1.0 / 3, cache.getHitRate(), 1e-12);
+        assertEquals(resolution / 2, cache.getMaxAngularError());
+    }
+
+    @Test
+    public void getHitRate_NoSpriteRequested_ReturnsZero() {
+        assertEquals(0, new StickSpriteCache(_BASE_STICK, 0.1).getHitRate());
+    }
+
+    @Test
+    public void create_NegativeResolution_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StickSpriteCache(_BASE_STICK, -0.1));
+        assertThrows(IllegalArgumentException.class, () -> new StickSpriteCache(_BASE_STICK, Double.NaN));
+    }
+
+    private static int[] _getRotatedStickVoxels(double rho, double eta) {
+        IShape rotatedStick = _BASE_STICK.rotate3D(eta, -Math.PI / 2 + rho, 0, Rotation3DOrder.XZY);
+
+        int[] voxels = new int[0];
+        for (IShapeIterator iterator = rotatedStick.getIterator(); iterator.hasNext();) {
+            long[] voxel = iterator.next();
+            voxels = Arrays.copyOf(voxels, voxels.length + 3);
+            voxels[voxels.length - 3] = (int) voxel[0];
+            voxels[voxels.length - 2] = (int) voxel[1];
+            voxels[voxels.length - 1] = (int) voxel[3];
+        }
+        return voxels;
+    }
+
+}
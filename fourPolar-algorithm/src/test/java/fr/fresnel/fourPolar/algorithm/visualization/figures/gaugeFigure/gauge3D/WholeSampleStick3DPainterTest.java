@@ -4,6 +4,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.util.Iterator;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 
@@ -500,6 +504,68 @@ public class WholeSampleStick3DPainterTest {
 
     }
 
+    @Test
+    public void draw_ParallelTilesWithOverlappingSticks_EqualsSerialDraw() throws CannotFormOrientationImage {
+        long[] dim = { 200, 200, 1, 2, 2 };
+        AxisOrder axisOrder = AxisOrder.XYCZT;
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(axisOrder).build();
+
+        ICapturedImageFileSet fileSet = new DummyWholeSample3DFileSet();
+        Image<Float32> rhoImage = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        Image<Float32> deltaImage = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        Image<Float32> etaImage = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+
+        Random random = new Random(7);
+        IPixelCursor<Float32> rhoCursor = rhoImage.getCursor();
+        IPixelCursor<Float32> deltaCursor = deltaImage.getCursor();
+        IPixelCursor<Float32> etaCursor = etaImage.getCursor();
+        while (rhoCursor.hasNext()) {
+            boolean isDipole = random.nextInt(20) == 0;
+            _setNextPixel(rhoCursor, isDipole ? (float) (random.nextDouble() * Math.PI) : Float.NaN);
+            _setNextPixel(deltaCursor, isDipole ? (float) (random.nextDouble() * Math.PI) : Float.NaN);
+            _setNextPixel(etaCursor, isDipole ? (float) (random.nextDouble() * Math.PI / 2) : Float.NaN);
+        }
+
+        IOrientationImage orientationImage = OrientationImageFactory.create(fileSet, 1, rhoImage, deltaImage, etaImage);
+        Image<UINT16> soi = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+        ISoIImage soiImage = SoIImage.create(fileSet, soi, 1);
+        ColorMap cMap = ColorMapFactory.create(ColorMapFactory.IMAGEJ_PHASE);
+        IShape entireImageRegion = ShapeFactory.closedBox(new long[] { 0, 0, 0, 0, 0 },
+                new long[] { 199, 199, 0, 1, 1 }, axisOrder);
+
+        IAngleGaugePainter serialPainter = new WholeSampleStick3DPainter(new DummyWholeSampleStick3DBuilder(
+                orientationImage, soiImage, cMap, 4, 20, new SoftLightColorBlender()));
+        serialPainter.draw(entireImageRegion, new UINT16(0));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        DummyWholeSampleStick3DBuilder parallelBuilder = new DummyWholeSampleStick3DBuilder(orientationImage,
+                soiImage, cMap, 4, 20, new SoftLightColorBlender());
+        parallelBuilder.executor = executor;
+        IAngleGaugePainter parallelPainter = new WholeSampleStick3DPainter(parallelBuilder);
+        try {
+            parallelPainter.draw(entireImageRegion, new UINT16(0));
+        } finally {
+            executor.shutdown();
+        }
+
+        IPixelCursor<ARGB8> serialCursor = ((GaugeFigure) serialPainter.getFigure()).getImage().getCursor();
+        IPixelCursor<ARGB8> parallelCursor = ((GaugeFigure) parallelPainter.getFigure()).getImage().getCursor();
+        boolean equals = true;
+        while (serialCursor.hasNext()) {
+            ARGB8 serialColor = serialCursor.next().value();
+            ARGB8 parallelColor = parallelCursor.next().value();
+            equals &= serialColor.getR() == parallelColor.getR() && serialColor.getG() == parallelColor.getG()
+                    && serialColor.getB() == parallelColor.getB() && serialColor.getAlpha() == parallelColor.getAlpha();
+        }
+        assertTrue(equals);
+    }
+
+    private void _setNextPixel(IPixelCursor<Float32> cursor, float value) {
+        IPixel<Float32> pixel = cursor.next();
+        pixel.value().set(value);
+        cursor.setPixel(pixel);
+    }
+
     private void setPixel(IPixelRandomAccess<Float32> ra, long[] position, Float32 value) {
         ra.setPosition(position);
         ra.setPixel(new Pixel<Float32>(value));
@@ -563,6 +629,7 @@ class DummyWholeSampleStick3DBuilder extends IWholeSampleStick3DPainterBuilder {
     private int _thickness = 4;
     private int _length = 50;
     private ColorBlender _blender;
+    ExecutorService executor = null;
 
     @Override
     ColorMap getColorMap() {
@@ -589,6 +656,11 @@ class DummyWholeSampleStick3DBuilder extends IWholeSampleStick3DPainterBuilder {
         return this._thickness;
     }
 
+    @Override
+    double getStickAngleResolution() {
+        return Math.toRadians(1);
+    }
+
     public DummyWholeSampleStick3DBuilder(IOrientationImage _orientationImage, ISoIImage _soiImage, ColorMap _colorMap,
             int _thickness, int _length, ColorBlender blender) {
         this._orientationImage = _orientationImage;
@@ -609,4 +681,9 @@ class DummyWholeSampleStick3DBuilder extends IWholeSampleStick3DPainterBuilder {
         return GaugeFigure.wholeSample3DStick(_soiImage, _length);
     }
 
+    @Override
+    Optional<ExecutorService> getExecutor() {
+        return Optional.ofNullable(executor);
+    }
+
 }
\ No newline at end of file
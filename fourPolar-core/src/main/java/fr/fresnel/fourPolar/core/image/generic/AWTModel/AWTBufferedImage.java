@@ -7,6 +7,7 @@ import fr.fresnel.fourPolar.core.image.PlanarImageModel;
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
 import fr.fresnel.fourPolar.core.image.generic.AWTModel.type.BufferedImageTypes;
@@ -118,6 +119,21 @@ public abstract class AWTBufferedImage<T extends PixelType> extends PlanarImageM
     @Override
     abstract public IPixelCursor<T> getCursor(long[] bottomCorner, long[] len) throws IllegalArgumentException;
 
+    @Override
+    abstract public IPrimitivePixelCursor getPrimitiveCursor();
+
+    @Override
+    abstract public short[] getShortPlane(long planeIndex);
+
+    @Override
+    abstract public float[] getFloatPlane(long planeIndex);
+
+    @Override
+    abstract public void setPlane(long planeIndex, short[] plane);
+
+    @Override
+    abstract public void setPlane(long planeIndex, float[] plane);
+
     @Override
     abstract public IPixelRandomAccess<T> getRandomAccess();
 
@@ -4,10 +4,7 @@ import java.util.Objects;
 
 import java.awt.image.BufferedImage;
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
-import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
-import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
 import fr.fresnel.fourPolar.core.image.generic.Image;
-import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.util.image.generic.ImageUtil;
@@ -68,7 +65,7 @@ public class ImageToAWTBufferedImageConverter {
                     new BufferedImage[] { imageAsBuffImg.getImagePlane((int) planeIndex).getPlane() });
         } else {
             imagePlane = (AWTBufferedImage<UINT16>) _BUFFERED_IMAGE_FACTORY.create(planeMetadata, pixelType);
-            _copyImagePlaneToBufferedPlane(image, planeIndex, imagePlane);
+            imagePlane.setPlane(1, image.getShortPlane(planeIndex));
         }
 
         return imagePlane;
@@ -82,16 +79,4 @@ public class ImageToAWTBufferedImageConverter {
     private static <T extends PixelType> void _copyImageToBuffuredImage(Image<T> src, Image<T> dest) {
         ImageUtil.copy(src, dest);
     }
-
-    private static <T extends PixelType> void _copyImagePlaneToBufferedPlane(Image<T> srcImg, long planeIndex,
-            AWTBufferedImage<T> destImg) {
-        IPixelRandomAccess<T> destRA = destImg.getRandomAccess();
-        for (IPixelCursor<T> srcCursor = ImageUtil.getPlaneCursor(srcImg, planeIndex); srcCursor.hasNext();) {
-            IPixel<T> pixel = srcCursor.next();
-            long[] position = srcCursor.localize();
-
-            destRA.setPosition(new long[] { position[0], position[1] });
-            destRA.setPixel(pixel);
-        }
-    }
 }
\ No newline at end of file
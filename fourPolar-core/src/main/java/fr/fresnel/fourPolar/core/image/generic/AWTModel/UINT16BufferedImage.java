@@ -1,10 +1,13 @@
 package fr.fresnel.fourPolar.core.image.generic.AWTModel;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferUShort;
+import java.util.Objects;
 
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 
@@ -48,6 +51,47 @@ class UINT16BufferedImage extends AWTBufferedImage<UINT16> {
         throw new UnsupportedOperationException("No interval cursor is defined for buffered image implementation.");
     }
 
+    @Override
+    public IPrimitivePixelCursor getPrimitiveCursor() {
+        return new UINT16BufferedImagePrimitivePixelCursor(this);
+    }
+
+    /**
+     * Returns the data buffer of the plane, which is always a view of the plane.
+     */
+    @Override
+    public short[] getShortPlane(long planeIndex) {
+        if (planeIndex < 1 || planeIndex > numPlanes()) {
+            throw new IndexOutOfBoundsException("Image plane does not exist.");
+        }
+        BufferedImage plane = getImagePlane((int) planeIndex).getPlane();
+        return ((DataBufferUShort) plane.getRaster().getDataBuffer()).getData();
+    }
+
+    @Override
+    public float[] getFloatPlane(long planeIndex) {
+        throw new UnsupportedOperationException("Image is not of FLOAT_32 type.");
+    }
+
+    @Override
+    public void setPlane(long planeIndex, short[] plane) {
+        Objects.requireNonNull(plane, "plane can't be null");
+        short[] planeData = getShortPlane(planeIndex);
+
+        if (plane.length != planeData.length) {
+            throw new IllegalArgumentException("plane length must be equal to plane size of the image.");
+        }
+
+        if (plane != planeData) {
+            System.arraycopy(plane, 0, planeData, 0, plane.length);
+        }
+    }
+
+    @Override
+    public void setPlane(long planeIndex, float[] plane) {
+        throw new UnsupportedOperationException("Image is not of FLOAT_32 type.");
+    }
+
     @Override
     public IPixelRandomAccess<UINT16> getRandomAccess() {
         return new UINT16PixelRandomAccess(this);
@@ -0,0 +1,98 @@
+package fr.fresnel.fourPolar.core.image.generic.AWTModel;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferUShort;
+import java.util.NoSuchElementException;
+
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+
+/**
+ * An implementation of primitive cursor for buffered images of uint16 type. The
+ * cursor iterates over the data buffer of each plane, from the first plane to
+ * the last, and inside each plane row by row.
+ */
+class UINT16BufferedImagePrimitivePixelCursor implements IPrimitivePixelCursor {
+    private final AWTBufferedImage<UINT16> _bufferedImage;
+    private final int _numPlanes;
+    private final long _size;
+
+    private short[] _planeData;
+    private int _planeIndex;
+    private int _index;
+    private long _counter;
+
+    public UINT16BufferedImagePrimitivePixelCursor(AWTBufferedImage<UINT16> bufferedImage) {
+        assert bufferedImage != null : "BufferedImage can't be null";
+
+        _bufferedImage = bufferedImage;
+        _numPlanes = bufferedImage.numPlanes();
+
+        BufferedImage plane = bufferedImage.getImagePlane(1).getPlane();
+        _size = (long) plane.getWidth() * plane.getHeight() * _numPlanes;
+
+        this.reset();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return _counter < _size;
+    }
+
+    @Override
+    public void next() {
+        if (_counter++ >= _size) {
+            _counter = _size;
+            throw new NoSuchElementException();
+        }
+
+        if (++_index == _planeData.length) {
+            _planeData = _getPlaneData(++_planeIndex);
+            _index = 0;
+        }
+    }
+
+    @Override
+    public int getInt() {
+        return _planeData[_index] & 0xffff;
+    }
+
+    @Override
+    public void setInt(int value) {
+        _planeData[_index] = (short) (value < UINT16.MIN_VAL ? UINT16.MIN_VAL
+                : (value > UINT16.MAX_VAL ? UINT16.MAX_VAL : value));
+    }
+
+    @Override
+    public float getFloat() {
+        return getInt();
+    }
+
+    @Override
+    public void setFloat(float value) {
+        setInt((int) value);
+    }
+
+    @Override
+    public void reset() {
+        _counter = 0;
+        _index = -1;
+        _planeIndex = 1;
+        _planeData = _getPlaneData(_planeIndex);
+    }
+
+    @Override
+    public long size() {
+        return _size;
+    }
+
+    /**
+     * Returns the data buffer of the plane, which holds the pixels of a
+     * {@link BufferedImage#TYPE_USHORT_GRAY} plane row by row.
+     */
+    private short[] _getPlaneData(int planeIndex) {
+        BufferedImage plane = _bufferedImage.getImagePlane(planeIndex).getPlane();
+        return ((DataBufferUShort) plane.getRaster().getDataBuffer()).getData();
+    }
+
+}
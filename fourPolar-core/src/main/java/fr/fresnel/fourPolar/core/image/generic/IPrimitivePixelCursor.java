@@ -0,0 +1,72 @@
+package fr.fresnel.fourPolar.core.image.generic;
+
+import java.util.NoSuchElementException;
+
+import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.ARGB8;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+
+/**
+ * An interface for iterating over the pixels of an image, where pixel values
+ * are read and written as primitives rather than through {@link IPixel}. The
+ * pixels are visited in the same order as {@link Image#getCursor()}. Hence, two
+ * images of the same dimension created with the same {@link ImageFactory} can
+ * be iterated together.
+ * <p>
+ * Which accessors are supported depends on the pixel type of the image:
+ * <ul>
+ * <li>{@link UINT16}: {@link #getInt()}, {@link #setInt(int)},
+ * {@link #getFloat()} and {@link #setFloat(float)}.</li>
+ * <li>{@link Float32}: {@link #getFloat()} and {@link #setFloat(float)}.</li>
+ * <li>{@link ARGB8}: {@link #getInt()} and {@link #setInt(int)}, where the
+ * value is packed as 0xAARRGGBB.</li>
+ * </ul>
+ * The other accessors throw {@link UnsupportedOperationException}.
+ */
+public interface IPrimitivePixelCursor {
+    /**
+     * Returns true if there are more pixels to iterate.
+     */
+    public boolean hasNext();
+
+    /**
+     * Moves the cursor to the next pixel.
+     *
+     * @throws NoSuchElementException if there are no more pixels.
+     */
+    public void next();
+
+    /**
+     * Returns the value of the current pixel as an int.
+     */
+    public int getInt();
+
+    /**
+     * Sets the value of the current pixel. For {@link UINT16}, values outside of
+     * [{@link UINT16#MIN_VAL}, {@link UINT16#MAX_VAL}] are saturated.
+     */
+    public void setInt(int value);
+
+    /**
+     * Returns the value of the current pixel as a float.
+     */
+    public float getFloat();
+
+    /**
+     * Sets the value of the current pixel. For {@link UINT16}, the value is
+     * truncated to an int and then saturated.
+     */
+    public void setFloat(float value);
+
+    /**
+     * Reset the cursor, that is put it to where it would be if newly created.
+     */
+    public void reset();
+
+    /**
+     * Returns the number of pixels associated with this cursor.
+     */
+    public long size();
+
+}
@@ -1,6 +1,8 @@
 package fr.fresnel.fourPolar.core.image.generic;
 
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 
 public interface Image<T extends PixelType> {
     /**
@@ -28,6 +30,65 @@ public interface Image<T extends PixelType> {
      */
     public IPixelCursor<T> getCursor(long[] bottomCorner, long[] len) throws IllegalArgumentException;
 
+    /**
+     * Returns a cursor that iterates over the pixels in the same order as
+     * {@link #getCursor()}, but reads and writes the pixel values as primitives.
+     * This cursor should be preferred for loops that visit every pixel of the
+     * image.
+     *
+     * @return
+     */
+    public IPrimitivePixelCursor getPrimitiveCursor();
+
+    /**
+     * Exports the demanded plane of a {@link UINT16} image as an array, where
+     * pixels are stored row by row, and values must be read as unsigned (i.e,
+     * {@code value & 0xffff}). If the image stores this plane in a separate
+     * array, that array is returned without copying. Hence, changes to the
+     * returned array may be reflected in the image. To write the plane back, use
+     * {@link #setPlane(long, short[])}.
+     *
+     * @param planeIndex is the plane index, starting from 1.
+     * @return the pixels of the plane.
+     * @throws IndexOutOfBoundsException     if the plane does not exist.
+     * @throws UnsupportedOperationException if the image is not {@link UINT16}.
+     */
+    public short[] getShortPlane(long planeIndex);
+
+    /**
+     * Exports the demanded plane of a {@link Float32} image as an array. See
+     * {@link #getShortPlane(long)} for details.
+     *
+     * @throws IndexOutOfBoundsException     if the plane does not exist.
+     * @throws UnsupportedOperationException if the image is not {@link Float32}.
+     */
+    public float[] getFloatPlane(long planeIndex);
+
+    /**
+     * Imports the given array, stored row by row, as the demanded plane of a
+     * {@link UINT16} image. If the array is the one returned by
+     * {@link #getShortPlane(long)} without copying, nothing is done.
+     *
+     * @param planeIndex is the plane index, starting from 1.
+     * @param plane      is the plane values.
+     * @throws IndexOutOfBoundsException     if the plane does not exist.
+     * @throws IllegalArgumentException      if plane length is not equal to the
+     *                                       plane size of the image.
+     * @throws UnsupportedOperationException if the image is not {@link UINT16}.
+     */
+    public void setPlane(long planeIndex, short[] plane);
+
+    /**
+     * Imports the given array as the demanded plane of a {@link Float32} image.
+     * See {@link #setPlane(long, short[])} for details.
+     *
+     * @throws IndexOutOfBoundsException     if the plane does not exist.
+     * @throws IllegalArgumentException      if plane length is not equal to the
+     *                                       plane size of the image.
+     * @throws UnsupportedOperationException if the image is not {@link Float32}.
+     */
+    public void setPlane(long planeIndex, float[] plane);
+
     /**
      * Returns the interface for randomly accessing the pixels of an image.
      * 
@@ -15,6 +15,9 @@ import net.imglib2.type.numeric.real.FloatType;
  * Using this class, we can convert an {@code Image} interface to a {@code Img}
  * interface. Note that converters only generate an interface for access using
  * the new interface, in other words, no new image type is created underneath.
+ * The exception is a copy-on-write view (see
+ * {@link ImgLib2ImageFactory#createCopyOnWriteView}), which is copied before
+ * its {@code Img} is returned, so that the viewed image is never modified.
  * 
  */
 public class ImageToImgLib2Converter {
@@ -36,6 +39,8 @@ public class ImageToImgLib2Converter {
         if (image instanceof ImgLib2Image) {
             ImgLib2Image<UINT16, UnsignedShortType> implementation = (ImgLib2Image<UINT16, UnsignedShortType>) image;
             img = implementation.getImg();
+        } else if (image instanceof ImgLib2CopyOnWriteView) {
+            img = ((ImgLib2CopyOnWriteView<UINT16, UnsignedShortType>) image).getImg();
         } else {
             throw new ConverterToImgLib2NotFound();
         }
@@ -60,6 +65,8 @@ public class ImageToImgLib2Converter {
         if (image instanceof ImgLib2Image) {
             ImgLib2Image<Float32, FloatType> implementation = (ImgLib2Image<Float32, FloatType>) image;
             img = implementation.getImg();
+        } else if (image instanceof ImgLib2CopyOnWriteView) {
+            img = ((ImgLib2CopyOnWriteView<Float32, FloatType>) image).getImg();
         } else {
             throw new ConverterToImgLib2NotFound();
         }
@@ -83,6 +90,8 @@ public class ImageToImgLib2Converter {
         if (image instanceof ImgLib2Image) {
             ImgLib2Image<ARGB8, ARGBType> implementation = (ImgLib2Image<ARGB8, ARGBType>) image;
             img = implementation.getImg();
+        } else if (image instanceof ImgLib2CopyOnWriteView) {
+            img = ((ImgLib2CopyOnWriteView<ARGB8, ARGBType>) image).getImg();
         } else {
             throw new ConverterToImgLib2NotFound();
         }
@@ -0,0 +1,33 @@
+package fr.fresnel.fourPolar.core.image.generic.imgLib2Model;
+
+import net.imglib2.img.Img;
+import net.imglib2.type.numeric.ARGBType;
+
+/**
+ * Implementation of primitive cursor for an ImgLib2 image of {@link ARGBType}.
+ * The int value is packed as {@link ARGBType#rgba(int, int, int, int)}.
+ */
+class ImgLib2ARGB8PrimitivePixelCursor extends ImgLib2PrimitivePixelCursor<ARGBType, int[]> {
+
+    public ImgLib2ARGB8PrimitivePixelCursor(Img<ARGBType> img) {
+        super(img, ImgLib2StorageArrays.get(img, int[].class));
+    }
+
+    @Override
+    public int getInt() {
+        if (this._array != null) {
+            return this._array[this._index];
+        }
+        return this._cursor.get().get();
+    }
+
+    @Override
+    public void setInt(int value) {
+        if (this._array != null) {
+            this._array[this._index] = value;
+        } else {
+            this._cursor.get().set(value);
+        }
+    }
+
+}
@@ -0,0 +1,528 @@
+package fr.fresnel.fourPolar.core.image.generic.imgLib2Model;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.types.TypeConverter;
+import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+import net.imglib2.Cursor;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.Img;
+import net.imglib2.loops.LoopBuilder;
+import net.imglib2.type.NativeType;
+import net.imglib2.type.numeric.ARGBType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
+import net.imglib2.type.numeric.real.FloatType;
+import net.imglib2.util.Util;
+import net.imglib2.view.Views;
+
+/**
+ * An implementation of {@code Image} as a view over (part of) an ImgLib2 image,
+ * which shares the pixels of the viewed image. Reading the view (through
+ * planes, cursors or random accesses) does not copy the viewed image. The view
+ * is copied to a new image only when it's written to, so that the viewed image
+ * is never modified. Setting a plane only copies that plane, whereas the first
+ * pixel written by a cursor or a random access copies the entire view.
+ * <p>
+ * Cursors and random accesses read the view until the copy is created (by them
+ * or by any other writer), and then continue from the same pixel of the copy.
+ * Conversion to {@link Img} (see {@link #getImg()}) is the only accessor that
+ * always copies the view, because the returned image may be written to.
+ *
+ * @param <U> is our pixel data type.
+ * @param <V> is the ImgLib2 data type.
+ */
+class ImgLib2CopyOnWriteView<U extends PixelType, V extends NativeType<V>> implements Image<U> {
+    private final RandomAccessibleInterval<V> _view;
+    private final IMetadata _metadata;
+    private final TypeConverter<U, V> _tConverter;
+    private final ImageFactory _factory;
+
+    /**
+     * The copy of the view, which is created on the first write. Until then,
+     * planes are read from the view without locking, so that they can be read in
+     * parallel.
+     */
+    private volatile ImgLib2Image<U, V> _copy;
+
+    /**
+     * Whether each plane of the copy holds the pixels of the view.
+     */
+    private boolean[] _isPlaneCopied;
+
+    /**
+     * @param view       is the zero-min view, which has the same dimension as the
+     *                   metadata.
+     * @param tConverter is the appropriate converter from ImgLib2 type to
+     *                   {@link PixelType}.
+     * @param factory    is the associated {@link ImageFactory}.
+     * @param metadata   is the metadata associated with this view.
+     */
+    ImgLib2CopyOnWriteView(final RandomAccessibleInterval<V> view, final TypeConverter<U, V> tConverter,
+            final ImageFactory factory, final IMetadata metadata) {
+        this._view = view;
+        this._tConverter = tConverter;
+        this._factory = factory;
+        this._metadata = metadata;
+    }
+
+    @Override
+    public IPixelRandomAccess<U> getRandomAccess() {
+        return new CopyOnWritePixelRandomAccess();
+    }
+
+    @Override
+    public IPixelCursor<U> getCursor() {
+        return new CopyOnWritePixelCursor(null, null);
+    }
+
+    @Override
+    public IPixelCursor<U> getCursor(long[] bottomCorner, long[] len) throws IllegalArgumentException {
+        ImgLib2Image.checkInterval(this._metadata.getDim(), bottomCorner, len);
+        return new CopyOnWritePixelCursor(bottomCorner.clone(), len.clone());
+    }
+
+    @Override
+    public IPrimitivePixelCursor getPrimitiveCursor() {
+        return new CopyOnWritePrimitivePixelCursor();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public short[] getShortPlane(long planeIndex) {
+        if (this._copy != null) {
+            return this._getCopiedPlane(planeIndex).getShortPlane(planeIndex);
+        }
+
+        this._checkPixelType(PixelTypes.UINT_16);
+        short[] plane = new short[(int) MetadataUtil.getPlaneSize(this._metadata)];
+        int i = 0;
+        for (Cursor<UnsignedShortType> cursor = this._getPlaneCursor(
+                (RandomAccessibleInterval<UnsignedShortType>) (RandomAccessibleInterval<?>) this._view,
+                planeIndex); cursor.hasNext();) {
+            plane[i++] = (short) cursor.next().get();
+        }
+        return plane;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public float[] getFloatPlane(long planeIndex) {
+        if (this._copy != null) {
+            return this._getCopiedPlane(planeIndex).getFloatPlane(planeIndex);
+        }
+
+        this._checkPixelType(PixelTypes.FLOAT_32);
+        float[] plane = new float[(int) MetadataUtil.getPlaneSize(this._metadata)];
+        int i = 0;
+        for (Cursor<FloatType> cursor = this._getPlaneCursor(
+                (RandomAccessibleInterval<FloatType>) (RandomAccessibleInterval<?>) this._view, planeIndex); cursor
+                        .hasNext();) {
+            plane[i++] = cursor.next().get();
+        }
+        return plane;
+    }
+
+    @Override
+    public synchronized void setPlane(long planeIndex, short[] plane) {
+        Objects.requireNonNull(plane, "plane can't be null");
+        this._createCopy();
+        this._copy.setPlane(planeIndex, plane);
+        this._isPlaneCopied[(int) planeIndex - 1] = true;
+    }
+
+    @Override
+    public synchronized void setPlane(long planeIndex, float[] plane) {
+        Objects.requireNonNull(plane, "plane can't be null");
+        this._createCopy();
+        this._copy.setPlane(planeIndex, plane);
+        this._isPlaneCopied[(int) planeIndex - 1] = true;
+    }
+
+    /**
+     * This method returns the {@link Img} interface associated with the copy of
+     * this view, after copying all the view. Unlike the other accessors, the view
+     * is copied even if the image is only read, because ImgLib2 may write to the
+     * returned image.
+     */
+    public Img<V> getImg() {
+        return this._getCopy().getImg();
+    }
+
+    @Override
+    public ImageFactory getFactory() {
+        return this._factory;
+    }
+
+    @Override
+    public IMetadata getMetadata() {
+        return this._metadata;
+    }
+
+    @Override
+    public String toString() {
+        return this._view.toString();
+    }
+
+    /**
+     * Returns the copy of this view, after copying all the planes that are not
+     * copied yet.
+     */
+    private synchronized ImgLib2Image<U, V> _getCopy() {
+        this._createCopy();
+        for (long planeIndex = 1; planeIndex <= this._isPlaneCopied.length; planeIndex++) {
+            this._copyPlane(planeIndex);
+        }
+        return this._copy;
+    }
+
+    /**
+     * Returns the copy of this view, after copying the given plane if it's not
+     * copied yet.
+     */
+    private synchronized ImgLib2Image<U, V> _getCopiedPlane(long planeIndex) {
+        this._copyPlane(planeIndex);
+        return this._copy;
+    }
+
+    /**
+     * Creates the copy of the view if it does not exist. No pixel is copied.
+     */
+    private void _createCopy() {
+        if (this._copy == null) {
+            V type = Util.getTypeFromInterval(this._view).createVariable();
+            Img<V> img = Util.getSuitableImgFactory(this._view, type).create(this._view);
+
+            this._isPlaneCopied = new boolean[MetadataUtil.getNPlanes(this._metadata)];
+            this._copy = new ImgLib2Image<>(img, this._tConverter, this._factory, this._metadata);
+        }
+    }
+
+    /**
+     * Copies the given plane of the view to the copy, if not copied already.
+     */
+    private void _copyPlane(long planeIndex) {
+        long[][] planeCoords = MetadataUtil.getPlaneCoordinates(this._metadata, planeIndex);
+        if (this._isPlaneCopied[(int) planeIndex - 1]) {
+            return;
+        }
+
+        LoopBuilder.setImages(Views.interval(this._view, planeCoords[0], planeCoords[1]),
+                Views.interval(this._copy.getImg(), planeCoords[0], planeCoords[1]))
+                .forEachPixel((source, destination) -> destination.set(source));
+        this._isPlaneCopied[(int) planeIndex - 1] = true;
+    }
+
+    private void _checkPixelType(PixelTypes pixelType) {
+        if (this._tConverter.getPixelType() != pixelType) {
+            throw new UnsupportedOperationException("Image is not of " + pixelType + " type.");
+        }
+    }
+
+    /**
+     * Returns a cursor over the plane of the view, which iterates the plane row by
+     * row.
+     */
+    private <W extends NativeType<W>> Cursor<W> _getPlaneCursor(RandomAccessibleInterval<W> view,
+            long planeIndex) {
+        long[][] planeCoords = MetadataUtil.getPlaneCoordinates(this._metadata, planeIndex);
+        return Views.flatIterable(Views.interval(view, planeCoords[0], planeCoords[1])).cursor();
+    }
+
+    /**
+     * Returns true if the copy of the view is created, in which case the
+     * accessors must read the copy rather than the view.
+     */
+    private boolean _isCopied() {
+        return this._copy != null;
+    }
+
+    /**
+     * Returns the interval [bottomCorner, bottomCorner + len) of the given image
+     * as a zero-min interval, which is iterated row by row. If bottomCorner is
+     * null, the entire image is returned.
+     */
+    private static <W> RandomAccessibleInterval<W> _getInterval(RandomAccessibleInterval<W> image,
+            long[] bottomCorner, long[] len) {
+        return bottomCorner == null ? image : Views.offsetInterval(image, bottomCorner, len);
+    }
+
+    /**
+     * A cursor that reads the view, and moves to the same pixel of the copy once
+     * the copy is created or the first pixel is written. Both the view and the
+     * copy are iterated row by row, as is the cursor of {@link ImgLib2Image}.
+     */
+    private class CopyOnWritePixelCursor implements IPixelCursor<U> {
+        private final long[] _bottomCorner;
+        private final long[] _len;
+
+        private IPixelCursor<U> _cursor;
+        private boolean _isOnCopy;
+
+        /**
+         * Number of pixels visited since creation or the last reset.
+         */
+        private long _counter;
+
+        /**
+         * @param bottomCorner is the bottom corner of the iterated interval, or
+         *                     null to iterate the entire image.
+         * @param len          is the length of the iterated interval.
+         */
+        public CopyOnWritePixelCursor(long[] bottomCorner, long[] len) {
+            this._bottomCorner = bottomCorner;
+            this._len = len;
+            this._counter = 0;
+
+            this._isOnCopy = _isCopied();
+            this._cursor = this._createCursor(this._isOnCopy ? _getCopy().getImg() : _view, 0);
+        }
+
+        private IPixelCursor<U> _createCursor(RandomAccessibleInterval<V> image, long counter) {
+            Cursor<V> cursor = Views.flatIterable(_getInterval(image, this._bottomCorner, this._len)).cursor();
+            cursor.jumpFwd(counter);
+            return new ImgLib2PixelCursor<>(cursor, _metadata.getDim(), _tConverter);
+        }
+
+        private void _moveToCopy() {
+            this._cursor = this._createCursor(_getCopy().getImg(), this._counter);
+            this._isOnCopy = true;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this._cursor.hasNext();
+        }
+
+        @Override
+        public IPixel<U> next() {
+            if (!this._isOnCopy && _isCopied()) {
+                this._moveToCopy();
+            }
+
+            IPixel<U> pixel = this._cursor.next();
+            this._counter++;
+            return pixel;
+        }
+
+        @Override
+        public long[] localize() {
+            return this._cursor.localize();
+        }
+
+        @Override
+        public void setPixel(IPixel<U> pixel) {
+            if (!this._isOnCopy) {
+                this._moveToCopy();
+            }
+            this._cursor.setPixel(pixel);
+        }
+
+        @Override
+        public void reset() {
+            this._cursor.reset();
+            this._counter = 0;
+        }
+
+        @Override
+        public long size() {
+            return this._cursor.size();
+        }
+
+    }
+
+    /**
+     * A random access that reads the view, and moves to the same position of the
+     * copy once the copy is created or the first pixel is written.
+     */
+    private class CopyOnWritePixelRandomAccess implements IPixelRandomAccess<U> {
+        private final long[] _position;
+        private boolean _isPositioned;
+
+        private IPixelRandomAccess<U> _randomAccess;
+        private boolean _isOnCopy;
+
+        public CopyOnWritePixelRandomAccess() {
+            this._position = new long[_metadata.getDim().length];
+            this._isPositioned = false;
+
+            this._isOnCopy = _isCopied();
+            this._randomAccess = this._isOnCopy ? _getCopy().getRandomAccess()
+                    : new ImgLib2PixelRandomAccess<>(_view.randomAccess(), _tConverter);
+        }
+
+        private void _moveToCopy() {
+            this._randomAccess = _getCopy().getRandomAccess();
+            if (this._isPositioned) {
+                this._randomAccess.setPosition(this._position);
+            }
+            this._isOnCopy = true;
+        }
+
+        @Override
+        public void setPosition(long[] position) {
+            this._randomAccess.setPosition(position);
+            System.arraycopy(position, 0, this._position, 0, this._position.length);
+            this._isPositioned = true;
+        }
+
+        @Override
+        public void setPixel(IPixel<U> pixel) throws ArrayIndexOutOfBoundsException {
+            if (!this._isOnCopy) {
+                this._moveToCopy();
+            }
+            this._randomAccess.setPixel(pixel);
+        }
+
+        @Override
+        public IPixel<U> getPixel() throws ArrayIndexOutOfBoundsException {
+            if (!this._isOnCopy && _isCopied()) {
+                this._moveToCopy();
+            }
+            return this._randomAccess.getPixel();
+        }
+
+    }
+
+    /**
+     * A primitive cursor that reads the view, and moves to the same pixel of the
+     * primitive cursor of the copy once the copy is created or the first pixel is
+     * written. The view is iterated row by row, which is the order of the
+     * primitive cursor of the copy (an array image).
+     */
+    private class CopyOnWritePrimitivePixelCursor implements IPrimitivePixelCursor {
+        private final long _size;
+
+        /**
+         * The cursor over the view, which is null once the cursor is on the copy.
+         */
+        private Cursor<V> _viewCursor;
+        private IPrimitivePixelCursor _copyCursor;
+
+        /**
+         * Number of pixels visited since creation or the last reset.
+         */
+        private long _counter;
+
+        public CopyOnWritePrimitivePixelCursor() {
+            this._size = MetadataUtil.getPlaneSize(_metadata) * MetadataUtil.getNPlanes(_metadata);
+            this._counter = 0;
+
+            if (_isCopied()) {
+                this._copyCursor = _getCopy().getPrimitiveCursor();
+            } else {
+                this._viewCursor = Views.flatIterable(_view).cursor();
+            }
+        }
+
+        private void _moveToCopy() {
+            this._copyCursor = _getCopy().getPrimitiveCursor();
+            for (long i = 0; i < this._counter; i++) {
+                this._copyCursor.next();
+            }
+            this._viewCursor = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this._counter < this._size;
+        }
+
+        @Override
+        public void next() {
+            if (this._counter >= this._size) {
+                throw new NoSuchElementException();
+            }
+
+            if (this._viewCursor != null && _isCopied()) {
+                this._moveToCopy();
+            }
+
+            if (this._viewCursor != null) {
+                this._viewCursor.fwd();
+            } else {
+                this._copyCursor.next();
+            }
+            this._counter++;
+        }
+
+        @Override
+        public int getInt() {
+            if (this._viewCursor == null) {
+                return this._copyCursor.getInt();
+            }
+
+            V value = this._viewCursor.get();
+            switch (_tConverter.getPixelType()) {
+                case UINT_16:
+                    return ((UnsignedShortType) value).get();
+
+                case ARGB_8:
+                    return ((ARGBType) value).get();
+
+                default:
+                    throw new UnsupportedOperationException("int access is not supported for this pixel type.");
+            }
+        }
+
+        @Override
+        public void setInt(int value) {
+            if (this._viewCursor != null) {
+                this._moveToCopy();
+            }
+            this._copyCursor.setInt(value);
+        }
+
+        @Override
+        public float getFloat() {
+            if (this._viewCursor == null) {
+                return this._copyCursor.getFloat();
+            }
+
+            V value = this._viewCursor.get();
+            switch (_tConverter.getPixelType()) {
+                case UINT_16:
+                case FLOAT_32:
+                    return ((RealType<?>) value).getRealFloat();
+
+                default:
+                    throw new UnsupportedOperationException("float access is not supported for this pixel type.");
+            }
+        }
+
+        @Override
+        public void setFloat(float value) {
+            if (this._viewCursor != null) {
+                this._moveToCopy();
+            }
+            this._copyCursor.setFloat(value);
+        }
+
+        @Override
+        public void reset() {
+            this._counter = 0;
+            if (this._viewCursor != null) {
+                this._viewCursor.reset();
+            } else {
+                this._copyCursor.reset();
+            }
+        }
+
+        @Override
+        public long size() {
+            return this._size;
+        }
+
+    }
+
+}
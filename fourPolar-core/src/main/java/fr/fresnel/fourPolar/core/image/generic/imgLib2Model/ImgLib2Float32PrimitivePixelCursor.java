@@ -0,0 +1,33 @@
+package fr.fresnel.fourPolar.core.image.generic.imgLib2Model;
+
+import net.imglib2.img.Img;
+import net.imglib2.type.numeric.real.FloatType;
+
+/**
+ * Implementation of primitive cursor for an ImgLib2 image of
+ * {@link FloatType}.
+ */
+class ImgLib2Float32PrimitivePixelCursor extends ImgLib2PrimitivePixelCursor<FloatType, float[]> {
+
+    public ImgLib2Float32PrimitivePixelCursor(Img<FloatType> img) {
+        super(img, ImgLib2StorageArrays.get(img, float[].class));
+    }
+
+    @Override
+    public float getFloat() {
+        if (this._array != null) {
+            return this._array[this._index];
+        }
+        return this._cursor.get().get();
+    }
+
+    @Override
+    public void setFloat(float value) {
+        if (this._array != null) {
+            this._array[this._index] = value;
+        } else {
+            this._cursor.get().set(value);
+        }
+    }
+
+}
@@ -6,14 +6,21 @@ import java.util.Objects;
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
 import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
 import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.types.TypeConverter;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
 import net.imglib2.Cursor;
+import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.img.Img;
 import net.imglib2.type.NativeType;
+import net.imglib2.type.numeric.ARGBType;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
+import net.imglib2.type.numeric.real.FloatType;
 import net.imglib2.view.Views;
 
 /**
@@ -79,10 +86,34 @@ class ImgLib2Image<U extends PixelType, V extends NativeType<V>> implements Imag
 
     @Override
     public IPixelCursor<U> getCursor(long[] bottomCorner, long[] len) throws IllegalArgumentException {
+        Cursor<V> cursor = Views.iterable(this.getInterval(bottomCorner, len)).cursor();
+        return new ImgLib2PixelCursor<>(cursor, this._dim, this._tConverter);
+    }
+
+    /**
+     * Returns the interval [bottomCorner, bottomCorner + len) of the image as a
+     * zero-min view, which shares the pixels of this image.
+     * 
+     * @throws IllegalArgumentException in the same cases as
+     *                                  {@link #getCursor(long[], long[])}.
+     */
+    RandomAccessibleInterval<V> getInterval(long[] bottomCorner, long[] len) throws IllegalArgumentException {
+        checkInterval(this._dim, bottomCorner, len);
+        return Views.offsetInterval(this._img, bottomCorner, len);
+    }
+
+    /**
+     * Checks that [bottomCorner, bottomCorner + len) is inside an image of the
+     * given dimension.
+     * 
+     * @throws IllegalArgumentException in the same cases as
+     *                                  {@link #getCursor(long[], long[])}.
+     */
+    static void checkInterval(long[] dim, long[] bottomCorner, long[] len) throws IllegalArgumentException {
         Objects.requireNonNull(bottomCorner, "bottomCorner can't be null");
         Objects.requireNonNull(len, "len can't be null");
 
-        if (bottomCorner.length != this._dim.length || len.length != this._dim.length) {
+        if (bottomCorner.length != dim.length || len.length != dim.length) {
             throw new IllegalArgumentException("bottom corner or does not have same dimension as image.");
         }
 
@@ -97,12 +128,130 @@ class ImgLib2Image<U extends PixelType, V extends NativeType<V>> implements Imag
         }
 
         for (int i = 0; i < bottomCorner.length; i++) {
-            if (bottomCorner[i] + len[i] > this._dim[i])
+            if (bottomCorner[i] + len[i] > dim[i])
                 throw new IllegalArgumentException("bottomCorner + len cannot exceed image dimension.");
         }
+    }
 
-        Cursor<V> cursor = Views.iterable(Views.offsetInterval(this._img, bottomCorner, len)).cursor();
-        return new ImgLib2PixelCursor<>(cursor, this._dim, this._tConverter);
+    /**
+     * Returns the type converter of this image.
+     */
+    TypeConverter<U, V> getTypeConverter() {
+        return this._tConverter;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public IPrimitivePixelCursor getPrimitiveCursor() {
+        switch (this._tConverter.getPixelType()) {
+            case UINT_16:
+                return new ImgLib2UINT16PrimitivePixelCursor((Img<UnsignedShortType>) (Img<?>) this._img);
+
+            case FLOAT_32:
+                return new ImgLib2Float32PrimitivePixelCursor((Img<FloatType>) (Img<?>) this._img);
+
+            case ARGB_8:
+                return new ImgLib2ARGB8PrimitivePixelCursor((Img<ARGBType>) (Img<?>) this._img);
+
+            default:
+                throw new UnsupportedOperationException("No primitive cursor is defined for this pixel type.");
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public short[] getShortPlane(long planeIndex) {
+        this._checkPixelType(PixelTypes.UINT_16);
+        int planeSize = this._getPlaneSize(planeIndex);
+        short[][] storage = ImgLib2StorageArrays.get(this._img, short[].class);
+
+        if (this._storesEachPlaneSeparately(storage.length)) {
+            return storage[(int) planeIndex - 1];
+        }
+
+        short[] plane = new short[planeSize];
+        if (storage.length == 1) {
+            System.arraycopy(storage[0], (int) (planeIndex - 1) * planeSize, plane, 0, planeSize);
+        } else {
+            int i = 0;
+            for (Cursor<UnsignedShortType> cursor = this._getPlaneCursor((Img<UnsignedShortType>) (Img<?>) this._img,
+                    planeIndex); cursor.hasNext();) {
+                plane[i++] = (short) cursor.next().get();
+            }
+        }
+        return plane;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public float[] getFloatPlane(long planeIndex) {
+        this._checkPixelType(PixelTypes.FLOAT_32);
+        int planeSize = this._getPlaneSize(planeIndex);
+        float[][] storage = ImgLib2StorageArrays.get(this._img, float[].class);
+
+        if (this._storesEachPlaneSeparately(storage.length)) {
+            return storage[(int) planeIndex - 1];
+        }
+
+        float[] plane = new float[planeSize];
+        if (storage.length == 1) {
+            System.arraycopy(storage[0], (int) (planeIndex - 1) * planeSize, plane, 0, planeSize);
+        } else {
+            int i = 0;
+            for (Cursor<FloatType> cursor = this._getPlaneCursor((Img<FloatType>) (Img<?>) this._img,
+                    planeIndex); cursor.hasNext();) {
+                plane[i++] = cursor.next().get();
+            }
+        }
+        return plane;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setPlane(long planeIndex, short[] plane) {
+        Objects.requireNonNull(plane, "plane can't be null");
+        this._checkPixelType(PixelTypes.UINT_16);
+        int planeSize = this._getPlaneSize(planeIndex);
+        this._checkPlaneLength(plane.length, planeSize);
+        short[][] storage = ImgLib2StorageArrays.get(this._img, short[].class);
+
+        if (this._storesEachPlaneSeparately(storage.length)) {
+            if (storage[(int) planeIndex - 1] != plane) {
+                System.arraycopy(plane, 0, storage[(int) planeIndex - 1], 0, planeSize);
+            }
+        } else if (storage.length == 1) {
+            System.arraycopy(plane, 0, storage[0], (int) (planeIndex - 1) * planeSize, planeSize);
+        } else {
+            int i = 0;
+            for (Cursor<UnsignedShortType> cursor = this._getPlaneCursor((Img<UnsignedShortType>) (Img<?>) this._img,
+                    planeIndex); cursor.hasNext();) {
+                cursor.next().set(plane[i++] & 0xffff);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setPlane(long planeIndex, float[] plane) {
+        Objects.requireNonNull(plane, "plane can't be null");
+        this._checkPixelType(PixelTypes.FLOAT_32);
+        int planeSize = this._getPlaneSize(planeIndex);
+        this._checkPlaneLength(plane.length, planeSize);
+        float[][] storage = ImgLib2StorageArrays.get(this._img, float[].class);
+
+        if (this._storesEachPlaneSeparately(storage.length)) {
+            if (storage[(int) planeIndex - 1] != plane) {
+                System.arraycopy(plane, 0, storage[(int) planeIndex - 1], 0, planeSize);
+            }
+        } else if (storage.length == 1) {
+            System.arraycopy(plane, 0, storage[0], (int) (planeIndex - 1) * planeSize, planeSize);
+        } else {
+            int i = 0;
+            for (Cursor<FloatType> cursor = this._getPlaneCursor((Img<FloatType>) (Img<?>) this._img,
+                    planeIndex); cursor.hasNext();) {
+                cursor.next().set(plane[i++]);
+            }
+        }
     }
 
     @Override
@@ -110,6 +259,45 @@ class ImgLib2Image<U extends PixelType, V extends NativeType<V>> implements Imag
         return this._metadata;
     }
 
+    private void _checkPixelType(PixelTypes pixelType) {
+        if (this._tConverter.getPixelType() != pixelType) {
+            throw new UnsupportedOperationException("Image is not of " + pixelType + " type.");
+        }
+    }
+
+    /**
+     * Returns the plane size, after checking that the plane exists.
+     */
+    private int _getPlaneSize(long planeIndex) {
+        MetadataUtil.getPlaneCoordinates(this._metadata, planeIndex);
+        return (int) MetadataUtil.getPlaneSize(this._metadata);
+    }
+
+    private void _checkPlaneLength(int planeLength, int planeSize) {
+        if (planeLength != planeSize) {
+            throw new IllegalArgumentException("plane length must be equal to plane size of the image.");
+        }
+    }
+
+    /**
+     * True if the given number of storage arrays corresponds to one array per
+     * plane, which is the case for a {@code PlanarImg} or a single plane
+     * {@code ArrayImg}.
+     */
+    private boolean _storesEachPlaneSeparately(int numStorageArrays) {
+        return numStorageArrays > 0 && numStorageArrays == MetadataUtil.getNPlanes(this._metadata);
+    }
+
+    /**
+     * Returns a cursor over the plane, which iterates the plane row by row,
+     * regardless of how the image is stored.
+     */
+    private <W extends NativeType<W>> Cursor<W> _getPlaneCursor(Img<W> img, long planeIndex) {
+        long[][] planeCoords = MetadataUtil.getPlaneCoordinates(this._metadata, planeIndex);
+        RandomAccessibleInterval<W> plane = Views.interval(img, planeCoords[0], planeCoords[1]);
+        return Views.flatIterable(plane).cursor();
+    }
+
     private void _isMetadataConsistentWithImage() {
         if (this._metadata.axisOrder() != AxisOrder.NoOrder
                 && this._metadata.axisOrder().numAxis != this._dim.length) {
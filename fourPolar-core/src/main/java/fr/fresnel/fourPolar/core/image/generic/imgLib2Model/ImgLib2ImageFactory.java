@@ -1,9 +1,15 @@
 package fr.fresnel.fourPolar.core.image.generic.imgLib2Model;
 
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
 import fr.fresnel.fourPolar.core.exceptions.image.generic.imgLib2Model.types.ConverterNotFound;
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
 import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.types.TypeConverter;
 import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.types.TypeConverterFactory;
 import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
@@ -12,12 +18,15 @@ import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.ARGB8;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import net.imglib2.FinalDimensions;
+import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.img.Img;
 import net.imglib2.type.NativeType;
 import net.imglib2.type.numeric.ARGBType;
 import net.imglib2.type.numeric.integer.UnsignedShortType;
 import net.imglib2.type.numeric.real.FloatType;
+import net.imglib2.util.Intervals;
 import net.imglib2.util.Util;
+import net.imglib2.view.Views;
 
 /**
  * A concrete factory to generate instances of images that comply with the
@@ -77,6 +86,110 @@ public class ImgLib2ImageFactory implements ImageFactory {
         return null;
     }
 
+    /**
+     * Creates a view over the interval [bottomCorner, bottomCorner + len) of an
+     * image of this factory, whose axis are reassigned to the axis order of the
+     * given metadata. The axis of the view that don't exist in the image are added
+     * with length one. The view shares the pixels of the image, and these pixels
+     * are only copied when the view is written to. Hence, the image is never
+     * modified through the view.
+     * 
+     * @param image        is the image to be viewed.
+     * @param bottomCorner is the bottom corner of the interval in the image.
+     * @param len          is the length of the interval in each dimension.
+     * @param viewMetadata is the metadata of the view.
+     * @return the view, or an empty optional if the image is not created by this
+     *         factory, or if an axis of the image does not exist in the view.
+     * 
+     * @throws IllegalArgumentException if the interval exceeds the image, or if
+     *                                  the view metadata dimension does not equal
+     *                                  the reassigned interval.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends PixelType> Optional<Image<T>> createCopyOnWriteView(Image<T> image, long[] bottomCorner,
+            long[] len, IMetadata viewMetadata) {
+        Objects.requireNonNull(image, "image can't be null");
+        Objects.requireNonNull(viewMetadata, "viewMetadata can't be null");
+
+        if (!(image instanceof ImgLib2Image)) {
+            return Optional.empty();
+        }
+        return _createCopyOnWriteView((ImgLib2Image<T, ?>) image, bottomCorner, len, viewMetadata);
+    }
+
+    private <T extends PixelType, V extends NativeType<V>> Optional<Image<T>> _createCopyOnWriteView(
+            ImgLib2Image<T, V> image, long[] bottomCorner, long[] len, IMetadata viewMetadata) {
+        RandomAccessibleInterval<V> view = image.getInterval(bottomCorner, len);
+
+        int[] imageAxisOfViewAxis = _getImageAxisOfViewAxis(image.getMetadata().axisOrder(),
+                viewMetadata.axisOrder());
+        if (imageAxisOfViewAxis == null) {
+            return Optional.empty();
+        }
+
+        // Add the axis that don't exist in the image to the end of the view.
+        for (int axis = 0; axis < imageAxisOfViewAxis.length; axis++) {
+            if (imageAxisOfViewAxis[axis] < 0) {
+                view = Views.addDimension(view, 0, 0);
+                imageAxisOfViewAxis[axis] = view.numDimensions() - 1;
+            }
+        }
+
+        // Bring each axis to its position in the view, by swapping pairs of axis.
+        int[] axisAtPosition = IntStream.range(0, view.numDimensions()).toArray();
+        for (int axis = 0; axis < imageAxisOfViewAxis.length; axis++) {
+            int position = axis;
+            while (axisAtPosition[position] != imageAxisOfViewAxis[axis]) {
+                position++;
+            }
+
+            if (position != axis) {
+                view = Views.permute(view, position, axis);
+                axisAtPosition[position] = axisAtPosition[axis];
+                axisAtPosition[axis] = imageAxisOfViewAxis[axis];
+            }
+        }
+
+        if (!Arrays.equals(Intervals.dimensionsAsLongArray(view), viewMetadata.getDim())) {
+            throw new IllegalArgumentException("View metadata dimension does not equal the reassigned interval.");
+        }
+
+        IMetadata viewMetadataCP = new Metadata.MetadataBuilder(viewMetadata).build();
+        return Optional.of(new ImgLib2CopyOnWriteView<>(view, image.getTypeConverter(), this, viewMetadataCP));
+    }
+
+    /**
+     * For each axis of the view, returns the corresponding axis of the image, or
+     * -1 if the image does not have that axis. Returns null if either axis order
+     * is undefined, or an axis of the image does not exist in the view.
+     */
+    private static int[] _getImageAxisOfViewAxis(AxisOrder imageAxisOrder, AxisOrder viewAxisOrder) {
+        if (imageAxisOrder == AxisOrder.NoOrder || viewAxisOrder == AxisOrder.NoOrder) {
+            return null;
+        }
+
+        boolean viewHasImageAxis = (imageAxisOrder.c_axis < 0 || viewAxisOrder.c_axis >= 0)
+                && (imageAxisOrder.z_axis < 0 || viewAxisOrder.z_axis >= 0)
+                && (imageAxisOrder.t_axis < 0 || viewAxisOrder.t_axis >= 0);
+        if (!viewHasImageAxis) {
+            return null;
+        }
+
+        int[] imageAxis = new int[viewAxisOrder.numAxis];
+        imageAxis[0] = 0;
+        imageAxis[1] = 1;
+        if (viewAxisOrder.c_axis >= 0) {
+            imageAxis[viewAxisOrder.c_axis] = imageAxisOrder.c_axis;
+        }
+        if (viewAxisOrder.z_axis >= 0) {
+            imageAxis[viewAxisOrder.z_axis] = imageAxisOrder.z_axis;
+        }
+        if (viewAxisOrder.t_axis >= 0) {
+            imageAxis[viewAxisOrder.t_axis] = imageAxisOrder.t_axis;
+        }
+        return imageAxis;
+    }
+
     /**
      * Creates the proper image for the given dimensionality.
      * 
@@ -0,0 +1,122 @@
+package fr.fresnel.fourPolar.core.image.generic.imgLib2Model;
+
+import java.lang.reflect.Array;
+import java.util.NoSuchElementException;
+
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
+import net.imglib2.Cursor;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.planar.PlanarImg;
+import net.imglib2.type.NativeType;
+
+/**
+ * Base implementation of {@link IPrimitivePixelCursor} for the ImgLib2 image.
+ * If the image is an {@link ArrayImg} or a {@link PlanarImg}, the cursor
+ * directly iterates over the storage arrays of the image, which are visited in
+ * the same order as the cursor of these images. Otherwise, the ImgLib2 cursor
+ * of the image is used.
+ * <p>
+ * Subclasses access the current pixel either through {@link #_array} at
+ * {@link #_index}, or through {@link #_cursor} when the image is not array
+ * backed, in which case {@link #_array} is null.
+ *
+ * @param <V> is the ImgLib2 data type.
+ * @param <A> is the primitive array type that stores the pixels, e.g, short[].
+ */
+abstract class ImgLib2PrimitivePixelCursor<V extends NativeType<V>, A> implements IPrimitivePixelCursor {
+    protected final Cursor<V> _cursor;
+    private final A[] _arrays;
+    private final long _size;
+
+    private int _arrayIndex;
+    private int _arrayLength;
+    private long _counter;
+
+    /**
+     * The storage array of the current pixel.
+     */
+    protected A _array;
+
+    /**
+     * Index of the current pixel inside {@link #_array}.
+     */
+    protected int _index;
+
+    /**
+     * @param img    is the ImgLib2 image.
+     * @param arrays are the storage arrays of the image in iteration order (see
+     *               {@link ImgLib2StorageArrays#get(Img, Class)}), or an empty
+     *               array if the image is not array backed.
+     */
+    protected ImgLib2PrimitivePixelCursor(Img<V> img, A[] arrays) {
+        this._arrays = arrays;
+        this._cursor = arrays.length == 0 ? img.cursor() : null;
+        this._size = img.size();
+        this.reset();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this._counter < this._size;
+    }
+
+    @Override
+    public void next() {
+        if (this._counter++ >= this._size) {
+            this._counter = this._size;
+            throw new NoSuchElementException();
+        }
+
+        if (this._cursor != null) {
+            this._cursor.fwd();
+        } else if (++this._index == this._arrayLength) {
+            this._selectArray(++this._arrayIndex);
+            this._index = 0;
+        }
+    }
+
+    @Override
+    public void reset() {
+        this._counter = 0;
+        this._index = -1;
+
+        if (this._cursor != null) {
+            this._cursor.reset();
+        } else {
+            this._arrayIndex = 0;
+            this._selectArray(0);
+        }
+    }
+
+    private void _selectArray(int arrayIndex) {
+        this._array = this._arrays[arrayIndex];
+        this._arrayLength = Array.getLength(this._array);
+    }
+
+    @Override
+    public long size() {
+        return this._size;
+    }
+
+    @Override
+    public int getInt() {
+        throw new UnsupportedOperationException("int access is not supported for this pixel type.");
+    }
+
+    @Override
+    public void setInt(int value) {
+        throw new UnsupportedOperationException("int access is not supported for this pixel type.");
+    }
+
+    @Override
+    public float getFloat() {
+        throw new UnsupportedOperationException("float access is not supported for this pixel type.");
+    }
+
+    @Override
+    public void setFloat(float value) {
+        throw new UnsupportedOperationException("float access is not supported for this pixel type.");
+    }
+
+}
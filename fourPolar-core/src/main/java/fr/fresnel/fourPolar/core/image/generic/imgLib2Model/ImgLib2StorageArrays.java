@@ -0,0 +1,64 @@
+package fr.fresnel.fourPolar.core.image.generic.imgLib2Model;
+
+import java.lang.reflect.Array;
+
+import net.imglib2.img.Img;
+import net.imglib2.img.WrappedImg;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.basictypeaccess.array.ArrayDataAccess;
+import net.imglib2.img.planar.PlanarImg;
+
+/**
+ * Gives access to the primitive arrays that store the pixels of an ImgLib2
+ * image. Only {@link ArrayImg} (a single array) and {@link PlanarImg} (one array
+ * per plane) are supported, even when wrapped inside another image.
+ */
+class ImgLib2StorageArrays {
+    private ImgLib2StorageArrays() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns the storage arrays of the image in iteration order, or an empty
+     * array if the image is not backed by arrays of the given class.
+     *
+     * @param <A>        is the primitive array type, e.g, short[].
+     * @param img        is the ImgLib2 image.
+     * @param arrayClass is the class of primitive array.
+     */
+    @SuppressWarnings("unchecked")
+    public static <A> A[] get(Img<?> img, Class<A> arrayClass) {
+        while (img instanceof WrappedImg) {
+            img = ((WrappedImg<?>) img).getImg();
+        }
+
+        Object[] accesses;
+        if (img instanceof ArrayImg) {
+            accesses = new Object[] { ((ArrayImg<?, ?>) img).update(null) };
+        } else if (img instanceof PlanarImg) {
+            PlanarImg<?, ?> planarImg = (PlanarImg<?, ?>) img;
+            accesses = new Object[planarImg.numSlices()];
+            for (int i = 0; i < accesses.length; i++) {
+                accesses[i] = planarImg.getPlane(i);
+            }
+        } else {
+            accesses = new Object[0];
+        }
+
+        A[] arrays = (A[]) Array.newInstance(arrayClass, accesses.length);
+        for (int i = 0; i < accesses.length; i++) {
+            if (!(accesses[i] instanceof ArrayDataAccess)) {
+                return (A[]) Array.newInstance(arrayClass, 0);
+            }
+
+            Object storage = ((ArrayDataAccess<?>) accesses[i]).getCurrentStorageArray();
+            if (!arrayClass.isInstance(storage)) {
+                return (A[]) Array.newInstance(arrayClass, 0);
+            }
+            arrays[i] = (A) storage;
+        }
+
+        return arrays;
+    }
+
+}
@@ -0,0 +1,46 @@
+package fr.fresnel.fourPolar.core.image.generic.imgLib2Model;
+
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import net.imglib2.img.Img;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
+
+/**
+ * Implementation of primitive cursor for an ImgLib2 image of
+ * {@link UnsignedShortType}.
+ */
+class ImgLib2UINT16PrimitivePixelCursor extends ImgLib2PrimitivePixelCursor<UnsignedShortType, short[]> {
+
+    public ImgLib2UINT16PrimitivePixelCursor(Img<UnsignedShortType> img) {
+        super(img, ImgLib2StorageArrays.get(img, short[].class));
+    }
+
+    @Override
+    public int getInt() {
+        if (this._array != null) {
+            return this._array[this._index] & 0xffff;
+        }
+        return this._cursor.get().get();
+    }
+
+    @Override
+    public void setInt(int value) {
+        int saturated = value < UINT16.MIN_VAL ? UINT16.MIN_VAL : (value > UINT16.MAX_VAL ? UINT16.MAX_VAL : value);
+
+        if (this._array != null) {
+            this._array[this._index] = (short) saturated;
+        } else {
+            this._cursor.get().set(saturated);
+        }
+    }
+
+    @Override
+    public float getFloat() {
+        return this.getInt();
+    }
+
+    @Override
+    public void setFloat(float value) {
+        this.setInt((int) value);
+    }
+
+}
@@ -16,9 +16,9 @@ class OrientationImageRandomAccess implements IOrientationImageRandomAccess {
     private final IPixelRandomAccess<Float32> _deltaRA;
     private final IPixelRandomAccess<Float32> _etaRA;
 
-    private final Pixel<Float32> _rhoPixel = new Pixel<Float32>(Float32.zero());
-    private final Pixel<Float32> _deltaPixel = new Pixel<Float32>(Float32.zero());
-    private final Pixel<Float32> _etaPixel = new Pixel<Float32>(Float32.zero());
+    private final Pixel<Float32> _rhoPixel = new Pixel<Float32>(new Float32(0));
+    private final Pixel<Float32> _deltaPixel = new Pixel<Float32>(new Float32(0));
+    private final Pixel<Float32> _etaPixel = new Pixel<Float32>(new Float32(0));
 
     public OrientationImageRandomAccess(IPixelRandomAccess<Float32> rhoRA, IPixelRandomAccess<Float32> deltaRA,
             IPixelRandomAccess<Float32> etaRA) {
@@ -18,6 +18,14 @@ class OrientationVectorIterator implements IOrientationVectorIterator {
     final private IPixelCursor<Float32> _etaCursor;
     final private OrientationVector _orientationVector;
 
+    /**
+     * Pixel holders that are reused for setting the angles, so that no object is
+     * created per set.
+     */
+    final private Pixel<Float32> _rhoPixel = new Pixel<Float32>(new Float32(0));
+    final private Pixel<Float32> _deltaPixel = new Pixel<Float32>(new Float32(0));
+    final private Pixel<Float32> _etaPixel = new Pixel<Float32>(new Float32(0));
+
     /**
      * A concrete implementation of the {@link IOrientationVectorIterator} that uses
      * the cursers of {@link IAngleImage} to iterate over an orientation image.
@@ -51,18 +59,13 @@ class OrientationVectorIterator implements IOrientationVectorIterator {
 
     @Override
     public void set(IOrientationVector vector) {
-        Float32 rhoAngle = new Float32((float) vector.getAngle(OrientationAngle.rho));
-        Pixel<Float32> rhoPixel = new Pixel<Float32>(rhoAngle);
-
-        Float32 deltaAngle = new Float32((float) vector.getAngle(OrientationAngle.delta));
-        Pixel<Float32> deltaPixel = new Pixel<Float32>(deltaAngle);
-
-        Float32 etaAngle = new Float32((float) vector.getAngle(OrientationAngle.eta));
-        Pixel<Float32> etaPixel = new Pixel<Float32>(etaAngle);
+        this._rhoPixel.value().set((float) vector.getAngle(OrientationAngle.rho));
+        this._deltaPixel.value().set((float) vector.getAngle(OrientationAngle.delta));
+        this._etaPixel.value().set((float) vector.getAngle(OrientationAngle.eta));
 
-        this._rhoCursor.setPixel(rhoPixel);
-        this._deltaCursor.setPixel(deltaPixel);
-        this._etaCursor.setPixel(etaPixel);
+        this._rhoCursor.setPixel(this._rhoPixel);
+        this._deltaCursor.setPixel(this._deltaPixel);
+        this._etaCursor.setPixel(this._etaPixel);
 
     }
 
@@ -0,0 +1,297 @@
+package fr.fresnel.fourPolar.core.image.soi;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+
+/**
+ * The set of foreground pixels of an {@link ISoIImage}, i.e, the pixels whose
+ * SoI is greater than or equal to a threshold. The mask is built once from the
+ * SoI image, so that the algorithms that only concern the foreground (mapping,
+ * angle conversion, gauge painting) don't have to visit the background pixels.
+ * <p>
+ * The foreground of each plane is stored as runs over the (row major) index of
+ * pixels inside the plane, where each run is given as [start, end). Hence the
+ * mask is compact when the foreground is made of a few contiguous regions.
+ */
+public class SoIForegroundMask {
+    private static final int[] _NO_RUNS = new int[0];
+
+    private final IMetadata _metadata;
+    private final int _soiThreshold;
+
+    /**
+     * The runs of each plane, indexed as [planeIndex - 1], and given as [start0,
+     * end0, start1, end1, ...].
+     */
+    private final int[][] _runs;
+    private final long _size;
+
+    /**
+     * Creates the foreground mask of the given SoI image, which contains the
+     * pixels whose SoI is greater than or equal to the threshold. The SoI image is
+     * read plane by plane, with the planes read in parallel.
+     *
+     * @param soiImage     is the SoI image.
+     * @param soiThreshold is the threshold on SoI.
+     */
+    public static SoIForegroundMask create(ISoIImage soiImage, UINT16 soiThreshold) {
+        Objects.requireNonNull(soiImage, "soiImage can't be null");
+        Objects.requireNonNull(soiThreshold, "soiThreshold can't be null");
+
+        return new SoIForegroundMask(soiImage.getImage(), soiThreshold.get());
+    }
+
+    private SoIForegroundMask(Image<UINT16> soiImage, int soiThreshold) {
+        this._metadata = soiImage.getMetadata();
+        this._soiThreshold = soiThreshold;
+
+        this._runs = new int[MetadataUtil.getNPlanes(this._metadata)][];
+        IntStream.rangeClosed(1, this._runs.length).parallel()
+                .forEach((planeIndex) -> this._runs[planeIndex - 1] = _createRuns(soiImage.getShortPlane(planeIndex),
+                        soiThreshold));
+
+        long size = 0;
+        for (int[] planeRuns : this._runs) {
+            for (int run = 0; run < planeRuns.length; run += 2) {
+                size += planeRuns[run + 1] - planeRuns[run];
+            }
+        }
+        this._size = size;
+    }
+
+    private static int[] _createRuns(short[] soiPlane, int soiThreshold) {
+        int[] runs = new int[8];
+        int nRunBounds = 0;
+
+        int index = 0;
+        while (index < soiPlane.length) {
+            while (index < soiPlane.length && (soiPlane[index] & 0xffff) < soiThreshold) {
+                index++;
+            }
+            if (index == soiPlane.length) {
+                break;
+            }
+
+            int start = index;
+            while (index < soiPlane.length && (soiPlane[index] & 0xffff) >= soiThreshold) {
+                index++;
+            }
+
+            if (nRunBounds == runs.length) {
+                runs = Arrays.copyOf(runs, 2 * runs.length);
+            }
+            runs[nRunBounds++] = start;
+            runs[nRunBounds++] = index;
+        }
+
+        return nRunBounds == 0 ? _NO_RUNS : Arrays.copyOf(runs, nRunBounds);
+    }
+
+    /**
+     * Returns the metadata of the SoI image from which this mask is created.
+     */
+    public IMetadata getMetadata() {
+        return this._metadata;
+    }
+
+    /**
+     * Returns the SoI threshold of this mask.
+     */
+    public UINT16 getSoIThreshold() {
+        return new UINT16(this._soiThreshold);
+    }
+
+    /**
+     * Returns the number of foreground pixels.
+     */
+    public long size() {
+        return this._size;
+    }
+
+    /**
+     * Returns the foreground runs of the given plane as [start0, end0, start1,
+     * end1, ...], where each run [start, end) is over the row major index of
+     * pixels inside the plane. Runs are sorted and don't overlap.
+     *
+     * @param planeIndex is the plane index, starting from one.
+     * @throws IndexOutOfBoundsException if the plane does not exist.
+     */
+    public int[] getRuns(long planeIndex) {
+        if (planeIndex < 1 || planeIndex > this._runs.length) {
+            throw new IndexOutOfBoundsException("Image plane does not exist.");
+        }
+        return this._runs[(int) planeIndex - 1].clone();
+    }
+
+    /**
+     * Returns true if the given position belongs to the foreground.
+     *
+     * @throws IndexOutOfBoundsException if the position is outside the image.
+     */
+    public boolean isForeground(long[] position) {
+        long[] dim = this._metadata.getDim();
+        if (position[0] < 0 || position[0] >= dim[0] || position[1] < 0 || position[1] >= dim[1]) {
+            throw new IndexOutOfBoundsException("position is outside the image.");
+        }
+
+        int[] planeRuns = this._runs[(int) MetadataUtil.getPlaneIndex(this._metadata, position) - 1];
+        int index = (int) (position[1] * dim[0] + position[0]);
+
+        // The first run bound greater than index is an end iff index is inside a run.
+        int low = 0;
+        int high = planeRuns.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (planeRuns[mid] <= index) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low % 2 == 1;
+    }
+
+    /**
+     * Returns an iterator over the positions of the foreground pixels, plane by
+     * plane, with x changing fastest. Each returned position is a new array.
+     */
+    public Iterator<long[]> getIterator() {
+        return new ForegroundIterator(this._runs);
+    }
+
+    /**
+     * Returns an iterator over the positions of the foreground pixels that are
+     * inside the given box, in the same order as {@link #getIterator()}. The runs
+     * are clipped to the box beforehand, hence the foreground outside the box is
+     * not visited.
+     *
+     * @param min is the minimum of the box (inclusive) over each image axis.
+     * @param max is the maximum of the box (inclusive) over each image axis.
+     * @throws IllegalArgumentException if the box does not have the same number of
+     *                                  axis as the image.
+     */
+    public Iterator<long[]> getIterator(long[] min, long[] max) {
+        long[] dim = this._metadata.getDim();
+        if (min.length != dim.length || max.length != dim.length) {
+            throw new IllegalArgumentException("The box should have the same number of axis as the image.");
+        }
+
+        int[][] clippedRuns = new int[this._runs.length][];
+        for (int plane = 0; plane < this._runs.length; plane++) {
+            long[] planeStart = MetadataUtil.getPlaneCoordinates(this._metadata, plane + 1)[0];
+            boolean isPlaneInside = true;
+            for (int axis = 2; axis < dim.length; axis++) {
+                isPlaneInside &= min[axis] <= planeStart[axis] && planeStart[axis] <= max[axis];
+            }
+
+            clippedRuns[plane] = isPlaneInside ? _clipRuns(this._runs[plane], dim, min, max) : _NO_RUNS;
+        }
+        return new ForegroundIterator(clippedRuns);
+    }
+
+    /**
+     * Clips the runs of a plane to the rows and columns of the box.
+     */
+    private static int[] _clipRuns(int[] planeRuns, long[] dim, long[] min, long[] max) {
+        long width = dim[0];
+        long minX = Math.max(0, min[0]);
+        long maxX = Math.min(width - 1, max[0]);
+        long minY = Math.max(0, min[1]);
+        long maxY = Math.min(dim[1] - 1, max[1]);
+        if (minX > maxX || minY > maxY) {
+            return _NO_RUNS;
+        }
+
+        int[] runs = new int[8];
+        int nRunBounds = 0;
+        for (int run = 0; run < planeRuns.length && planeRuns[run] <= maxY * width + maxX; run += 2) {
+            int start = planeRuns[run];
+            int end = planeRuns[run + 1];
+
+            for (long row = Math.max(minY, start / width); row <= Math.min(maxY, (end - 1) / width); row++) {
+                int clippedStart = (int) Math.max(start, row * width + minX);
+                int clippedEnd = (int) Math.min(end, row * width + maxX + 1);
+                if (clippedStart >= clippedEnd) {
+                    continue;
+                }
+
+                if (nRunBounds > 0 && runs[nRunBounds - 1] == clippedStart) {
+                    // The box spans whole rows, hence the run continues on the next row.
+                    runs[nRunBounds - 1] = clippedEnd;
+                } else {
+                    if (nRunBounds == runs.length) {
+                        runs = Arrays.copyOf(runs, 2 * runs.length);
+                    }
+                    runs[nRunBounds++] = clippedStart;
+                    runs[nRunBounds++] = clippedEnd;
+                }
+            }
+        }
+
+        return nRunBounds == 0 ? _NO_RUNS : Arrays.copyOf(runs, nRunBounds);
+    }
+
+    private class ForegroundIterator implements Iterator<long[]> {
+        private final long _planeWidth = _metadata.getDim()[0];
+        private final int[][] _runs;
+        private int _plane = 0;
+        private int _run = 0;
+        private int _index = -1;
+        private long[] _planeStart;
+
+        public ForegroundIterator(int[][] runs) {
+            this._runs = runs;
+            this._moveToNextRun();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this._plane < this._runs.length;
+        }
+
+        @Override
+        public long[] next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            long[] position = this._planeStart.clone();
+            position[0] = this._index % this._planeWidth;
+            position[1] = this._index / this._planeWidth;
+
+            if (++this._index == this._runs[this._plane][this._run + 1]) {
+                this._run += 2;
+                this._moveToNextRun();
+            }
+            return position;
+        }
+
+        /**
+         * Moves to the start of the current run, skipping the planes with no runs
+         * left.
+         */
+        private void _moveToNextRun() {
+            while (this._plane < this._runs.length && this._run == this._runs[this._plane].length) {
+                this._plane++;
+                this._run = 0;
+                this._planeStart = null;
+            }
+
+            if (this._plane < this._runs.length) {
+                if (this._planeStart == null) {
+                    this._planeStart = MetadataUtil.getPlaneCoordinates(_metadata, this._plane + 1)[0];
+                }
+                this._index = this._runs[this._plane][this._run];
+            }
+        }
+    }
+
+}
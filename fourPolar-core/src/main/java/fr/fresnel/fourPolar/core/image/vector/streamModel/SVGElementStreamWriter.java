@@ -0,0 +1,426 @@
+package fr.fresnel.fourPolar.core.image.vector.streamModel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Iterator;
+
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.ARGB8;
+import fr.fresnel.fourPolar.core.image.vector.Vector;
+import fr.fresnel.fourPolar.core.image.vector.animation.Animation;
+import fr.fresnel.fourPolar.core.image.vector.animation.RotationAnimation;
+import fr.fresnel.fourPolar.core.image.vector.filter.BlenderFilter;
+import fr.fresnel.fourPolar.core.image.vector.filter.Filter;
+import fr.fresnel.fourPolar.core.image.vector.filter.FilterComposite;
+import fr.fresnel.fourPolar.core.shape.IBoxShape;
+import fr.fresnel.fourPolar.core.shape.ILineShape;
+import fr.fresnel.fourPolar.core.shape.IShape;
+
+/**
+ * Writes SVG elements as text to an output stream. The elements and attributes
+ * are the same as the ones created by the batik converters (see
+ * {@link fr.fresnel.fourPolar.core.image.vector.batikModel.converters.VectorToSVGElementConverter}),
+ * but they're written directly as bytes, without creating any DOM element.
+ * <p>
+ * Numbers are formatted without creating strings. Line coordinates are written
+ * with one decimal and opacity with two decimals, exactly as the DecimalFormat
+ * patterns "#.#" and "#.##" of the batik converters.
+ * <p>
+ * Non-ASCII characters of attribute values are written as character
+ * references, hence the output is valid in any ASCII compatible encoding.
+ */
+class SVGElementStreamWriter {
+    private static final long[] _POWERS_OF_TEN = { 1, 10, 100, 1000 };
+
+    /**
+     * Holds the digits of a number, which are written from the end.
+     */
+    private final byte[] _digits = new byte[24];
+
+    private OutputStream _out;
+
+    /**
+     * Sets the stream the elements are written to.
+     */
+    public void setOutputStream(OutputStream out) {
+        _out = out;
+    }
+
+    /**
+     * Writes the vector as an svg element (including all its properties), as done
+     * by the batik vector converter.
+     *
+     * @throws IllegalArgumentException if the shape, the filter or the animation of
+     *                                  the vector can't be converted to svg.
+     */
+    public void writeVector(Vector vector) throws IOException {
+        IShape shape = vector.shape();
+        String tag;
+        if (shape instanceof ILineShape) {
+            tag = "line";
+            _writeTagStart(tag);
+            _writeLineAttributes((ILineShape) shape);
+        } else if (shape instanceof IBoxShape) {
+            tag = "rect";
+            _writeTagStart(tag);
+            _writeBoxAttributes((IBoxShape) shape);
+        } else {
+            throw new IllegalArgumentException(
+                    "Can't convert the given shape because no suitable shape converter is found.");
+        }
+
+        if (vector.fill().isPresent()) {
+            _writeColorAttribute("fill", vector.fill().get());
+        }
+        if (vector.color().isPresent()) {
+            _writeAttributeName("opacity");
+            writeDecimal(vector.color().get().getAlpha() / 255f, 2);
+            _writeAttributeEnd();
+
+            _writeColorAttribute("stroke", vector.color().get());
+        }
+        if (vector.strokeWidth().isPresent()) {
+            _writeAttributeName("stroke-width");
+            _writeLong(vector.strokeWidth().get());
+            _writeAttributeEnd();
+        }
+        if (vector.filter().isPresent()) {
+            _writeAttributeName("filter");
+            _writeASCII("url(#");
+            _writeEscaped(vector.filter().get().id());
+            _writeASCII(")");
+            _writeAttributeEnd();
+        }
+
+        if (vector.animation().isPresent()) {
+            _writeASCII(">");
+            _writeAnimation(vector.animation().get());
+            _writeTagEnd(tag);
+        } else {
+            _writeASCII("/>");
+        }
+    }
+
+    /**
+     * Writes the filter composite inside a defs element.
+     *
+     * @throws IllegalArgumentException if no converter is found for a filter.
+     */
+    public void writeFilterCompositeDefs(FilterComposite composite) throws IOException {
+        _writeASCII("<defs>");
+        _writeTagStart("filter");
+        _writeAttribute("id", composite.id());
+        if (composite.xStart().isPresent()) {
+            _writeAttribute("x", composite.xStart().get());
+        }
+        if (composite.yStart().isPresent()) {
+            _writeAttribute("y", composite.yStart().get());
+        }
+        if (composite.widthPercent().isPresent()) {
+            _writeAttribute("width", composite.widthPercent().get());
+        }
+        if (composite.heightPercent().isPresent()) {
+            _writeAttribute("height", composite.heightPercent().get());
+        }
+        _writeASCII(">");
+
+        for (Iterator<Filter> filterItr = composite.filters(); filterItr.hasNext();) {
+            Filter filter = filterItr.next();
+            if (!(filter instanceof BlenderFilter)) {
+                throw new IllegalArgumentException("No converter to svg element was found for the given filter");
+            }
+            _writeBlenderFilter((BlenderFilter) filter);
+        }
+
+        _writeTagEnd("filter");
+        _writeASCII("</defs>");
+    }
+
+    /**
+     * Writes the start of an image element of the given size, up to the beginning
+     * of the base64 png data, which should be written next, followed by
+     * {@link #writeImageElementEnd()}.
+     */
+    public void writeImageElementStart(long width, long height) throws IOException {
+        _writeTagStart("image");
+        _writeAttribute("x", "0");
+        _writeAttribute("y", "0");
+        _writeAttributeName("width");
+        _writeLong(width);
+        _writeAttributeEnd();
+        _writeAttributeName("height");
+        _writeLong(height);
+        _writeAttributeEnd();
+        _writeAttribute("preserveAspectRatio", "none");
+        _writeAttributeName("xlink:href");
+        _writeASCII("data:image/png;base64, ");
+    }
+
+    public void writeImageElementEnd() throws IOException {
+        _writeAttributeEnd();
+        _writeASCII("/>");
+    }
+
+    /**
+     * Writes the line as a segment of the data of a path (i.e, "Mx1 y1Lx2 y2"),
+     * with the coordinates of the line element.
+     */
+    public void writeLineSegment(ILineShape lineShape) throws IOException {
+        double[] start = lineShape.lineStartAsDouble();
+        double[] end = lineShape.lineEndAsDouble();
+
+        _out.write('M');
+        writeDecimal(start[0], 1);
+        _out.write(' ');
+        writeDecimal(start[1], 1);
+        _out.write('L');
+        writeDecimal(end[0], 1);
+        _out.write(' ');
+        writeDecimal(end[1], 1);
+    }
+
+    /**
+     * Writes a group that holds the style, with one path of the given data inside
+     * it. The opacity of the style is written as the stroke opacity, so that the
+     * path is not painted to an offscreen buffer.
+     */
+    public void writePathGroup(SVGPathStyle style, ByteArrayOutputStream pathData) throws IOException {
+        _writeTagStart("g");
+        _writeAttribute("fill", "none");
+        if (style.hasColor()) {
+            _writeAttributeName("stroke");
+            _writeASCII("rgb(");
+            _writeLong(style.red());
+            _out.write(',');
+            _writeLong(style.green());
+            _out.write(',');
+            _writeLong(style.blue());
+            _out.write(')');
+            _writeAttributeEnd();
+
+            _writeAttributeName("stroke-opacity");
+            writeDecimal(style.alpha() / 255f, 2);
+            _writeAttributeEnd();
+        }
+        if (style.hasStrokeWidth()) {
+            _writeLongAttribute("stroke-width", style.strokeWidth());
+        }
+        if (style.filterId() != null) {
+            _writeAttributeName("filter");
+            _writeASCII("url(#");
+            _writeEscaped(style.filterId());
+            _writeASCII(")");
+            _writeAttributeEnd();
+        }
+        _writeASCII(">");
+
+        _writeTagStart("path");
+        _writeAttributeName("d");
+        pathData.writeTo(_out);
+        _writeAttributeEnd();
+        _writeASCII("/>");
+
+        _writeTagEnd("g");
+    }
+
+    private void _writeLineAttributes(ILineShape lineShape) throws IOException {
+        double[] start = lineShape.lineStartAsDouble();
+        double[] end = lineShape.lineEndAsDouble();
+
+        _writeCoordinateAttribute("x1", start[0]);
+        _writeCoordinateAttribute("y1", start[1]);
+        _writeCoordinateAttribute("x2", end[0]);
+        _writeCoordinateAttribute("y2", end[1]);
+    }
+
+    private void _writeBoxAttributes(IBoxShape boxShape) throws IOException {
+        long[] min = boxShape.min();
+        long[] max = boxShape.max();
+
+        _writeLongAttribute("x", min[0]);
+        _writeLongAttribute("y", min[1]);
+        _writeLongAttribute("width", max[0] - min[0]);
+        _writeLongAttribute("height", max[1] - min[1]);
+    }
+
+    private void _writeBlenderFilter(BlenderFilter filter) throws IOException {
+        _writeTagStart("feBlend");
+        _writeAttribute("in", filter.in());
+        _writeAttribute("mode", filter.mode());
+        if (filter.in2().isPresent()) {
+            _writeAttribute("in2", filter.in2().get());
+        }
+        if (filter.resultName().isPresent()) {
+            _writeAttribute("result", filter.resultName().get());
+        }
+        _writeASCII("/>");
+    }
+
+    private void _writeAnimation(Animation animation) throws IOException {
+        if (!(animation instanceof RotationAnimation)) {
+            throw new IllegalArgumentException(
+                    "Can't convert the given animation type because no converters are found");
+        }
+
+        RotationAnimation rotationAnimation = (RotationAnimation) animation;
+        _writeTagStart("animateTransform");
+        _writeAttribute("attributeName", rotationAnimation.attributeName());
+        _writeAttribute("type", rotationAnimation.type());
+        _writeAttribute("values", rotationAnimation.values());
+        _writeAttribute("begin", rotationAnimation.begin());
+        _writeAttribute("dur", rotationAnimation.dur());
+        if (rotationAnimation.repeatCount().isPresent()) {
+            _writeAttribute("repeatCount", rotationAnimation.repeatCount().get());
+        }
+        if (rotationAnimation.end().isPresent()) {
+            _writeAttribute("end", rotationAnimation.end().get());
+        }
+        _writeASCII("/>");
+    }
+
+    private void _writeColorAttribute(String name, ARGB8 color) throws IOException {
+        _writeAttributeName(name);
+        _writeASCII("rgb(");
+        _writeLong(color.getR());
+        _out.write(',');
+        _writeLong(color.getG());
+        _out.write(',');
+        _writeLong(color.getB());
+        _out.write(')');
+        _writeAttributeEnd();
+    }
+
+    private void _writeCoordinateAttribute(String name, double value) throws IOException {
+        _writeAttributeName(name);
+        writeDecimal(value, 1);
+        _writeAttributeEnd();
+    }
+
+    private void _writeLongAttribute(String name, long value) throws IOException {
+        _writeAttributeName(name);
+        _writeLong(value);
+        _writeAttributeEnd();
+    }
+
+    private void _writeAttribute(String name, String value) throws IOException {
+        _writeAttributeName(name);
+        _writeEscaped(value);
+        _writeAttributeEnd();
+    }
+
+    private void _writeAttributeName(String name) throws IOException {
+        _out.write(' ');
+        _writeASCII(name);
+        _writeASCII("=\"");
+    }
+
+    private void _writeAttributeEnd() throws IOException {
+        _out.write('"');
+    }
+
+    private void _writeTagStart(String tag) throws IOException {
+        _out.write('<');
+        _writeASCII(tag);
+    }
+
+    private void _writeTagEnd(String tag) throws IOException {
+        _writeASCII("</");
+        _writeASCII(tag);
+        _out.write('>');
+    }
+
+    /**
+     * Writes the value rounded half even to the given number of decimals (at most
+     * three), dropping the trailing zeros of the fraction. As with DecimalFormat,
+     * the exact binary value is rounded, and the sign of negative values rounded
+     * to zero is kept.
+     */
+    public void writeDecimal(double value, int decimals) throws IOException {
+        long scale = _POWERS_OF_TEN[decimals];
+        double scaledValue = Math.abs(value) * scale;
+        long scaled = (long) Math.rint(scaledValue);
+        if (scaledValue - Math.floor(scaledValue) == 0.5) {
+            // The product was rounded to a tie, which only the exact value can break.
+            scaled = new BigDecimal(Math.abs(value)).setScale(decimals, RoundingMode.HALF_EVEN).unscaledValue()
+                    .longValue();
+        }
+
+        long integerPart = scaled / scale;
+        long fraction = scaled % scale;
+        if (Math.copySign(1.0, value) < 0) {
+            _out.write('-');
+        }
+        _writeLong(integerPart);
+
+        if (fraction != 0) {
+            int nDigits = decimals;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                nDigits--;
+            }
+
+            _out.write('.');
+            for (int digit = nDigits - 1; digit >= 0; digit--) {
+                _out.write('0' + (int) (fraction / _POWERS_OF_TEN[digit] % 10));
+            }
+        }
+    }
+
+    private void _writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            _writeASCII(String.valueOf(value));
+            return;
+        }
+
+        int position = _digits.length;
+        long remainder = Math.abs(value);
+        do {
+            _digits[--position] = (byte) ('0' + remainder % 10);
+            remainder /= 10;
+        } while (remainder != 0);
+
+        if (value < 0) {
+            _digits[--position] = '-';
+        }
+        _out.write(_digits, position, _digits.length - position);
+    }
+
+    /**
+     * Writes a string that has only ASCII characters and nothing to escape.
+     */
+    private void _writeASCII(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            _out.write(text.charAt(i));
+        }
+    }
+
+    /**
+     * Writes an attribute value, escaping the xml special characters.
+     */
+    private void _writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '&') {
+                _writeASCII("&amp;");
+            } else if (c == '<') {
+                _writeASCII("&lt;");
+            } else if (c == '>') {
+                _writeASCII("&gt;");
+            } else if (c == '"') {
+                _writeASCII("&quot;");
+            } else if (c < 0x80) {
+                _out.write(c);
+            } else {
+                int codePoint = text.codePointAt(i);
+                i += Character.charCount(codePoint) - 1;
+
+                _writeASCII("&#");
+                _writeLong(codePoint);
+                _out.write(';');
+            }
+        }
+    }
+
+}
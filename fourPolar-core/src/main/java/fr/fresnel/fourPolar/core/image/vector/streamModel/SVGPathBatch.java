@@ -0,0 +1,91 @@
+package fr.fresnel.fourPolar.core.image.vector.streamModel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import fr.fresnel.fourPolar.core.image.vector.Vector;
+import fr.fresnel.fourPolar.core.shape.ILineShape;
+
+/**
+ * Collects the lines of one plane as the segments of paths, one path per
+ * {@link SVGPathStyle}, until they're written to the plane as path groups.
+ * <p>
+ * The path data of the batch is kept in memory, hence the owner should write
+ * the batch once its size reaches a limit, so that memory does not grow with
+ * the number of lines.
+ */
+class SVGPathBatch {
+    private final Map<SVGPathStyle, ByteArrayOutputStream> _paths = new LinkedHashMap<>();
+    private final SVGPathStyle _lookupStyle = new SVGPathStyle();
+    private final SVGElementStreamWriter _pathDataWriter = new SVGElementStreamWriter();
+
+    private int _planeIndex = 0;
+    private int _size = 0;
+
+    /**
+     * @return true if the vector can be written as the segment of a path, i.e, it's
+     *         a line with no animation and no fill.
+     */
+    public static boolean canBatch(Vector vector) {
+        return vector.shape() instanceof ILineShape && !vector.animation().isPresent()
+                && !vector.fill().isPresent();
+    }
+
+    /**
+     * Adds the line of the vector to the path of its style.
+     *
+     * @param vector     is a vector that can be batched.
+     * @param planeIndex is the plane of the vector, which must be the plane of the
+     *                   batch if it's not empty.
+     */
+    public void add(Vector vector, int planeIndex) throws IOException {
+        if (!isEmpty() && planeIndex != _planeIndex) {
+            throw new IllegalArgumentException("The vector does not belong to the plane of the batch.");
+        }
+        _planeIndex = planeIndex;
+
+        ByteArrayOutputStream pathData = _paths.get(_lookupStyle.set(vector));
+        if (pathData == null) {
+            pathData = new ByteArrayOutputStream();
+            _paths.put(_lookupStyle.copy(), pathData);
+        }
+
+        int sizeBefore = pathData.size();
+        _pathDataWriter.setOutputStream(pathData);
+        _pathDataWriter.writeLineSegment((ILineShape) vector.shape());
+        _size += pathData.size() - sizeBefore;
+    }
+
+    /**
+     * Writes a group with one path for each style of the batch, then empties the
+     * batch.
+     */
+    public void writeTo(SVGElementStreamWriter writer) throws IOException {
+        for (Map.Entry<SVGPathStyle, ByteArrayOutputStream> path : _paths.entrySet()) {
+            writer.writePathGroup(path.getKey(), path.getValue());
+        }
+        _paths.clear();
+        _size = 0;
+    }
+
+    /**
+     * @return the plane of the lines of the batch.
+     */
+    public int planeIndex() {
+        return _planeIndex;
+    }
+
+    /**
+     * @return the number of bytes of path data in the batch.
+     */
+    public int size() {
+        return _size;
+    }
+
+    public boolean isEmpty() {
+        return _paths.isEmpty();
+    }
+
+}
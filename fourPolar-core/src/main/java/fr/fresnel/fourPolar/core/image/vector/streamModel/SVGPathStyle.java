@@ -0,0 +1,105 @@
+package fr.fresnel.fourPolar.core.image.vector.streamModel;
+
+import java.util.Objects;
+
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.ARGB8;
+import fr.fresnel.fourPolar.core.image.vector.Vector;
+
+/**
+ * The properties of a line vector that are shared by all the lines of one
+ * path, namely the stroke color and opacity, the stroke width and the filter.
+ * An absent stroke width is kept as -1, and an absent filter as null.
+ * <p>
+ * A style can be reset to the properties of each vector, so that one instance
+ * is used for looking up the path of every vector.
+ */
+class SVGPathStyle {
+    private boolean _hasColor;
+    private int _argb;
+    private int _strokeWidth;
+    private String _filterId;
+
+    /**
+     * Sets this style to the properties of the given vector.
+     *
+     * @return this style.
+     */
+    public SVGPathStyle set(Vector vector) {
+        _hasColor = vector.color().isPresent();
+        _argb = _hasColor ? _toARGB(vector.color().get()) : 0;
+        _strokeWidth = vector.strokeWidth().isPresent() ? vector.strokeWidth().get() : -1;
+        _filterId = vector.filter().isPresent() ? vector.filter().get().id() : null;
+        return this;
+    }
+
+    private static int _toARGB(ARGB8 color) {
+        return color.getAlpha() << 24 | color.getR() << 16 | color.getG() << 8 | color.getB();
+    }
+
+    public SVGPathStyle copy() {
+        SVGPathStyle copy = new SVGPathStyle();
+        copy._hasColor = _hasColor;
+        copy._argb = _argb;
+        copy._strokeWidth = _strokeWidth;
+        copy._filterId = _filterId;
+        return copy;
+    }
+
+    public boolean hasColor() {
+        return _hasColor;
+    }
+
+    public int red() {
+        return _argb >> 16 & 0xFF;
+    }
+
+    public int green() {
+        return _argb >> 8 & 0xFF;
+    }
+
+    public int blue() {
+        return _argb & 0xFF;
+    }
+
+    public int alpha() {
+        return _argb >>> 24;
+    }
+
+    public boolean hasStrokeWidth() {
+        return _strokeWidth != -1;
+    }
+
+    public int strokeWidth() {
+        return _strokeWidth;
+    }
+
+    /**
+     * @return the id of the filter, or null if there's no filter.
+     */
+    public String filterId() {
+        return _filterId;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Boolean.hashCode(_hasColor);
+        hash = 31 * hash + _argb;
+        hash = 31 * hash + _strokeWidth;
+        return 31 * hash + Objects.hashCode(_filterId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SVGPathStyle)) {
+            return false;
+        }
+
+        SVGPathStyle other = (SVGPathStyle) obj;
+        return _hasColor == other._hasColor && _argb == other._argb && _strokeWidth == other._strokeWidth
+                && Objects.equals(_filterId, other._filterId);
+    }
+
+}
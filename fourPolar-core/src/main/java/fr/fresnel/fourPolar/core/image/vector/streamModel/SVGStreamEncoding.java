@@ -0,0 +1,25 @@
+package fr.fresnel.fourPolar.core.image.vector.streamModel;
+
+/**
+ * An enumeration for indicating how the vectors of a streaming svg image are
+ * encoded as svg elements.
+ */
+public enum SVGStreamEncoding {
+    /**
+     * Each vector is written as one element, with all its properties, as done by
+     * the batik vector image.
+     */
+    ELEMENT_PER_VECTOR,
+
+    /**
+     * The lines of a plane that have the same color, stroke width and filter are
+     * written as the segments of one path, inside a group that holds their
+     * shared properties. Lines with an animation or a fill, and boxes, are still
+     * written one element per vector.
+     * <p>
+     * The lines of one path are painted at once, hence where lines of the same
+     * path overlap, their opacity is not accumulated, and lines of different
+     * colors are not painted in the order they were added.
+     */
+    PATH_PER_COLOR
+}
@@ -0,0 +1,398 @@
+package fr.fresnel.fourPolar.core.image.vector.streamModel;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+import org.apache.batik.ext.awt.image.spi.ImageWriter;
+import org.apache.batik.ext.awt.image.spi.ImageWriterRegistry;
+import org.apache.batik.util.Base64EncoderStream;
+
+import fr.fresnel.fourPolar.core.image.ImagePlane;
+import fr.fresnel.fourPolar.core.image.ImagePlaneAccessor;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.AWTModel.AWTBufferedImage;
+import fr.fresnel.fourPolar.core.image.generic.AWTModel.ImageToAWTBufferedImageConverter;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.image.vector.Vector;
+import fr.fresnel.fourPolar.core.image.vector.VectorImage;
+import fr.fresnel.fourPolar.core.image.vector.VectorImageFactory;
+import fr.fresnel.fourPolar.core.image.vector.filter.FilterComposite;
+import fr.fresnel.fourPolar.core.image.vector.streamModel.accessors.SVGStreamImagePlaneAccessor;
+import fr.fresnel.fourPolar.core.shape.IBoxShape;
+import fr.fresnel.fourPolar.core.shape.ILineShape;
+import fr.fresnel.fourPolar.core.shape.IShape;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+
+/**
+ * A vector image that writes each element as SVG text to a spool file of its
+ * plane as soon as it's added, instead of keeping a DOM of each plane in
+ * memory. Hence, the memory used by the image does not depend on the number of
+ * vectors.
+ * <p>
+ * The spool file of a plane holds the children of the svg document element, in
+ * the order they're added. The planes of this image are the spool files, which
+ * are wrapped in the svg document element by the writer of this image. The
+ * spool file of each plane is opened (buffered) on its first element, and is
+ * kept open until the image is closed, hence vectors can be added to the
+ * planes in any order without reopening the spool files.
+ * <p>
+ * With {@link SVGStreamEncoding#PATH_PER_COLOR}, the lines that can share a
+ * path are collected in a {@link SVGPathBatch}, which is written to the spool
+ * of its plane when a vector of another plane or an element that can't be
+ * batched is added (so that elements are not reordered with respect to the
+ * batch), when the batch reaches its size limit, or when the plane is
+ * requested.
+ * <p>
+ * The spool files are deleted when the image is closed. The writer of the
+ * image doesn't close it, hence it's left to the owner of the image to close
+ * it (see {@link SVGStreamImagePlaneAccessor#dispose(VectorImage)}) once it's
+ * written. After that, the image can't be used anymore.
+ */
+class SVGStreamVectorImage implements VectorImage, ImagePlaneAccessor<File>, Closeable {
+    /**
+     * Buffer size of the spool of each plane. As the spools of all planes can be
+     * open together, it's smaller than that of the writer.
+     */
+    private static final int _BUFFER_SIZE = 1 << 14;
+
+    /**
+     * Number of bytes of path data after which a path batch is written.
+     */
+    private static final int _MAX_BATCH_SIZE = 1 << 22;
+
+    private final IMetadata _metadata;
+    private final VectorImageFactory _factory;
+    private final int _imageDimension;
+
+    private final File[] _spools;
+    private final SVGElementStreamWriter _elementWriter = new SVGElementStreamWriter();
+
+    private final SVGStreamEncoding _encoding;
+    private final SVGPathBatch _pathBatch = new SVGPathBatch();
+
+    /**
+     * The open stream of the spool file of each plane, or null if the plane has
+     * no elements yet.
+     */
+    private final OutputStream[] _streams;
+
+    /**
+     * The plane that the element writer writes to, or zero if none.
+     */
+    private int _openPlane = 0;
+    private OutputStream _openStream = null;
+
+    private boolean _closed = false;
+
+    /**
+     * Create an empty image instance.
+     *
+     * @param metadata  is the metadata associated with the image.
+     * @param factory   is the factory that creates said image.
+     * @param spoolRoot is the folder where the spool files are created.
+     * @param encoding  is how vectors are encoded as svg elements.
+     *
+     * @throws IllegalArgumentException if the dimension vector in metadata not have
+     *                                  at least two dimensions
+     * @throws IllegalStateException    if the spool files can't be created.
+     */
+    public SVGStreamVectorImage(IMetadata metadata, VectorImageFactory factory, File spoolRoot,
+            SVGStreamEncoding encoding) {
+        Objects.requireNonNull(metadata, "metadata can't be null");
+        Objects.requireNonNull(factory, "factory can't be null");
+        Objects.requireNonNull(spoolRoot, "spoolRoot can't be null");
+        Objects.requireNonNull(encoding, "encoding can't be null");
+
+        if (metadata.getDim().length < 2) {
+            throw new IllegalArgumentException("Can't create svg image plane with 1D metadata.");
+        }
+
+        _metadata = metadata;
+        _factory = factory;
+        _imageDimension = metadata.getDim().length;
+        _encoding = encoding;
+        _spools = _createSpoolFiles(MetadataUtil.getNPlanes(metadata), spoolRoot);
+        _streams = new OutputStream[_spools.length];
+    }
+
+    private static File[] _createSpoolFiles(int nPlanes, File spoolRoot) {
+        spoolRoot.mkdirs();
+
+        File[] spools = new File[nPlanes];
+        try {
+            for (int plane = 0; plane < nPlanes; plane++) {
+                spools[plane] = File.createTempFile("svgPlane", ".part", spoolRoot);
+            }
+        } catch (IOException e) {
+            _deleteSpoolFiles(spools);
+            throw new IllegalStateException("Couldn't create the spool files of the svg image.");
+        }
+        return spools;
+    }
+
+    @Override
+    public IMetadata metadata() {
+        return _metadata;
+    }
+
+    @Override
+    public VectorImageFactory getFactory() {
+        return _factory;
+    }
+
+    @Override
+    public void addFilterComposite(FilterComposite composite) {
+        Objects.requireNonNull(composite, "composite can't be null");
+        _checkNotClosed();
+
+        for (int planeIndex = 1; planeIndex <= _spools.length; planeIndex++) {
+            try {
+                _writePathBatch();
+                _openSpool(planeIndex);
+                _elementWriter.writeFilterCompositeDefs(composite);
+            } catch (IOException e) {
+                throw new IllegalStateException("Couldn't write the filter due to IO issues!");
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends PixelType> void setImage(Image<T> image, T pixelType) {
+        if (!MetadataUtil.isDimensionEqual(this.metadata(), image.getMetadata())) {
+            throw new IllegalArgumentException("The given image does not have same dimension as this image");
+        }
+        _checkNotClosed();
+
+        switch (pixelType.getType()) {
+            case UINT_16:
+                break;
+
+            default:
+                throw new IllegalArgumentException("No converter to plane is found for this pixel type.");
+        }
+
+        long[] planeDim = MetadataUtil.getPlaneDim(_metadata);
+        ImageWriter pngWriter = ImageWriterRegistry.getInstance().getWriterFor("image/png");
+        for (int planeIndex = 1; planeIndex <= _spools.length; planeIndex++) {
+            AWTBufferedImage<UINT16> imagePlane = ImageToAWTBufferedImageConverter.convertPlane((Image<UINT16>) image,
+                    UINT16.zero(), planeIndex);
+            try {
+                _writePathBatch();
+                _openSpool(planeIndex);
+                _elementWriter.writeImageElementStart(planeDim[0], planeDim[1]);
+
+                Base64EncoderStream b64Encoder = new Base64EncoderStream(_openStream, false);
+                pngWriter.writeImage(imagePlane.getImagePlane(1).getPlane(), b64Encoder);
+                b64Encoder.close();
+
+                _elementWriter.writeImageElementEnd();
+            } catch (IOException e) {
+                throw new IllegalStateException("Couldn't convert image due to IO issues!");
+            }
+        }
+    }
+
+    @Override
+    public void addVector(Vector vector) {
+        if (vector.shape().spaceDim() != this._imageDimension) {
+            throw new IllegalArgumentException("vector and image don't have the same axis order");
+        }
+        _checkNotClosed();
+
+        int planeIndex = _getVectorPlane(vector);
+        try {
+            if (_encoding == SVGStreamEncoding.PATH_PER_COLOR && SVGPathBatch.canBatch(vector)) {
+                if (_pathBatch.planeIndex() != planeIndex) {
+                    _writePathBatch();
+                }
+                _pathBatch.add(vector, planeIndex);
+
+                if (_pathBatch.size() >= _MAX_BATCH_SIZE) {
+                    _writePathBatch();
+                }
+            } else {
+                _writePathBatch();
+                _openSpool(planeIndex);
+                _elementWriter.writeVector(vector);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't write the vector due to IO issues!");
+        }
+    }
+
+    /**
+     * @return the plane where this vector should be put.
+     */
+    private int _getVectorPlane(Vector vector) {
+        IShape shape = vector.shape();
+        if (shape instanceof IBoxShape) {
+            return getPlaneIndex(((IBoxShape) shape).min());
+        } else if (shape instanceof ILineShape) {
+            return getPlaneIndex(((ILineShape) shape).lineStart());
+        } else {
+            throw new IllegalArgumentException("Can't compute the plane where shape should be set.");
+        }
+    }
+
+    /**
+     * Writes the lines of the path batch (if any) to the spool of their plane.
+     */
+    private void _writePathBatch() throws IOException {
+        if (!_pathBatch.isEmpty()) {
+            _openSpool(_pathBatch.planeIndex());
+            _pathBatch.writeTo(_elementWriter);
+        }
+    }
+
+    /**
+     * Makes the spool of the given plane the destination of the element writer,
+     * opening its stream if it's the first element of the plane. The streams of
+     * the other planes are kept open.
+     */
+    private void _openSpool(int planeIndex) throws IOException {
+        if (planeIndex == _openPlane) {
+            return;
+        }
+
+        if (_streams[planeIndex - 1] == null) {
+            _streams[planeIndex - 1] = new BufferedOutputStream(new FileOutputStream(_spools[planeIndex - 1]),
+                    _BUFFER_SIZE);
+        }
+        _openStream = _streams[planeIndex - 1];
+        _openPlane = planeIndex;
+        _elementWriter.setOutputStream(_openStream);
+    }
+
+    /**
+     * Flushes the stream of the plane (if open) to its spool file.
+     */
+    private void _flushSpool(int planeIndex) throws IOException {
+        if (_streams[planeIndex - 1] != null) {
+            _streams[planeIndex - 1].flush();
+        }
+    }
+
+    /**
+     * Closes the streams of all planes. All streams are closed even if closing one
+     * fails, in which case the first exception is thrown.
+     */
+    private void _closeSpools() throws IOException {
+        _openStream = null;
+        _openPlane = 0;
+
+        IOException exception = null;
+        for (int plane = 0; plane < _streams.length; plane++) {
+            if (_streams[plane] != null) {
+                OutputStream stream = _streams[plane];
+                _streams[plane] = null;
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    exception = exception == null ? e : exception;
+                }
+            }
+        }
+
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private void _checkNotClosed() {
+        if (_closed) {
+            throw new IllegalStateException("The svg image is closed.");
+        }
+    }
+
+    /**
+     * Returns true if the image is closed.
+     */
+    public boolean isClosed() {
+        return _closed;
+    }
+
+    /**
+     * Closes the open spools and deletes the spool files of all planes,
+     * discarding the elements that are not written yet. Closing a closed image
+     * has no effect.
+     *
+     * @throws IOException if an open spool can't be closed. The spool files are
+     *                     deleted nonetheless.
+     */
+    @Override
+    public void close() throws IOException {
+        if (_closed) {
+            return;
+        }
+
+        _closed = true;
+        try {
+            _closeSpools();
+        } finally {
+            _deleteSpoolFiles(_spools);
+        }
+    }
+
+    private static void _deleteSpoolFiles(File[] spools) {
+        for (File spool : spools) {
+            if (spool != null) {
+                spool.delete();
+            }
+        }
+    }
+
+    @Override
+    public int getPlaneIndex(long[] position) {
+        return (int) MetadataUtil.getPlaneIndex(_metadata, position);
+    }
+
+    /**
+     * Returns the spool file of the plane, after writing all the elements added so
+     * far to it. The stream of the spool is flushed rather than closed, hence
+     * elements can still be added to the plane afterwards.
+     *
+     * @throws IllegalStateException if the elements can't be written to the spool,
+     *                               or the image is closed.
+     */
+    @Override
+    public ImagePlane<File> getImagePlane(int planeIndex) {
+        if (planeIndex < 1 || planeIndex > _spools.length) {
+            throw new IndexOutOfBoundsException("plane index does not exist.");
+        }
+        _checkNotClosed();
+
+        try {
+            _writePathBatch();
+            _flushSpool(planeIndex);
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't write the spool file due to IO issues!");
+        }
+
+        File spool = _spools[planeIndex - 1];
+        return new ImagePlane<File>() {
+            @Override
+            public int planeIndex() {
+                return planeIndex;
+            }
+
+            @Override
+            public File getPlane() {
+                return spool;
+            }
+        };
+    }
+
+    @Override
+    public int numPlanes() {
+        return _spools.length;
+    }
+
+}
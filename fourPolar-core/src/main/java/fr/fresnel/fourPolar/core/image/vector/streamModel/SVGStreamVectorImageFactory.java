@@ -0,0 +1,59 @@
+package fr.fresnel.fourPolar.core.image.vector.streamModel;
+
+import java.io.File;
+import java.util.Objects;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.vector.VectorImage;
+import fr.fresnel.fourPolar.core.image.vector.VectorImageFactory;
+
+/**
+ * Creates vector images that stream their svg elements to spool files rather
+ * than keeping them in memory. Use this factory instead of the batik factory
+ * for images with millions of vectors. See {@link SVGStreamVectorImage}.
+ * <p>
+ * By default, vectors are encoded as one element per vector. For gauge figures
+ * with many sticks, {@link SVGStreamEncoding#PATH_PER_COLOR} writes much
+ * smaller images that are rendered much faster.
+ */
+public class SVGStreamVectorImageFactory implements VectorImageFactory {
+    private final File _spoolRoot;
+    private final SVGStreamEncoding _encoding;
+
+    /**
+     * Creates the spool files of the images in the temporary folder of the system.
+     */
+    public SVGStreamVectorImageFactory() {
+        this(new File(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param spoolRoot is the folder where the spool files of the images are
+     *                  created.
+     */
+    public SVGStreamVectorImageFactory(File spoolRoot) {
+        this(spoolRoot, SVGStreamEncoding.ELEMENT_PER_VECTOR);
+    }
+
+    /**
+     * @param spoolRoot is the folder where the spool files of the images are
+     *                  created.
+     * @param encoding  is how the vectors of the images are encoded as svg
+     *                  elements.
+     */
+    public SVGStreamVectorImageFactory(File spoolRoot, SVGStreamEncoding encoding) {
+        Objects.requireNonNull(spoolRoot, "spoolRoot can't be null");
+        Objects.requireNonNull(encoding, "encoding can't be null");
+        _spoolRoot = spoolRoot;
+        _encoding = encoding;
+    }
+
+    /**
+     * @throws IllegalStateException if the spool files can't be created.
+     */
+    @Override
+    public VectorImage create(IMetadata metadata) {
+        return new SVGStreamVectorImage(metadata, this, _spoolRoot, _encoding);
+    }
+
+}
@@ -0,0 +1,75 @@
+package fr.fresnel.fourPolar.core.image.vector.streamModel.accessors;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+import fr.fresnel.fourPolar.core.image.ImagePlaneAccessor;
+import fr.fresnel.fourPolar.core.image.vector.VectorImage;
+import fr.fresnel.fourPolar.core.image.vector.streamModel.SVGStreamVectorImage;
+import fr.fresnel.fourPolar.core.image.vector.streamModel.SVGStreamVectorImageFactory;
+
+/**
+ * An static class for accessing the planes of a streaming svg image. Each plane
+ * is a spool file that holds the children of the svg document element.
+ */
+public class SVGStreamImagePlaneAccessor {
+    private SVGStreamImagePlaneAccessor() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns the plane accessor by direct cast of a streaming svg image.
+     * 
+     * @param streamImage is the streaming svg image.
+     * @return the plane accessor.
+     * 
+     * @throws ClassCastException if the given vector image is not a streaming svg
+     *                            image.
+     */
+    @SuppressWarnings("unchecked")
+    public static ImagePlaneAccessor<File> get(VectorImage streamImage) {
+        if (!(streamImage.getFactory() instanceof SVGStreamVectorImageFactory)) {
+            throw new ClassCastException("The given vector image is not a streaming svg image.");
+        }
+
+        return (ImagePlaneAccessor<File>) streamImage;
+    }
+
+    /**
+     * Returns true if the streaming svg image is disposed, i.e, its spool files
+     * are deleted.
+     * 
+     * @param streamImage is the streaming svg image.
+     * 
+     * @throws ClassCastException if the given vector image is not a streaming svg
+     *                            image.
+     */
+    public static boolean isDisposed(VectorImage streamImage) {
+        if (!(streamImage.getFactory() instanceof SVGStreamVectorImageFactory)) {
+            throw new ClassCastException("The given vector image is not a streaming svg image.");
+        }
+
+        return ((SVGStreamVectorImage) streamImage).isClosed();
+    }
+
+    /**
+     * Deletes the spool files of a streaming svg image. The image can't be used
+     * afterwards. Disposing a disposed image has no effect. As writing the image
+     * doesn't dispose it, the owner of the image should dispose it once it's
+     * written.
+     * 
+     * @param streamImage is the streaming svg image.
+     * 
+     * @throws ClassCastException if the given vector image is not a streaming svg
+     *                            image.
+     * @throws IOException        if an open spool of the image can't be closed.
+     */
+    public static void dispose(VectorImage streamImage) throws IOException {
+        if (!(streamImage.getFactory() instanceof SVGStreamVectorImageFactory)) {
+            throw new ClassCastException("The given vector image is not a streaming svg image.");
+        }
+
+        ((Closeable) streamImage).close();
+    }
+}
@@ -1,6 +1,11 @@
 package fr.fresnel.fourPolar.core.shape;
 
+import java.util.Arrays;
+
 import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import net.imglib2.Interval;
+import net.imglib2.roi.RealMaskRealInterval;
+import net.imglib2.util.Intervals;
 
 public class ShapeUtils {
 
@@ -22,5 +27,49 @@ public class ShapeUtils {
 			throw new IllegalArgumentException("Shape dimension must be nonzero");
 		}
 	}
-    
+
+	/**
+	 * Returns the smallest box of integer coordinates that contains the shape, as
+	 * {min, max} (both inclusive). Along the axis where the bound of the shape is
+	 * not known, the box spans all long values.
+	 */
+	public static long[][] getBoundingBox(IShape shape) {
+		long[] min = new long[shape.spaceDim()];
+		long[] max = new long[shape.spaceDim()];
+		Arrays.fill(min, Long.MIN_VALUE);
+		Arrays.fill(max, Long.MAX_VALUE);
+
+		if (shape instanceof ImgLib2Shape) {
+			RealMaskRealInterval interval = ((ImgLib2Shape) shape).getImgLib2Shape();
+			for (int d = 0; d < min.length; d++) {
+				// Casting an infinite bound saturates to the long range, a NaN bound is unknown.
+				min[d] = Double.isNaN(interval.realMin(d)) ? min[d] : (long) Math.floor(interval.realMin(d));
+				max[d] = Double.isNaN(interval.realMax(d)) ? max[d] : (long) Math.ceil(interval.realMax(d));
+			}
+		}
+
+		return new long[][] { min, max };
+	}
+
+	/**
+	 * Returns the box of integer coordinates that {@link IShape#getIterator()}
+	 * visits, as {min, max} (both inclusive). This is the largest box contained in
+	 * the bounds of the shape, hence it may exclude the pixels on the border of the
+	 * shape. For shapes other than ImgLib2 shapes, the box is
+	 * {@link #getBoundingBox(IShape)}.
+	 */
+	public static long[][] getIterationBox(IShape shape) {
+		if (!(shape instanceof ImgLib2Shape)) {
+			return getBoundingBox(shape);
+		}
+
+		Interval interval = Intervals.largestContainedInterval(((ImgLib2Shape) shape).getImgLib2Shape());
+		long[] min = new long[interval.numDimensions()];
+		long[] max = new long[interval.numDimensions()];
+		interval.min(min);
+		interval.max(max);
+
+		return new long[][] { min, max };
+	}
+
 }
\ No newline at end of file
@@ -6,7 +6,11 @@ import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.RealType;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.shape.IBoxShape;
 import fr.fresnel.fourPolar.core.shape.ShapeFactory;
 import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
@@ -89,4 +93,51 @@ public class ImageUtil {
 
         return ShapeFactory.closedBox(imageMin, imageMax, image.getMetadata().axisOrder());
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the {@link PixelTypes} of the given image, by reading the type of its
+     * first pixel.
+     */
+    public static <T extends PixelType> PixelTypes getPixelType(Image<T> image) {
+        return image.getCursor().next().value().getType();
+    }
+
+    /**
+     * Exports the demanded plane of a {@link UINT16} or {@link Float32} image as a
+     * double array, stored row by row. The plane is read in bulk using
+     * {@link Image#getShortPlane(long)} or {@link Image#getFloatPlane(long)}.
+     * 
+     * @param <T>        is the pixel type of the image.
+     * @param image      is the desired image.
+     * @param planeIndex is the plane index, starting from 1.
+     * @return the plane as a new double array.
+     * 
+     * @throws IndexOutOfBoundsException     if the plane does not exist.
+     * @throws UnsupportedOperationException if the image is neither {@link UINT16}
+     *                                       nor {@link Float32}.
+     */
+    public static <T extends RealType> double[] getPlaneAsDoubleArray(Image<T> image, long planeIndex) {
+        switch (getPixelType(image)) {
+            case UINT_16: {
+                short[] plane = image.getShortPlane(planeIndex);
+                double[] planeAsDouble = new double[plane.length];
+                for (int i = 0; i < plane.length; i++) {
+                    planeAsDouble[i] = plane[i] & 0xffff;
+                }
+                return planeAsDouble;
+            }
+
+            case FLOAT_32: {
+                float[] plane = image.getFloatPlane(planeIndex);
+                double[] planeAsDouble = new double[plane.length];
+                for (int i = 0; i < plane.length; i++) {
+                    planeAsDouble[i] = plane[i];
+                }
+                return planeAsDouble;
+            }
+
+            default:
+                throw new UnsupportedOperationException("Plane can't be exported for this pixel type.");
+        }
+    }
+}
@@ -211,6 +211,45 @@ public class MetadataUtil {
 		return new long[][] { start, end };
 	}
 
+	/**
+	 * Returns the index of the plane that contains the given position, which is
+	 * the inverse of {@link #getPlaneCoordinates(IMetadata, long)}. The first two
+	 * coordinates of the position (i.e, the plane coordinates) are ignored.
+	 * <p>
+	 * Example: Imaging image is [2, 2, 2, 3]. Then the method returns 4 for the
+	 * position [0, 0, 1, 1].
+	 * 
+	 * @param metadata is the metadata of the image.
+	 * @param position is a position inside the image.
+	 * @return the plane index, starting from one.
+	 * 
+	 * @throws IllegalArgumentException  if the position does not have the same
+	 *                                   dimension as the image, or if the image
+	 *                                   is less than 2D.
+	 * @throws IndexOutOfBoundsException if the position is outside the image.
+	 */
+	public static long getPlaneIndex(IMetadata metadata, long[] position) {
+		Objects.requireNonNull(metadata, "metadata cannot be null.");
+		Objects.requireNonNull(position, "position cannot be null.");
+
+		long[] imgDim = metadata.getDim();
+		if (imgDim.length != position.length) {
+			throw new IllegalArgumentException("position must have the same dimension as the image.");
+		}
+
+		long[] planesPerDim = numPlanesPerDimension(metadata);
+		long planeIndex = 0;
+		for (int dim = 2; dim < imgDim.length; dim++) {
+			if (position[dim] < 0 || position[dim] >= imgDim[dim]) {
+				throw new IndexOutOfBoundsException("position is outside the image.");
+			}
+
+			planeIndex += dim == 2 ? position[dim] : position[dim] * planesPerDim[dim - 1];
+		}
+
+		return planeIndex + 1;
+	}
+
 	/**
 	 * Create a metadata instance, which replicates the source metadata, but would
 	 * correspond to only a plane of this image. For example, if AxisOrder is XYZ
@@ -232,4 +271,35 @@ public class MetadataUtil {
 				.build();
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Create a metadata instance, which replicates the source metadata, but would
+	 * correspond to only one z and t position of this image (i.e, a slice that
+	 * contains all channels). For example, if AxisOrder is XYCZT and dimension is
+	 * [2, 3, 2, 4, 5], the new metadata would have AxisOrder XYCZT and dimension
+	 * [2, 3, 2, 1, 1].
+	 * 
+	 * @param srcMetadata is the source metadata whose slice metadata we wish to
+	 *                    extract.
+	 * @throws IllegalArgumentException if the source metadata has no axis order.
+	 */
+	public static IMetadata createZTSliceMetadata(IMetadata srcMetadata) {
+		Objects.requireNonNull(srcMetadata, "srcMetadata cannot be null.");
+
+		AxisOrder axisOrder = srcMetadata.axisOrder();
+		if (axisOrder == AxisOrder.NoOrder) {
+			throw new IllegalArgumentException("Slice of an image with no axis order is not defined.");
+		}
+
+		long[] sliceDim = srcMetadata.getDim();
+		if (axisOrder.z_axis > 0) {
+			sliceDim[axisOrder.z_axis] = 1;
+		}
+		if (axisOrder.t_axis > 0) {
+			sliceDim[axisOrder.t_axis] = 1;
+		}
+
+		return new Metadata.MetadataBuilder(sliceDim).axisOrder(axisOrder).bitPerPixel(srcMetadata.bitPerPixel())
+				.build();
+	}
+
+}
@@ -1,5 +1,7 @@
 package fr.fresnel.fourPolar.core.util.image.generic.metadata.axis;
 
+import java.util.Optional;
+
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
@@ -24,9 +26,10 @@ public class AxisReassigner {
     }
 
     /**
-     * Reassigns the axis of an image using its cursor, and resize the new image as
-     * specified. Note that if an axis does not exist, it's appended to the new
-     * image. Moreover, all extra dimensions will have zero intensity.
+     * Reassigns the axis of an image using its planes (or its cursor if it has
+     * no planes), and resize the new image as specified. Note that if an axis
+     * does not exist, it's appended to the new image. Moreover, all extra
+     * dimensions will have zero intensity.
      * 
      * @param image     is the image interface to be reassigned.
      * @param t         is the image pixel type.
@@ -42,6 +45,26 @@ public class AxisReassigner {
         return ReassingerToXYCZT.reassignAndResize(image, t, newImgDim);
     }
 
+    /**
+     * Creates an XYCZT view over the interval [bottomCorner, bottomCorner + len)
+     * of the image, without copying it. Note that if an axis does not exist, it's
+     * appended to the view with dimension one. The pixels are only copied when the
+     * view is written to, hence the image is never modified through the view.
+     * 
+     * @param image        is the image interface to be viewed.
+     * @param bottomCorner is the bottom corner of the interval.
+     * @param len          is the length of the interval in each dimension.
+     * @return the view, or an empty optional if the image does not support views,
+     *         in which case {@link #reassignToXYCZTAndResize} can be used instead.
+     * 
+     * @throws IllegalArgumentException if the old axis don't start with XY, or the
+     *                                  interval exceeds the image.
+     */
+    public static <T extends PixelType> Optional<Image<T>> viewAsXYCZT(Image<T> image, long[] bottomCorner,
+            long[] len) {
+        return ReassingerToXYCZT.viewAsXYCZT(image, bottomCorner, len);
+    }
+
     /**
      * Defines an axis order for the given image. Note that the new image refers to
      * the same underlying image, i.e, even though {@link IMetadata} changes, the
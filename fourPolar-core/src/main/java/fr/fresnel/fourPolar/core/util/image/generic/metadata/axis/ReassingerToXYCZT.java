@@ -1,15 +1,23 @@
 package fr.fresnel.fourPolar.core.util.image.generic.metadata.axis;
 
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
 import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
 import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
 import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
 
 class ReassingerToXYCZT {
     private ReassingerToXYCZT() {
@@ -17,8 +25,9 @@ class ReassingerToXYCZT {
     }
 
     /**
-     * Reassigns the axis of an image using its cursor. Note that if an axis does
-     * not exist, it's appended to the new image with dimension one.
+     * Reassigns the axis of an image using its planes (or its cursor if it has no
+     * planes). Note that if an axis does not exist, it's appended to the new image
+     * with dimension one.
      * 
      * @param image is the image interface to be reassigned.
      * @param t     is the image pixel type.
@@ -33,15 +42,15 @@ class ReassingerToXYCZT {
         _checkAxisOrderStartsWithXY(image);
 
         Image<T> reassignedImage = _createXYCZTImage(image, t);
-        _copyImagePixelsToXYCZTImage(image, reassignedImage);
+        _copyImagePixelsToXYCZTImage(image, reassignedImage, t);
 
         return reassignedImage;
     }
 
     /**
-     * Reassigns the axis of an image using its cursor. Note that if an axis does
-     * not exist, it's appended to the new image. Moreover, all extra dimensions
-     * will have zero intensity.
+     * Reassigns the axis of an image using its planes (or its cursor if it has no
+     * planes). Note that if an axis does not exist, it's appended to the new
+     * image. Moreover, all extra dimensions will have zero intensity.
      * 
      * @param image     is the image interface to be reassigned.
      * @param t         is the image pixel type.
@@ -62,11 +71,42 @@ class ReassingerToXYCZT {
         _checkNewDimIsGreaterThanEqualOldDim(image.getMetadata(), newImgDim);
 
         Image<T> reassignedImage = _createXYCZTImage(image, t, newImgDim);
-        _copyImagePixelsToXYCZTImage(image, reassignedImage);
+        _copyImagePixelsToXYCZTImage(image, reassignedImage, t);
 
         return reassignedImage;
     }
 
+    /**
+     * Creates an XYCZT view over the interval [bottomCorner, bottomCorner + len)
+     * of the image. Note that if an axis does not exist, it's appended to the view
+     * with dimension one. The view shares the pixels of the image, which are only
+     * copied when the view is written to.
+     * 
+     * @param image        is the image interface to be viewed.
+     * @param bottomCorner is the bottom corner of the interval.
+     * @param len          is the length of the interval in each dimension.
+     * @return the view, or an empty optional if the image does not support views.
+     * 
+     * @throws IllegalArgumentException if the old axis don't start with XY, or the
+     *                                  interval exceeds the image.
+     */
+    public static <T extends PixelType> Optional<Image<T>> viewAsXYCZT(Image<T> image, long[] bottomCorner,
+            long[] len) {
+        Objects.requireNonNull(image, "image can't be null");
+        Objects.requireNonNull(len, "len can't be null");
+        _checkAxisOrderIsDefined(image.getMetadata());
+        _checkAxisOrderStartsWithXY(image);
+
+        if (!(image.getFactory() instanceof ImgLib2ImageFactory)) {
+            return Optional.empty();
+        }
+
+        IMetadata intervalMetadata = new Metadata.MetadataBuilder(len).axisOrder(image.getMetadata().axisOrder())
+                .bitPerPixel(image.getMetadata().bitPerPixel()).build();
+        return ((ImgLib2ImageFactory) image.getFactory()).createCopyOnWriteView(image, bottomCorner, len,
+                _createXYCZTMetadata(intervalMetadata));
+    }
+
     private static <T extends PixelType> Image<T> _createXYCZTImage(Image<T> image, T t) {
         IMetadata metadata_xyczt = _createXYCZTMetadata(image.getMetadata());
         return image.getFactory().create(metadata_xyczt, t);
@@ -156,7 +196,73 @@ class ReassingerToXYCZT {
                 .build();
     }
 
-    private static <T extends PixelType> void _copyImagePixelsToXYCZTImage(Image<T> image, Image<T> reassignedImage) {
+    /**
+     * Because both images start with XY, each plane of the image is copied to one
+     * plane of the reassigned image. Hence for {@link UINT16} and {@link Float32}
+     * images, planes are copied as blocks (row by row if resized) and in
+     * parallel. Other images are copied pixel by pixel.
+     */
+    private static <T extends PixelType> void _copyImagePixelsToXYCZTImage(Image<T> image, Image<T> reassignedImage,
+            T t) {
+        switch (t.getType()) {
+            case UINT_16:
+                _copyPlanesToXYCZTImage(image, reassignedImage, (planeIndex, planeIndex_xyczt) -> reassignedImage
+                        .setPlane(planeIndex_xyczt, _resizePlane(image.getShortPlane(planeIndex),
+                                image.getMetadata(), reassignedImage.getMetadata(), short[]::new)));
+                break;
+
+            case FLOAT_32:
+                _copyPlanesToXYCZTImage(image, reassignedImage, (planeIndex, planeIndex_xyczt) -> reassignedImage
+                        .setPlane(planeIndex_xyczt, _resizePlane(image.getFloatPlane(planeIndex),
+                                image.getMetadata(), reassignedImage.getMetadata(), float[]::new)));
+                break;
+
+            default:
+                _copyPixelsToXYCZTImage(image, reassignedImage);
+                break;
+        }
+    }
+
+    /**
+     * Copies each plane of the image to its counterpart plane of the reassigned
+     * image using the plane copier, in parallel.
+     */
+    private static <T extends PixelType> void _copyPlanesToXYCZTImage(Image<T> image, Image<T> reassignedImage,
+            BiConsumer<Long, Long> planeCopier) {
+        IMetadata metadata = image.getMetadata();
+        IMetadata metadata_xyczt = reassignedImage.getMetadata();
+
+        IntStream.rangeClosed(1, MetadataUtil.getNPlanes(metadata)).parallel().forEach((planeIndex) -> {
+            long[] planePosition = MetadataUtil.getPlaneCoordinates(metadata, planeIndex)[0];
+            long[] planePosition_xyczt = _convertPositionToXYCZT(planePosition, metadata.axisOrder());
+
+            planeCopier.accept((long) planeIndex, MetadataUtil.getPlaneIndex(metadata_xyczt, planePosition_xyczt));
+        });
+    }
+
+    /**
+     * Returns the plane if the plane size is not changed. Otherwise, returns a new
+     * plane of the new size, where the rows of the plane are copied to its top
+     * left, and the rest is zero.
+     */
+    private static <A> A _resizePlane(A plane, IMetadata metadata, IMetadata newMetadata, IntFunction<A> newPlane) {
+        int width = (int) metadata.getDim()[0];
+        int height = (int) metadata.getDim()[1];
+        int newWidth = (int) newMetadata.getDim()[0];
+        int newHeight = (int) newMetadata.getDim()[1];
+
+        if (width == newWidth && height == newHeight) {
+            return plane;
+        }
+
+        A resizedPlane = newPlane.apply(newWidth * newHeight);
+        for (int row = 0; row < height; row++) {
+            System.arraycopy(plane, row * width, resizedPlane, row * newWidth, width);
+        }
+        return resizedPlane;
+    }
+
+    private static <T extends PixelType> void _copyPixelsToXYCZTImage(Image<T> image, Image<T> reassignedImage) {
         AxisOrder oldAxisOrder = image.getMetadata().axisOrder();
         IPixelRandomAccess<T> ra = reassignedImage.getRandomAccess();
         for (IPixelCursor<T> cursor = image.getCursor(); cursor.hasNext();) {
@@ -1,6 +1,7 @@
 package fr.fresnel.fourPolar.core.visualization.figures.gaugeFigure.guage;
 
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.image.soi.SoIForegroundMask;
 import fr.fresnel.fourPolar.core.shape.IShape;
 import fr.fresnel.fourPolar.core.visualization.figures.gaugeFigure.IGaugeFigure;
 
@@ -27,6 +28,20 @@ public interface IAngleGaugePainter {
      */
     public void draw(IShape region, UINT16 soiThreshold) throws IllegalArgumentException;
 
+    /**
+     * Same as {@link #draw(IShape, UINT16)}, where sticks are drawn only for the
+     * foreground positions of the mask that are inside the region. Hence, the
+     * background positions are never visited.
+     * 
+     * @param region     is the region over which we wish to draw sticks.
+     * @param foreground is the foreground mask of the soi image.
+     * 
+     * @throws IllegalArgumentException in case the provided region is not XYCZT,
+     *                                  or the mask does not have the same
+     *                                  dimension as the soi image.
+     */
+    public void draw(IShape region, SoIForegroundMask foreground) throws IllegalArgumentException;
+
     /**
      * Returns the gauge figure filled with this painter.
      */
@@ -1,6 +1,8 @@
 package fr.fresnel.fourPolar.core.image.generic.imgLib2Model;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -8,15 +10,22 @@ import org.junit.jupiter.api.Test;
 import fr.fresnel.fourPolar.core.exceptions.image.generic.imgLib2Model.types.ConverterNotFound;
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.IPixelRandomAccess;
+import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
 import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.types.TypeConverter;
 import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.types.TypeConverterFactory;
 import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.Pixel;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import net.imglib2.img.Img;
 import net.imglib2.img.array.ArrayImgFactory;
+import net.imglib2.img.cell.CellImgFactory;
+import net.imglib2.img.planar.PlanarImgFactory;
 import net.imglib2.type.numeric.integer.UnsignedShortType;
+import net.imglib2.type.numeric.real.FloatType;
 
 public class ImgLib2ImageTest {
     @Test
@@ -51,4 +60,135 @@ public class ImgLib2ImageTest {
         assertTrue(counter == 1);
     }
 
+    @Test
+    public void getShortPlane_SinglePlaneArrayImg_ReturnsViewOfPlane() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 3, 2 }).axisOrder(AxisOrder.XY).build();
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+
+        short[] plane = image.getShortPlane(1);
+        plane[4] = (short) 60000;
+
+        IPixelRandomAccess<UINT16> ra = image.getRandomAccess();
+        ra.setPosition(new long[] { 1, 1 });
+        assertTrue(ra.getPixel().value().get() == 60000);
+    }
+
+    @Test
+    public void getShortPlane_PlanarImg_ReturnsSameArrayForEachCall() {
+        long[] dim = new long[] { 3, 2, 2, 2 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCT).build();
+        Img<UnsignedShortType> img = new PlanarImgFactory<UnsignedShortType>(new UnsignedShortType()).create(dim);
+        Image<UINT16> image = new ImgLib2ImageFactory().create(img, new UnsignedShortType(), metadata);
+
+        assertSame(image.getShortPlane(3), image.getShortPlane(3));
+    }
+
+    @Test
+    public void getShortPlane_MultiPlaneArrayPlanarAndCellImg_EqualsPlaneCursorValues() {
+        long[] dim = new long[] { 5, 3, 2, 2 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCT).build();
+        UnsignedShortType type = new UnsignedShortType();
+
+        Image<UINT16> arrayImage = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+        Image<UINT16> planarImage = new ImgLib2ImageFactory()
+                .create(new PlanarImgFactory<UnsignedShortType>(type).create(dim), type, metadata);
+        Image<UINT16> cellImage = new ImgLib2ImageFactory()
+                .create(new CellImgFactory<UnsignedShortType>(type, 2).create(dim), type, metadata);
+
+        boolean equals = true;
+        for (Image<UINT16> image : new Image[] { arrayImage, planarImage, cellImage }) {
+            _fillWithPositionDependentValues(image);
+            for (int planeIndex = 1; planeIndex <= 4; planeIndex++) {
+                equals &= _planeEqualsExpectedValues(image.getShortPlane(planeIndex), dim, planeIndex);
+            }
+        }
+
+        assertTrue(equals);
+    }
+
+    @Test
+    public void setPlane_Float32CellImg_WritesPlaneInRowOrder() {
+        long[] dim = new long[] { 5, 3, 2 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYC).build();
+        Image<Float32> image = new ImgLib2ImageFactory()
+                .create(new CellImgFactory<FloatType>(new FloatType(), 2).create(dim), new FloatType(), metadata);
+
+        float[] plane = new float[15];
+        for (int i = 0; i < plane.length; i++) {
+            plane[i] = i + 0.5f;
+        }
+        image.setPlane(2, plane);
+
+        IPixelRandomAccess<Float32> ra = image.getRandomAccess();
+        ra.setPosition(new long[] { 3, 2, 1 });
+        boolean equals = ra.getPixel().value().get() == 13.5f;
+        ra.setPosition(new long[] { 3, 2, 0 });
+        equals &= ra.getPixel().value().get() == 0f;
+
+        assertTrue(equals);
+        assertArrayEquals(plane, image.getFloatPlane(2));
+    }
+
+    @Test
+    public void setPlane_MultiPlaneArrayImg_OnlyChangesDemandedPlane() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2, 3 }).axisOrder(AxisOrder.XYC).build();
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+
+        image.setPlane(2, new short[] { 1, 2, 3, (short) 65535 });
+
+        assertArrayEquals(new short[4], image.getShortPlane(1));
+        assertArrayEquals(new short[] { 1, 2, 3, (short) 65535 }, image.getShortPlane(2));
+        assertArrayEquals(new short[4], image.getShortPlane(3));
+    }
+
+    @Test
+    public void getShortPlane_Float32Image_ThrowsUnsupportedOperationException() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2 }).axisOrder(AxisOrder.XY).build();
+        Image<Float32> image = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+
+        assertThrows(UnsupportedOperationException.class, () -> image.getShortPlane(1));
+    }
+
+    @Test
+    public void setPlane_WrongPlaneLength_ThrowsIllegalArgumentException() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2 }).axisOrder(AxisOrder.XY).build();
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+
+        assertThrows(IllegalArgumentException.class, () -> image.setPlane(1, new short[3]));
+    }
+
+    @Test
+    public void getShortPlane_NonExistingPlane_ThrowsIndexOutOfBoundsException() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2, 2 }).axisOrder(AxisOrder.XYC).build();
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> image.getShortPlane(3));
+    }
+
+    /**
+     * Sets each pixel to x + 10 * y + 100 * c + 1000 * t.
+     */
+    private void _fillWithPositionDependentValues(Image<UINT16> image) {
+        Pixel<UINT16> pixel = new Pixel<>(new UINT16(0));
+        for (IPixelCursor<UINT16> cursor = image.getCursor(); cursor.hasNext();) {
+            cursor.next();
+            long[] position = cursor.localize();
+            pixel.value().set((int) (position[0] + 10 * position[1] + 100 * position[2] + 1000 * position[3]));
+            cursor.setPixel(pixel);
+        }
+    }
+
+    private boolean _planeEqualsExpectedValues(short[] plane, long[] dim, int planeIndex) {
+        long c = (planeIndex - 1) % dim[2];
+        long t = (planeIndex - 1) / dim[2];
+
+        boolean equals = plane.length == dim[0] * dim[1];
+        for (int y = 0; y < dim[1]; y++) {
+            for (int x = 0; x < dim[0]; x++) {
+                equals &= plane[(int) (x + y * dim[0])] == x + 10 * y + 100 * c + 1000 * t;
+            }
+        }
+        return equals;
+    }
+
 }
@@ -0,0 +1,151 @@
+package fr.fresnel.fourPolar.core.image.generic.imgLib2Model;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.IPrimitivePixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.ARGB8;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import net.imglib2.img.Img;
+import net.imglib2.img.cell.CellImgFactory;
+import net.imglib2.img.planar.PlanarImgFactory;
+import net.imglib2.type.numeric.ARGBType;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
+import net.imglib2.type.numeric.real.FloatType;
+
+public class ImgLib2PrimitivePixelCursorTest {
+    @Test
+    public void setInt_UINT16ArrayImg_EqualsPixelCursorValues() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 3, 2, 1, 2, 2 }).axisOrder(AxisOrder.XYCZT)
+                .build();
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+
+        assertTrue(_setIntAndCompareWithPixelCursor(image));
+    }
+
+    @Test
+    public void setInt_UINT16PlanarImg_EqualsPixelCursorValues() {
+        long[] dim = new long[] { 3, 2, 1, 2, 2 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).build();
+        Img<UnsignedShortType> img = new PlanarImgFactory<UnsignedShortType>(new UnsignedShortType()).create(dim);
+        Image<UINT16> image = new ImgLib2ImageFactory().create(img, new UnsignedShortType(), metadata);
+
+        assertTrue(_setIntAndCompareWithPixelCursor(image));
+    }
+
+    @Test
+    public void setInt_UINT16CellImg_EqualsPixelCursorValues() {
+        long[] dim = new long[] { 5, 3, 1, 2, 1 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).build();
+        Img<UnsignedShortType> img = new CellImgFactory<UnsignedShortType>(new UnsignedShortType(), 2).create(dim);
+        Image<UINT16> image = new ImgLib2ImageFactory().create(img, new UnsignedShortType(), metadata);
+
+        assertTrue(_setIntAndCompareWithPixelCursor(image));
+    }
+
+    @Test
+    public void setInt_OutOfRangeUINT16_SaturatesValues() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 1 }).axisOrder(AxisOrder.XY).build();
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+
+        IPrimitivePixelCursor cursor = image.getPrimitiveCursor();
+        cursor.next();
+        cursor.setInt(-10);
+        cursor.next();
+        cursor.setInt(UINT16.MAX_VAL + 10);
+
+        cursor.reset();
+        cursor.next();
+        boolean saturated = cursor.getInt() == UINT16.MIN_VAL;
+        cursor.next();
+        saturated &= cursor.getInt() == UINT16.MAX_VAL;
+
+        assertTrue(saturated);
+    }
+
+    @Test
+    public void setFloat_Float32CellImg_EqualsPixelCursorValues() {
+        long[] dim = new long[] { 5, 3, 1, 2, 1 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).build();
+        Img<FloatType> img = new CellImgFactory<FloatType>(new FloatType(), 2).create(dim);
+        Image<Float32> image = new ImgLib2ImageFactory().create(img, new FloatType(), metadata);
+
+        float value = 0.5f;
+        for (IPrimitivePixelCursor cursor = image.getPrimitiveCursor(); cursor.hasNext();) {
+            cursor.next();
+            cursor.setFloat(value++);
+        }
+
+        value = 0.5f;
+        boolean equals = true;
+        for (IPixelCursor<Float32> cursor = image.getCursor(); cursor.hasNext();) {
+            equals &= cursor.next().value().get() == value++;
+        }
+
+        assertTrue(equals);
+    }
+
+    @Test
+    public void setInt_ARGB8Image_EqualsPackedPixelValue() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2 }).axisOrder(AxisOrder.XY).build();
+        Image<ARGB8> image = new ImgLib2ImageFactory().create(metadata, ARGB8.zero());
+
+        IPrimitivePixelCursor primitiveCursor = image.getPrimitiveCursor();
+        primitiveCursor.next();
+        primitiveCursor.setInt(ARGBType.rgba(10, 20, 30, 40));
+
+        ARGB8 pixel = image.getCursor().next().value();
+        assertTrue(pixel.getR() == 10 && pixel.getG() == 20 && pixel.getB() == 30 && pixel.getAlpha() == 40);
+    }
+
+    @Test
+    public void getInt_Float32Image_ThrowsUnsupportedOperationException() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2 }).axisOrder(AxisOrder.XY).build();
+        Image<Float32> image = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+
+        IPrimitivePixelCursor cursor = image.getPrimitiveCursor();
+        cursor.next();
+
+        assertThrows(UnsupportedOperationException.class, () -> cursor.getInt());
+    }
+
+    @Test
+    public void next_AfterLastPixel_ThrowsNoSuchElementException() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2 }).axisOrder(AxisOrder.XY).build();
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+
+        IPrimitivePixelCursor cursor = image.getPrimitiveCursor();
+        while (cursor.hasNext()) {
+            cursor.next();
+        }
+
+        assertThrows(NoSuchElementException.class, () -> cursor.next());
+    }
+
+    private boolean _setIntAndCompareWithPixelCursor(Image<UINT16> image) {
+        int value = 1;
+        for (IPrimitivePixelCursor cursor = image.getPrimitiveCursor(); cursor.hasNext();) {
+            cursor.next();
+            cursor.setInt(value++);
+        }
+
+        value = 1;
+        boolean equals = true;
+        for (IPixelCursor<UINT16> cursor = image.getCursor(); cursor.hasNext();) {
+            equals &= cursor.next().value().get() == value++;
+        }
+
+        return equals && value - 1 == image.getPrimitiveCursor().size();
+    }
+
+}
@@ -1,14 +1,19 @@
 package fr.fresnel.fourPolar.core.image.orientation;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.lang.management.ManagementFactory;
 import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
+import com.sun.management.ThreadMXBean;
+
 import fr.fresnel.fourPolar.core.fourPolar.IOrientationVectorIterator;
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
 import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
 import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
@@ -16,6 +21,7 @@ import fr.fresnel.fourPolar.core.image.generic.pixel.Pixel;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
 import fr.fresnel.fourPolar.core.physics.dipole.IOrientationVector;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
+import fr.fresnel.fourPolar.core.physics.dipole.OrientationVector;
 
 public class OrientationVectorIteratorTest {
     /**
@@ -79,6 +85,44 @@ public class OrientationVectorIteratorTest {
         assertTrue(equals);
     }
 
+    /**
+     * Setting an orientation vector used to create three {@link Float32} and three
+     * {@link Pixel} per call (at least 96 bytes per pixel). We set the vector of
+     * all pixels twice (the first time for warm up), and check that the second
+     * pass allocates less than a byte per pixel.
+     */
+    @Test
+    public void set_WholeImage_AllocatesNoObjectPerPixel() {
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        long[] dim = { 100, 100, 1, 2, 1 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).build();
+        Image<Float32> rho = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        Image<Float32> delta = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        Image<Float32> eta = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+
+        IOrientationVector vector = new OrientationVector(0.1, 0.2, 0.3);
+        _setAll(new OrientationVectorIterator(rho.getCursor(), delta.getCursor(), eta.getCursor()), vector);
+
+        IOrientationVectorIterator iterator = new OrientationVectorIterator(rho.getCursor(), delta.getCursor(),
+                eta.getCursor());
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        _setAll(iterator, vector);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertTrue(allocated < iterator.size(), "set allocated " + allocated + " bytes.");
+    }
+
+    private static void _setAll(IOrientationVectorIterator iterator, IOrientationVector vector) {
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.set(vector);
+        }
+    }
+
     private static boolean _checkPrecision(double val1, double val2, double error) {
         return Math.abs(val1 - val2) < error;        
     }
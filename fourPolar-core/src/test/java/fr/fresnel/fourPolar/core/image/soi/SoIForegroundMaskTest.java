@@ -0,0 +1,152 @@
+package fr.fresnel.fourPolar.core.image.soi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+
+public class SoIForegroundMaskTest {
+    @Test
+    public void create_RandomMultiPlaneImage_ForegroundEqualsPixelsAboveThreshold() {
+        long[] dim = { 17, 13, 1, 3, 2 };
+        ISoIImage soiImage = _createRandomSoIImage(dim);
+        SoIForegroundMask mask = SoIForegroundMask.create(soiImage, new UINT16(500));
+
+        long nForeground = 0;
+        boolean equals = true;
+        Iterator<long[]> maskIterator = mask.getIterator();
+        for (IPixelCursor<UINT16> cursor = soiImage.getImage().getCursor(); cursor.hasNext();) {
+            IPixel<UINT16> pixel = cursor.next();
+            boolean isForeground = pixel.value().get() >= 500;
+
+            equals &= mask.isForeground(cursor.localize()) == isForeground;
+            if (isForeground) {
+                nForeground++;
+                equals &= maskIterator.hasNext() && Arrays.equals(maskIterator.next(), cursor.localize());
+            }
+        }
+
+        assertTrue(equals);
+        assertFalse(maskIterator.hasNext());
+        assertEquals(nForeground, mask.size());
+    }
+
+    @Test
+    public void getRuns_RowWithTwoForegroundSegments_ReturnsTwoRuns() {
+        long[] dim = { 10, 1, 1, 1, 1 };
+        ISoIImage soiImage = _createSoIImage(dim);
+        soiImage.getImage().setPlane(1, new short[] { 0, 5, 5, 0, 0, 5, 5, 5, 0, 5 });
+
+        SoIForegroundMask mask = SoIForegroundMask.create(soiImage, new UINT16(5));
+
+        assertArrayEquals(new int[] { 1, 3, 5, 8, 9, 10 }, mask.getRuns(1));
+        assertEquals(6, mask.size());
+    }
+
+    @Test
+    public void getRuns_ThresholdAboveAllPixels_ReturnsNoRunAndEmptyIterator() {
+        long[] dim = { 10, 10, 1, 2, 1 };
+        ISoIImage soiImage = _createRandomSoIImage(dim);
+
+        SoIForegroundMask mask = SoIForegroundMask.create(soiImage, new UINT16(UINT16.MAX_VAL));
+
+        assertEquals(0, mask.getRuns(1).length);
+        assertEquals(0, mask.getRuns(2).length);
+        assertFalse(mask.getIterator().hasNext());
+    }
+
+    @Test
+    public void getRuns_NonExistentPlane_ThrowsIndexOutOfBoundsException() {
+        long[] dim = { 10, 10, 1, 2, 1 };
+        SoIForegroundMask mask = SoIForegroundMask.create(_createSoIImage(dim), new UINT16(0));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> mask.getRuns(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> mask.getRuns(3));
+    }
+
+    @Test
+    public void getIterator_Box_ReturnsForegroundInsideBoxInOrder() {
+        long[] dim = { 17, 13, 1, 3, 2 };
+        SoIForegroundMask mask = SoIForegroundMask.create(_createRandomSoIImage(dim), new UINT16(500));
+        long[] min = { 3, 2, 0, 1, 0 };
+        long[] max = { 11, 9, 0, 2, 1 };
+
+        boolean equals = true;
+        Iterator<long[]> boxIterator = mask.getIterator(min, max);
+        for (Iterator<long[]> iterator = mask.getIterator(); iterator.hasNext();) {
+            long[] position = iterator.next();
+            boolean isInsideBox = true;
+            for (int axis = 0; axis < dim.length; axis++) {
+                isInsideBox &= min[axis] <= position[axis] && position[axis] <= max[axis];
+            }
+
+            if (isInsideBox) {
+                equals &= boxIterator.hasNext() && Arrays.equals(boxIterator.next(), position);
+            }
+        }
+
+        assertTrue(equals);
+        assertFalse(boxIterator.hasNext());
+    }
+
+    @Test
+    public void getIterator_BoxLargerThanImage_ReturnsAllForeground() {
+        long[] dim = { 10, 10, 1, 2, 1 };
+        SoIForegroundMask mask = SoIForegroundMask.create(_createRandomSoIImage(dim), new UINT16(300));
+        long[] min = { -5, -5, -1, -1, -1 };
+        long[] max = { 20, 20, 1, 5, 1 };
+
+        boolean equals = true;
+        Iterator<long[]> boxIterator = mask.getIterator(min, max);
+        for (Iterator<long[]> iterator = mask.getIterator(); iterator.hasNext();) {
+            equals &= boxIterator.hasNext() && Arrays.equals(boxIterator.next(), iterator.next());
+        }
+
+        assertTrue(equals);
+        assertFalse(boxIterator.hasNext());
+    }
+
+    @Test
+    public void getIterator_BoxOutsideImage_ReturnsEmptyIterator() {
+        long[] dim = { 10, 10, 1, 2, 1 };
+        SoIForegroundMask mask = SoIForegroundMask.create(_createSoIImage(dim), new UINT16(0));
+
+        assertFalse(mask.getIterator(new long[] { 10, 0, 0, 0, 0 }, new long[] { 20, 9, 0, 1, 0 }).hasNext());
+        assertFalse(mask.getIterator(new long[] { 0, 0, 0, 2, 0 }, new long[] { 9, 9, 0, 3, 0 }).hasNext());
+    }
+
+    private static ISoIImage _createSoIImage(long[] dim) {
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).build();
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+        return SoIImage.create(new DummyFileSet(), image, 1);
+    }
+
+    private static ISoIImage _createRandomSoIImage(long[] dim) {
+        ISoIImage soiImage = _createSoIImage(dim);
+
+        Random random = new Random(7);
+        for (IPixelCursor<UINT16> cursor = soiImage.getImage().getCursor(); cursor.hasNext();) {
+            IPixel<UINT16> pixel = cursor.next();
+            pixel.value().set(random.nextInt(1000));
+            cursor.setPixel(pixel);
+        }
+        return soiImage;
+    }
+
+}
@@ -0,0 +1,51 @@
+package fr.fresnel.fourPolar.core.image.vector.streamModel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class SVGElementStreamWriterTest {
+    @Test
+    public void writeDecimal_RandomValuesWithOneDecimal_EqualsDecimalFormatOfBatikConverters() throws IOException {
+        _assertEqualsDecimalFormat(new DecimalFormat("#.#"), 1, 1000);
+    }
+
+    @Test
+    public void writeDecimal_RandomValuesWithTwoDecimals_EqualsDecimalFormatOfBatikConverters() throws IOException {
+        _assertEqualsDecimalFormat(new DecimalFormat("#.##"), 2, 1);
+    }
+
+    @Test
+    public void writeDecimal_ValuesOnRoundingBoundary_EqualsDecimalFormatOfBatikConverters() throws IOException {
+        DecimalFormat format = new DecimalFormat("#.#");
+        SVGElementStreamWriter writer = new SVGElementStreamWriter();
+
+        for (double value : new double[] { 0, -0.0, -0.04, 0.05, 0.15, 0.25, 2.5, -2.55, 10, 99.95, 1e12 }) {
+            assertEquals(format.format(value), _writeDecimal(writer, value, 1));
+        }
+    }
+
+    private void _assertEqualsDecimalFormat(DecimalFormat format, int decimals, double range) throws IOException {
+        Random random = new Random(7);
+        SVGElementStreamWriter writer = new SVGElementStreamWriter();
+
+        for (int i = 0; i < 10000; i++) {
+            double value = (random.nextDouble() * 2 - 1) * range;
+            assertEquals(format.format(value), _writeDecimal(writer, value, decimals));
+        }
+    }
+
+    private String _writeDecimal(SVGElementStreamWriter writer, double value, int decimals) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.setOutputStream(out);
+        writer.writeDecimal(value, decimals);
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+}
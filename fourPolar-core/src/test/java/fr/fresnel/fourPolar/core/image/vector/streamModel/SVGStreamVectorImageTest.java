@@ -0,0 +1,270 @@
+package fr.fresnel.fourPolar.core.image.vector.streamModel;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.batik.anim.dom.SAXSVGDocumentFactory;
+import org.apache.batik.util.XMLResourceDescriptor;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.svg.SVGDocument;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.ARGB8;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.image.vector.Vector;
+import fr.fresnel.fourPolar.core.image.vector.VectorImage;
+import fr.fresnel.fourPolar.core.image.vector.animation.AnimationRepeatCount;
+import fr.fresnel.fourPolar.core.image.vector.animation.RotationAnimation;
+import fr.fresnel.fourPolar.core.image.vector.batikModel.BatikVectorImageFactory;
+import fr.fresnel.fourPolar.core.image.vector.batikModel.accessors.BatikImagePlaneAccessor;
+import fr.fresnel.fourPolar.core.image.vector.filter.BlenderFilter;
+import fr.fresnel.fourPolar.core.image.vector.filter.Filter.IN;
+import fr.fresnel.fourPolar.core.image.vector.filter.FilterComposite;
+import fr.fresnel.fourPolar.core.image.vector.filter.FilterCompositeBuilder;
+import fr.fresnel.fourPolar.core.shape.ShapeFactory;
+import fr.fresnel.fourPolar.core.util.image.generic.ImageUtil;
+
+public class SVGStreamVectorImageTest {
+    private final SAXSVGDocumentFactory _svgReader = new SAXSVGDocumentFactory(
+            XMLResourceDescriptor.getXMLParserClassName());
+
+    @Test
+    public void init_1DImage_ThrowsIllegalArgumentException() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2 }).axisOrder(AxisOrder.NoOrder).build();
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            new SVGStreamVectorImageFactory(_createSpoolRoot()).create(metadata);
+        });
+    }
+
+    @Test
+    public void addVector_LinesWithFilterAndAnimationInXYZImage_PlanesHaveSameElementsAsBatikImage()
+            throws IOException {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 100, 100, 3 }).axisOrder(AxisOrder.XYZ)
+                .build();
+        VectorImage batikImage = new BatikVectorImageFactory().create(metadata);
+        SVGStreamVectorImage streamImage = (SVGStreamVectorImage) new SVGStreamVectorImageFactory(_createSpoolRoot())
+                .create(metadata);
+
+        FilterComposite composite = new FilterCompositeBuilder("blend&Filter",
+                new BlenderFilter(IN.SOURCE_GRAPHIC, IN.BACKGROUND_IMAGE, BlenderFilter.Mode.SCREEN, "result"))
+                        .xStart(0).build();
+        batikImage.addFilterComposite(composite);
+        streamImage.addFilterComposite(composite);
+
+        Vector vector = Vector.createLineVector(ShapeFactory.line2DShape(new long[] { 0, 0, 0 }, 0, 0, 0,
+                AxisOrder.XYZ));
+        vector.setStrokeWidth(3);
+        vector.setFilter(composite);
+        for (int stick = 0; stick < 300; stick++) {
+            long[] position = { (stick * 7) % 100, (stick * 13) % 100, stick % 3 };
+            vector.setShape(ShapeFactory.line2DShape(position, stick * 0.37, 20, 1, AxisOrder.XYZ));
+            vector.setColor(new ARGB8(stick % 256, 255 - stick % 256, 7, (stick * 3) % 256));
+
+            RotationAnimation animation = new RotationAnimation();
+            animation.setRotationAngles(new int[] { 0, stick });
+            animation.setRepeatCount(AnimationRepeatCount.INDEFINITE);
+            vector.setAnimation(animation);
+
+            batikImage.addVector(vector);
+            streamImage.addVector(vector);
+        }
+
+        boolean equals = true;
+        for (int planeIndex = 1; planeIndex <= 3; planeIndex++) {
+            SVGDocument batikPlane = BatikImagePlaneAccessor.get(batikImage).getImagePlane(planeIndex).getPlane();
+            SVGDocument streamPlane = _readPlane(streamImage, planeIndex);
+
+            equals &= _haveSameElements(batikPlane, streamPlane, "filter");
+            equals &= _haveSameElements(batikPlane, streamPlane, "feBlend");
+            equals &= _haveSameElements(batikPlane, streamPlane, "line");
+            equals &= _haveSameElements(batikPlane, streamPlane, "animateTransform");
+        }
+        assertTrue(equals);
+    }
+
+    @Test
+    public void setImage_22UINT16XYImage_AddsSameImageElementAsBatikImage() throws IOException {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2 }).axisOrder(AxisOrder.XY).build();
+        VectorImage batikImage = new BatikVectorImageFactory().create(metadata);
+        SVGStreamVectorImage streamImage = (SVGStreamVectorImage) new SVGStreamVectorImageFactory(_createSpoolRoot())
+                .create(metadata);
+
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+        _setPlaneToValue(image, 1, 1);
+        batikImage.setImage(image, UINT16.zero());
+        streamImage.setImage(image, UINT16.zero());
+
+        SVGDocument batikPlane = BatikImagePlaneAccessor.get(batikImage).getImagePlane(1).getPlane();
+        assertTrue(_haveSameElements(batikPlane, _readPlane(streamImage, 1), "image"));
+    }
+
+    @Test
+    public void getImagePlane_XYZTImage2213_ImageHasThreeDistinctPlanes() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2, 1, 3 }).axisOrder(AxisOrder.XYZT)
+                .build();
+        SVGStreamVectorImage streamImage = (SVGStreamVectorImage) new SVGStreamVectorImageFactory(_createSpoolRoot())
+                .create(metadata);
+
+        assertTrue(streamImage.numPlanes() == 3);
+        assertTrue(!streamImage.getImagePlane(1).getPlane().equals(streamImage.getImagePlane(3).getPlane()));
+        assertThrows(IndexOutOfBoundsException.class, () -> streamImage.getImagePlane(4));
+    }
+
+    @Test
+    public void close_ImageWithOpenSpool_DeletesSpoolFilesAndRejectsVectors() throws IOException {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 10, 10, 2 }).axisOrder(AxisOrder.XYZ).build();
+        SVGStreamVectorImage streamImage = (SVGStreamVectorImage) new SVGStreamVectorImageFactory(_createSpoolRoot())
+                .create(metadata);
+        File[] spools = { streamImage.getImagePlane(1).getPlane(), streamImage.getImagePlane(2).getPlane() };
+
+        Vector vector = Vector.createLineVector(ShapeFactory.line2DShape(new long[] { 5, 5, 1 }, 0, 4, 1,
+                AxisOrder.XYZ));
+        streamImage.addVector(vector);
+        streamImage.close();
+        streamImage.close();
+
+        assertTrue(!spools[0].exists() && !spools[1].exists());
+        assertThrows(IllegalStateException.class, () -> streamImage.addVector(vector));
+        assertThrows(IllegalStateException.class, () -> streamImage.getImagePlane(1));
+    }
+
+    @Test
+    public void addVector_PathPerColorEncoding_LinesOfSameColorAreSegmentsOfOnePathWithBatikCoordinates()
+            throws IOException {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 100, 100 }).axisOrder(AxisOrder.XY).build();
+        VectorImage batikImage = new BatikVectorImageFactory().create(metadata);
+        SVGStreamVectorImage streamImage = (SVGStreamVectorImage) new SVGStreamVectorImageFactory(_createSpoolRoot(),
+                SVGStreamEncoding.PATH_PER_COLOR).create(metadata);
+
+        ARGB8[] colors = { new ARGB8(255, 0, 0, 128), new ARGB8(255, 255, 255, 255) };
+        Vector vector = Vector.createLineVector(ShapeFactory.line2DShape(new long[] { 0, 0 }, 0, 0, 0, AxisOrder.XY));
+        vector.setStrokeWidth(2);
+        for (int stick = 0; stick < 200; stick++) {
+            long[] position = { (stick * 7) % 100, (stick * 13) % 100 };
+            vector.setShape(ShapeFactory.line2DShape(position, stick * 0.37, 5, 1, AxisOrder.XY));
+            vector.setColor(colors[stick % 2]);
+
+            batikImage.addVector(vector);
+            streamImage.addVector(vector);
+        }
+
+        NodeList batikLines = BatikImagePlaneAccessor.get(batikImage).getImagePlane(1).getPlane()
+                .getElementsByTagNameNS("*", "line");
+        StringBuilder[] batikPaths = { new StringBuilder(), new StringBuilder() };
+        for (int stick = 0; stick < batikLines.getLength(); stick++) {
+            Element line = (Element) batikLines.item(stick);
+            batikPaths[stick % 2].append("M").append(line.getAttribute("x1")).append(" ")
+                    .append(line.getAttribute("y1")).append("L").append(line.getAttribute("x2")).append(" ")
+                    .append(line.getAttribute("y2"));
+        }
+
+        SVGDocument streamPlane = _readPlane(streamImage, 1);
+        NodeList groups = streamPlane.getElementsByTagNameNS("*", "g");
+        Element firstLine = (Element) batikLines.item(0);
+
+        boolean equals = streamPlane.getElementsByTagNameNS("*", "line").getLength() == 0;
+        equals &= groups.getLength() == 2;
+        for (int color = 0; color < groups.getLength(); color++) {
+            Element group = (Element) groups.item(color);
+            Element line = (Element) batikLines.item(color);
+            Element path = (Element) group.getElementsByTagNameNS("*", "path").item(0);
+
+            equals &= path.getAttribute("d").equals(batikPaths[color].toString());
+            equals &= group.getAttribute("stroke").equals(line.getAttribute("stroke"));
+            equals &= group.getAttribute("stroke-opacity").equals(line.getAttribute("opacity"));
+            equals &= group.getAttribute("stroke-width").equals(firstLine.getAttribute("stroke-width"));
+        }
+        assertTrue(equals);
+    }
+
+    @Test
+    public void addVector_PathPerColorEncodingAnimatedLineBetweenLines_KeepsOrderOfElements() throws IOException {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 10, 10 }).axisOrder(AxisOrder.XY).build();
+        SVGStreamVectorImage streamImage = (SVGStreamVectorImage) new SVGStreamVectorImageFactory(_createSpoolRoot(),
+                SVGStreamEncoding.PATH_PER_COLOR).create(metadata);
+
+        Vector vector = Vector.createLineVector(ShapeFactory.line2DShape(new long[] { 5, 5 }, 0, 4, 1, AxisOrder.XY));
+        vector.setColor(new ARGB8(0, 0, 255));
+        streamImage.addVector(vector);
+
+        Vector animatedVector = Vector.createLineVector(ShapeFactory.line2DShape(new long[] { 5, 5 }, 0, 4, 1,
+                AxisOrder.XY));
+        animatedVector.setColor(new ARGB8(0, 0, 255));
+        animatedVector.setAnimation(new RotationAnimation());
+        streamImage.addVector(animatedVector);
+        streamImage.addVector(vector);
+
+        NodeList elements = _readPlane(streamImage, 1).getDocumentElement().getChildNodes();
+        assertTrue(elements.getLength() == 3);
+        assertTrue(elements.item(0).getLocalName().equals("g"));
+        assertTrue(elements.item(1).getLocalName().equals("line"));
+        assertTrue(elements.item(2).getLocalName().equals("g"));
+    }
+
+    /**
+     * Compares the attributes of the elements with the given tag. Whitespace is
+     * ignored, because batik breaks the base64 image lines.
+     */
+    private boolean _haveSameElements(SVGDocument batikPlane, SVGDocument streamPlane, String tag) {
+        NodeList batikElements = batikPlane.getDocumentElement().getElementsByTagNameNS("*", tag);
+        NodeList streamElements = streamPlane.getDocumentElement().getElementsByTagNameNS("*", tag);
+        if (batikElements.getLength() == 0 || batikElements.getLength() != streamElements.getLength()) {
+            return false;
+        }
+
+        for (int i = 0; i < batikElements.getLength(); i++) {
+            NamedNodeMap batikAttributes = batikElements.item(i).getAttributes();
+            Element streamElement = (Element) streamElements.item(i);
+            if (batikAttributes.getLength() != streamElement.getAttributes().getLength()) {
+                return false;
+            }
+
+            for (int attr = 0; attr < batikAttributes.getLength(); attr++) {
+                String name = batikAttributes.item(attr).getNodeName();
+                String batikValue = batikAttributes.item(attr).getNodeValue().replaceAll("\\s", "");
+                if (!batikValue.equals(streamElement.getAttribute(name).replaceAll("\\s", ""))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private SVGDocument _readPlane(SVGStreamVectorImage streamImage, int planeIndex) throws IOException {
+        File spool = streamImage.getImagePlane(planeIndex).getPlane();
+        String plane = "<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\">"
+                + new String(Files.readAllBytes(spool.toPath()), StandardCharsets.UTF_8) + "</svg>";
+        return (SVGDocument) _svgReader.createDocument(spool.toURI().toString(), new StringReader(plane));
+    }
+
+    private void _setPlaneToValue(Image<UINT16> image, long planeIndex, int value) {
+        IPixelCursor<UINT16> pixelCursor = ImageUtil.getPlaneCursor(image, planeIndex);
+        while (pixelCursor.hasNext()) {
+            IPixel<UINT16> pixel = pixelCursor.next();
+            pixel.value().set(value);
+            pixelCursor.setPixel(pixel);
+        }
+    }
+
+    private File _createSpoolRoot() {
+        String testResource = SVGStreamVectorImageTest.class.getResource("").getPath();
+        return new File(testResource, "SVGStreamSpools");
+    }
+
+}
@@ -2,10 +2,12 @@ package fr.fresnel.fourPolar.core.util.image.generic.metadata;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
 import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
 
 public class MetadataUtilTest {
@@ -119,4 +121,50 @@ public class MetadataUtilTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void getPlaneIndex_2234Image_InverseOfGetPlaneCoordinates() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2, 3, 4 }).build();
+
+        boolean equals = true;
+        for (long planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(metadata); planeIndex++) {
+            long[] position = MetadataUtil.getPlaneCoordinates(metadata, planeIndex)[0];
+            equals &= MetadataUtil.getPlaneIndex(metadata, position) == planeIndex;
+        }
+
+        assertTrue(equals);
+    }
+
+    @Test
+    public void getPlaneIndex_22Image_returnsOne() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2 }).build();
+
+        assertTrue(MetadataUtil.getPlaneIndex(metadata, new long[] { 1, 1 }) == 1);
+    }
+
+    @Test
+    public void getPlaneIndex_PositionOutsideImage_throwsIndexOutOfBoundsException() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2, 3, 4 }).build();
+
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> MetadataUtil.getPlaneIndex(metadata, new long[] { 0, 0, 3, 0 }));
+    }
+
+    @Test
+    public void createZTSliceMetadata_XYCZTImage_ZAndTDimensionAreOne() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 3, 2, 4, 5 }).axisOrder(AxisOrder.XYCZT)
+                .build();
+
+        IMetadata sliceMetadata = MetadataUtil.createZTSliceMetadata(metadata);
+
+        assertArrayEquals(new long[] { 2, 3, 2, 1, 1 }, sliceMetadata.getDim());
+        assertTrue(sliceMetadata.axisOrder() == AxisOrder.XYCZT);
+    }
+
+    @Test
+    public void createZTSliceMetadata_NoOrder_throwsIllegalArgumentException() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 3, 2 }).build();
+
+        assertThrows(IllegalArgumentException.class, () -> MetadataUtil.createZTSliceMetadata(metadata));
+    }
+
+}
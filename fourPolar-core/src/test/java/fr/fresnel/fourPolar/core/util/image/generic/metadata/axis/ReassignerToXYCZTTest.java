@@ -14,7 +14,9 @@ import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
 import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
 import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
 import fr.fresnel.fourPolar.core.image.generic.pixel.Pixel;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
 
 public class ReassignerToXYCZTTest {
     @Test
@@ -275,6 +277,134 @@ public class ReassignerToXYCZTTest {
         assertArrayEquals(reassignedImg.getMetadata().getDim(), newDim);
     }
 
+    @Test
+    public void reassignAndResize_Float32XYTZCImage_ReturnsCorrectResizedXYCZTImage() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 3, 2, 4, 2, 1 }).axisOrder(AxisOrder.XYTZC)
+                .build();
+        Image<Float32> img = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+
+        float val = 0.5f;
+        for (IPixelCursor<Float32> cursor = img.getCursor(); cursor.hasNext();) {
+            cursor.next();
+            cursor.setPixel(new Pixel<Float32>(new Float32(val++)));
+        }
+
+        long[] newDim = { 5, 4, 1, 2, 4 };
+        Image<Float32> reassignedImg = ReassingerToXYCZT.reassignAndResize(img, Float32.zero(), newDim);
+        assertArrayEquals(reassignedImg.getMetadata().getDim(), newDim);
+
+        boolean equals = true;
+        IPixelRandomAccess<Float32> ra = reassignedImg.getRandomAccess();
+        for (IPixelCursor<Float32> cursor = img.getCursor(); cursor.hasNext();) {
+            IPixel<Float32> pixel = cursor.next();
+
+            long[] position = cursor.localize();
+            ra.setPosition(new long[] { position[0], position[1], position[4], position[3], position[2] });
+            equals &= ra.getPixel().value().get() == pixel.value().get();
+        }
+        assertTrue(equals);
+
+        ra.setPosition(new long[] { 4, 3, 0, 1, 3 });
+        assertTrue(ra.getPixel().value().get() == 0);
+    }
+
+    @Test
+    public void viewAsXYCZT_XYZCTInterval_PlanesEqualIntervalPixels() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 4, 3, 2, 2, 3 }).axisOrder(AxisOrder.XYZCT)
+                .build();
+        Image<UINT16> img = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+
+        int val = 0;
+        for (IPixelCursor<UINT16> cursor = img.getCursor(); cursor.hasNext();) {
+            cursor.next();
+            cursor.setPixel(new Pixel<UINT16>(new UINT16(val++)));
+        }
+
+        long[] bottomCorner = { 1, 1, 0, 1, 1 };
+        Image<UINT16> view = ReassingerToXYCZT.viewAsXYCZT(img, bottomCorner, new long[] { 2, 2, 2, 1, 2 }).get();
+        assertArrayEquals(view.getMetadata().getDim(), new long[] { 2, 2, 1, 2, 2 });
+
+        boolean equals = true;
+        IPixelRandomAccess<UINT16> ra = img.getRandomAccess();
+        for (long planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(view.getMetadata()); planeIndex++) {
+            long[] planeStart = MetadataUtil.getPlaneCoordinates(view.getMetadata(), planeIndex)[0];
+            short[] plane = view.getShortPlane(planeIndex);
+
+            for (int y = 0, i = 0; y < 2; y++) {
+                for (int x = 0; x < 2; x++, i++) {
+                    ra.setPosition(new long[] { bottomCorner[0] + x, bottomCorner[1] + y,
+                            bottomCorner[2] + planeStart[3], bottomCorner[3] + planeStart[2],
+                            bottomCorner[4] + planeStart[4] });
+                    equals &= ra.getPixel().value().get() == plane[i];
+                }
+            }
+        }
+        assertTrue(equals);
+    }
+
+    @Test
+    public void viewAsXYCZT_SetPlaneOfView_ImageIsNotModified() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2, 2 }).axisOrder(AxisOrder.XYZ).build();
+        Image<UINT16> img = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+        _setPixel(img, 7);
+
+        Image<UINT16> view = ReassingerToXYCZT.viewAsXYCZT(img, new long[] { 0, 0, 0 }, new long[] { 2, 2, 2 })
+                .get();
+        view.setPlane(1, new short[] { 1, 2, 3, 4 });
+
+        assertTrue(_checkPixel(img, 7, new long[] { 1, 1, 0 }));
+        assertTrue(_checkPixel(view, 4, new long[] { 1, 1, 0, 0, 0 }));
+        assertTrue(_checkPixel(view, 7, new long[] { 1, 1, 0, 1, 0 }));
+    }
+
+    @Test
+    public void viewAsXYCZT_ReadCursorAndRandomAccessOfView_ViewSharesPixelsOfImage() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2, 2 }).axisOrder(AxisOrder.XYZ).build();
+        Image<UINT16> img = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+        _setPixel(img, 7);
+
+        Image<UINT16> view = ReassingerToXYCZT.viewAsXYCZT(img, new long[] { 0, 0, 0 }, new long[] { 2, 2, 2 })
+                .get();
+        boolean equals = true;
+        for (IPixelCursor<UINT16> cursor = view.getCursor(); cursor.hasNext();) {
+            equals &= cursor.next().value().get() == 7;
+        }
+        equals &= _checkPixel(view, 7, new long[] { 1, 1, 0, 1, 0 });
+
+        // Had reading copied the view, the view would not see the new pixels.
+        _setPixel(img, 5);
+
+        assertTrue(equals && _checkPixel(view, 5, new long[] { 1, 1, 0, 1, 0 }));
+    }
+
+    @Test
+    public void viewAsXYCZT_SetPixelWithCursorOfView_ImageIsNotModifiedAndCursorContinuesOnCopy() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2, 2 }).axisOrder(AxisOrder.XYZ).build();
+        Image<UINT16> img = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+        int val = 0;
+        for (IPixelCursor<UINT16> cursor = img.getCursor(); cursor.hasNext();) {
+            cursor.next();
+            cursor.setPixel(new Pixel<UINT16>(new UINT16(val++)));
+        }
+
+        Image<UINT16> view = ReassingerToXYCZT.viewAsXYCZT(img, new long[] { 0, 0, 0 }, new long[] { 2, 2, 2 })
+                .get();
+        IPixelCursor<UINT16> cursor = view.getCursor();
+        cursor.next();
+        IPixel<UINT16> pixel = cursor.next();
+        pixel.value().set(100);
+        cursor.setPixel(pixel);
+
+        boolean continues = true;
+        for (int expected = 2; cursor.hasNext(); expected++) {
+            continues &= cursor.next().value().get() == expected;
+        }
+
+        assertTrue(continues);
+        assertTrue(_checkPixel(img, 1, new long[] { 1, 0, 0 }));
+        assertTrue(_checkPixel(view, 100, new long[] { 1, 0, 0, 0, 0 }));
+    }
+
     private void _setPixel(Image<UINT16> pol, int value) {
         for (IPixelCursor<UINT16> cursor = pol.getCursor(); cursor.hasNext();) {
             IPixel<UINT16> pixel = cursor.next();
@@ -2,7 +2,10 @@ package fr.fresnel.fourPolar.io.fourPolar.propagationdb;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 
@@ -10,6 +13,7 @@ import fr.fresnel.fourPolar.core.exceptions.fourPolar.propagationdb.PropagationC
 import fr.fresnel.fourPolar.core.fourPolar.propagationdb.IOpticalPropagationDB;
 import fr.fresnel.fourPolar.core.physics.channel.IChannel;
 import fr.fresnel.fourPolar.core.physics.na.INumericalAperture;
+import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
 import fr.fresnel.fourPolar.core.physics.propagation.IOpticalPropagation;
 import fr.fresnel.fourPolar.io.physics.propagation.IOpticalPropagationJSONAdaptor;
 
@@ -18,55 +22,104 @@ import fr.fresnel.fourPolar.io.physics.propagation.IOpticalPropagationJSONAdapto
  * {@link IOpticalPropagationDatabase}. Access to this database only happens
  * through the io class of the database. The JSON field of this class is direcly
  * filled with the io class.
+ * <p>
+ * With the first search, the propagations are converted from JSON once, and
+ * indexed by their channel and numerical aperture. Hence, every search is a
+ * hash lookup, and returns the same {@link IOpticalPropagation} instance for
+ * the same channel and numerical aperture. If the database has several
+ * propagations for them, the first one is returned.
  */
 class XMLOpticalPropagationDB implements IOpticalPropagationDB {
     @JacksonXmlElementWrapper(useWrapping = false)
     @JsonProperty("OpticalPropagation")
     private ArrayList<IOpticalPropagationJSONAdaptor> _adaptorList;
 
+    @JsonIgnore
+    private HashMap<PropagationKey, IOpticalPropagation> _index = null;
+
     public XMLOpticalPropagationDB() {
         _adaptorList = new ArrayList<IOpticalPropagationJSONAdaptor>();
     }
 
     @Override
-    public IOpticalPropagation search(IChannel channel, INumericalAperture na) throws PropagationChannelNotInDatabase {
-        int adaptorCtr = 0;
-        try {
-            while (adaptorCtr < _adaptorList.size()
-                    && !(_isChannelEqual(channel, adaptorCtr) && _isNumericalApertureEqual(na, adaptorCtr))) {
-                adaptorCtr++;
-            }
-        } catch (IOException e) {
-            throw new PropagationChannelNotInDatabase(e.getMessage());
+    public synchronized IOpticalPropagation search(IChannel channel, INumericalAperture na)
+            throws PropagationChannelNotInDatabase {
+        if (_index == null) {
+            _index = _createIndex();
         }
 
-        if (adaptorCtr == _adaptorList.size()) {
+        IOpticalPropagation propagation = _index.get(new PropagationKey(channel, na));
+        if (propagation == null) {
             throw new PropagationChannelNotInDatabase();
-        } else
+        }
+        return propagation;
+    }
+
+    private HashMap<PropagationKey, IOpticalPropagation> _createIndex() throws PropagationChannelNotInDatabase {
+        HashMap<PropagationKey, IOpticalPropagation> index = new HashMap<>();
+        for (IOpticalPropagationJSONAdaptor adaptor : _adaptorList) {
             try {
-                {
-                    return _adaptorList.get(adaptorCtr).fromJSON();
-                }
+                _addToIndex(index, adaptor.fromJSON());
             } catch (IOException e) {
-                // It's not caught!
-                return null;
+                throw new PropagationChannelNotInDatabase(e.getMessage());
             }
+        }
+        return index;
     }
 
-    private boolean _isChannelEqual(IChannel channel, int adaptorCtr) throws IOException {
-        return _adaptorList.get(adaptorCtr).fromJSON().getChannel().equals(channel);
-    }
-
-    private boolean _isNumericalApertureEqual(INumericalAperture na, int adaptorCtr) throws IOException {
-        return _adaptorList.get(adaptorCtr).fromJSON().getNumericalAperture().equals(na);
-        
+    private static void _addToIndex(HashMap<PropagationKey, IOpticalPropagation> index,
+            IOpticalPropagation propagation) {
+        index.putIfAbsent(new PropagationKey(propagation.getChannel(), propagation.getNumericalAperture()),
+                propagation);
     }
 
     @Override
-    public void add(IOpticalPropagation opticalPropagation) {
+    public synchronized void add(IOpticalPropagation opticalPropagation) {
         IOpticalPropagationJSONAdaptor adaptor = new IOpticalPropagationJSONAdaptor();
         adaptor.toJSON(opticalPropagation);
         _adaptorList.add(adaptor);
+
+        // The index is rebuilt with the next search, so that the added propagation is
+        // materialized from its JSON like the others.
+        _index = null;
+    }
+
+    /**
+     * The key of the index, which is the wavelength and calibration factors of the
+     * channel, together with the numerical aperture of each polarization. Values
+     * are compared like {@link IChannel#equals(IChannel)} and
+     * {@link INumericalAperture#equals(INumericalAperture)} do.
+     */
+    private static class PropagationKey {
+        private final double[] _values;
+
+        public PropagationKey(IChannel channel, INumericalAperture na) {
+            Polarization[] pols = Polarization.values();
+            _values = new double[1 + 2 * pols.length];
+
+            _values[0] = _normalize(channel.getWavelength());
+            for (int i = 0; i < pols.length; i++) {
+                _values[1 + i] = _normalize(channel.getCalibrationFactor(pols[i]));
+                _values[1 + pols.length + i] = _normalize(na.getNA(pols[i]));
+            }
+        }
+
+        /**
+         * Maps -0 to 0, because the two are equal with ==.
+         */
+        private static double _normalize(double value) {
+            return value + 0.0;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof PropagationKey && Arrays.equals(_values, ((PropagationKey) obj)._values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(_values);
+        }
     }
 
-}
\ No newline at end of file
+}
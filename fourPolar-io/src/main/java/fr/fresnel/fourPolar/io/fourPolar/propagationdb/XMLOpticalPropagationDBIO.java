@@ -19,11 +19,22 @@ import fr.fresnel.fourPolar.io.PathFactoryOfGlobalInfo;
 /**
  * This class is responsible for reading and writing the JSON implementation of
  * {@link IOpticalPropagationDB}
+ * <p>
+ * The database read from the disk is cached for the whole process, together
+ * with the modification time and size of its file. Hence, repeated reads
+ * return the same database instance without parsing the file again, until the
+ * file is modified or written with this class.
  */
 public class XMLOpticalPropagationDBIO {
     private static String folderName = "OpticalPropagation";
     private static String dbDiskName = "OpticalPropagationDB.xml";
 
+    private static final ObjectMapper _mapper = _createXMLMapper();
+
+    private static IOpticalPropagationDB _cachedDB = null;
+    private static long _cachedDBModificationTime;
+    private static long _cachedDBLength;
+
     /**
      * Write the given {@link IOpticalPropagationDB} to the disk. the path to which
      * the base is written in the hidden folder of the project
@@ -39,21 +50,25 @@ public class XMLOpticalPropagationDBIO {
         }
         XMLOpticalPropagationDB xmlDatabase = (XMLOpticalPropagationDB) database;
 
-        File path = _getDataBasePath();
-        if (path.exists()) {
-            path.delete();
-        }
+        synchronized (XMLOpticalPropagationDBIO.class) {
+            _cachedDB = null;
 
-        ObjectMapper mapper = _getXMLMapper();
-        mapper.writeValue(_getDataBasePath(), xmlDatabase);
+            File path = _getDataBasePath();
+            if (path.exists()) {
+                path.delete();
+            }
+
+            _mapper.writeValue(_getDataBasePath(), xmlDatabase);
+        }
     }
 
     /**
-     * Creates the xml mapper object.
+     * Creates the xml mapper object. The mapper is thread safe once configured,
+     * hence it's shared by all instances.
      * 
      * @return
      */
-    private ObjectMapper _getXMLMapper() {
+    private static ObjectMapper _createXMLMapper() {
         JacksonXmlModule xmlModule = new JacksonXmlModule();
         xmlModule.setDefaultUseWrapper(false);
 
@@ -66,17 +81,30 @@ public class XMLOpticalPropagationDBIO {
      * Reads the database from the disk. For this end, it checks the global
      * information folder first and if the db is not there, copies the original from
      * the resource folder, and then returns it to the user.
+     * <p>
+     * Note that the returned database is shared with other readers of this
+     * process. Hence, propagations added to it are visible to them as well, even
+     * if the database is not written.
      * 
      * @throws IOException
      */
     public IOpticalPropagationDB read() throws IOException {
-        File path = _getDataBasePath();
-        if (!path.exists()) {
-            _copyOriginalDatabase();
+        synchronized (XMLOpticalPropagationDBIO.class) {
+            File path = _getDataBasePath();
+            if (!path.exists()) {
+                _copyOriginalDatabase();
+            }
+
+            long modificationTime = path.lastModified();
+            long length = path.length();
+            if (_cachedDB == null || _cachedDBModificationTime != modificationTime || _cachedDBLength != length) {
+                _cachedDB = _mapper.readValue(path, XMLOpticalPropagationDB.class);
+                _cachedDBModificationTime = modificationTime;
+                _cachedDBLength = length;
+            }
+
+            return _cachedDB;
         }
-
-        ObjectMapper mapper = _getXMLMapper();
-        return mapper.readValue(path, XMLOpticalPropagationDB.class);
     }
 
     /**
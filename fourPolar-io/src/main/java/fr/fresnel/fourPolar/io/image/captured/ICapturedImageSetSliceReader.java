@@ -0,0 +1,54 @@
+package fr.fresnel.fourPolar.io.image.captured;
+
+import java.io.IOException;
+
+import fr.fresnel.fourPolar.core.image.captured.ICapturedImageSet;
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.io.exceptions.image.captured.CapturedImageReadFailure;
+
+/**
+ * An interface for reading an {@link ICapturedImageSet} from the disk one slice
+ * at a time, where a slice is all the planes that belong to one z and t
+ * position. Hence, captured images that don't fit in the memory can be
+ * processed. It's assumed that all captured images of a set have the same z
+ * and t dimension.
+ */
+public interface ICapturedImageSetSliceReader {
+    /**
+     * Returns the metadata of the (complete) captured images of the set, which can
+     * be used for finding the number of z and t positions.
+     * 
+     * @param fileSet is the file set that corresponds to the image set.
+     * @throws CapturedImageReadFailure In case of file IO issues.
+     */
+    public IMetadata getMetadata(ICapturedImageFileSet fileSet) throws CapturedImageReadFailure;
+
+    /**
+     * Read the slice of all images of the file set at the given z and t position.
+     * 
+     * @param fileSet is the file set that corresponds to the image set.
+     * @param z       is the z position, starting from zero.
+     * @param t       is the t position, starting from zero.
+     * @return a captured image set containing the slice of all the images of this
+     *         set.
+     * @throws CapturedImageReadFailure In case of file IO issues.
+     */
+    public ICapturedImageSet read(ICapturedImageFileSet fileSet, long z, long t) throws CapturedImageReadFailure;
+
+    /**
+     * Close the resources associated with the files of this set. Should be called
+     * once all slices of the set are read.
+     * 
+     * @throws IOException
+     */
+    public void close(ICapturedImageFileSet fileSet) throws IOException;
+
+    /**
+     * Close any resources associated with the Reader.
+     * 
+     * @throws IOException
+     */
+    public void close() throws IOException;
+
+}
@@ -14,6 +14,7 @@ import fr.fresnel.fourPolar.io.exceptions.image.captured.CapturedImageReadFailur
 import fr.fresnel.fourPolar.io.image.captured.ICapturedImageSetReader;
 import fr.fresnel.fourPolar.io.image.generic.ImageReader;
 import fr.fresnel.fourPolar.io.image.generic.tiff.TiffImageReaderFactory;
+import fr.fresnel.fourPolar.io.image.generic.tiff.scifio.SCIFIOUINT16CachedTiffReader;
 
 /**
  * Used for reading a (16 bit tiff) captured image set. An instance of this
@@ -22,6 +23,12 @@ import fr.fresnel.fourPolar.io.image.generic.tiff.TiffImageReaderFactory;
 public class TiffCapturedImageSetReader implements ICapturedImageSetReader {
     final private ImageReader<UINT16> _reader;
 
+    /**
+     * The reader of lazily read images, whose files are closed when the next set
+     * is read, or null if images are loaded in the memory.
+     */
+    final private SCIFIOUINT16CachedTiffReader _cachedReader;
+
     /**
      * Used for reading a (16 bit tiff) captured images. An instance of this object
      * is enough to read several images.
@@ -29,10 +36,28 @@ public class TiffCapturedImageSetReader implements ICapturedImageSetReader {
      */
     public TiffCapturedImageSetReader(ImageFactory factory) {
         _reader = TiffImageReaderFactory.getReader(factory, UINT16.zero());
+        _cachedReader = null;
+    }
+
+    /**
+     * Used for reading (16 bit tiff) captured images lazily, so that captured
+     * images larger than the memory can be read. The planes of each image are
+     * loaded only when accessed, and at most maxCachedPlanes of them are kept in
+     * the memory. Note that the files of a set are closed when the next set is
+     * read, hence the images of a set can only be used until the next set is
+     * read, or {@link #close()} is called.
+     * 
+     */
+    public TiffCapturedImageSetReader(ImageFactory factory, long maxCachedPlanes) {
+        _reader = TiffImageReaderFactory.getCachedReader(factory, UINT16.zero(), maxCachedPlanes);
+        _cachedReader = _reader instanceof SCIFIOUINT16CachedTiffReader ? (SCIFIOUINT16CachedTiffReader) _reader
+                : null;
     }
 
     @Override
     public ICapturedImageSet read(final ICapturedImageFileSet fileSet) throws CapturedImageReadFailure {
+        this._releasePreviousSet(fileSet);
+
         CapturedImageSetBuilder builder = new CapturedImageSetBuilder(fileSet.getnCameras());
         builder.setFileSet(fileSet);
 
@@ -50,6 +75,23 @@ public class TiffCapturedImageSetReader implements ICapturedImageSetReader {
 
     }
 
+    /**
+     * Closes the files of the previously read set, so that the open files don't
+     * grow with the number of sets read. Failing to do so is reported as a failure
+     * to read the given set.
+     */
+    private void _releasePreviousSet(ICapturedImageFileSet fileSet) throws CapturedImageReadFailure {
+        if (_cachedReader == null) {
+            return;
+        }
+
+        try {
+            _cachedReader.releaseImages();
+        } catch (IOException e) {
+            throw new CapturedImageReadFailure(fileSet.getChannels());
+        }
+    }
+
     private Image<UINT16> _readCapturedImage(ICapturedImageFile capturedImageFile) throws CapturedImageReadFailure {
         Image<UINT16> img = null;
         try {
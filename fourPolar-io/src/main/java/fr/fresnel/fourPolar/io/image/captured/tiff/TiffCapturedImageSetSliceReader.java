@@ -0,0 +1,86 @@
+package fr.fresnel.fourPolar.io.image.captured.tiff;
+
+import java.io.IOException;
+
+import fr.fresnel.fourPolar.core.image.captured.CapturedImageSetBuilder;
+import fr.fresnel.fourPolar.core.image.captured.ICapturedImageSet;
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFile;
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.imagingSetup.imageFormation.Cameras;
+import fr.fresnel.fourPolar.io.exceptions.image.captured.CapturedImageReadFailure;
+import fr.fresnel.fourPolar.io.image.captured.ICapturedImageSetSliceReader;
+import fr.fresnel.fourPolar.io.image.generic.ImageSliceReader;
+import fr.fresnel.fourPolar.io.image.generic.tiff.TiffImageReaderFactory;
+
+/**
+ * Used for reading a (16 bit tiff) captured image set slice by slice. An
+ * instance of this object is enough to read several images.
+ */
+public class TiffCapturedImageSetSliceReader implements ICapturedImageSetSliceReader {
+    final private ImageSliceReader<UINT16> _reader;
+
+    /**
+     * Used for reading a (16 bit tiff) captured images slice by slice. The slices
+     * are created using the given factory.
+     */
+    public TiffCapturedImageSetSliceReader(ImageFactory factory) {
+        _reader = TiffImageReaderFactory.getSliceReader(factory, UINT16.zero());
+    }
+
+    @Override
+    public IMetadata getMetadata(ICapturedImageFileSet fileSet) throws CapturedImageReadFailure {
+        ICapturedImageFile capturedImageFile = fileSet.getFile(Cameras.getLabels(fileSet.getnCameras())[0])[0];
+
+        try {
+            return this._reader.getMetadata(capturedImageFile.file());
+        } catch (IOException e) {
+            throw new CapturedImageReadFailure(capturedImageFile.channels());
+        }
+    }
+
+    @Override
+    public ICapturedImageSet read(ICapturedImageFileSet fileSet, long z, long t) throws CapturedImageReadFailure {
+        CapturedImageSetBuilder builder = new CapturedImageSetBuilder(fileSet.getnCameras());
+        builder.setFileSet(fileSet);
+
+        String[] labels = Cameras.getLabels(fileSet.getnCameras());
+        for (String label : labels) {
+            ICapturedImageFile[] labelCapturedFiles = fileSet.getFile(label);
+            for (ICapturedImageFile capturedImageFile : labelCapturedFiles) {
+                Image<UINT16> capturedSlice = this._readCapturedImageSlice(capturedImageFile, z, t);
+                builder.setCapturedImage(label, capturedImageFile, capturedSlice);
+            }
+
+        }
+
+        return builder.build();
+    }
+
+    private Image<UINT16> _readCapturedImageSlice(ICapturedImageFile capturedImageFile, long z, long t)
+            throws CapturedImageReadFailure {
+        try {
+            return _reader.read(capturedImageFile.file(), z, t);
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new CapturedImageReadFailure(capturedImageFile.channels());
+        }
+    }
+
+    @Override
+    public void close(ICapturedImageFileSet fileSet) throws IOException {
+        for (String label : Cameras.getLabels(fileSet.getnCameras())) {
+            for (ICapturedImageFile capturedImageFile : fileSet.getFile(label)) {
+                _reader.close(capturedImageFile.file());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        _reader.close();
+    }
+
+}
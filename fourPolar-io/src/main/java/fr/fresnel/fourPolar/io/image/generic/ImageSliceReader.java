@@ -0,0 +1,58 @@
+package fr.fresnel.fourPolar.io.image.generic;
+
+import java.io.File;
+import java.io.IOException;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
+
+/**
+ * An interface for reading an image from the disk one slice at a time, where a
+ * slice is all the planes (i.e, all the channels) that belong to one z and t
+ * position. This allows processing images that don't fit in the memory.
+ * <p>
+ * Each file is opened on its first access, and is kept open until it's closed
+ * using {@link #close(File)} or {@link #close()}. Hence several files can be
+ * read in an interleaved fashion without reopening them.
+ */
+public interface ImageSliceReader<T extends PixelType> {
+    /**
+     * Returns the metadata of the complete image stored at the given path.
+     * 
+     * @param path is the path to image.
+     * @throws IOException in case of IO issues.
+     */
+    public IMetadata getMetadata(final File path) throws IOException;
+
+    /**
+     * Read the slice at the given z and t position. The returned image has the
+     * same axis order as the image on the disk, but its z and t dimension are one.
+     * 
+     * @param path is the path to image.
+     * @param z    is the z position, starting from zero. Must be zero if the image
+     *             has no z axis.
+     * @param t    is the t position, starting from zero. Must be zero if the image
+     *             has no t axis.
+     * @return the slice as an image.
+     * @throws IOException               in case of IO issues, or if the image has
+     *                                   no defined axis order.
+     * @throws IndexOutOfBoundsException if z or t is outside the image.
+     */
+    public Image<T> read(final File path, long z, long t) throws IOException;
+
+    /**
+     * Close the resources associated with the given file, if it has been opened.
+     * 
+     * @throws IOException
+     */
+    public void close(final File path) throws IOException;
+
+    /**
+     * Close all resources associated with the reader.
+     * 
+     * @throws IOException
+     */
+    public void close() throws IOException;
+
+}
@@ -0,0 +1,66 @@
+package fr.fresnel.fourPolar.io.image.generic;
+
+import java.io.File;
+import java.io.IOException;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
+
+/**
+ * An interface for writing an image to the disk one slice at a time, where a
+ * slice is all the planes (i.e, all the channels) that belong to one z and t
+ * position (see {@link ImageSliceReader}). Hence, the complete image never has
+ * to be held in the memory.
+ * <p>
+ * A file is written by calling {@link #open(File, IMetadata)}, then
+ * {@link #write(Image)} for every slice, with z changing faster than t, and
+ * finally {@link #finish()}. The same writer can then write other files.
+ */
+public interface ImageSliceWriter<T extends PixelType> {
+    /**
+     * Opens the given destination for writing an image with the given metadata.
+     * If the destination exists, it's overwritten.
+     * 
+     * @param path     is the destination.
+     * @param metadata is the metadata of the complete image.
+     * @throws IOException              in case of IO issues.
+     * @throws IllegalArgumentException if the slices of this metadata are not
+     *                                  stored contiguously, i.e, the channel axis
+     *                                  is not right after the plane axis.
+     * @throws IllegalStateException    if the previous file is not finished.
+     */
+    public void open(final File path, final IMetadata metadata) throws IOException;
+
+    /**
+     * Writes the next slice of the image.
+     * 
+     * @param slice is the slice, which has the same axis order as the complete
+     *              image, with z and t dimension being one.
+     * @throws IOException              in case of IO issues.
+     * @throws IllegalArgumentException if the slice does not have the same plane
+     *                                  dimension and channels as the image.
+     * @throws IllegalStateException    if no file is open, or all the slices of
+     *                                  the image are already written.
+     */
+    public void write(final Image<T> slice) throws IOException;
+
+    /**
+     * Finishes writing the current file. Nothing is done if no file is open. Note
+     * that the file is closed even if not all its slices are written, in which
+     * case an exception is thrown.
+     * 
+     * @throws IOException           in case of IO issues.
+     * @throws IllegalStateException if not all the slices of the image are
+     *                               written.
+     */
+    public void finish() throws IOException;
+
+    /**
+     * Close any resources associated with the writer.
+     * 
+     * @throws IOException
+     */
+    public void close() throws IOException;
+
+}
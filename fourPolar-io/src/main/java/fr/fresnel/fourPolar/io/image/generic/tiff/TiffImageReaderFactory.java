@@ -5,9 +5,12 @@ import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
 import fr.fresnel.fourPolar.io.image.generic.ImageReader;
+import fr.fresnel.fourPolar.io.image.generic.ImageSliceReader;
 import fr.fresnel.fourPolar.io.image.generic.tiff.scifio.SCIFIOFloat32TiffReader;
 import fr.fresnel.fourPolar.io.image.generic.tiff.scifio.SCIFIORGB16TiffReader;
+import fr.fresnel.fourPolar.io.image.generic.tiff.scifio.SCIFIOUINT16CachedTiffReader;
 import fr.fresnel.fourPolar.io.image.generic.tiff.scifio.SCIFIOUINT16TiffReader;
+import fr.fresnel.fourPolar.io.image.generic.tiff.scifio.SCIFIOUINT16TiffSliceReader;
 
 /**
  * A factory to get a proper writer for the given implementation of
@@ -43,4 +46,58 @@ public class TiffImageReaderFactory {
         return reader;
     }
 
-}
\ No newline at end of file
+    /**
+     * A factory to get a proper cached reader, which loads the planes of an image
+     * only when they're accessed, and keeps at most the given number of planes
+     * of each image in the memory. This reader should be preferred for images
+     * that don't fit in the memory.
+     * 
+     * @param <T>             is the {@code PixelType}
+     * @param factory         is the factory for {@code Image}
+     * @param maxCachedPlanes is the maximum number of planes of each image kept in
+     *                        the memory.
+     * 
+     * @throws IllegalArgumentException in case no reader is found for the given
+     *                                  image type.
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends PixelType> ImageReader<T> getCachedReader(ImageFactory factory, T pixelType,
+            long maxCachedPlanes) {
+        ImageReader<T> reader;
+
+        if (factory instanceof ImgLib2ImageFactory && pixelType.getType() == PixelTypes.UINT_16) {
+            reader = (ImageReader<T>) new SCIFIOUINT16CachedTiffReader((ImgLib2ImageFactory) factory,
+                    maxCachedPlanes);
+        } else {
+            throw new IllegalArgumentException("No cached reader was found for the given image type.");
+        }
+
+        return reader;
+    }
+
+    /**
+     * A factory to get a proper slice reader (see {@link ImageSliceReader}). The
+     * slices are read as images created by the given {@code ImageFactory}.
+     * 
+     * @param <T>     is the {@code PixelType}
+     * @param factory is the factory for {@code Image}
+     * 
+     * @throws IllegalArgumentException in case no reader is found for the given
+     *                                  pixel type.
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends PixelType> ImageSliceReader<T> getSliceReader(ImageFactory factory, T pixelType) {
+        ImageSliceReader<T> reader;
+
+        if (pixelType.getType() == PixelTypes.UINT_16) {
+            reader = (ImageSliceReader<T>) new SCIFIOUINT16TiffSliceReader(factory);
+        } else {
+            throw new IllegalArgumentException("No slice reader was found for the given pixel type.");
+        }
+
+        return reader;
+    }
+
+}
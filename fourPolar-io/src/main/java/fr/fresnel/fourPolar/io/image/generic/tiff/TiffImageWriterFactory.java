@@ -5,9 +5,12 @@ import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
 import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
+import fr.fresnel.fourPolar.io.image.generic.ImageSliceWriter;
 import fr.fresnel.fourPolar.io.image.generic.ImageWriter;
 import fr.fresnel.fourPolar.io.image.generic.tiff.ImageJ1.ImageJ1RGB16TiffWriter;
+import fr.fresnel.fourPolar.io.image.generic.tiff.scifio.SCIFIOFloat32TiffSliceWriter;
 import fr.fresnel.fourPolar.io.image.generic.tiff.scifio.SCIFIOFloat32TiffWriter;
+import fr.fresnel.fourPolar.io.image.generic.tiff.scifio.SCIFIOUINT16TiffSliceWriter;
 import fr.fresnel.fourPolar.io.image.generic.tiff.scifio.SCIFIOUINT16TiffWriter;
 
 /**
@@ -59,4 +62,27 @@ public class TiffImageWriterFactory {
         return writer;
     }
 
-}
\ No newline at end of file
+    /**
+     * A factory to get a proper slice writer (see {@link ImageSliceWriter}) for
+     * the given pixel type. The slice writers accept any implementation of
+     * {@code Image}.
+     * 
+     * @throws IllegalArgumentException in case no writer is found for the given
+     *                                  pixel type.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends PixelType> ImageSliceWriter<T> getSliceWriter(T pixelType) {
+        ImageSliceWriter<T> writer;
+
+        if (pixelType.getType() == PixelTypes.UINT_16) {
+            writer = (ImageSliceWriter<T>) new SCIFIOUINT16TiffSliceWriter();
+        } else if (pixelType.getType() == PixelTypes.FLOAT_32) {
+            writer = (ImageSliceWriter<T>) new SCIFIOFloat32TiffSliceWriter();
+        } else {
+            throw new IllegalArgumentException("No slice writer was found for the given pixel type.");
+        }
+
+        return writer;
+    }
+
+}
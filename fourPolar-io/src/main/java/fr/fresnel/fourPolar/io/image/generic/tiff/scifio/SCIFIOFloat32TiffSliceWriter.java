@@ -0,0 +1,32 @@
+package fr.fresnel.fourPolar.io.image.generic.tiff.scifio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+import io.scif.util.FormatTools;
+
+/**
+ * Class for writing float tiffs to disk slice by slice.
+ */
+public class SCIFIOFloat32TiffSliceWriter extends SCIFIOTiffSliceWriter<Float32> {
+    public SCIFIOFloat32TiffSliceWriter() {
+        super();
+    }
+
+    @Override
+    protected byte[] _getPlaneBytes(Image<Float32> slice, long planeIndex, ByteOrder order) {
+        float[] plane = slice.getFloatPlane(planeIndex);
+
+        ByteBuffer buffer = ByteBuffer.allocate(plane.length * Float.BYTES).order(order);
+        buffer.asFloatBuffer().put(plane);
+        return buffer.array();
+    }
+
+    @Override
+    protected int _getSCIFIOPixelType() {
+        return FormatTools.FLOAT;
+    }
+
+}
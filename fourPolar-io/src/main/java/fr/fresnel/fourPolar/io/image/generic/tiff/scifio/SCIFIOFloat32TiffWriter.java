@@ -2,14 +2,18 @@ package fr.fresnel.fourPolar.io.image.generic.tiff.scifio;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Objects;
 
 import fr.fresnel.fourPolar.core.exceptions.image.generic.imgLib2Model.ConverterToImgLib2NotFound;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImageToImgLib2Converter;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
 import fr.fresnel.fourPolar.io.image.generic.ImageWriter;
 import fr.fresnel.fourPolar.io.image.generic.metadata.scifio.SCIFIOTiffMetadataConverter;
+import io.scif.ByteArrayPlane;
 import io.scif.FormatException;
 import io.scif.ImageMetadata;
 import io.scif.config.SCIFIOConfig;
@@ -19,7 +23,8 @@ import io.scif.img.ImgSaver;
 import io.scif.util.FormatTools;
 
 /**
- * Class for writing grayscale tiffs to disk.
+ * Class for writing grayscale tiffs to disk. Images that are not ImgLib2 images
+ * (such as views) are written plane by plane.
  * 
  */
 public class SCIFIOFloat32TiffWriter implements ImageWriter<Float32> {
@@ -51,12 +56,41 @@ public class SCIFIOFloat32TiffWriter implements ImageWriter<Float32> {
 
             this._imgSaver.saveImg(this._writer, ImageToImgLib2Converter.getImg(image, Float32.zero()));
         } catch (ConverterToImgLib2NotFound e) {
+            this._writePlanes(image);
         } catch (FormatException e) {
             // This exception is not caught, because we've used tiff formater.
         }
 
     }
 
+    /**
+     * Writes an image that is not an ImgLib2 image (for example a view) plane by
+     * plane, using {@link Image#getFloatPlane(long)}. Hence, only one plane of the
+     * image is held in the memory at a time.
+     */
+    private void _writePlanes(Image<Float32> image) throws IOException {
+        ImageMetadata imageMetadata = this._writer.getMetadata().get(0);
+        ByteOrder order = imageMetadata.isLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        long[] planeDim = MetadataUtil.getPlaneDim(image.getMetadata());
+
+        try {
+            for (long planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(image.getMetadata()); planeIndex++) {
+                float[] plane = image.getFloatPlane(planeIndex);
+                ByteBuffer buffer = ByteBuffer.allocate(plane.length * Float.BYTES).order(order);
+                buffer.asFloatBuffer().put(plane);
+
+                ByteArrayPlane bytePlane = new ByteArrayPlane(this._imgSaver.context(), imageMetadata, new long[2],
+                        planeDim);
+                bytePlane.setData(buffer.array());
+                this._writer.savePlane(0, planeIndex - 1, bytePlane);
+            }
+        } catch (FormatException e) {
+            throw new IOException("Can't write the plane to the tiff file.");
+        } finally {
+            this._writer.close();
+        }
+    }
+
     @Override
     public void close() throws IOException {
         this._imgSaver.context().dispose();
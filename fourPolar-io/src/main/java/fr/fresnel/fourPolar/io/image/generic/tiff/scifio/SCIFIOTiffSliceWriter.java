@@ -0,0 +1,192 @@
+package fr.fresnel.fourPolar.io.image.generic.tiff.scifio;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelType;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+import fr.fresnel.fourPolar.io.image.generic.ImageSliceWriter;
+import fr.fresnel.fourPolar.io.image.generic.metadata.scifio.SCIFIOTiffMetadataConverter;
+import io.scif.ByteArrayPlane;
+import io.scif.FormatException;
+import io.scif.ImageMetadata;
+import io.scif.SCIFIO;
+import io.scif.config.SCIFIOConfig;
+import io.scif.formats.TIFFFormat.Metadata;
+import io.scif.formats.TIFFFormat.Writer;
+
+/**
+ * Base class for writing tiffs slice by slice using SCIFIO library. Each plane
+ * of a slice is saved as soon as it's given, hence only the current slice is
+ * held in the memory.
+ */
+abstract class SCIFIOTiffSliceWriter<T extends PixelType> implements ImageSliceWriter<T> {
+    final private SCIFIOConfig _config;
+    final private SCIFIO _scifio;
+    final private Writer<Metadata> _writer;
+
+    private boolean _isOpen;
+    private IMetadata _sliceMetadata;
+    private long[] _planeDim;
+    private long _nPlanes;
+
+    /**
+     * The SCIFIO index of the next plane, starting from zero.
+     */
+    private long _nextPlane;
+
+    protected SCIFIOTiffSliceWriter() {
+        this._config = _setSCFIOConfig();
+        this._scifio = new SCIFIO();
+        this._writer = new Writer<>();
+        this._writer.setContext(this._scifio.getContext());
+        this._isOpen = false;
+    }
+
+    @Override
+    public void open(File path, IMetadata metadata) throws IOException {
+        Objects.requireNonNull(path, "path should not be null");
+        Objects.requireNonNull(metadata, "metadata should not be null");
+
+        if (this._isOpen) {
+            throw new IllegalStateException("The previous file is not finished.");
+        }
+        _checkSlicesAreContiguous(metadata);
+
+        SCIFIOUtils.checkExtension(path.getName());
+        SCIFIOUtils.deleteFileIfExists(path);
+
+        Metadata scifioMetadata = this._createSCIFIOMetadata();
+        SCIFIOTiffMetadataConverter.convertTo(metadata, scifioMetadata);
+
+        try {
+            this._writer.setMetadata(scifioMetadata);
+            this._writer.setDest(path.getAbsolutePath(), this._config);
+        } catch (FormatException e) {
+            throw new IOException("Can't open the given tiff file for writing.");
+        }
+
+        this._sliceMetadata = MetadataUtil.createZTSliceMetadata(metadata);
+        this._planeDim = MetadataUtil.getPlaneDim(metadata);
+        this._nPlanes = MetadataUtil.getNPlanes(metadata);
+        this._nextPlane = 0;
+        this._isOpen = true;
+    }
+
+    @Override
+    public void write(Image<T> slice) throws IOException {
+        Objects.requireNonNull(slice, "slice should not be null");
+
+        if (!this._isOpen || this._nextPlane >= this._nPlanes) {
+            throw new IllegalStateException("No file is open, or all slices are already written.");
+        }
+
+        if (!MetadataUtil.isDimensionEqual(slice.getMetadata(), this._sliceMetadata)) {
+            throw new IllegalArgumentException("The slice does not have the same dimension as image slices.");
+        }
+
+        ImageMetadata imageMetadata = this._writer.getMetadata().get(0);
+        ByteOrder order = imageMetadata.isLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+
+        long nSlicePlanes = MetadataUtil.getNPlanes(this._sliceMetadata);
+        for (long slicePlane = 1; slicePlane <= nSlicePlanes; slicePlane++) {
+            ByteArrayPlane plane = new ByteArrayPlane(this._scifio.getContext(), imageMetadata, new long[2],
+                    this._planeDim);
+            plane.setData(this._getPlaneBytes(slice, slicePlane, order));
+
+            try {
+                this._writer.savePlane(0, this._nextPlane++, plane);
+            } catch (FormatException e) {
+                throw new IOException("Can't write the plane to the tiff file.");
+            }
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (!this._isOpen) {
+            return;
+        }
+
+        this._writer.close();
+        this._isOpen = false;
+
+        if (this._nextPlane != this._nPlanes) {
+            throw new IllegalStateException("Not all the slices of the image are written.");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this._isOpen) {
+            this._writer.close();
+            this._isOpen = false;
+        }
+        this._scifio.getContext().dispose();
+    }
+
+    /**
+     * Returns the demanded plane of the slice as bytes, with the given order.
+     * 
+     * @param slice      is the slice.
+     * @param planeIndex is the plane index of the slice, starting from one.
+     * @param order      is the byte order of the tiff file.
+     */
+    protected abstract byte[] _getPlaneBytes(Image<T> slice, long planeIndex, ByteOrder order);
+
+    /**
+     * Returns the SCIFIO pixel type (see {@link io.scif.util.FormatTools}).
+     */
+    protected abstract int _getSCIFIOPixelType();
+
+    /**
+     * Slices are written one after the other, hence the planes of each slice must
+     * be stored contiguously. This is the case if the channel axis (if any) comes
+     * right after the plane axis.
+     */
+    private static void _checkSlicesAreContiguous(IMetadata metadata) {
+        AxisOrder axisOrder = metadata.axisOrder();
+        if (axisOrder == AxisOrder.NoOrder || axisOrder.c_axis > 2) {
+            throw new IllegalArgumentException(
+                    "Slices can only be written when channel axis comes right after the plane axis.");
+        }
+    }
+
+    /**
+     * Sets the configuration for how the image is written.
+     * 
+     * @return
+     */
+    private SCIFIOConfig _setSCFIOConfig() {
+        // For the time being, we use the very basic config.
+        SCIFIOConfig config = new SCIFIOConfig();
+        return config;
+    }
+
+    /**
+     * Create a base metadata, and let axis and axis length be set later.
+     */
+    private Metadata _createSCIFIOMetadata() {
+        Metadata metadata = new Metadata();
+
+        metadata.createImageMetadata(1);
+
+        ImageMetadata imageMetadata = metadata.get(0);
+        imageMetadata.setFalseColor(true);
+        imageMetadata.setPixelType(this._getSCIFIOPixelType());
+        imageMetadata.setPlanarAxisCount(2);
+        imageMetadata.setLittleEndian(false);
+        imageMetadata.setIndexed(false);
+        imageMetadata.setInterleavedAxisCount(0);
+        imageMetadata.setThumbnail(false);
+        imageMetadata.setOrderCertain(true);
+        imageMetadata.setMetadataComplete(true);
+        return metadata;
+    }
+
+}
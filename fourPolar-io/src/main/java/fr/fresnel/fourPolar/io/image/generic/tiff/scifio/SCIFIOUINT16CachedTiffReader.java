@@ -0,0 +1,208 @@
+package fr.fresnel.fourPolar.io.image.generic.tiff.scifio;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+import fr.fresnel.fourPolar.io.image.generic.ImageReader;
+import fr.fresnel.fourPolar.io.image.generic.metadata.scifio.SCIFIOTiffMetadataConverter;
+import io.scif.FormatException;
+import io.scif.ImageMetadata;
+import io.scif.SCIFIO;
+import io.scif.config.SCIFIOConfig;
+import io.scif.formats.TIFFFormat.Metadata;
+import io.scif.formats.TIFFFormat.Reader;
+import io.scif.util.FormatTools;
+import net.imglib2.Cursor;
+import net.imglib2.cache.img.CellLoader;
+import net.imglib2.cache.img.DiskCachedCellImgOptions.CacheType;
+import net.imglib2.cache.img.ReadOnlyCachedCellImgFactory;
+import net.imglib2.cache.img.ReadOnlyCachedCellImgOptions;
+import net.imglib2.cache.img.SingleCellArrayImg;
+import net.imglib2.img.Img;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
+
+/**
+ * This class reads a 16 bit unsigned image lazily using SCIFIO library. Unlike
+ * {@link SCIFIOUINT16TiffReader}, the image is not loaded into the memory.
+ * Instead, each plane of the image is loaded from the disk the first time it's
+ * accessed, and is kept in a cache. The cache holds at most the given number of
+ * planes, and the least recently used planes are evicted first. Hence, images
+ * much larger than the memory can be accessed, for example to create views
+ * over them.
+ * <p>
+ * Note that the images returned by this reader are read only, i.e, changes to
+ * the pixels may be lost once their plane is evicted. Note also that the file
+ * of each image remains open as long as the image is used. The files of the
+ * images read so far are closed by {@link #releaseImages()} or
+ * {@link #close()}, after which the planes of those images that are not in the
+ * cache can no longer be loaded.
+ */
+public class SCIFIOUINT16CachedTiffReader implements ImageReader<UINT16> {
+    final private UnsignedShortType imgLib2Type = new UnsignedShortType();
+    final private SCIFIOConfig _config;
+    final private SCIFIO _scifio;
+    final private ImgLib2ImageFactory _imgFactory;
+    final private ReadOnlyCachedCellImgFactory _cachedImgFactory;
+
+    /**
+     * The plane loaders of the images read since the last release, whose readers
+     * are closed together.
+     */
+    final private List<PlaneLoader> _loaders;
+
+    /**
+     * @param factory         is the ImgLib2 image factory.
+     * @param maxCachedPlanes is the maximum number of planes of each image that
+     *                        are kept in the memory.
+     */
+    public SCIFIOUINT16CachedTiffReader(ImgLib2ImageFactory factory, long maxCachedPlanes) {
+        if (maxCachedPlanes < 1) {
+            throw new IllegalArgumentException("At least one plane must be cached.");
+        }
+
+        this._imgFactory = factory;
+        this._config = _setSCFIOConfig();
+        this._scifio = new SCIFIO();
+        this._loaders = new ArrayList<>();
+
+        this._cachedImgFactory = new ReadOnlyCachedCellImgFactory(
+                ReadOnlyCachedCellImgOptions.options().cacheType(CacheType.BOUNDED).maxCacheSize(maxCachedPlanes));
+    }
+
+    @Override
+    public Image<UINT16> read(File path) throws IOException {
+        Objects.requireNonNull(path, "path should not be null");
+        SCIFIOUtils.checkExtension(path.getName());
+        SCIFIOUtils.checkFileExists(path);
+
+        Reader<Metadata> reader = new Reader<>();
+        reader.setContext(this._scifio.getContext());
+        reader.setSource(path.getAbsolutePath(), this._config);
+
+        ImageMetadata imageMetadata = reader.getMetadata().get(0);
+        if (imageMetadata.getPixelType() != FormatTools.UINT16) {
+            reader.close();
+            throw new IOException("The given tiff file is not a 16 bit unsigned image.");
+        }
+
+        final IMetadata metadata = SCIFIOTiffMetadataConverter.convertFrom(imageMetadata);
+        final PlaneLoader loader = new PlaneLoader(reader, metadata);
+        this._loaders.add(loader);
+
+        final Img<UnsignedShortType> img = this._cachedImgFactory.create(metadata.getDim(), imgLib2Type, loader,
+                _getPlaneCellOptions(metadata));
+
+        return this._imgFactory.create(img, imgLib2Type, metadata);
+    }
+
+    /**
+     * Closes the files of all the images read so far. Planes of these images that
+     * are not in the cache can no longer be loaded, hence this method must only be
+     * called once the images are no longer needed. The reader can still read new
+     * images.
+     * 
+     * @throws IOException in case of IO issues.
+     */
+    public void releaseImages() throws IOException {
+        for (PlaneLoader loader : this._loaders) {
+            loader.close();
+        }
+        this._loaders.clear();
+    }
+
+    /**
+     * @return the number of images whose file is still open.
+     */
+    int numOpenImages() {
+        return this._loaders.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.releaseImages();
+        this._scifio.getContext().dispose();
+    }
+
+    /**
+     * Each cell of the cached image is one plane.
+     */
+    private static ReadOnlyCachedCellImgOptions _getPlaneCellOptions(IMetadata metadata) {
+        int[] cellDim = new int[metadata.getDim().length];
+        cellDim[0] = (int) metadata.getDim()[0];
+        cellDim[1] = (int) metadata.getDim()[1];
+        for (int dim = 2; dim < cellDim.length; dim++) {
+            cellDim[dim] = 1;
+        }
+
+        return ReadOnlyCachedCellImgOptions.options().cellDimensions(cellDim);
+    }
+
+    /**
+     * Sets the configuration for how the image is opened.
+     * 
+     * @return
+     */
+    private SCIFIOConfig _setSCFIOConfig() {
+        // For the time being, we use the very basic config.
+        SCIFIOConfig config = new SCIFIOConfig();
+        return config;
+    }
+
+    /**
+     * Loads a plane of the image from the disk into a cell of the cached image,
+     * until the reader of the image is closed.
+     */
+    private static class PlaneLoader implements CellLoader<UnsignedShortType> {
+        private Reader<Metadata> _reader;
+        private final IMetadata _metadata;
+        private final ByteOrder _order;
+
+        public PlaneLoader(Reader<Metadata> reader, IMetadata metadata) {
+            this._reader = reader;
+            this._metadata = metadata;
+            this._order = reader.getMetadata().get(0).isLittleEndian() ? ByteOrder.LITTLE_ENDIAN
+                    : ByteOrder.BIG_ENDIAN;
+        }
+
+        @Override
+        public void load(SingleCellArrayImg<UnsignedShortType, ?> cell) throws IOException, FormatException {
+            long[] position = new long[cell.numDimensions()];
+            cell.min(position);
+            long planeIndex = MetadataUtil.getPlaneIndex(this._metadata, position);
+
+            byte[] bytes;
+            // SCIFIO readers are not thread safe, and cells may be loaded concurrently.
+            synchronized (this) {
+                if (this._reader == null) {
+                    throw new IOException("The image is released, hence its planes can't be loaded.");
+                }
+                bytes = this._reader.openPlane(0, planeIndex - 1).getBytes();
+            }
+
+            ShortBuffer plane = ByteBuffer.wrap(bytes).order(this._order).asShortBuffer();
+            for (Cursor<UnsignedShortType> cursor = cell.cursor(); cursor.hasNext();) {
+                cursor.next().set(plane.get() & 0xffff);
+            }
+        }
+
+        public synchronized void close() throws IOException {
+            if (this._reader != null) {
+                this._reader.close();
+                this._reader = null;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,169 @@
+package fr.fresnel.fourPolar.io.image.generic.tiff.scifio;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+import fr.fresnel.fourPolar.io.image.generic.ImageSliceReader;
+import fr.fresnel.fourPolar.io.image.generic.metadata.scifio.SCIFIOTiffMetadataConverter;
+import io.scif.FormatException;
+import io.scif.ImageMetadata;
+import io.scif.SCIFIO;
+import io.scif.config.SCIFIOConfig;
+import io.scif.formats.TIFFFormat.Metadata;
+import io.scif.formats.TIFFFormat.Reader;
+import io.scif.util.FormatTools;
+
+/**
+ * This class reads a 16 bit unsigned image slice by slice using SCIFIO library.
+ * Only the planes of the demanded slice are read from the disk, and are then
+ * copied to an image created with the given {@link ImageFactory}.
+ */
+public class SCIFIOUINT16TiffSliceReader implements ImageSliceReader<UINT16> {
+    final private SCIFIOConfig _config;
+    final private SCIFIO _scifio;
+    final private ImageFactory _factory;
+
+    final private Map<File, Reader<Metadata>> _readers;
+    final private Map<File, IMetadata> _metadata;
+
+    public SCIFIOUINT16TiffSliceReader(ImageFactory factory) {
+        this._factory = Objects.requireNonNull(factory, "factory should not be null");
+        this._config = _setSCFIOConfig();
+        this._scifio = new SCIFIO();
+
+        this._readers = new HashMap<>();
+        this._metadata = new HashMap<>();
+    }
+
+    @Override
+    public IMetadata getMetadata(File path) throws IOException {
+        Objects.requireNonNull(path, "path should not be null");
+        this._openFile(path);
+
+        return this._metadata.get(path);
+    }
+
+    @Override
+    public Image<UINT16> read(File path, long z, long t) throws IOException {
+        IMetadata metadata = this.getMetadata(path);
+        if (metadata.axisOrder() == AxisOrder.NoOrder) {
+            throw new IOException("Can't read slices of an image with undefined axis order.");
+        }
+
+        Reader<Metadata> reader = this._readers.get(path);
+        IMetadata sliceMetadata = MetadataUtil.createZTSliceMetadata(metadata);
+        Image<UINT16> slice = this._factory.create(sliceMetadata, UINT16.zero());
+
+        long nSlicePlanes = MetadataUtil.getNPlanes(sliceMetadata);
+        for (long slicePlane = 1; slicePlane <= nSlicePlanes; slicePlane++) {
+            long[] position = MetadataUtil.getPlaneCoordinates(sliceMetadata, slicePlane)[0];
+            _setPosition(position, metadata.axisOrder().z_axis, z);
+            _setPosition(position, metadata.axisOrder().t_axis, t);
+
+            long planeIndex = MetadataUtil.getPlaneIndex(metadata, position);
+            slice.setPlane(slicePlane, this._readPlane(reader, planeIndex - 1));
+        }
+
+        return slice;
+    }
+
+    @Override
+    public void close(File path) throws IOException {
+        Reader<Metadata> reader = this._readers.remove(path);
+        this._metadata.remove(path);
+
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Reader<Metadata> reader : this._readers.values()) {
+            reader.close();
+        }
+        this._readers.clear();
+        this._metadata.clear();
+
+        this._scifio.getContext().dispose();
+    }
+
+    /**
+     * Opens the file if it's not already opened, and caches its metadata.
+     */
+    private void _openFile(File path) throws IOException {
+        if (this._readers.containsKey(path)) {
+            return;
+        }
+
+        SCIFIOUtils.checkExtension(path.getName());
+        SCIFIOUtils.checkFileExists(path);
+
+        Reader<Metadata> reader = new Reader<>();
+        reader.setContext(this._scifio.getContext());
+        reader.setSource(path.getAbsolutePath(), this._config);
+
+        ImageMetadata imageMetadata = reader.getMetadata().get(0);
+        if (imageMetadata.getPixelType() != FormatTools.UINT16) {
+            reader.close();
+            throw new IOException("The given tiff file is not a 16 bit unsigned image.");
+        }
+
+        this._readers.put(path, reader);
+        this._metadata.put(path, SCIFIOTiffMetadataConverter.convertFrom(imageMetadata));
+    }
+
+    /**
+     * Sets the position of the axis, if it exists in the image.
+     */
+    private static void _setPosition(long[] position, int axis, long value) {
+        if (axis > 0) {
+            position[axis] = value;
+        } else if (value != 0) {
+            throw new IndexOutOfBoundsException("The image does not have the demanded axis.");
+        }
+    }
+
+    /**
+     * Reads the plane with the given SCIFIO index (starting from zero) as unsigned
+     * shorts.
+     */
+    private short[] _readPlane(Reader<Metadata> reader, long planeIndex) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = reader.openPlane(0, planeIndex).getBytes();
+        } catch (FormatException e) {
+            throw new IOException("The plane of the given tiff file can't be read.");
+        }
+
+        ByteOrder order = reader.getMetadata().get(0).isLittleEndian() ? ByteOrder.LITTLE_ENDIAN
+                : ByteOrder.BIG_ENDIAN;
+
+        short[] plane = new short[bytes.length / Short.BYTES];
+        ByteBuffer.wrap(bytes).order(order).asShortBuffer().get(plane);
+        return plane;
+    }
+
+    /**
+     * Sets the configuration for how the image is opened.
+     * 
+     * @return
+     */
+    private SCIFIOConfig _setSCFIOConfig() {
+        // For the time being, we use the very basic config.
+        SCIFIOConfig config = new SCIFIOConfig();
+        return config;
+    }
+
+}
@@ -0,0 +1,32 @@
+package fr.fresnel.fourPolar.io.image.generic.tiff.scifio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import io.scif.util.FormatTools;
+
+/**
+ * Class for writing grayscale tiffs to disk slice by slice.
+ */
+public class SCIFIOUINT16TiffSliceWriter extends SCIFIOTiffSliceWriter<UINT16> {
+    public SCIFIOUINT16TiffSliceWriter() {
+        super();
+    }
+
+    @Override
+    protected byte[] _getPlaneBytes(Image<UINT16> slice, long planeIndex, ByteOrder order) {
+        short[] plane = slice.getShortPlane(planeIndex);
+
+        ByteBuffer buffer = ByteBuffer.allocate(plane.length * Short.BYTES).order(order);
+        buffer.asShortBuffer().put(plane);
+        return buffer.array();
+    }
+
+    @Override
+    protected int _getSCIFIOPixelType() {
+        return FormatTools.UINT16;
+    }
+
+}
@@ -0,0 +1,86 @@
+package fr.fresnel.fourPolar.io.image.orientation;
+
+import fr.fresnel.fourPolar.core.physics.dipole.IOrientationVector;
+import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
+
+/**
+ * Quantises the orientation angles to the 16 bit codes of the compact
+ * orientation image, and back. An angle in [0, MAX] (where MAX is the maximum
+ * of the angle as defined in {@link IOrientationVector}) is linearly mapped to
+ * a code in [0, 65534], and NaN (i.e, an undefined orientation) is stored with
+ * the explicit code 65535. Angles that are slightly outside [0, MAX] (within
+ * {@link IOrientationVector#ERR_Angle}) are clamped to the interval.
+ * <p>
+ * Hence, the maximum error of a decoded angle is half a quantisation step (plus
+ * the float rounding of the decoded angle), i.e, MAX / (2 * 65534), which is
+ * 2.4e-5 rad (0.0014 degree) for rho and delta, and 1.2e-5 rad (0.0007 degree)
+ * for eta. See {@link #getMaxError(OrientationAngle)}.
+ */
+class CompactOrientationAngleCodec {
+    /**
+     * The code of an undefined (NaN) angle.
+     */
+    public static final int NaN_CODE = 65535;
+
+    /**
+     * The code of the maximum of each angle.
+     */
+    public static final int MAX_CODE = 65534;
+
+    private CompactOrientationAngleCodec() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Encodes the given plane of angles (in radian) into the given plane of codes.
+     */
+    public static void encode(OrientationAngle angle, float[] angles, short[] codes) {
+        double maxAngle = _getMaxAngle(angle);
+        for (int i = 0; i < angles.length; i++) {
+            if (Float.isNaN(angles[i])) {
+                codes[i] = (short) NaN_CODE;
+            } else {
+                double normalized = Math.min(Math.max(angles[i] / maxAngle, 0), 1);
+                codes[i] = (short) Math.round(normalized * MAX_CODE);
+            }
+        }
+    }
+
+    /**
+     * Decodes the given plane of codes into the given plane of angles (in
+     * radian).
+     */
+    public static void decode(OrientationAngle angle, short[] codes, float[] angles) {
+        double step = _getMaxAngle(angle) / MAX_CODE;
+        for (int i = 0; i < codes.length; i++) {
+            int code = codes[i] & 0xffff;
+            angles[i] = code == NaN_CODE ? Float.NaN : (float) (code * step);
+        }
+    }
+
+    /**
+     * Returns the maximum error (in radian) of a decoded angle with respect to
+     * the encoded angle.
+     */
+    public static double getMaxError(OrientationAngle angle) {
+        double maxAngle = _getMaxAngle(angle);
+        return maxAngle / (2 * MAX_CODE) + Math.ulp((float) maxAngle);
+    }
+
+    private static double _getMaxAngle(OrientationAngle angle) {
+        switch (angle) {
+            case rho:
+                return IOrientationVector.MAX_Rho;
+
+            case delta:
+                return IOrientationVector.MAX_Delta;
+
+            case eta:
+                return IOrientationVector.MAX_Eta;
+
+            default:
+                throw new AssertionError("Unknown orientation angle.");
+        }
+    }
+
+}
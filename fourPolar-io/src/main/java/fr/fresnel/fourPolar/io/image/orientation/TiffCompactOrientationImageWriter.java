@@ -0,0 +1,94 @@
+package fr.fresnel.fourPolar.io.image.orientation;
+
+import java.io.File;
+import java.io.IOException;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
+import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+import fr.fresnel.fourPolar.io.image.generic.ImageSliceWriter;
+import fr.fresnel.fourPolar.io.image.generic.tiff.TiffImageWriterFactory;
+import fr.fresnel.fourPolar.io.image.orientation.file.TiffCompactOrientationImageFile;
+
+/**
+ * An implementation of {@link IOrientationImageWriter} that writes the
+ * orientation image in a compact format. The angles are quantised to 16 bit
+ * codes (see {@link CompactOrientationAngleCodec} for the maximum angular
+ * error), and are interleaved as the three channels (rho, delta, eta) of a
+ * single UINT16 tiff file (see {@link TiffCompactOrientationImageFile}). Hence,
+ * the file is half the size of the three float tiffs written by
+ * {@link TiffOrientationImageWriter}.
+ * <p>
+ * The file is written one z-t slice at a time, hence no copy of the
+ * orientation image is created. The compact file can be read transparently
+ * using {@link TiffOrientationImageReader}.
+ */
+public class TiffCompactOrientationImageWriter implements IOrientationImageWriter {
+    private final ImageSliceWriter<UINT16> _writer;
+
+    /**
+     * Initialize the writer. The same class can write several orientation images to
+     * the disk.
+     */
+    public TiffCompactOrientationImageWriter() {
+        _writer = TiffImageWriterFactory.getSliceWriter(UINT16.zero());
+    }
+
+    @Override
+    public void write(File root4PProject, IOrientationImage orientationImage) throws IOException {
+        TiffCompactOrientationImageFile compactFile = new TiffCompactOrientationImageFile(root4PProject,
+                orientationImage.getCapturedSet(), orientationImage.channel());
+
+        Image<Float32> rhoImage = orientationImage.getAngleImage(OrientationAngle.rho).getImage();
+        IMetadata compactMetadata = _createCompactMetadata(rhoImage.getMetadata());
+        Image<UINT16> slice = rhoImage.getFactory().create(MetadataUtil.createZTSliceMetadata(compactMetadata),
+                UINT16.zero());
+        short[] codes = new short[(int) MetadataUtil.getPlaneSize(compactMetadata)];
+
+        _writer.open(compactFile.getFile(), compactMetadata);
+        for (long planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(rhoImage.getMetadata()); planeIndex++) {
+            for (OrientationAngle angle : OrientationAngle.values()) {
+                float[] anglePlane = orientationImage.getAngleImage(angle).getImage().getFloatPlane(planeIndex);
+                CompactOrientationAngleCodec.encode(angle, anglePlane, codes);
+                slice.setPlane(angle.ordinal() + 1, codes);
+            }
+            _writer.write(slice);
+        }
+        _writer.finish();
+    }
+
+    /**
+     * The codes of the compact file don't depend on the unit of the angles, hence
+     * the same compact file as {@link #write(File, IOrientationImage)} is written,
+     * which is read back in radian.
+     */
+    @Override
+    public void writeInDegrees(File root4PProject, IOrientationImage orientationImage) throws IOException {
+        this.write(root4PProject, orientationImage);
+    }
+
+    @Override
+    public void close() throws IOException {
+        _writer.close();
+    }
+
+    /**
+     * The compact image has the same dimension as the angle images, with three
+     * channels.
+     */
+    private IMetadata _createCompactMetadata(IMetadata angleMetadata) {
+        long[] dim = angleMetadata.getDim();
+        dim[AxisOrder.XYCZT.c_axis] = OrientationAngle.values().length;
+
+        return new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).bitPerPixel(PixelTypes.UINT_16)
+                .build();
+    }
+
+}
@@ -7,29 +7,49 @@ import java.util.HashMap;
 import fr.fresnel.fourPolar.algorithm.util.image.orientation.OrientationAngleConverter;
 import fr.fresnel.fourPolar.core.exceptions.image.orientation.CannotFormOrientationImage;
 import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
 import fr.fresnel.fourPolar.core.image.generic.Image;
 import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.image.orientation.IAngleImage;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
 import fr.fresnel.fourPolar.core.image.orientation.OrientationImageFactory;
 import fr.fresnel.fourPolar.core.physics.channel.ChannelUtils;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
 import fr.fresnel.fourPolar.core.util.image.generic.metadata.axis.AxisReassigner;
 import fr.fresnel.fourPolar.io.image.generic.ImageReader;
+import fr.fresnel.fourPolar.io.image.generic.ImageSliceReader;
 import fr.fresnel.fourPolar.io.image.generic.tiff.TiffImageReaderFactory;
 import fr.fresnel.fourPolar.io.image.orientation.file.IOrientationImageFileSet;
+import fr.fresnel.fourPolar.io.image.orientation.file.TiffCompactOrientationImageFile;
 import fr.fresnel.fourPolar.io.image.orientation.file.TiffOrientationImageFileSet;
 import fr.fresnel.fourPolar.io.image.orientation.file.TiffOrientationImageInDegreeFileSet;
 
 /**
  * A concrete implementation of {@link IOrientationImageReader} to read tiff
  * orientation images.
+ * <p>
+ * If the float tiff of an angle image does not exist, but the compact
+ * orientation image written by {@link TiffCompactOrientationImageWriter} does,
+ * the angle images are decoded from the compact image instead. Hence, either
+ * format is read transparently.
  */
 public class TiffOrientationImageReader implements IOrientationImageReader {
     final private ImageReader<Float32> _reader;
+    final private ImageFactory _factory;
     final private int _numChannels;
 
+    /**
+     * The reader of compact orientation images, which is created on the first
+     * compact image.
+     */
+    private ImageSliceReader<UINT16> _compactReader;
+
     /**
      * Initialize the reader for the provided {@link Image} implementation. The same
      * class can read several orientation images from the disk.
@@ -39,6 +59,7 @@ public class TiffOrientationImageReader implements IOrientationImageReader {
      */
     public TiffOrientationImageReader(ImageFactory factory, int numChannels) {
         _reader = TiffImageReaderFactory.getReader(factory, Float32.zero());
+        _factory = factory;
         _numChannels = numChannels;
     }
 
@@ -47,8 +68,15 @@ public class TiffOrientationImageReader implements IOrientationImageReader {
             throws IOException, CannotFormOrientationImage {
         ChannelUtils.checkChannelExists(channel, this._numChannels);
         TiffOrientationImageFileSet oSet = new TiffOrientationImageFileSet(root4PProject, fileSet, channel);
+        TiffCompactOrientationImageFile compactFile = new TiffCompactOrientationImageFile(root4PProject, fileSet,
+                channel);
 
-        HashMap<OrientationAngle, Image<Float32>> angleImages = this._read(oSet, fileSet);
+        HashMap<OrientationAngle, Image<Float32>> angleImages = null;
+        if (_isCompactImageRead(oSet, compactFile)) {
+            angleImages = this._readCompact(compactFile.getFile());
+        } else {
+            angleImages = this._read(oSet, fileSet);
+        }
         return _createOrientationImage(angleImages.get(OrientationAngle.rho), angleImages.get(OrientationAngle.delta), angleImages.get(OrientationAngle.eta), 
         fileSet, channel);
     }
@@ -59,10 +87,18 @@ public class TiffOrientationImageReader implements IOrientationImageReader {
         ChannelUtils.checkChannelExists(channel, this._numChannels);
         TiffOrientationImageInDegreeFileSet oSet = new TiffOrientationImageInDegreeFileSet(root4PProject, fileSet,
                 channel);
+        TiffCompactOrientationImageFile compactFile = new TiffCompactOrientationImageFile(root4PProject, fileSet,
+                channel);
 
-        HashMap<OrientationAngle, Image<Float32>> angleImages = this._read(oSet, fileSet);
-        for (OrientationAngle angle : OrientationAngle.values()) {
-            _convertDegreeImageToRadian(angleImages.get(angle));
+        // The compact image is decoded in radian.
+        HashMap<OrientationAngle, Image<Float32>> angleImages = null;
+        if (_isCompactImageRead(oSet, compactFile)) {
+            angleImages = this._readCompact(compactFile.getFile());
+        } else {
+            angleImages = this._read(oSet, fileSet);
+            for (OrientationAngle angle : OrientationAngle.values()) {
+                _convertDegreeImageToRadian(angleImages.get(angle));
+            }
         }
 
         return _createOrientationImage(angleImages.get(OrientationAngle.rho), angleImages.get(OrientationAngle.delta), angleImages.get(OrientationAngle.eta), 
@@ -72,6 +108,75 @@ public class TiffOrientationImageReader implements IOrientationImageReader {
     @Override
     public void close() throws IOException {
         _reader.close();
+        if (_compactReader != null) {
+            _compactReader.close();
+        }
+    }
+
+    /**
+     * The compact image is read only if some angle image of the file set is
+     * missing.
+     */
+    private static boolean _isCompactImageRead(IOrientationImageFileSet orientationImageFileSet,
+            TiffCompactOrientationImageFile compactFile) {
+        for (OrientationAngle angle : OrientationAngle.values()) {
+            if (!orientationImageFileSet.getFile(angle).exists()) {
+                return compactFile.getFile().exists();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Decodes the angle images from the compact image, one z-t slice at a time.
+     * Each slice of the compact image holds the codes of rho, delta and eta as its
+     * three channels.
+     */
+    private HashMap<OrientationAngle, Image<Float32>> _readCompact(File compactFile) throws IOException {
+        if (_compactReader == null) {
+            _compactReader = TiffImageReaderFactory.getSliceReader(this._factory, UINT16.zero());
+        }
+
+        try {
+            IMetadata compactMetadata = _compactReader.getMetadata(compactFile);
+            AxisOrder axisOrder = compactMetadata.axisOrder();
+            long[] dim = compactMetadata.getDim();
+            if (axisOrder.c_axis != IAngleImage.AXIS_ORDER.c_axis
+                    || dim[axisOrder.c_axis] != OrientationAngle.values().length) {
+                throw new IOException("compact orientation image " + compactFile.getAbsolutePath() + " must have "
+                        + OrientationAngle.values().length + " channels, one per orientation angle");
+            }
+
+            long nZ = axisOrder.z_axis < 0 ? 1 : dim[axisOrder.z_axis];
+            long nT = axisOrder.t_axis < 0 ? 1 : dim[axisOrder.t_axis];
+            IMetadata angleMetadata = new Metadata.MetadataBuilder(new long[] { dim[0], dim[1], 1, nZ, nT })
+                    .axisOrder(IAngleImage.AXIS_ORDER).bitPerPixel(PixelTypes.FLOAT_32).build();
+
+            HashMap<OrientationAngle, Image<Float32>> angleImages = new HashMap<>();
+            for (OrientationAngle angle : OrientationAngle.values()) {
+                angleImages.put(angle, this._factory.create(angleMetadata, Float32.zero()));
+            }
+
+            float[] anglePlane = new float[(int) MetadataUtil.getPlaneSize(angleMetadata)];
+            for (long t = 0; t < nT; t++) {
+                for (long z = 0; z < nZ; z++) {
+                    Image<UINT16> slice = _compactReader.read(compactFile, z, t);
+                    long planeIndex = t * nZ + z + 1;
+
+                    for (OrientationAngle angle : OrientationAngle.values()) {
+                        CompactOrientationAngleCodec.decode(angle, slice.getShortPlane(angle.ordinal() + 1),
+                                anglePlane);
+                        angleImages.get(angle).setPlane(planeIndex, anglePlane);
+                    }
+                }
+            }
+            return angleImages;
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new IOException("compact orientation image " + compactFile.getAbsolutePath()
+                    + " doesn't exist or is corrupted", e);
+        } finally {
+            _compactReader.close(compactFile);
+        }
     }
 
 
@@ -57,7 +57,7 @@ public class TiffOrientationImageWriter implements IOrientationImageWriter {
         this._createWriter(orientationImage);
 
         for (OrientationAngle angle : OrientationAngle.values()) {
-            Image<Float32> angleImage = this._converAngleImageToDegree(orientationImage, angle);
+            Image<Float32> angleImage = this._viewAngleImageInDegree(orientationImage, angle);
             this._writeAngleImage(angleImage, oSet.getFile(angle));
         }
     }
@@ -66,8 +66,12 @@ public class TiffOrientationImageWriter implements IOrientationImageWriter {
         _writer.write(path, angleImage);
     }
 
-    private Image<Float32> _converAngleImageToDegree(IOrientationImage orientationImage, OrientationAngle angle) {
-        return OrientationAngleConverter.convertToDegree(orientationImage, angle);
+    /**
+     * The angles are converted plane by plane as they're written, hence no degree
+     * image is created.
+     */
+    private Image<Float32> _viewAngleImageInDegree(IOrientationImage orientationImage, OrientationAngle angle) {
+        return OrientationAngleConverter.viewInDegree(orientationImage, angle);
     }
 
     /**
@@ -0,0 +1,45 @@
+package fr.fresnel.fourPolar.io.image.orientation.file;
+
+import java.io.File;
+
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
+import fr.fresnel.fourPolar.io.PathFactoryOfProject;
+
+/**
+ * The file of the compact orientation image, where the three angles are stored
+ * as the channels of a single tiff file. The path is as described in
+ * {@link PathFactoryOfProject#getFolder_OrientationImages()} +
+ * Orientation_Compact.tif, which is in the same folder as the files of
+ * {@link TiffOrientationImageFileSet}.
+ */
+public class TiffCompactOrientationImageFile {
+    private final static String _extension = "tif";
+    private final File _file;
+    private final int _channel;
+
+    public TiffCompactOrientationImageFile(File root4PProject, ICapturedImageFileSet fileSet, int channel) {
+        File parentFolder = OrientationImageFileSetUtils.getParentFolder(root4PProject, channel, fileSet);
+
+        if (!parentFolder.exists()) {
+            parentFolder.mkdirs();
+        }
+
+        this._file = new File(parentFolder, "Orientation_Compact" + "." + _extension);
+        this._channel = channel;
+    }
+
+    /**
+     * Returns the file of the compact orientation image.
+     */
+    public File getFile() {
+        return this._file;
+    }
+
+    /**
+     * Returns the channel of the orientation image.
+     */
+    public int getChannel() {
+        return this._channel;
+    }
+
+}
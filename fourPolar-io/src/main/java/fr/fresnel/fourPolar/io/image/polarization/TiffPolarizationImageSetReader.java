@@ -46,7 +46,7 @@ public class TiffPolarizationImageSetReader implements IPolarizationImageSetRead
         IPolarizationImageFileSet polFileSet = _createPolarizationImageFileSet(root4PProject, fileSet, channel);
         HashMap<Polarization, Image<UINT16>> polImages = _readPolarizationImageSet(polFileSet);
 
-        return new PolarizationImageSetBuilder(this._numChannels).channel(1).fileSet(fileSet)
+        return new PolarizationImageSetBuilder(this._numChannels).channel(channel).fileSet(fileSet)
                 .pol0(polImages.get(Polarization.pol0)).pol45(polImages.get(Polarization.pol45))
                 .pol90(polImages.get(Polarization.pol90)).pol135(polImages.get(Polarization.pol135)).build();
     }
@@ -2,8 +2,10 @@ package fr.fresnel.fourPolar.io.image.vector.svg;
 
 import fr.fresnel.fourPolar.core.image.vector.VectorImageFactory;
 import fr.fresnel.fourPolar.core.image.vector.batikModel.BatikVectorImageFactory;
+import fr.fresnel.fourPolar.core.image.vector.streamModel.SVGStreamVectorImageFactory;
 import fr.fresnel.fourPolar.io.image.vector.VectorImageWriter;
 import fr.fresnel.fourPolar.io.image.vector.svg.batik.BatikSVGVectorImageWriter;
+import fr.fresnel.fourPolar.io.image.vector.svg.stream.SVGStreamVectorImageWriter;
 
 /**
  * An static factory for creating SVG writers.
@@ -25,6 +27,8 @@ public class SVGVectorImageWriterFactory {
     public static VectorImageWriter getWriter(VectorImageFactory factory) {
         if (factory instanceof BatikVectorImageFactory) {
             return new BatikSVGVectorImageWriter();
+        } else if (factory instanceof SVGStreamVectorImageFactory) {
+            return new SVGStreamVectorImageWriter();
         } else {
             throw new IllegalArgumentException("No reader is implemented for the given vector image type.");
         }
@@ -12,8 +12,11 @@ import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
  * name would be equal to image name. Otherwise, the axis order starting from
  * first axis after xy together with coordinate is added (e.g.
  * imageName_z000_t000.svg for xyzt axis order).
+ * <p>
+ * All svg writers use this naming, so that any svg image can be read back by
+ * the batik reader.
  */
-class BatikSVGVectorImagePathCreator {
+public class BatikSVGVectorImagePathCreator {
     private final static DecimalFormat _DECIMAL_FORMATTER = new DecimalFormat("000");
     private final static int _XY_AXIS_OFFSET = 2;
 
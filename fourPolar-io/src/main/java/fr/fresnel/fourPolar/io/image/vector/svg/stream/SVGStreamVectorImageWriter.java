@@ -0,0 +1,156 @@
+package fr.fresnel.fourPolar.io.image.vector.svg.stream;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Objects;
+
+import fr.fresnel.fourPolar.core.image.ImagePlaneAccessor;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.vector.VectorImage;
+import fr.fresnel.fourPolar.core.image.vector.streamModel.accessors.SVGStreamImagePlaneAccessor;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+import fr.fresnel.fourPolar.io.exceptions.image.generic.metadata.MetadataIOIssues;
+import fr.fresnel.fourPolar.io.exceptions.image.vector.VectorImageIOIssues;
+import fr.fresnel.fourPolar.io.image.generic.metadata.IMetadataWriter;
+import fr.fresnel.fourPolar.io.image.generic.metadata.json.IMetadataToYAML;
+import fr.fresnel.fourPolar.io.image.vector.VectorImageWriter;
+import fr.fresnel.fourPolar.io.image.vector.svg.batik.BatikSVGVectorImagePathCreator;
+
+/**
+ * Using this class, we can write a streaming svg {@link VectorImage} to the
+ * disk as svg. The svg elements of each plane are already written as text by
+ * the image, hence each plane is written by wrapping its elements in the svg
+ * document element, with no DOM or transcoding involved.
+ * <p>
+ * The planes and the metadata are written with the same naming as
+ * {@link fr.fresnel.fourPolar.io.image.vector.svg.batik.BatikSVGVectorImageWriter},
+ * hence the written image can be read with the batik reader.
+ * <p>
+ * The writer doesn't dispose the image, hence an image can be written several
+ * times. It's up to the owner of the image to delete its spool files once it's
+ * written (see {@link SVGStreamImagePlaneAccessor#dispose(VectorImage)}). A
+ * disposed image can't be written.
+ */
+public class SVGStreamVectorImageWriter implements VectorImageWriter {
+    private static final String _XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n";
+    private static final String _SVG_START = "<svg xmlns=\"http://www.w3.org/2000/svg\" "
+            + "xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"%d\" height=\"%d\">";
+    private static final String _SVG_END = "</svg>\n";
+
+    private static final int _BUFFER_SIZE = 1 << 16;
+
+    private final IMetadataWriter _metadataToYaml;
+
+    /**
+     * Instantiate writer, setting its metadata writer to {@link IMetadataToYAML}.
+     */
+    public SVGStreamVectorImageWriter() {
+        _metadataToYaml = new IMetadataToYAML();
+    }
+
+    /**
+     * Instantiate class by providing a metadata writer.
+     * 
+     * @param metadataWriter is the metadata writer interface.
+     */
+    public SVGStreamVectorImageWriter(IMetadataWriter metadataWriter) {
+        _metadataToYaml = metadataWriter;
+    }
+
+    @Override
+    public void write(File root, String imageName, VectorImage vectorImage) throws VectorImageIOIssues {
+        Objects.requireNonNull(root, "root can't be null");
+        Objects.requireNonNull(imageName, "imageName can't be null");
+        Objects.requireNonNull(vectorImage, "vectorImage can't be null");
+
+        if (vectorImage.metadata().axisOrder() == AxisOrder.NoOrder) {
+            throw new VectorImageIOIssues("Can't write a vector image with no axis-order.");
+        }
+
+        ImagePlaneAccessor<File> planeAccesser;
+        try {
+            planeAccesser = SVGStreamImagePlaneAccessor.get(vectorImage);
+        } catch (ClassCastException e) {
+            throw new VectorImageIOIssues("The given vector image is not a streaming svg image.");
+        }
+
+        if (SVGStreamImagePlaneAccessor.isDisposed(vectorImage)) {
+            throw new VectorImageIOIssues("Can't write a disposed streaming svg image.");
+        }
+
+        _createRootFolder(root);
+
+        long[] planeDim = MetadataUtil.getPlaneDim(vectorImage.metadata());
+        byte[] svgStart = String.format(_SVG_START, planeDim[0], planeDim[1]).getBytes(StandardCharsets.UTF_8);
+
+        BatikSVGVectorImagePathCreator pathCreator = new BatikSVGVectorImagePathCreator(vectorImage.metadata(), root,
+                imageName);
+        for (int planeIndex = 1; planeIndex <= planeAccesser.numPlanes(); planeIndex++) {
+            File imagePath = pathCreator.createPlaneImageFile(planeIndex);
+            _writePlane(_getPlaneElements(planeAccesser, planeIndex), svgStart, imagePath);
+        }
+
+        _writeMetadataAsYaml(vectorImage.metadata(), root, imageName);
+    }
+
+    /**
+     * Returns the spool file that holds the elements of the plane.
+     */
+    private File _getPlaneElements(ImagePlaneAccessor<File> planeAccesser, int planeIndex)
+            throws VectorImageIOIssues {
+        try {
+            return planeAccesser.getImagePlane(planeIndex).getPlane();
+        } catch (IllegalStateException e) {
+            throw new VectorImageIOIssues("Can't write the elements of plane " + planeIndex + " to its spool file.");
+        }
+    }
+
+    /**
+     * Write the elements of the plane inside the svg document element to the
+     * specified path.
+     */
+    private void _writePlane(File planeElements, byte[] svgStart, File path) throws VectorImageIOIssues {
+        if (path.exists()) {
+            path.delete();
+        }
+
+        try (OutputStream os = new BufferedOutputStream(new FileOutputStream(path), _BUFFER_SIZE)) {
+            os.write(_XML_DECLARATION.getBytes(StandardCharsets.UTF_8));
+            os.write(svgStart);
+            Files.copy(planeElements.toPath(), os);
+            os.write(_SVG_END.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new VectorImageIOIssues("Can't write svg document to disk.");
+        }
+    }
+
+    private void _writeMetadataAsYaml(IMetadata metadata, File root, String imageName) throws VectorImageIOIssues {
+        try {
+            _metadataToYaml.write(metadata, root, imageName);
+        } catch (MetadataIOIssues e) {
+            throw new VectorImageIOIssues("Can't write metadata to disk");
+        }
+    }
+
+    private void _createRootFolder(File root) {
+        if (!root.exists()) {
+            root.mkdirs();
+        }
+    }
+
+    @Override
+    public void close() throws VectorImageIOIssues {
+        try {
+            _metadataToYaml.close();
+        } catch (MetadataIOIssues e) {
+            throw new VectorImageIOIssues("Can't close writer resources.");
+        }
+    }
+
+}
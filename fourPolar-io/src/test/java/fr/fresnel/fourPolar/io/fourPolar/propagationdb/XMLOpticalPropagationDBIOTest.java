@@ -1,9 +1,13 @@
 package fr.fresnel.fourPolar.io.fourPolar.propagationdb;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.io.IOException;
 
 import org.junit.jupiter.api.Test;
 
+import fr.fresnel.fourPolar.core.exceptions.fourPolar.propagationdb.PropagationChannelNotInDatabase;
+import fr.fresnel.fourPolar.core.fourPolar.propagationdb.IOpticalPropagationDB;
 import fr.fresnel.fourPolar.core.physics.channel.IChannel;
 import fr.fresnel.fourPolar.core.physics.channel.Channel;
 import fr.fresnel.fourPolar.core.physics.dipole.DipoleSquaredComponent;
@@ -42,6 +46,33 @@ public class XMLOpticalPropagationDBIOTest {
 
     }
 
+    @Test
+    public void read_TwiceWithoutModification_ReturnsSameDataBase() throws IOException {
+        XMLOpticalPropagationDBIO dbIO = new XMLOpticalPropagationDBIO();
+
+        assertTrue(dbIO.read() == new XMLOpticalPropagationDBIO().read());
+    }
+
+    @Test
+    public void read_AfterWrite_ReturnsWrittenDataBase() throws IOException, PropagationChannelNotInDatabase {
+        XMLOpticalPropagationDBIO dbIO = new XMLOpticalPropagationDBIO();
+        IOpticalPropagationDB originalDB = dbIO.read();
+
+        Channel channel = new Channel(3e-9, 1, 2, 3, 4);
+        NumericalAperture na = new NumericalAperture(5, 6, 7, 8);
+        XMLOpticalPropagationDB db = new XMLOpticalPropagationDB();
+        db.add(createOpticalPropagation(channel, na, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16));
+        dbIO.write(db);
+
+        IOpticalPropagationDB writtenDB = dbIO.read();
+        writtenDB.search(channel, na);
+
+        // Restore the database for other tests.
+        dbIO.write(originalDB);
+
+        assertTrue(writtenDB != originalDB);
+    }
+
     private IOpticalPropagation createOpticalPropagation(IChannel channel, INumericalAperture na, double xx_0, double xx_45,
             double xx_90, double xx_135, double yy_0, double yy_45, double yy_90, double yy_135, double zz_0,
             double zz_45, double zz_90, double zz_135, double xy_0, double xy_45, double xy_90, double xy_135) {
@@ -67,6 +67,45 @@ public class XMLOpticalPropagationDBTest {
 
     }
 
+    @Test
+    public void search_EqualChannelAndNAInstances_ReturnsSamePropagation() throws PropagationChannelNotInDatabase {
+        Channel channel1 = new Channel(1e-9, 1, 2, 3, 4);
+        NumericalAperture na1 = new NumericalAperture(5, 6, 7, 8);
+        IOpticalPropagation propagation1 = createOpticalPropagation(channel1, na1, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13,
+                14, 15, 16);
+
+        XMLOpticalPropagationDB db = new XMLOpticalPropagationDB();
+        db.add(propagation1);
+
+        IOpticalPropagation propDb1 = db.search(new Channel(1e-9, 1, 2, 3, 4), new NumericalAperture(5, 6, 7, 8));
+        IOpticalPropagation propDb2 = db.search(new Channel(1e-9, 1, 2, 3, 4), new NumericalAperture(5, 6, 7, 8));
+
+        assertTrue(propDb1 == propDb2);
+    }
+
+    @Test
+    public void search_PropagationAddedAfterSearch_ReturnsAddedPropagation()
+            throws PropagationChannelNotInDatabase, PropagationFactorNotFound {
+        Channel channel1 = new Channel(1e-9, 1, 2, 3, 4);
+        NumericalAperture na1 = new NumericalAperture(5, 6, 7, 8);
+        IOpticalPropagation propagation1 = createOpticalPropagation(channel1, na1, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13,
+                14, 15, 16);
+
+        Channel channel2 = new Channel(10e-9, 5, 6, 7, 8);
+        IOpticalPropagation propagation2 = createOpticalPropagation(channel2, na1, 0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8,
+                0.9, 0.10, 0.11, 0.12, 0.13, 0.14, 0.15, 0.16);
+
+        XMLOpticalPropagationDB db = new XMLOpticalPropagationDB();
+        db.add(propagation1);
+        db.search(channel1, na1);
+        db.add(propagation2);
+
+        IOpticalPropagation propDb = db.search(channel2, na1);
+
+        assertTrue(propDb.getPropagationFactor(DipoleSquaredComponent.XX, Polarization.pol0) == propagation2
+                .getPropagationFactor(DipoleSquaredComponent.XX, Polarization.pol0));
+    }
+
     private IOpticalPropagation createOpticalPropagation(IChannel channel, INumericalAperture na, double xx_0, double xx_45,
             double xx_90, double xx_135, double yy_0, double yy_45, double yy_90, double yy_135, double zz_0,
             double zz_45, double zz_90, double zz_135, double xy_0, double xy_45, double xy_90, double xy_135) {
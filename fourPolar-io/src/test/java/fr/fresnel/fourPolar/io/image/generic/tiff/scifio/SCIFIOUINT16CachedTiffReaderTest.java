@@ -0,0 +1,125 @@
+package fr.fresnel.fourPolar.io.image.generic.tiff.scifio;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+
+public class SCIFIOUINT16CachedTiffReaderTest {
+    private static File _root;
+    private static ImgLib2ImageFactory _factory = new ImgLib2ImageFactory();
+
+    @BeforeAll
+    private static void setRoot() {
+        _root = new File(SCIFIOUINT16CachedTiffReaderTest.class.getResource("").getPath(), "CachedReaders");
+        _root.mkdir();
+    }
+
+    @Test
+    public void read_XYCZTImageWithOneCachedPlane_PlanesEqualDiskImage() throws IOException {
+        long[] dim = { 6, 5, 2, 3, 2 };
+        Image<UINT16> image = _createAndWriteImage(dim, "UINT16XYCZTImage.tif");
+
+        SCIFIOUINT16CachedTiffReader reader = new SCIFIOUINT16CachedTiffReader(_factory, 1);
+        Image<UINT16> cachedImage = reader.read(new File(_root, "UINT16XYCZTImage.tif"));
+
+        assertArrayEquals(dim, cachedImage.getMetadata().getDim());
+
+        // Visit the planes in reverse order, so that each plane is evicted and reloaded.
+        boolean equals = true;
+        for (int repeat = 0; repeat < 2; repeat++) {
+            for (long planeIndex = MetadataUtil.getNPlanes(image.getMetadata()); planeIndex > 0; planeIndex--) {
+                equals &= Arrays.equals(image.getShortPlane(planeIndex), cachedImage.getShortPlane(planeIndex));
+            }
+        }
+        reader.close();
+
+        assertTrue(equals);
+    }
+
+    @Test
+    public void read_ViewOverXYCZTImage_EqualsViewOverDiskImage() throws IOException {
+        long[] dim = { 6, 5, 2, 3, 2 };
+        Image<UINT16> image = _createAndWriteImage(dim, "UINT16XYCZTViewImage.tif");
+
+        SCIFIOUINT16CachedTiffReader reader = new SCIFIOUINT16CachedTiffReader(_factory, 2);
+        Image<UINT16> cachedImage = reader.read(new File(_root, "UINT16XYCZTViewImage.tif"));
+
+        long[] bottomCorner = { 1, 1, 1, 0, 0 };
+        long[] len = { 3, 2, 1, 3, 2 };
+        IPixelCursor<UINT16> cursor = image.getCursor(bottomCorner, len);
+        IPixelCursor<UINT16> cachedCursor = cachedImage.getCursor(bottomCorner, len);
+
+        boolean equals = true;
+        while (cursor.hasNext()) {
+            equals &= cursor.next().value().get() == cachedCursor.next().value().get();
+        }
+        reader.close();
+
+        assertTrue(equals);
+    }
+
+    @Test
+    public void releaseImages_TwoImagesRead_ClosesFilesAndKeepsReaderUsable() throws IOException {
+        long[] dim = { 6, 5, 1, 2, 1 };
+        Image<UINT16> image = _createAndWriteImage(dim, "UINT16ReleasedImage.tif");
+
+        SCIFIOUINT16CachedTiffReader reader = new SCIFIOUINT16CachedTiffReader(_factory, 1);
+        Image<UINT16> releasedImage = reader.read(new File(_root, "UINT16ReleasedImage.tif"));
+        reader.read(new File(_root, "UINT16ReleasedImage.tif"));
+        assertTrue(reader.numOpenImages() == 2);
+
+        reader.releaseImages();
+        assertTrue(reader.numOpenImages() == 0);
+        assertThrows(RuntimeException.class, () -> releasedImage.getShortPlane(2));
+
+        Image<UINT16> newImage = reader.read(new File(_root, "UINT16ReleasedImage.tif"));
+        boolean equals = Arrays.equals(image.getShortPlane(2), newImage.getShortPlane(2));
+        reader.close();
+
+        assertTrue(equals);
+    }
+
+    @Test
+    public void constructor_ZeroCachedPlanes_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new SCIFIOUINT16CachedTiffReader(_factory, 0));
+    }
+
+    private Image<UINT16> _createAndWriteImage(long[] dim, String name) throws IOException {
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT)
+                .bitPerPixel(PixelTypes.UINT_16).build();
+        Image<UINT16> image = _factory.create(metadata, UINT16.zero());
+
+        int planeSize = (int) MetadataUtil.getPlaneSize(metadata);
+        for (int planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(metadata); planeIndex++) {
+            short[] plane = new short[planeSize];
+            for (int i = 0; i < planeSize; i++) {
+                plane[i] = (short) (planeIndex * 1000 + i);
+            }
+            image.setPlane(planeIndex, plane);
+        }
+
+        SCIFIOUINT16TiffWriter writer = new SCIFIOUINT16TiffWriter();
+        writer.write(new File(_root, name), image);
+        writer.close();
+
+        return image;
+    }
+
+}
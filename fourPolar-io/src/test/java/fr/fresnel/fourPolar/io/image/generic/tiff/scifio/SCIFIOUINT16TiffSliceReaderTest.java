@@ -0,0 +1,87 @@
+package fr.fresnel.fourPolar.io.image.generic.tiff.scifio;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+
+public class SCIFIOUINT16TiffSliceReaderTest {
+    private static File _root;
+    private static ImgLib2ImageFactory _factory = new ImgLib2ImageFactory();
+
+    @BeforeAll
+    private static void setRoot() {
+        _root = new File(SCIFIOUINT16TiffSliceReaderTest.class.getResource("").getPath(), "SliceReaders");
+        _root.mkdir();
+    }
+
+    @Test
+    public void read_XYCZTImage_SlicesEqualImagePlanes() throws IOException {
+        long[] dim = { 5, 4, 2, 3, 2 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT)
+                .bitPerPixel(PixelTypes.UINT_16).build();
+        Image<UINT16> image = _factory.create(metadata, UINT16.zero());
+        for (int planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(metadata); planeIndex++) {
+            short[] plane = new short[(int) (dim[0] * dim[1])];
+            Arrays.fill(plane, (short) (planeIndex * 1000));
+            image.setPlane(planeIndex, plane);
+        }
+
+        File path = new File(_root, "UINT16XYCZTImage.tif");
+        SCIFIOUINT16TiffWriter writer = new SCIFIOUINT16TiffWriter();
+        writer.write(path, image);
+        writer.close();
+
+        SCIFIOUINT16TiffSliceReader reader = new SCIFIOUINT16TiffSliceReader(_factory);
+        assertArrayEquals(dim, reader.getMetadata(path).getDim());
+
+        boolean equals = true;
+        for (long t = 0; t < dim[4]; t++) {
+            for (long z = 0; z < dim[3]; z++) {
+                Image<UINT16> slice = reader.read(path, z, t);
+                equals &= Arrays.equals(slice.getMetadata().getDim(), new long[] { 5, 4, 2, 1, 1 });
+
+                for (long c = 0; c < dim[2]; c++) {
+                    long planeIndex = MetadataUtil.getPlaneIndex(metadata, new long[] { 0, 0, c, z, t });
+                    equals &= Arrays.equals(slice.getShortPlane(c + 1), image.getShortPlane(planeIndex));
+                }
+            }
+        }
+        reader.close();
+
+        assertTrue(equals);
+    }
+
+    @Test
+    public void read_ZOutsideImage_ThrowsIndexOutOfBoundsException() throws IOException {
+        long[] dim = { 5, 4, 1, 2, 1 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT)
+                .bitPerPixel(PixelTypes.UINT_16).build();
+
+        File path = new File(_root, "UINT16TwoZImage.tif");
+        SCIFIOUINT16TiffWriter writer = new SCIFIOUINT16TiffWriter();
+        writer.write(path, _factory.create(metadata, UINT16.zero()));
+        writer.close();
+
+        SCIFIOUINT16TiffSliceReader reader = new SCIFIOUINT16TiffSliceReader(_factory);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> reader.read(path, 2, 0));
+        reader.close();
+    }
+
+}
@@ -0,0 +1,98 @@
+package fr.fresnel.fourPolar.io.image.generic.tiff.scifio;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+
+public class SCIFIOUINT16TiffSliceWriterTest {
+    private static File _root;
+    private static ImgLib2ImageFactory _factory = new ImgLib2ImageFactory();
+
+    @BeforeAll
+    private static void setRoot() {
+        _root = new File(SCIFIOUINT16TiffSliceWriterTest.class.getResource("").getPath(), "Writers");
+        _root.mkdir();
+    }
+
+    @Test
+    public void write_XYCZTImageSliceBySlice_DiskImageEqualsSlices() throws IOException {
+        long[] dim = { 4, 3, 2, 2, 3 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT)
+                .bitPerPixel(PixelTypes.UINT_16).build();
+        IMetadata sliceMetadata = MetadataUtil.createZTSliceMetadata(metadata);
+        File destination = new File(_root, "UINT16XYCZTSliceImage.tif");
+
+        SCIFIOUINT16TiffSliceWriter writer = new SCIFIOUINT16TiffSliceWriter();
+        writer.open(destination, metadata);
+        for (int slice = 0; slice < dim[3] * dim[4]; slice++) {
+            Image<UINT16> sliceImage = _factory.create(sliceMetadata, UINT16.zero());
+            for (int c = 0; c < dim[2]; c++) {
+                short[] plane = new short[(int) (dim[0] * dim[1])];
+                Arrays.fill(plane, (short) (slice * 10 + c));
+                sliceImage.setPlane(c + 1, plane);
+            }
+            writer.write(sliceImage);
+        }
+        writer.finish();
+        writer.close();
+
+        SCIFIOUINT16TiffReader reader = new SCIFIOUINT16TiffReader(_factory);
+        Image<UINT16> diskImage = reader.read(destination);
+        reader.close();
+
+        assertArrayEquals(dim, diskImage.getMetadata().getDim());
+
+        boolean equals = true;
+        for (int planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(metadata); planeIndex++) {
+            short expected = (short) (((planeIndex - 1) / dim[2]) * 10 + (planeIndex - 1) % dim[2]);
+            for (short value : diskImage.getShortPlane(planeIndex)) {
+                equals &= value == expected;
+            }
+        }
+        assertTrue(equals);
+    }
+
+    @Test
+    public void write_SliceWithDifferentDimension_ThrowsIllegalArgumentException() throws IOException {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 4, 3, 1, 2, 1 }).axisOrder(AxisOrder.XYCZT)
+                .bitPerPixel(PixelTypes.UINT_16).build();
+        IMetadata sliceMetadata = new Metadata.MetadataBuilder(new long[] { 4, 4, 1, 1, 1 })
+                .axisOrder(AxisOrder.XYCZT).bitPerPixel(PixelTypes.UINT_16).build();
+
+        SCIFIOUINT16TiffSliceWriter writer = new SCIFIOUINT16TiffSliceWriter();
+        writer.open(new File(_root, "UINT16WrongSliceImage.tif"), metadata);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.write(_factory.create(sliceMetadata, UINT16.zero())));
+        writer.close();
+    }
+
+    @Test
+    public void open_ChannelAfterZAxis_ThrowsIllegalArgumentException() throws IOException {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 4, 3, 2, 2 }).axisOrder(AxisOrder.XYZC)
+                .bitPerPixel(PixelTypes.UINT_16).build();
+
+        SCIFIOUINT16TiffSliceWriter writer = new SCIFIOUINT16TiffSliceWriter();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.open(new File(_root, "UINT16XYZCSliceImage.tif"), metadata));
+        writer.close();
+    }
+
+}
@@ -0,0 +1,116 @@
+package fr.fresnel.fourPolar.io.image.orientation;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import fr.fresnel.fourPolar.core.exceptions.image.orientation.CannotFormOrientationImage;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
+import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
+import fr.fresnel.fourPolar.core.image.orientation.OrientationImageFactory;
+import fr.fresnel.fourPolar.core.physics.dipole.IOrientationVector;
+import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+import fr.fresnel.fourPolar.io.image.orientation.file.TiffCompactOrientationImageFile;
+import fr.fresnel.fourPolar.io.image.orientation.file.TiffOrientationImageFileSet;
+
+public class TiffCompactOrientationImageWriterTest {
+    final private static File _root = new File(TiffCompactOrientationImageWriterTest.class.getResource("").getPath(),
+            "TiffCompactOrientationImageWriter");
+
+    @Test
+    public void write_MultiPlaneOrientationImage_TiffReaderReadsAnglesWithinMaxError()
+            throws CannotFormOrientationImage, IOException {
+        int channel = 1;
+        ReaderDummyCapturedImageFileSet fileSet = new ReaderDummyCapturedImageFileSet("CompactSet");
+
+        long[] dim = { 3, 2, 1, 2, 2 };
+        IOrientationImage orientationImage = _createOrientationImage(fileSet, channel, dim, new Random(1));
+
+        IOrientationImageWriter writer = new TiffCompactOrientationImageWriter();
+        writer.write(_root, orientationImage);
+        writer.close();
+
+        TiffOrientationImageFileSet fSet = new TiffOrientationImageFileSet(_root, fileSet, channel);
+        assertTrue(new TiffCompactOrientationImageFile(_root, fileSet, channel).getFile().exists()
+                && !fSet.getFile(OrientationAngle.rho).exists());
+
+        IOrientationImageReader reader = new TiffOrientationImageReader(new ImgLib2ImageFactory(), channel);
+        IOrientationImage diskImage = reader.read(_root, fileSet, channel);
+        reader.close();
+
+        boolean equals = true;
+        for (OrientationAngle angle : OrientationAngle.values()) {
+            Image<Float32> angleImage = orientationImage.getAngleImage(angle).getImage();
+            Image<Float32> diskAngleImage = diskImage.getAngleImage(angle).getImage();
+
+            equals &= MetadataUtil.isDimensionEqual(angleImage.getMetadata(), diskAngleImage.getMetadata());
+            for (long planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(angleImage.getMetadata()); planeIndex++) {
+                float[] plane = angleImage.getFloatPlane(planeIndex);
+                float[] diskPlane = diskAngleImage.getFloatPlane(planeIndex);
+
+                for (int i = 0; i < plane.length; i++) {
+                    equals &= Float.isNaN(plane[i]) ? Float.isNaN(diskPlane[i])
+                            : Math.abs(plane[i] - diskPlane[i]) <= CompactOrientationAngleCodec.getMaxError(angle);
+                }
+            }
+        }
+        assertTrue(equals);
+    }
+
+    @Test
+    public void encode_AnglesOfTheBoundaries_DecodesToBoundariesAndNaN() {
+        float[] angles = { 0, (float) IOrientationVector.MAX_Eta, Float.NaN,
+                (float) (IOrientationVector.MAX_Eta + IOrientationVector.ERR_Angle),
+                (float) -IOrientationVector.ERR_Angle };
+        short[] codes = new short[angles.length];
+        float[] decoded = new float[angles.length];
+
+        CompactOrientationAngleCodec.encode(OrientationAngle.eta, angles, codes);
+        CompactOrientationAngleCodec.decode(OrientationAngle.eta, codes, decoded);
+
+        assertTrue((codes[0] & 0xffff) == 0 && (codes[1] & 0xffff) == CompactOrientationAngleCodec.MAX_CODE
+                && (codes[2] & 0xffff) == CompactOrientationAngleCodec.NaN_CODE
+                && (codes[3] & 0xffff) == CompactOrientationAngleCodec.MAX_CODE && codes[4] == 0);
+        assertTrue(decoded[0] == 0 && decoded[1] == (float) IOrientationVector.MAX_Eta && Float.isNaN(decoded[2]));
+    }
+
+    /**
+     * Random angles, with the first pixel of each plane being NaN.
+     */
+    private IOrientationImage _createOrientationImage(ReaderDummyCapturedImageFileSet fileSet, int channel,
+            long[] dim, Random random) throws CannotFormOrientationImage {
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT)
+                .bitPerPixel(PixelTypes.FLOAT_32).build();
+        double[] maxAngles = { IOrientationVector.MAX_Rho, IOrientationVector.MAX_Delta,
+                IOrientationVector.MAX_Eta };
+
+        @SuppressWarnings("unchecked")
+        Image<Float32>[] angleImages = new Image[OrientationAngle.values().length];
+        for (OrientationAngle angle : OrientationAngle.values()) {
+            Image<Float32> angleImage = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+            for (long planeIndex = 1; planeIndex <= MetadataUtil.getNPlanes(metadata); planeIndex++) {
+                float[] plane = new float[(int) MetadataUtil.getPlaneSize(metadata)];
+                for (int i = 0; i < plane.length; i++) {
+                    plane[i] = (float) (random.nextDouble() * maxAngles[angle.ordinal()]);
+                }
+                plane[0] = Float.NaN;
+                angleImage.setPlane(planeIndex, plane);
+            }
+            angleImages[angle.ordinal()] = angleImage;
+        }
+
+        return OrientationImageFactory.create(fileSet, channel, angleImages[0], angleImages[1], angleImages[2]);
+    }
+
+}
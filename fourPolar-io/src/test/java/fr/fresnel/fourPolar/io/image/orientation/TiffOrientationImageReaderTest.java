@@ -1,5 +1,6 @@
 package fr.fresnel.fourPolar.io.image.orientation;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -25,12 +26,16 @@ import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
 import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImageRandomAccess;
 import fr.fresnel.fourPolar.core.imagingSetup.imageFormation.Cameras;
 import fr.fresnel.fourPolar.core.physics.dipole.IOrientationVector;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationVector;
+import fr.fresnel.fourPolar.io.image.generic.ImageWriter;
+import fr.fresnel.fourPolar.io.image.generic.tiff.TiffImageWriterFactory;
+import fr.fresnel.fourPolar.io.image.orientation.file.TiffCompactOrientationImageFile;
 import fr.fresnel.fourPolar.io.image.orientation.file.TiffOrientationImageFileSet;
 import fr.fresnel.fourPolar.io.image.orientation.file.TiffOrientationImageInDegreeFileSet;
 import io.scif.img.ImgIOException;
@@ -155,6 +160,29 @@ public class TiffOrientationImageReaderTest {
 
     }
 
+    @Test
+    public void read_CompactImageWithTwoChannels_ThrowsIOExceptionNamingFileWithCause() throws IOException {
+        int channel = 1;
+        ReaderDummyCapturedImageFileSet fileSet = new ReaderDummyCapturedImageFileSet("MalformedCompactSet");
+        File compactFile = new TiffCompactOrientationImageFile(_root, fileSet, channel).getFile();
+        compactFile.getParentFile().mkdirs();
+
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 2, 2, 2, 1, 1 }).axisOrder(AxisOrder.XYCZT)
+                .bitPerPixel(PixelTypes.UINT_16).build();
+        ImageFactory factory = new ImgLib2ImageFactory();
+        ImageWriter<UINT16> writer = TiffImageWriterFactory.getWriter(factory, UINT16.zero());
+        writer.write(compactFile, factory.create(metadata, UINT16.zero()));
+        writer.close();
+
+        TiffOrientationImageReader reader = new TiffOrientationImageReader(factory, channel);
+        IOException exception = assertThrows(IOException.class, () -> {
+            reader.read(_root, fileSet, channel);
+        });
+        reader.close();
+
+        assertTrue(exception.getMessage().contains(compactFile.getAbsolutePath()) && exception.getCause() != null);
+    }
+
     private void _setPixel(Image<Float32> image, long[] position, float value) {
         IPixelRandomAccess<Float32> ra = image.getRandomAccess();
 
@@ -4,7 +4,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -25,6 +27,8 @@ import fr.fresnel.fourPolar.core.image.orientation.OrientationImageFactory;
 import fr.fresnel.fourPolar.core.imagingSetup.imageFormation.Cameras;
 import fr.fresnel.fourPolar.core.physics.dipole.IOrientationVector;
 import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
+import fr.fresnel.fourPolar.core.util.image.generic.metadata.MetadataUtil;
+import fr.fresnel.fourPolar.io.image.generic.tiff.scifio.SCIFIOFloat32TiffReader;
 import fr.fresnel.fourPolar.io.image.orientation.file.TiffOrientationImageFileSet;
 import fr.fresnel.fourPolar.io.image.orientation.file.TiffOrientationImageInDegreeFileSet;
 import io.scif.img.ImgOpener;
@@ -138,6 +142,63 @@ public class TiffOrientationImageWriterTest {
         assertTrue(_isOrientationVectorEqualTo(diskRho, diskDelta, diskEta, pos1, 180, 135, 90));
     }
 
+    @Test
+    public void writeInDegrees_MultiPlaneAngleImages_DiskPlanesEqualDegreesOfEachPlane()
+            throws CannotFormOrientationImage, IOException {
+        int channel = 1;
+        WriterDummyCapturedImageFileSet fileSet = new WriterDummyCapturedImageFileSet("multiPlaneSet");
+
+        // Several planes, so that the planes are written one by one through the degree
+        // view. Random angles make a wrong byte order or plane order visible on read.
+        long[] dim = { 7, 5, 1, 3, 2 };
+        IMetadata metadata = new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT)
+                .bitPerPixel(PixelTypes.FLOAT_32).build();
+
+        Random random = new Random(0);
+        Image<Float32> rho = _createRandomAngleImage(metadata, random);
+        Image<Float32> delta = _createRandomAngleImage(metadata, random);
+        Image<Float32> eta = _createRandomAngleImage(metadata, random);
+        IOrientationImage imageSet = OrientationImageFactory.create(fileSet, channel, rho, delta, eta);
+
+        IOrientationImageWriter writer = new TiffOrientationImageWriter();
+        writer.writeInDegrees(_root, imageSet);
+        writer.close();
+
+        TiffOrientationImageInDegreeFileSet fSet = new TiffOrientationImageInDegreeFileSet(_root, fileSet, channel);
+        SCIFIOFloat32TiffReader reader = new SCIFIOFloat32TiffReader(new ImgLib2ImageFactory());
+
+        boolean planesAreEqual = true;
+        for (OrientationAngle angle : OrientationAngle.values()) {
+            Image<Float32> radianImage = imageSet.getAngleImage(angle).getImage();
+            Image<Float32> diskImage = reader.read(fSet.getFile(angle));
+
+            planesAreEqual &= Arrays.equals(diskImage.getMetadata().getDim(), dim);
+            for (long plane = 1; planesAreEqual && plane <= MetadataUtil.getNPlanes(metadata); plane++) {
+                float[] radians = radianImage.getFloatPlane(plane);
+                float[] degrees = new float[radians.length];
+                for (int i = 0; i < radians.length; i++) {
+                    degrees[i] = (float) Math.toDegrees(radians[i]);
+                }
+                planesAreEqual &= Arrays.equals(diskImage.getFloatPlane(plane), degrees);
+            }
+        }
+        reader.close();
+
+        assertTrue(planesAreEqual);
+    }
+
+    private Image<Float32> _createRandomAngleImage(IMetadata metadata, Random random) {
+        Image<Float32> image = new ImgLib2ImageFactory().create(metadata, Float32.zero());
+        for (long plane = 1; plane <= MetadataUtil.getNPlanes(metadata); plane++) {
+            float[] pixels = new float[(int) MetadataUtil.getPlaneSize(metadata)];
+            for (int i = 0; i < pixels.length; i++) {
+                pixels[i] = (float) (random.nextDouble() * Math.PI);
+            }
+            image.setPlane(plane, pixels);
+        }
+        return image;
+    }
+
     private void _setPixel(Image<Float32> image, long[] position, float value) {
         IPixelRandomAccess<Float32> ra = image.getRandomAccess();
 
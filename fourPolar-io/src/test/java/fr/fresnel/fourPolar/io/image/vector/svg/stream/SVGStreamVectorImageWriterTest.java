@@ -0,0 +1,166 @@
+package fr.fresnel.fourPolar.io.image.vector.svg.stream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+
+import org.apache.batik.anim.dom.SAXSVGDocumentFactory;
+import org.apache.batik.util.XMLResourceDescriptor;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.svg.SVGDocument;
+
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.ARGB8;
+import fr.fresnel.fourPolar.core.image.vector.Vector;
+import fr.fresnel.fourPolar.core.image.vector.VectorImage;
+import fr.fresnel.fourPolar.core.image.vector.batikModel.BatikVectorImageFactory;
+import fr.fresnel.fourPolar.core.image.vector.streamModel.SVGStreamVectorImageFactory;
+import fr.fresnel.fourPolar.core.image.vector.streamModel.accessors.SVGStreamImagePlaneAccessor;
+import fr.fresnel.fourPolar.core.shape.ShapeFactory;
+import fr.fresnel.fourPolar.io.exceptions.image.vector.VectorImageIOIssues;
+import fr.fresnel.fourPolar.io.image.vector.svg.batik.BatikSVGVectorImagePathCreator;
+
+public class SVGStreamVectorImageWriterTest {
+    private SAXSVGDocumentFactory _svgReader = new SAXSVGDocumentFactory(XMLResourceDescriptor.getXMLParserClassName());
+
+    @Test
+    public void write_ImageWithNoAxisOrder_ThrowsVectorImageIOIssues() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 1, 1 }).axisOrder(AxisOrder.NoOrder).build();
+        VectorImage vectorImage = _createFactory().create(metadata);
+
+        VectorImageIOIssues exception = assertThrows(VectorImageIOIssues.class, () -> {
+            new SVGStreamVectorImageWriter().write(new File(""), "", vectorImage);
+        });
+        assertTrue(exception.getMessage().equals("Can't write a vector image with no axis-order."));
+    }
+
+    @Test
+    public void write_BatikImage_ThrowsVectorImageIOIssues() {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 1, 1 }).axisOrder(AxisOrder.XY).build();
+        VectorImage vectorImage = new BatikVectorImageFactory().create(metadata);
+
+        assertThrows(VectorImageIOIssues.class, () -> {
+            new SVGStreamVectorImageWriter().write(_createRoot("StreamWriterBatikImage"), "batikImage", vectorImage);
+        });
+    }
+
+    @Test
+    public void write_XYZImageWithOneLinePerPlane_WritesPlanesReadableByBatikAndMetadata()
+            throws VectorImageIOIssues, MalformedURLException, IOException {
+        int numPlanes = 3;
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 10, 20, numPlanes }).axisOrder(AxisOrder.XYZ)
+                .build();
+        VectorImage vectorImage = _createFactory().create(metadata);
+
+        Vector vector = Vector.createLineVector(ShapeFactory.line2DShape(new long[] { 0, 0, 0 }, 0, 0, 0,
+                AxisOrder.XYZ));
+        vector.setColor(new ARGB8(255, 0, 0, 255));
+        for (int planeIndex = 1; planeIndex <= numPlanes; planeIndex++) {
+            vector.setShape(ShapeFactory.line2DShape(new long[] { 5, 5, planeIndex - 1 }, 0, 4, 1, AxisOrder.XYZ));
+            vector.setStrokeWidth(planeIndex);
+            vectorImage.addVector(vector);
+        }
+
+        File root = _createRoot("StreamWriterXYZImage");
+        String imageName = "xyzImage";
+        new SVGStreamVectorImageWriter().write(root, imageName, vectorImage);
+
+        assertTrue(new File(root, imageName + ".yaml").exists());
+
+        BatikSVGVectorImagePathCreator creator = new BatikSVGVectorImagePathCreator(metadata, root, imageName);
+        boolean planesAreCorrect = true;
+        for (int planeIndex = 1; planeIndex <= numPlanes; planeIndex++) {
+            SVGDocument plane = _readSVGDocument(creator.createPlaneImageFile(planeIndex));
+            planesAreCorrect &= plane.getDocumentElement().getAttribute("width").equals("10");
+            planesAreCorrect &= plane.getDocumentElement().getAttribute("height").equals("20");
+
+            String strokeWidth = ((Element) plane.getElementsByTagNameNS("*", "line").item(0))
+                    .getAttribute("stroke-width");
+            planesAreCorrect &= strokeWidth.equals(String.valueOf(planeIndex));
+        }
+        assertTrue(planesAreCorrect);
+    }
+
+    @Test
+    public void write_AlternatingPlanesWrittenTwice_EachWriteHasAllLinesOfPlanes()
+            throws MalformedURLException, IOException {
+        int numPlanes = 2;
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 10, 20, numPlanes }).axisOrder(AxisOrder.XYZ)
+                .build();
+        VectorImage vectorImage = _createFactory().create(metadata);
+
+        Vector vector = Vector.createLineVector(ShapeFactory.line2DShape(new long[] { 0, 0, 0 }, 0, 0, 0,
+                AxisOrder.XYZ));
+        File root = _createRoot("StreamWriterAlternatingPlanes");
+        BatikSVGVectorImagePathCreator creator = new BatikSVGVectorImagePathCreator(metadata, root, "image");
+        boolean planesAreCorrect = true;
+        for (int write = 1; write <= 2; write++) {
+            for (int line = 0; line < 3; line++) {
+                for (int planeIndex = 1; planeIndex <= numPlanes; planeIndex++) {
+                    vector.setShape(ShapeFactory.line2DShape(new long[] { 5, 5, planeIndex - 1 }, 0, 4, 1,
+                            AxisOrder.XYZ));
+                    vectorImage.addVector(vector);
+                }
+            }
+            new SVGStreamVectorImageWriter().write(root, "image", vectorImage);
+
+            for (int planeIndex = 1; planeIndex <= numPlanes; planeIndex++) {
+                SVGDocument plane = _readSVGDocument(creator.createPlaneImageFile(planeIndex));
+                planesAreCorrect &= plane.getElementsByTagNameNS("*", "line").getLength() == 3 * write;
+            }
+        }
+        SVGStreamImagePlaneAccessor.dispose(vectorImage);
+
+        assertTrue(planesAreCorrect);
+    }
+
+    @Test
+    public void write_XYImage_KeepsSpoolFilesOfImageUntilDisposed() throws IOException {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 10, 20 }).axisOrder(AxisOrder.XY).build();
+        File spoolRoot = _createRoot("StreamWriterKeptSpools");
+        VectorImage vectorImage = new SVGStreamVectorImageFactory(spoolRoot).create(metadata);
+
+        Vector vector = Vector.createLineVector(ShapeFactory.line2DShape(new long[] { 5, 5 }, 0, 4, 1,
+                AxisOrder.XY));
+        vectorImage.addVector(vector);
+        new SVGStreamVectorImageWriter().write(_createRoot("StreamWriterXYImage"), "xyImage", vectorImage);
+
+        boolean spoolsAreKept = spoolRoot.list((folder, name) -> name.endsWith(".part")).length > 0;
+        SVGStreamImagePlaneAccessor.dispose(vectorImage);
+
+        assertTrue(spoolsAreKept && spoolRoot.list((folder, name) -> name.endsWith(".part")).length == 0);
+    }
+
+    @Test
+    public void write_DisposedImage_ThrowsVectorImageIOIssues() throws IOException {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 10, 20 }).axisOrder(AxisOrder.XY).build();
+        VectorImage vectorImage = _createFactory().create(metadata);
+        SVGStreamImagePlaneAccessor.dispose(vectorImage);
+
+        assertThrows(VectorImageIOIssues.class, () -> {
+            new SVGStreamVectorImageWriter().write(_createRoot("StreamWriterDisposedImage"), "image", vectorImage);
+        });
+    }
+
+    private SVGDocument _readSVGDocument(File path) throws MalformedURLException, IOException {
+        return (SVGDocument) _svgReader.createDocument(path.toURI().toURL().getPath());
+    }
+
+    private SVGStreamVectorImageFactory _createFactory() {
+        return new SVGStreamVectorImageFactory(_createRoot("StreamWriterSpools"));
+    }
+
+    private File _createRoot(String rootName) {
+        String testResource = SVGStreamVectorImageWriterTest.class.getResource("").getPath();
+        File root = new File(testResource, rootName);
+        root.mkdirs();
+        return root;
+    }
+
+}
@@ -13,6 +13,7 @@ import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
 import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIForegroundMask;
 import fr.fresnel.fourPolar.core.image.vector.VectorImageFactory;
 import fr.fresnel.fourPolar.core.image.vector.batikModel.BatikVectorImageFactory;
 import fr.fresnel.fourPolar.core.imageSet.acquisition.sample.SampleImageSet;
@@ -95,8 +96,10 @@ public class SophiesChoiceII {
                 final IAngleGaugePainter[] gaugePainters = _getGaugePainters(length, thickness, cMapRho2D,
                         cMapEtaAndDelta, orientationImage, soiImage);
 
+                // The foreground is found once, and is shared by all painters.
+                final SoIForegroundMask foreground = SoIForegroundMask.create(soiImage, new UINT16(soiThreshold));
                 for (final IAngleGaugePainter iAngleGaugePainter : gaugePainters) {
-                    iAngleGaugePainter.draw(roi, new UINT16(soiThreshold));
+                    iAngleGaugePainter.draw(roi, foreground);
                 }
 
                 saveGaugeFigures(gaugePainters, sampleImageSet.rootFolder());
@@ -3,7 +3,10 @@ package fr.fresnel.fourPolar.ui;
 import java.io.File;
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge3D.WholeSampleStick3DPainter;
 import fr.fresnel.fourPolar.algorithm.visualization.figures.gaugeFigure.gauge3D.WholeSampleStick3DPainterBuilder;
 import fr.fresnel.fourPolar.core.exceptions.image.generic.imgLib2Model.ConverterToImgLib2NotFound;
 import fr.fresnel.fourPolar.core.exceptions.imageSet.acquisition.IncompatibleCapturedImage;
@@ -12,6 +15,7 @@ import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
 import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
 import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
 import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIForegroundMask;
 import fr.fresnel.fourPolar.core.imageSet.acquisition.sample.SampleImageSet;
 import fr.fresnel.fourPolar.core.imagingSetup.FourPolarImagingSetup;
 import fr.fresnel.fourPolar.core.imagingSetup.IFourPolarImagingSetup;
@@ -19,7 +23,6 @@ import fr.fresnel.fourPolar.core.shape.IShape;
 import fr.fresnel.fourPolar.core.shape.ShapeFactory;
 import fr.fresnel.fourPolar.core.util.image.generic.colorMap.ColorMap;
 import fr.fresnel.fourPolar.core.util.image.generic.colorMap.ColorMapFactory;
-import fr.fresnel.fourPolar.core.visualization.figures.gaugeFigure.guage.IAngleGaugePainter;
 import fr.fresnel.fourPolar.io.exceptions.imageSet.acquisition.sample.AcquisitionSetIOIssue;
 import fr.fresnel.fourPolar.io.exceptions.imageSet.acquisition.sample.AcquisitionSetNotFound;
 import fr.fresnel.fourPolar.io.imageSet.acquisition.AcquisitionSetFromTextFileReader;
@@ -45,6 +48,13 @@ public class SophiesChoiceIV {
     static int thickness = 2;
     static String stick3DColorMap = ColorMapFactory.IMAGEJ_PHASE;
 
+    // Angular resolution of sticks in degree. Zero draws the exact angles. A
+    // positive value draws faster, with angles at most half of it off.
+    static double stickAngleResolution = 1;
+
+    // Number of threads that paint the sticks.
+    static int nPaintingThreads = Runtime.getRuntime().availableProcessors();
+
     // Threshold for SoI. Sticks will be drawn above this threshold.
     static int soiThreshold = 0;
 
@@ -78,20 +88,31 @@ public class SophiesChoiceIV {
         _readImagingSetup();
         SampleImageSet sampleImageSet = _readSampleImageSet();
 
-        for (Iterator<ICapturedImageFileSet> fileSetItr = sampleImageSet.getIterator(); fileSetItr.hasNext();) {
-            ICapturedImageFileSet fileSet = fileSetItr.next();
-            for (int channel : SophiesPreChoice.channels) {
-                final IOrientationImage orientationImage = SophiesChoiceII
-                        .readOrientationImage(sampleImageSet.rootFolder(), fileSet, channel);
-                final ISoIImage soiImage = SophiesChoiceII.readSoIImage(sampleImageSet.rootFolder(), fileSet, channel);
-
-                final IAngleGaugePainter gaugePainter = _getGaugePainter(orientationImage, soiImage);
-
-                gaugePainter.draw(roi, new UINT16(soiThreshold));
-
-                SophiesChoiceII.saveGaugeFigure(sampleImageSet.rootFolder(), gaugePainter);
-
+        final ExecutorService executor = Executors.newFixedThreadPool(nPaintingThreads);
+        try {
+            for (Iterator<ICapturedImageFileSet> fileSetItr = sampleImageSet.getIterator(); fileSetItr.hasNext();) {
+                ICapturedImageFileSet fileSet = fileSetItr.next();
+                for (int channel : SophiesPreChoice.channels) {
+                    final IOrientationImage orientationImage = SophiesChoiceII
+                            .readOrientationImage(sampleImageSet.rootFolder(), fileSet, channel);
+                    final ISoIImage soiImage = SophiesChoiceII.readSoIImage(sampleImageSet.rootFolder(), fileSet,
+                            channel);
+
+                    final WholeSampleStick3DPainter gaugePainter = _getGaugePainter(orientationImage, soiImage,
+                            executor);
+
+                    gaugePainter.draw(roi, SoIForegroundMask.create(soiImage, new UINT16(soiThreshold)));
+                    System.out.println(String.format(
+                            "%s, channel %d: sprite cache hit rate %.3f, maximum angular error %.3f degree",
+                            fileSet.getSetName(), channel, gaugePainter.getSpriteCacheHitRate(),
+                            Math.toDegrees(gaugePainter.getMaxAngularError())));
+
+                    SophiesChoiceII.saveGaugeFigure(sampleImageSet.rootFolder(), gaugePainter);
+
+                }
             }
+        } finally {
+            executor.shutdown();
         }
 
         SophiesChoiceII.closeAllResources();
@@ -117,13 +138,14 @@ public class SophiesChoiceIV {
         return sampleImageSet;
     }
 
-    private static IAngleGaugePainter _getGaugePainter(final IOrientationImage orientationImage,
-            final ISoIImage soiImage) {
+    private static WholeSampleStick3DPainter _getGaugePainter(final IOrientationImage orientationImage,
+            final ISoIImage soiImage, final ExecutorService executor) {
         ColorMap colorMap = ColorMapFactory.create(stick3DColorMap);
 
         try {
             return new WholeSampleStick3DPainterBuilder(orientationImage, soiImage).colorMap(colorMap).stickLen(length)
-                    .stickThickness(thickness).build();
+                    .stickThickness(thickness).stickAngleResolution(Math.toRadians(stickAngleResolution))
+                    .executor(executor).build();
         } catch (ConverterToImgLib2NotFound e) {
             // Not caught!
             return null;
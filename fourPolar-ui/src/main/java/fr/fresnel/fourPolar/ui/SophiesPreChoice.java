@@ -12,14 +12,20 @@ import org.scijava.ui.behaviour.util.Behaviours;
 import bdv.util.Bdv;
 import bdv.util.BdvFunctions;
 import bdv.util.BdvOptions;
+import fr.fresnel.fourPolar.algorithm.exceptions.fourPolar.propagation.OpticalPropagationNotInvertible;
+import fr.fresnel.fourPolar.algorithm.fourPolar.inversePropagation.MatrixBasedInverseOpticalPropagationCalculator;
 import fr.fresnel.fourPolar.algorithm.preprocess.fov.FoVCalculator;
 import fr.fresnel.fourPolar.algorithm.preprocess.fov.IFoVCalculator;
 import fr.fresnel.fourPolar.algorithm.util.image.generic.color.GrayScaleToColorConverter;
 import fr.fresnel.fourPolar.algorithm.util.image.generic.color.GrayScaleToColorConverter.Color;
-import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.ImageStatistics;
+import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.ImageProfile;
+import fr.fresnel.fourPolar.algorithm.util.image.generic.stats.ImageProfiler;
 import fr.fresnel.fourPolar.algorithm.visualization.figures.polarization.PolarizationImageSetCompositesCreator;
+import fr.fresnel.fourPolar.core.exceptions.fourPolar.propagationdb.PropagationChannelNotInDatabase;
 import fr.fresnel.fourPolar.core.exceptions.image.generic.imgLib2Model.ConverterToImgLib2NotFound;
 import fr.fresnel.fourPolar.core.exceptions.imageSet.acquisition.IncompatibleCapturedImage;
+import fr.fresnel.fourPolar.core.exceptions.physics.propagation.PropagationFactorNotFound;
+import fr.fresnel.fourPolar.core.fourPolar.propagationdb.IOpticalPropagationDB;
 import fr.fresnel.fourPolar.core.image.captured.file.CapturedImageFileSetBuilder;
 import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
 import fr.fresnel.fourPolar.core.image.generic.IMetadata;
@@ -42,11 +48,14 @@ import fr.fresnel.fourPolar.core.physics.channel.IChannel;
 import fr.fresnel.fourPolar.core.physics.na.INumericalAperture;
 import fr.fresnel.fourPolar.core.physics.na.NumericalAperture;
 import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
+import fr.fresnel.fourPolar.core.physics.propagation.IOpticalPropagation;
 import fr.fresnel.fourPolar.core.preprocess.RegistrationSetProcessResult;
 import fr.fresnel.fourPolar.core.preprocess.registration.RegistrationRule;
 import fr.fresnel.fourPolar.core.visualization.figures.polarization.IPolarizationImageSetComposites;
 import fr.fresnel.fourPolar.io.exceptions.image.generic.metadata.MetadataIOIssues;
 import fr.fresnel.fourPolar.io.exceptions.imageSet.acquisition.sample.AcquisitionSetIOIssue;
+import fr.fresnel.fourPolar.io.fourPolar.propagationdb.XMLOpticalPropagationDBIO;
+import fr.fresnel.fourPolar.io.image.captured.tiff.TiffCapturedImageSetReader;
 import fr.fresnel.fourPolar.io.image.captured.tiff.checker.TiffCapturedImageChecker;
 import fr.fresnel.fourPolar.io.image.generic.metadata.IMetadataReader;
 import fr.fresnel.fourPolar.io.image.generic.metadata.scifio.SCIFIOMetadataReader;
@@ -56,6 +65,8 @@ import fr.fresnel.fourPolar.io.imageSet.acquisition.AcquisitionSetToTextFileWrit
 import fr.fresnel.fourPolar.io.imagingSetup.FourPolarImagingSetupToYaml;
 import fr.fresnel.fourPolar.io.preprocess.RegistrationSetProcessResultToYAML;
 import fr.fresnel.fourPolar.io.visualization.figures.polarization.tiff.TiffPolarizationImageSetCompositesWriter;
+import fr.fresnel.fourPolar.ui.algorithms.fourPolar.ISampleImageSetStreamingProcessor;
+import fr.fresnel.fourPolar.ui.algorithms.fourPolar.SampleImageSetStreamingProcessorBuilder;
 import fr.fresnel.fourPolar.ui.algorithms.preprocess.registrationSet.IRegistrationSetProcessor;
 import fr.fresnel.fourPolar.ui.algorithms.preprocess.registrationSet.RegistrationSetProcessorBuilder;
 import fr.fresnel.fourPolar.ui.algorithms.preprocess.sampleSet.ISampleImageSetPreprocessor;
@@ -114,6 +125,25 @@ public class SophiesPreChoice {
     // Number of cameras
     public static Cameras camera = Cameras.One;
 
+    // If true, sample images are processed slice by slice (one z and t at a time)
+    // up to the orientation and SoI images, hence there's no need to run
+    // SophiesChoiceI. Use this option for images that don't fit in the memory,
+    // like long time lapses.
+    public static boolean streamSampleImagesToOrientation = false;
+
+    // SoI threshold used for streaming sample images to orientation.
+    public static double soiThreshold = 1000;
+
+    // If larger than zero, captured sample images are not loaded in the memory.
+    // Instead, their planes are loaded when needed, and at most this many planes
+    // of each image are kept in the memory.
+    public static long maxCachedPlanes = 0;
+
+    // If true (the default of SampleImageSetPreprocessorBuilder), sample images are
+    // realigned, their dark background removed and their SoI calculated in one pass
+    // over the pixels, rather than one pass for each step.
+    public static boolean fusePreprocessing = true;
+
     // Registration result composite image colors.
     private static Color baseImageColor = Color.Green;
     private static Color toRegisterImageColor = Color.Red;
@@ -210,13 +240,19 @@ public class SophiesPreChoice {
 
         try {
             Image<UINT16> beadImageGray = new SCIFIOUINT16TiffReader(new ImgLib2ImageFactory()).read(beadImagePath);
-            Image<ARGB8> beadImageColor = GrayScaleToColorConverter.colorUsingMaxEachPlane(beadImageGray);
+
+            // Profile the image once, so that the color conversion and the display range
+            // share the same pass over the image.
+            ImageProfile beadImageProfile = ImageProfiler.profile(beadImageGray, true);
+
+            Image<ARGB8> beadImageColor = GrayScaleToColorConverter.colorUsingMaxEachPlane(beadImageGray,
+                    beadImageProfile);
             registrationImageViewer = BdvFunctions.show(ImageToImgLib2Converter.getImg(beadImageColor, ARGB8.zero()),
                     "SoI", BdvOptions.options().is2D());
 
             // Calculate 60 percentile, and normalize brightness with respect to this value.
-            double percetile60 = ImageStatistics.computePercentileFirstPlane(beadImageGray, 80);
-            double maxPlane = ImageStatistics.getPlaneMinMax(beadImageGray)[1][0];
+            double percetile60 = beadImageProfile.getPlaneHistogram(1).percentile(80);
+            double maxPlane = beadImageProfile.getPlaneMax(1);
             registrationImageViewer.getBdvHandle().getSetupAssignments().getConverterSetups().get(0).setDisplayRange(
                 0, 255 * percetile60 / maxPlane);
 
@@ -253,6 +289,28 @@ public class SophiesPreChoice {
 
     public static ISampleImageSetPreprocessor createSampleImageSetPreprocessor(RegistrationSetProcessResult result) {
         SampleImageSetPreprocessorBuilder processorBuilder = new SampleImageSetPreprocessorBuilder(setup, result);
+        if (maxCachedPlanes > 0) {
+            processorBuilder.setCapturedImageSetReader(
+                    new TiffCapturedImageSetReader(new ImgLib2ImageFactory(), maxCachedPlanes));
+        }
+        processorBuilder.setFusedPreprocessing(fusePreprocessing);
+        return processorBuilder.build();
+    }
+
+    public static ISampleImageSetStreamingProcessor createSampleImageSetStreamingProcessor(
+            RegistrationSetProcessResult result) throws PropagationChannelNotInDatabase, IOException,
+            PropagationFactorNotFound, OpticalPropagationNotInvertible {
+        SampleImageSetStreamingProcessorBuilder processorBuilder = new SampleImageSetStreamingProcessorBuilder(setup,
+                result).soiThreshold(soiThreshold);
+
+        IOpticalPropagationDB db = new XMLOpticalPropagationDBIO().read();
+        MatrixBasedInverseOpticalPropagationCalculator inverseCalculator = new MatrixBasedInverseOpticalPropagationCalculator();
+        for (int channel = 1; channel <= setup.getNumChannel(); channel++) {
+            IOpticalPropagation opticalPropagation = db.search(setup.getChannel(channel),
+                    setup.getNumericalAperture());
+            processorBuilder.inverseOpticalPropagation(channel, inverseCalculator.getInverse(opticalPropagation));
+        }
+
         return processorBuilder.build();
     }
 
@@ -305,7 +363,11 @@ class CalculateFoVAndContinue implements ClickBehaviour {
             _writeRegistrationComposites(registrationImageSet, preprocessor);
 
             // Call processor here.
-            _processAndWriteSampleImages(result);
+            if (SophiesPreChoice.streamSampleImagesToOrientation) {
+                _streamSampleImagesToOrientation(result);
+            } else {
+                _processAndWriteSampleImages(result);
+            }
 
             try {
                 SophiesPreChoice.writeSetupToDisk();
@@ -340,6 +402,25 @@ class CalculateFoVAndContinue implements ClickBehaviour {
         }
     }
 
+    private void _streamSampleImagesToOrientation(RegistrationSetProcessResult result) {
+        SampleImageSet sampleImageSet = this.createSampleSet();
+        try {
+            ISampleImageSetStreamingProcessor processor = SophiesPreChoice
+                    .createSampleImageSetStreamingProcessor(result);
+            for (Iterator<ICapturedImageFileSet> itr = sampleImageSet.getIterator(); itr.hasNext();) {
+                try {
+                    processor.process(sampleImageSet.rootFolder(), itr.next());
+                } catch (SampleSetPreprocessFailure | IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            processor.closeResources();
+        } catch (PropagationChannelNotInDatabase | PropagationFactorNotFound | OpticalPropagationNotInvertible
+                | IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     private void _writeRegistrationComposites(RegistrationImageSet registrationImageSet,
             IRegistrationSetProcessor preprocessor) {
         TiffPolarizationImageSetCompositesWriter compositesWriter = new TiffPolarizationImageSetCompositesWriter();
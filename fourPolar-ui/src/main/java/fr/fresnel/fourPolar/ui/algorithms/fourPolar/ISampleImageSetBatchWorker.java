@@ -0,0 +1,38 @@
+package fr.fresnel.fourPolar.ui.algorithms.fourPolar;
+
+import java.io.File;
+import java.io.IOException;
+
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
+import fr.fresnel.fourPolar.ui.exceptions.algorithms.fourPolar.SampleSetBatchProcessFailure;
+
+/**
+ * A worker of the {@link SampleImageSetBatchProcessor}, which processes one
+ * channel of a file set at a time.
+ * <p>
+ * Each worker is used by only one thread at a time. Hence, it can hold stateful
+ * resources, such as image readers and writers. The state that does not change
+ * between file sets (e.g, the inverse optical propagation) should however be
+ * shared between workers.
+ */
+public interface ISampleImageSetBatchWorker {
+    /**
+     * Process the given channel of the file set.
+     * 
+     * @param root4PProject is the root folder of the 4Polar project.
+     * @param fileSet       is the file set to be processed.
+     * @param channel       is the channel to be processed.
+     * 
+     * @throws IOException                  in case of low-level IO issues.
+     * @throws SampleSetBatchProcessFailure in case the channel can't be
+     *                                      processed.
+     */
+    public void process(File root4PProject, ICapturedImageFileSet fileSet, int channel)
+            throws IOException, SampleSetBatchProcessFailure;
+
+    /**
+     * Close all resources associated with this worker.
+     */
+    public void close() throws IOException;
+
+}
@@ -0,0 +1,50 @@
+package fr.fresnel.fourPolar.ui.algorithms.fourPolar;
+
+import java.io.File;
+import java.io.IOException;
+
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
+import fr.fresnel.fourPolar.ui.exceptions.algorithms.preprocess.sampleSet.SampleSetPreprocessFailure;
+
+/**
+ * An interface for processing a {@link ICapturedImageFileSet} all the way from
+ * the captured images to the orientation and SoI images, one slice (i.e, one z
+ * and t position) at a time. For each slice, the processor:
+ * <ol>
+ * <li>Reads the slice of each captured image.</li>
+ * <li>Segments the slice to the polarization images of each channel.</li>
+ * <li>Realigns each channel and removes its dark background.</li>
+ * <li>Maps the polarization slice to orientation, and creates the SoI
+ * slice.</li>
+ * <li>Appends the orientation slice (in degrees) and the SoI slice to the
+ * corresponding files on the disk.</li>
+ * </ol>
+ * Hence, the peak memory is bounded by a few slices rather than the complete
+ * image, which allows processing captured images (e.g, long time lapses) that
+ * don't fit in the memory. The written files are the same as those written by
+ * {@link IOrientationImageWriter#writeInDegrees(File, IOrientationImage)} and
+ * {@link ISoIImageWriter#write(File, ISoIImage)}.
+ */
+public interface ISampleImageSetStreamingProcessor {
+    /**
+     * Process the given captured image file set, and write its orientation and
+     * SoI images.
+     * 
+     * @param root4PProject is the location of the 4Polar folder of the project
+     *                      {@see PathFactoryOfProject}.
+     * @param fileSet       is the captured file set to be processed.
+     * 
+     * @throws SampleSetPreprocessFailure in case the captured images can't be
+     *                                    read from the disk.
+     * @throws IOException                in case the orientation or SoI images
+     *                                    can't be written.
+     */
+    public void process(File root4PProject, ICapturedImageFileSet fileSet)
+            throws SampleSetPreprocessFailure, IOException;
+
+    /**
+     * Close all IO resources associated with this processor.
+     */
+    public void closeResources() throws IOException;
+
+}
@@ -0,0 +1,31 @@
+package fr.fresnel.fourPolar.ui.algorithms.fourPolar;
+
+import fr.fresnel.fourPolar.algorithm.fourPolar.ParallelFourPolarMapper;
+import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.IChannelDarkBackgroundRemover;
+import fr.fresnel.fourPolar.algorithm.preprocess.realignment.IChannelRealigner;
+import fr.fresnel.fourPolar.algorithm.preprocess.segmentation.ICapturedImageSetSegmenter;
+import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
+import fr.fresnel.fourPolar.io.image.captured.ICapturedImageSetSliceReader;
+
+/**
+ * An interface for accessing the builder parameters.
+ */
+abstract class ISampleImageSetStreamingProcessorBuilder {
+
+    abstract IChannelDarkBackgroundRemover getBackgroundRemovers(int channel);
+
+    abstract ICapturedImageSetSliceReader getCapturedImageSetSliceReader();
+
+    abstract ImageFactory getImageFactory();
+
+    abstract ParallelFourPolarMapper getMapper(int channel);
+
+    abstract int getNumChannels();
+
+    abstract IChannelRealigner getRealigners(int channel);
+
+    abstract ICapturedImageSetSegmenter getSegmenter();
+
+    abstract double getSoIThreshold();
+
+}
@@ -0,0 +1,209 @@
+package fr.fresnel.fourPolar.ui.algorithms.fourPolar;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
+import fr.fresnel.fourPolar.core.imageSet.acquisition.sample.SampleImageSet;
+import fr.fresnel.fourPolar.core.physics.channel.ChannelUtils;
+import fr.fresnel.fourPolar.ui.exceptions.algorithms.fourPolar.SampleSetBatchProcessFailure;
+
+/**
+ * Processes the file sets of a {@link SampleImageSet} concurrently, using a
+ * bounded pool of {@link ISampleImageSetBatchWorker}.
+ * <p>
+ * Every channel of every file set is an independent task. Tasks are submitted
+ * file set by file set to a fixed thread pool that has as many threads as
+ * workers. Before processing a task, a thread takes an idle worker, and gives it
+ * back once done. Hence, a worker is never used by two threads at the same
+ * time, and at most as many file sets as workers are in memory.
+ * <p>
+ * The failure of a task does not stop the batch. Instead, it's recorded in the
+ * {@link SampleImageSetBatchReport}, and its file set is not counted as
+ * processed.
+ */
+public class SampleImageSetBatchProcessor {
+    private final int _numChannels;
+    private final int _numWorkers;
+    private final Supplier<ISampleImageSetBatchWorker> _workerFactory;
+
+    /**
+     * @param numChannels   is the number of channels of the imaging setup.
+     * @param numWorkers    is the number of workers, which is the number of
+     *                      tasks processed concurrently.
+     * @param workerFactory creates a new worker each time it's called.
+     * 
+     * @throws IllegalArgumentException if number of workers is less than one.
+     */
+    public SampleImageSetBatchProcessor(int numChannels, int numWorkers,
+            Supplier<ISampleImageSetBatchWorker> workerFactory) {
+        ChannelUtils.checkNumChannelsNonZero(numChannels);
+        Objects.requireNonNull(workerFactory, "workerFactory can't be null");
+        if (numWorkers < 1) {
+            throw new IllegalArgumentException("Number of workers must be at least one.");
+        }
+
+        this._numChannels = numChannels;
+        this._numWorkers = numWorkers;
+        this._workerFactory = workerFactory;
+    }
+
+    /**
+     * Processes all channels of all file sets of the sample set, and closes the
+     * workers once done.
+     * 
+     * @param sampleImageSet is the sample set to be processed.
+     * @return the report of the batch.
+     * 
+     * @throws IOException in case a worker can't be closed.
+     */
+    public SampleImageSetBatchReport process(SampleImageSet sampleImageSet) throws IOException {
+        BlockingQueue<ISampleImageSetBatchWorker> idleWorkers = this._createWorkers();
+        ExecutorService executor = Executors.newFixedThreadPool(this._numWorkers);
+
+        long start = System.nanoTime();
+        Map<String, List<Future<String>>> fileSetTasks = new LinkedHashMap<>();
+        try {
+            for (Iterator<ICapturedImageFileSet> itr = sampleImageSet.getIterator(); itr.hasNext();) {
+                ICapturedImageFileSet fileSet = itr.next();
+
+                List<Future<String>> channelTasks = new ArrayList<>(this._numChannels);
+                for (int channel = 1; channel <= this._numChannels; channel++) {
+                    final int taskChannel = channel;
+                    channelTasks.add(executor.submit(() -> _processChannel(idleWorkers,
+                            sampleImageSet.rootFolder(), fileSet, taskChannel)));
+                }
+                fileSetTasks.put(fileSet.getSetName(), channelTasks);
+            }
+
+            return this._waitForTasks(fileSetTasks, start);
+        } finally {
+            _shutdown(executor);
+            this._closeWorkers(idleWorkers);
+        }
+    }
+
+    private BlockingQueue<ISampleImageSetBatchWorker> _createWorkers() {
+        BlockingQueue<ISampleImageSetBatchWorker> workers = new ArrayBlockingQueue<>(this._numWorkers);
+        for (int i = 0; i < this._numWorkers; i++) {
+            workers.add(Objects.requireNonNull(this._workerFactory.get(), "workerFactory returned null"));
+        }
+        return workers;
+    }
+
+    /**
+     * Processes the channel with an idle worker. Because there are as many
+     * threads as workers, a worker is always available.
+     * 
+     * @return null if the channel is processed, or the failure message otherwise.
+     */
+    private static String _processChannel(BlockingQueue<ISampleImageSetBatchWorker> idleWorkers,
+            File root4PProject, ICapturedImageFileSet fileSet, int channel) throws InterruptedException {
+        ISampleImageSetBatchWorker worker = idleWorkers.take();
+        try {
+            worker.process(root4PProject, fileSet, channel);
+            return null;
+        } catch (IOException | SampleSetBatchProcessFailure e) {
+            return e.getMessage();
+        } finally {
+            idleWorkers.add(worker);
+        }
+    }
+
+    /**
+     * Waits for the tasks of every file set, and creates the report. If the
+     * thread is interrupted, the remaining tasks are cancelled and reported as
+     * failures.
+     */
+    private SampleImageSetBatchReport _waitForTasks(Map<String, List<Future<String>>> fileSetTasks, long start) {
+        Map<String, String> failures = new LinkedHashMap<>();
+        int numProcessedFileSets = 0;
+
+        for (Map.Entry<String, List<Future<String>>> fileSetTask : fileSetTasks.entrySet()) {
+            boolean isProcessed = true;
+            for (int channel = 1; channel <= this._numChannels; channel++) {
+                String failure = _getTaskFailure(fileSetTask.getValue().get(channel - 1));
+
+                if (failure != null) {
+                    isProcessed = false;
+                    failures.put(fileSetTask.getKey() + ", channel " + channel, failure);
+                }
+            }
+
+            if (isProcessed) {
+                numProcessedFileSets++;
+            }
+        }
+
+        return new SampleImageSetBatchReport(fileSetTasks.size(), numProcessedFileSets, failures,
+                System.nanoTime() - start);
+    }
+
+    private static String _getTaskFailure(Future<String> task) {
+        if (Thread.currentThread().isInterrupted()) {
+            task.cancel(true);
+            return "Batch was interrupted.";
+        }
+
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.cancel(true);
+            return "Batch was interrupted.";
+        } catch (ExecutionException e) {
+            return String.valueOf(e.getCause());
+        }
+    }
+
+    /**
+     * Shuts down the executor, and waits for the running tasks, so that workers
+     * are not closed while in use.
+     */
+    private static void _shutdown(ExecutorService executor) {
+        executor.shutdownNow();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void _closeWorkers(BlockingQueue<ISampleImageSetBatchWorker> workers) throws IOException {
+        IOException closeException = null;
+        for (ISampleImageSetBatchWorker worker : workers) {
+            try {
+                worker.close();
+            } catch (IOException e) {
+                closeException = e;
+            }
+        }
+
+        if (closeException != null) {
+            throw closeException;
+        }
+    }
+
+}
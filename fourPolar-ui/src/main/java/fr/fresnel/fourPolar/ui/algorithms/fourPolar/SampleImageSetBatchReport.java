@@ -0,0 +1,80 @@
+package fr.fresnel.fourPolar.ui.algorithms.fourPolar;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The report of a {@link SampleImageSetBatchProcessor}, which includes the
+ * failed tasks and the throughput of the batch.
+ */
+public class SampleImageSetBatchReport {
+    private final int _numFileSets;
+    private final int _numProcessedFileSets;
+    private final Map<String, String> _failures;
+    private final long _elapsedNanos;
+
+    SampleImageSetBatchReport(int numFileSets, int numProcessedFileSets, Map<String, String> failures,
+            long elapsedNanos) {
+        this._numFileSets = numFileSets;
+        this._numProcessedFileSets = numProcessedFileSets;
+        this._failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+        this._elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of file sets in the batch.
+     */
+    public int getNumFileSets() {
+        return _numFileSets;
+    }
+
+    /**
+     * Returns the number of file sets whose channels were all processed.
+     */
+    public int getNumProcessedFileSets() {
+        return _numProcessedFileSets;
+    }
+
+    /**
+     * Returns the failure message of each failed task, where the key is the file
+     * set name together with the channel.
+     */
+    public Map<String, String> getFailures() {
+        return _failures;
+    }
+
+    /**
+     * Returns the wall-clock time of the batch in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this._elapsedNanos);
+    }
+
+    /**
+     * Returns the number of processed file sets per minute of wall-clock time.
+     */
+    public double getFileSetsPerMinute() {
+        if (this._elapsedNanos <= 0) {
+            return 0;
+        }
+        return this._numProcessedFileSets * (double) TimeUnit.MINUTES.toNanos(1) / this._elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Processed %d of %d file sets in %.1f s (%.2f file sets per minute).",
+                this._numProcessedFileSets, this._numFileSets, this.getElapsedMillis() / 1000.0,
+                this.getFileSetsPerMinute()));
+
+        for (Map.Entry<String, String> failure : this._failures.entrySet()) {
+            report.append(System.lineSeparator()).append("Failed ").append(failure.getKey()).append(": ")
+                    .append(failure.getValue());
+        }
+
+        return report.toString();
+    }
+
+}
@@ -0,0 +1,111 @@
+package fr.fresnel.fourPolar.ui.algorithms.fourPolar;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+
+import fr.fresnel.fourPolar.algorithm.exceptions.fourPolar.IteratorMissMatch;
+import fr.fresnel.fourPolar.algorithm.fourPolar.ParallelFourPolarMapper;
+import fr.fresnel.fourPolar.algorithm.fourPolar.converters.IIntensityToOrientationConverter;
+import fr.fresnel.fourPolar.core.exceptions.image.polarization.CannotFormPolarizationImageSet;
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
+import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
+import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
+import fr.fresnel.fourPolar.core.image.orientation.OrientationImageFactory;
+import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
+import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIImage;
+import fr.fresnel.fourPolar.io.image.orientation.IOrientationImageWriter;
+import fr.fresnel.fourPolar.io.image.orientation.TiffOrientationImageWriter;
+import fr.fresnel.fourPolar.io.image.polarization.IPolarizationImageSetReader;
+import fr.fresnel.fourPolar.io.image.polarization.TiffPolarizationImageSetReader;
+import fr.fresnel.fourPolar.io.image.soi.ISoIImageWriter;
+import fr.fresnel.fourPolar.io.image.soi.TiffSoIImageWriter;
+import fr.fresnel.fourPolar.ui.exceptions.algorithms.fourPolar.SampleSetBatchProcessFailure;
+
+/**
+ * A batch worker that reads the polarization images of a channel, maps them to
+ * orientation, and writes the orientation image (in degrees) together with the
+ * SoI image.
+ * <p>
+ * The converters of the channels are shared between all workers, whereas the
+ * tiff readers and writers are owned by each worker. The mapping of each
+ * worker is tiled over the {@link java.util.concurrent.ForkJoinPool#commonPool()},
+ * which all workers share. Hence, the workers overlap the reading and writing of
+ * their images, whereas the mapping of one file set can use all the cores, even
+ * when the sample has fewer file sets than workers. The SoI image is calculated
+ * in the same pass as the orientation, hence the polarization images are only
+ * iterated once.
+ */
+public class SampleImageSetOrientationWorker implements ISampleImageSetBatchWorker {
+    private final double _soiThreshold;
+    private final ImageFactory _imageFactory;
+    private final ParallelFourPolarMapper[] _mappers;
+
+    private final IPolarizationImageSetReader _polarizationImageSetReader;
+    private final IOrientationImageWriter _orientationImageWriter;
+    private final ISoIImageWriter _soiImageWriter;
+
+    /**
+     * @param converters   is the intensity to orientation converter of each
+     *                     channel, indexed as [channel - 1]. These converters
+     *                     are shared with other workers.
+     * @param soiThreshold is the SoI threshold, below which the orientation is not
+     *                     calculated.
+     * @param imageFactory is the factory used for reading the polarization images
+     *                     and creating the orientation image.
+     */
+    public SampleImageSetOrientationWorker(IIntensityToOrientationConverter[] converters, double soiThreshold,
+            ImageFactory imageFactory) {
+        Objects.requireNonNull(converters, "converters can't be null");
+        Objects.requireNonNull(imageFactory, "imageFactory can't be null");
+
+        this._soiThreshold = soiThreshold;
+        this._imageFactory = imageFactory;
+
+        this._mappers = new ParallelFourPolarMapper[converters.length];
+        for (int channel = 1; channel <= converters.length; channel++) {
+            this._mappers[channel - 1] = new ParallelFourPolarMapper(
+                    Objects.requireNonNull(converters[channel - 1], "converter can't be null"));
+        }
+
+        this._polarizationImageSetReader = new TiffPolarizationImageSetReader(imageFactory, converters.length);
+        this._orientationImageWriter = new TiffOrientationImageWriter();
+        this._soiImageWriter = new TiffSoIImageWriter();
+    }
+
+    @Override
+    public void process(File root4PProject, ICapturedImageFileSet fileSet, int channel)
+            throws IOException, SampleSetBatchProcessFailure {
+        IPolarizationImageSet polarizationImageSet = this._readPolarizationImages(root4PProject, fileSet, channel);
+
+        IOrientationImage orientationImage = OrientationImageFactory.create(this._imageFactory,
+                polarizationImageSet);
+        ISoIImage soiImage = SoIImage.create(polarizationImageSet);
+        try {
+            this._mappers[channel - 1].map(polarizationImageSet, orientationImage, soiImage, this._soiThreshold);
+        } catch (IteratorMissMatch e) {
+            // Not caught, because orientation and SoI images are created from
+            // polarization image.
+        }
+        this._orientationImageWriter.writeInDegrees(root4PProject, orientationImage);
+        this._soiImageWriter.write(root4PProject, soiImage);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this._polarizationImageSetReader.close();
+        this._orientationImageWriter.close();
+        this._soiImageWriter.close();
+    }
+
+    private IPolarizationImageSet _readPolarizationImages(File root4PProject, ICapturedImageFileSet fileSet,
+            int channel) throws IOException, SampleSetBatchProcessFailure {
+        try {
+            return this._polarizationImageSetReader.read(root4PProject, fileSet, channel);
+        } catch (CannotFormPolarizationImageSet e) {
+            throw new SampleSetBatchProcessFailure(e.getMessage());
+        }
+    }
+
+}
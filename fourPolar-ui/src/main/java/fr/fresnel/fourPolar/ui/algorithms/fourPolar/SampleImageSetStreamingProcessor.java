@@ -0,0 +1,246 @@
+package fr.fresnel.fourPolar.ui.algorithms.fourPolar;
+
+import java.io.File;
+import java.io.IOException;
+
+import fr.fresnel.fourPolar.algorithm.exceptions.fourPolar.IteratorMissMatch;
+import fr.fresnel.fourPolar.algorithm.fourPolar.ParallelFourPolarMapper;
+import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.IChannelDarkBackgroundRemover;
+import fr.fresnel.fourPolar.algorithm.preprocess.realignment.IChannelRealigner;
+import fr.fresnel.fourPolar.algorithm.preprocess.segmentation.ICapturedImageSetSegmenter;
+import fr.fresnel.fourPolar.algorithm.util.image.orientation.OrientationAngleConverter;
+import fr.fresnel.fourPolar.core.image.captured.ICapturedImageSet;
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.Float32;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.image.orientation.IOrientationImage;
+import fr.fresnel.fourPolar.core.image.orientation.OrientationImageFactory;
+import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
+import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.image.soi.SoIImage;
+import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
+import fr.fresnel.fourPolar.io.exceptions.image.captured.CapturedImageReadFailure;
+import fr.fresnel.fourPolar.io.image.captured.ICapturedImageSetSliceReader;
+import fr.fresnel.fourPolar.io.image.generic.ImageSliceWriter;
+import fr.fresnel.fourPolar.io.image.generic.tiff.TiffImageWriterFactory;
+import fr.fresnel.fourPolar.io.image.orientation.file.IOrientationImageFileSet;
+import fr.fresnel.fourPolar.io.image.orientation.file.TiffOrientationImageInDegreeFileSet;
+import fr.fresnel.fourPolar.io.image.soi.file.TiffSoIImageFile;
+import fr.fresnel.fourPolar.ui.exceptions.algorithms.preprocess.sampleSet.SampleSetPreprocessFailure;
+
+class SampleImageSetStreamingProcessor implements ISampleImageSetStreamingProcessor {
+    private final int _numChannels;
+    private final double _soiThreshold;
+    private final ImageFactory _imageFactory;
+
+    private final ICapturedImageSetSliceReader _capturedImageSetSliceReader;
+    private final ICapturedImageSetSegmenter _capturedImageSetSegmenter;
+    private final IChannelRealigner[] _realigners;
+    private final IChannelDarkBackgroundRemover[] _backgroundRemovers;
+    private final ParallelFourPolarMapper[] _mappers;
+
+    /**
+     * The writers of each angle image (in degrees) of each channel, indexed as
+     * [channel - 1][angle ordinal].
+     */
+    private final ImageSliceWriter<Float32>[][] _angleImageWriters;
+    private final ImageSliceWriter<UINT16>[] _soiImageWriters;
+
+    @SuppressWarnings("unchecked")
+    public SampleImageSetStreamingProcessor(ISampleImageSetStreamingProcessorBuilder builder) {
+        this._numChannels = builder.getNumChannels();
+        this._soiThreshold = builder.getSoIThreshold();
+        this._imageFactory = builder.getImageFactory();
+
+        this._capturedImageSetSliceReader = builder.getCapturedImageSetSliceReader();
+        this._capturedImageSetSegmenter = builder.getSegmenter();
+
+        this._realigners = new IChannelRealigner[this._numChannels];
+        this._backgroundRemovers = new IChannelDarkBackgroundRemover[this._numChannels];
+        this._mappers = new ParallelFourPolarMapper[this._numChannels];
+        for (int channel = 1; channel <= this._numChannels; channel++) {
+            this._realigners[channel - 1] = builder.getRealigners(channel);
+            this._backgroundRemovers[channel - 1] = builder.getBackgroundRemovers(channel);
+            this._mappers[channel - 1] = builder.getMapper(channel);
+        }
+
+        this._angleImageWriters = new ImageSliceWriter[this._numChannels][OrientationAngle.values().length];
+        this._soiImageWriters = new ImageSliceWriter[this._numChannels];
+        for (int channel = 1; channel <= this._numChannels; channel++) {
+            for (OrientationAngle angle : OrientationAngle.values()) {
+                this._angleImageWriters[channel - 1][angle.ordinal()] = TiffImageWriterFactory
+                        .getSliceWriter(Float32.zero());
+            }
+            this._soiImageWriters[channel - 1] = TiffImageWriterFactory.getSliceWriter(UINT16.zero());
+        }
+    }
+
+    @Override
+    public void process(File root4PProject, ICapturedImageFileSet fileSet)
+            throws SampleSetPreprocessFailure, IOException {
+        IMetadata capturedMetadata = this._getCapturedImageMetadata(fileSet);
+        long nZ = _getAxisLength(capturedMetadata, capturedMetadata.axisOrder().z_axis);
+        long nT = _getAxisLength(capturedMetadata, capturedMetadata.axisOrder().t_axis);
+
+        boolean isProcessed = false;
+        try {
+            for (long t = 0; t < nT; t++) {
+                for (long z = 0; z < nZ; z++) {
+                    ICapturedImageSet capturedSlice = this._readCapturedImageSlice(fileSet, z, t);
+
+                    for (int channel = 1; channel <= this._numChannels; channel++) {
+                        this._processChannelSlice(root4PProject, capturedSlice, channel, z == 0 && t == 0, nZ, nT);
+                    }
+                }
+            }
+            isProcessed = true;
+        } finally {
+            this._capturedImageSetSliceReader.close(fileSet);
+            this._finishWriters(isProcessed);
+        }
+    }
+
+    @Override
+    public void closeResources() throws IOException {
+        this._capturedImageSetSliceReader.close();
+
+        for (int channel = 1; channel <= this._numChannels; channel++) {
+            for (ImageSliceWriter<Float32> angleImageWriter : this._angleImageWriters[channel - 1]) {
+                angleImageWriter.close();
+            }
+            this._soiImageWriters[channel - 1].close();
+        }
+    }
+
+    /**
+     * Creates the polarization slice of the channel, maps it to orientation, and
+     * appends the orientation and SoI slices to their files. The files are opened
+     * with the first slice, because the size of the polarization images is only
+     * known after segmentation.
+     */
+    private void _processChannelSlice(File root4PProject, ICapturedImageSet capturedSlice, int channel,
+            boolean isFirstSlice, long nZ, long nT) throws IOException {
+        IPolarizationImageSet polarizationSlice = this._createPolarizationImageSet(capturedSlice, channel);
+
+        IOrientationImage orientationSlice = OrientationImageFactory.create(this._imageFactory, polarizationSlice);
+        ISoIImage soiSlice = SoIImage.create(polarizationSlice);
+        this._mapToOrientationAndSoI(polarizationSlice, orientationSlice, soiSlice);
+
+        if (isFirstSlice) {
+            this._openWriters(root4PProject, orientationSlice, soiSlice, nZ, nT);
+        }
+
+        for (OrientationAngle angle : OrientationAngle.values()) {
+            this._angleImageWriters[channel - 1][angle.ordinal()]
+                    .write(OrientationAngleConverter.viewInDegree(orientationSlice, angle));
+        }
+        this._soiImageWriters[channel - 1].write(soiSlice.getImage());
+    }
+
+    private IPolarizationImageSet _createPolarizationImageSet(ICapturedImageSet capturedSlice, int channel) {
+        IPolarizationImageSet polarizationSlice = this._capturedImageSetSegmenter.segment(capturedSlice, channel);
+
+        this._realigners[channel - 1].realign(polarizationSlice);
+        this._backgroundRemovers[channel - 1].remove(polarizationSlice);
+
+        return polarizationSlice;
+    }
+
+    /**
+     * The SoI is calculated in the same pass as the orientation, hence the
+     * polarization slice is only read once.
+     */
+    private void _mapToOrientationAndSoI(IPolarizationImageSet polarizationSlice, IOrientationImage orientationSlice,
+            ISoIImage soiSlice) {
+        try {
+            this._mappers[polarizationSlice.channel() - 1].map(polarizationSlice, orientationSlice, soiSlice,
+                    this._soiThreshold);
+        } catch (IteratorMissMatch e) {
+            // Not caught, because orientation and SoI images are created from
+            // polarization image.
+        }
+    }
+
+    private void _openWriters(File root4PProject, IOrientationImage orientationSlice, ISoIImage soiSlice, long nZ,
+            long nT) throws IOException {
+        int channel = orientationSlice.channel();
+
+        IOrientationImageFileSet oSet = new TiffOrientationImageInDegreeFileSet(root4PProject,
+                orientationSlice.getCapturedSet(), channel);
+        for (OrientationAngle angle : OrientationAngle.values()) {
+            IMetadata angleMetadata = orientationSlice.getAngleImage(angle).getImage().getMetadata();
+            this._angleImageWriters[channel - 1][angle.ordinal()].open(oSet.getFile(angle),
+                    _createImageMetadata(angleMetadata, nZ, nT));
+        }
+
+        File soiFile = new TiffSoIImageFile(root4PProject, soiSlice.getFileSet(), channel).getFile();
+        this._soiImageWriters[channel - 1].open(soiFile,
+                _createImageMetadata(soiSlice.getImage().getMetadata(), nZ, nT));
+    }
+
+    /**
+     * Finishes the files of all writers. If the file set is not completely
+     * processed, the incomplete files are closed as well, so that the writers can
+     * be used for the next file set.
+     */
+    private void _finishWriters(boolean isProcessed) throws IOException {
+        for (int channel = 1; channel <= this._numChannels; channel++) {
+            for (ImageSliceWriter<Float32> angleImageWriter : this._angleImageWriters[channel - 1]) {
+                _finishWriter(angleImageWriter, isProcessed);
+            }
+            _finishWriter(this._soiImageWriters[channel - 1], isProcessed);
+        }
+    }
+
+    private static void _finishWriter(ImageSliceWriter<?> writer, boolean isProcessed) throws IOException {
+        try {
+            writer.finish();
+        } catch (IllegalStateException e) {
+            if (isProcessed) {
+                throw e;
+            }
+        }
+    }
+
+    private IMetadata _getCapturedImageMetadata(ICapturedImageFileSet fileSet) throws SampleSetPreprocessFailure {
+        try {
+            return this._capturedImageSetSliceReader.getMetadata(fileSet);
+        } catch (CapturedImageReadFailure e) {
+            throw new SampleSetPreprocessFailure(e.getMessage());
+        }
+    }
+
+    private ICapturedImageSet _readCapturedImageSlice(ICapturedImageFileSet fileSet, long z, long t)
+            throws SampleSetPreprocessFailure {
+        try {
+            return this._capturedImageSetSliceReader.read(fileSet, z, t);
+        } catch (CapturedImageReadFailure e) {
+            throw new SampleSetPreprocessFailure(e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the length of the axis, or one if the axis does not exist.
+     */
+    private static long _getAxisLength(IMetadata metadata, int axis) {
+        return axis > 0 ? metadata.getDim()[axis] : 1;
+    }
+
+    /**
+     * Creates the metadata of the complete (XYCZT) image from the metadata of its
+     * slice.
+     */
+    private static IMetadata _createImageMetadata(IMetadata sliceMetadata, long nZ, long nT) {
+        long[] dim = sliceMetadata.getDim();
+        dim[AxisOrder.XYCZT.z_axis] = nZ;
+        dim[AxisOrder.XYCZT.t_axis] = nT;
+
+        return new Metadata.MetadataBuilder(dim).axisOrder(AxisOrder.XYCZT).bitPerPixel(sliceMetadata.bitPerPixel())
+                .build();
+    }
+
+}
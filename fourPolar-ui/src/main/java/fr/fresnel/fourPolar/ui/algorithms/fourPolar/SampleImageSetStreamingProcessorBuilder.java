@@ -0,0 +1,187 @@
+package fr.fresnel.fourPolar.ui.algorithms.fourPolar;
+
+import java.util.Objects;
+
+import fr.fresnel.fourPolar.algorithm.fourPolar.ParallelFourPolarMapper;
+import fr.fresnel.fourPolar.algorithm.fourPolar.converters.IntensityToOrientationConverter;
+import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.ChannelDarkBackgroundRemover;
+import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.IChannelDarkBackgroundRemover;
+import fr.fresnel.fourPolar.algorithm.preprocess.realignment.ChannelRealigner;
+import fr.fresnel.fourPolar.algorithm.preprocess.realignment.IChannelRealigner;
+import fr.fresnel.fourPolar.algorithm.preprocess.segmentation.ICapturedImageSetSegmenter;
+import fr.fresnel.fourPolar.algorithm.preprocess.segmentation.SampleImageSegmenter;
+import fr.fresnel.fourPolar.core.image.generic.ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
+import fr.fresnel.fourPolar.core.imagingSetup.IFourPolarImagingSetup;
+import fr.fresnel.fourPolar.core.physics.channel.ChannelUtils;
+import fr.fresnel.fourPolar.core.physics.propagation.IInverseOpticalPropagation;
+import fr.fresnel.fourPolar.core.preprocess.RegistrationSetProcessResult;
+import fr.fresnel.fourPolar.io.image.captured.ICapturedImageSetSliceReader;
+import fr.fresnel.fourPolar.io.image.captured.tiff.TiffCapturedImageSetSliceReader;
+
+public class SampleImageSetStreamingProcessorBuilder extends ISampleImageSetStreamingProcessorBuilder {
+    private ICapturedImageSetSliceReader _capturedImageSetSliceReader;
+    private ImageFactory _imageFactory;
+    private double _soiThreshold;
+
+    private final ICapturedImageSetSegmenter _segmenter;
+    private final IChannelDarkBackgroundRemover[] _backgroundRemovers;
+    private final IChannelRealigner[] _realigners;
+    private final ParallelFourPolarMapper[] _mappers;
+
+    private final IFourPolarImagingSetup _imagingSetup;
+
+    /**
+     * Initialize the builder, setting all parameters to defaults. This includes
+     * reading captured images in tiff, using ImgLib2 image model for the slices,
+     * and an SoI threshold of zero. The inverse optical propagation of every
+     * channel must be set using
+     * {@link #inverseOpticalPropagation(int, IInverseOpticalPropagation)}.
+     * 
+     * @param imagingSetup
+     * @param registrationProcessResult
+     */
+    public SampleImageSetStreamingProcessorBuilder(IFourPolarImagingSetup imagingSetup,
+            RegistrationSetProcessResult registrationProcessResult) {
+        this._imagingSetup = imagingSetup;
+
+        this._segmenter = new SampleImageSegmenter(imagingSetup.getFieldOfView(), imagingSetup.getNumChannel());
+        this._realigners = this._setChannelRealigners(registrationProcessResult);
+        this._backgroundRemovers = this._setChannelDarkBackgroundRemover(registrationProcessResult);
+        this._mappers = new ParallelFourPolarMapper[getNumChannels()];
+
+        this._imageFactory = new ImgLib2ImageFactory();
+        this._capturedImageSetSliceReader = new TiffCapturedImageSetSliceReader(this._imageFactory);
+        this._soiThreshold = 0;
+    }
+
+    /**
+     * Set the inverse optical propagation of the given channel, which is used for
+     * mapping the polarization intensities to orientation.
+     */
+    public SampleImageSetStreamingProcessorBuilder inverseOpticalPropagation(int channel,
+            IInverseOpticalPropagation inverseOpticalPropagation) {
+        ChannelUtils.checkChannelExists(channel, getNumChannels());
+        Objects.requireNonNull(inverseOpticalPropagation, "inverseOpticalPropagation can't be null");
+
+        this._mappers[channel - 1] = new ParallelFourPolarMapper(
+                new IntensityToOrientationConverter(inverseOpticalPropagation));
+        return this;
+    }
+
+    /**
+     * Set the SoI threshold, below which the orientation is not calculated.
+     */
+    public SampleImageSetStreamingProcessorBuilder soiThreshold(double soiThreshold) {
+        this._soiThreshold = soiThreshold;
+        return this;
+    }
+
+    /**
+     * Set the slice reader of captured images.
+     */
+    public SampleImageSetStreamingProcessorBuilder capturedImageSetSliceReader(
+            ICapturedImageSetSliceReader reader) {
+        Objects.requireNonNull(reader);
+
+        this._capturedImageSetSliceReader = reader;
+        return this;
+    }
+
+    /**
+     * Set the factory used for creating the polarization and orientation slices.
+     */
+    public SampleImageSetStreamingProcessorBuilder imageFactory(ImageFactory factory) {
+        Objects.requireNonNull(factory);
+
+        this._imageFactory = factory;
+        return this;
+    }
+
+    /**
+     * Set channel realigners
+     */
+    private IChannelRealigner[] _setChannelRealigners(RegistrationSetProcessResult registrationProcessResult) {
+        IChannelRealigner[] realigners = new IChannelRealigner[getNumChannels()];
+        for (int channel = 1; channel <= getNumChannels(); channel++) {
+            realigners[channel - 1] = ChannelRealigner.create(registrationProcessResult.getRegistrationResult(channel));
+        }
+
+        return realigners;
+    }
+
+    /**
+     * Set channel dark back ground remover.
+     */
+    private IChannelDarkBackgroundRemover[] _setChannelDarkBackgroundRemover(
+            RegistrationSetProcessResult registrationProcessResult) {
+        IChannelDarkBackgroundRemover[] channelRemovers = new IChannelDarkBackgroundRemover[getNumChannels()];
+
+        for (int channel = 1; channel <= getNumChannels(); channel++) {
+            channelRemovers[channel - 1] = ChannelDarkBackgroundRemover
+                    .create(registrationProcessResult.getDarkBackground(channel));
+        }
+
+        return channelRemovers;
+    }
+
+    /**
+     * Build the processor.
+     * 
+     * @throws IllegalStateException if the inverse optical propagation of a
+     *                               channel is not set.
+     */
+    public ISampleImageSetStreamingProcessor build() {
+        for (int channel = 1; channel <= getNumChannels(); channel++) {
+            if (this._mappers[channel - 1] == null) {
+                throw new IllegalStateException("Inverse optical propagation of channel " + channel + " is not set.");
+            }
+        }
+
+        return new SampleImageSetStreamingProcessor(this);
+    }
+
+    @Override
+    IChannelDarkBackgroundRemover getBackgroundRemovers(int channel) {
+        ChannelUtils.checkChannelExists(channel, getNumChannels());
+        return this._backgroundRemovers[channel - 1];
+    }
+
+    @Override
+    ICapturedImageSetSliceReader getCapturedImageSetSliceReader() {
+        return this._capturedImageSetSliceReader;
+    }
+
+    @Override
+    ImageFactory getImageFactory() {
+        return this._imageFactory;
+    }
+
+    @Override
+    ParallelFourPolarMapper getMapper(int channel) {
+        ChannelUtils.checkChannelExists(channel, getNumChannels());
+        return this._mappers[channel - 1];
+    }
+
+    @Override
+    int getNumChannels() {
+        return this._imagingSetup.getNumChannel();
+    }
+
+    @Override
+    IChannelRealigner getRealigners(int channel) {
+        ChannelUtils.checkChannelExists(channel, getNumChannels());
+        return this._realigners[channel - 1];
+    }
+
+    @Override
+    ICapturedImageSetSegmenter getSegmenter() {
+        return this._segmenter;
+    }
+
+    @Override
+    double getSoIThreshold() {
+        return this._soiThreshold;
+    }
+
+}
@@ -10,6 +10,7 @@ import fr.fresnel.fourPolar.algorithm.preprocess.realignment.ChannelRealigner;
 import fr.fresnel.fourPolar.algorithm.preprocess.realignment.IChannelRealigner;
 import fr.fresnel.fourPolar.algorithm.preprocess.registration.IChannelRegistrator;
 import fr.fresnel.fourPolar.algorithm.preprocess.segmentation.ICapturedImageSetSegmenter;
+import fr.fresnel.fourPolar.algorithm.util.image.polarization.PolarizationImageSetProfile;
 import fr.fresnel.fourPolar.algorithm.visualization.figures.polarization.IPolarizationImageSetCompositesCreater;
 import fr.fresnel.fourPolar.core.image.captured.ICapturedImageSet;
 import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
@@ -61,36 +62,44 @@ class RegistrationSetProcessor implements IRegistrationSetProcessor {
 
         IPolarizationImageSet[] channelImages = this._segmentRegistrationImageIntoChannels(registrationImage);
 
-        RegistrationSetProcessResult preprocessResult = _processChannels(channelImages);
+        RegistrationSetProcessResult preprocessResult = new RegistrationSetProcessResult(this._numChannels);
+        this._registerChannels(channelImages, preprocessResult);
+
+        // Even though realignment is not part of process, we perform it here, so that
+        // images are realigned for possible future uses, like creating composites.
+        this._realignPolarizationImageOfChannels(channelImages, preprocessResult);
 
-        this._channelComposites = this._createCompositeImages(registrationImageSet, channelImages, preprocessResult);
+        // Each channel is profiled once it's preprocessed, and the profile is shared
+        // by the dark background estimation and the composite creation.
+        PolarizationImageSetProfile[] channelProfiles = this._profileChannels(channelImages);
+        this._estimateChannelsDarkBackground(channelImages, channelProfiles, preprocessResult);
+        this._channelComposites = this._createCompositeImages(channelImages, channelProfiles);
 
         return preprocessResult;
     }
 
-    private IPolarizationImageSetComposites[] _createCompositeImages(RegistrationImageSet registrationImageSet,
-            IPolarizationImageSet[] channelImages, RegistrationSetProcessResult preprocessResult) {
+    private IPolarizationImageSetComposites[] _createCompositeImages(IPolarizationImageSet[] channelImages,
+            PolarizationImageSetProfile[] channelProfiles) {
         IPolarizationImageSetComposites[] composites = new IPolarizationImageSetComposites[this._numChannels];
 
         for (int channel = 1; channel <= this._numChannels; channel++) {
-            composites[channel - 1] = this._compositeImageCreator.create(channelImages[channel - 1]);
+            composites[channel - 1] = this._compositeImageCreator.create(channelImages[channel - 1],
+                    channelProfiles[channel - 1]);
         }
 
         return composites;
 
     }
 
-    private RegistrationSetProcessResult _processChannels(IPolarizationImageSet[] channelImages)
-            throws RegistrationIssueRegistrationSetProcessFailure {
-        RegistrationSetProcessResult preprocessResult = new RegistrationSetProcessResult(this._numChannels);
-        this._registerChannels(channelImages, preprocessResult);
-        this._estimateChannelsDarkBackground(channelImages, preprocessResult);
-
-        // Even though realignment is not part of process, we perform it here, so that
-        // images are realigned for possible future uses, like creating composites.
-        this._realignPolarizationImageOfChannels(channelImages, preprocessResult);
-
-        return preprocessResult;
+    /**
+     * Profiles the polarization image set of each channel, with histograms.
+     */
+    private PolarizationImageSetProfile[] _profileChannels(IPolarizationImageSet[] channelImages) {
+        PolarizationImageSetProfile[] channelProfiles = new PolarizationImageSetProfile[this._numChannels];
+        for (int channel = 1; channel <= this._numChannels; channel++) {
+            channelProfiles[channel - 1] = PolarizationImageSetProfile.profile(channelImages[channel - 1]);
+        }
+        return channelProfiles;
     }
 
     private ICapturedImageSet _readRegistrationImage(ICapturedImageFileSet fileSet)
@@ -162,9 +171,10 @@ class RegistrationSetProcessor implements IRegistrationSetProcessor {
      * Estimate dark background for each channel.
      */
     private void _estimateChannelsDarkBackground(IPolarizationImageSet[] channelImages,
-            RegistrationSetProcessResult preprocessResult) {
+            PolarizationImageSetProfile[] channelProfiles, RegistrationSetProcessResult preprocessResult) {
         for (int channel = 1; channel <= this._numChannels; channel++) {
-            IChannelDarkBackground darkBackground = this._darkBackgroundEstimator.estimate(channelImages[channel - 1]);
+            IChannelDarkBackground darkBackground = this._darkBackgroundEstimator.estimate(channelImages[channel - 1],
+                    channelProfiles[channel - 1]);
             preprocessResult.setDarkBackground(channel, darkBackground);
         }
     }
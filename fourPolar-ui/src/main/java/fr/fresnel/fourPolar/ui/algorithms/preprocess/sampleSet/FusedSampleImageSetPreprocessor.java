@@ -0,0 +1,94 @@
+package fr.fresnel.fourPolar.ui.algorithms.preprocess.sampleSet;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import fr.fresnel.fourPolar.algorithm.preprocess.fused.IChannelFusedPreprocessor;
+import fr.fresnel.fourPolar.algorithm.preprocess.segmentation.ICapturedImageSetSegmenter;
+import fr.fresnel.fourPolar.core.image.captured.ICapturedImageSet;
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
+import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
+import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.physics.channel.ChannelUtils;
+import fr.fresnel.fourPolar.io.exceptions.image.captured.CapturedImageReadFailure;
+import fr.fresnel.fourPolar.io.image.captured.ICapturedImageSetReader;
+import fr.fresnel.fourPolar.ui.exceptions.algorithms.preprocess.sampleSet.SampleSetPreprocessFailure;
+
+/**
+ * An implementation of {@link ISampleImageSetPreprocessor} that realigns,
+ * removes the dark background and calculates the SoI of each channel in one
+ * traversal of the pixels, using an {@link IChannelFusedPreprocessor}. The
+ * results are the same as {@link SampleImageSetPreprocessor}, but the
+ * polarization images are traversed once rather than three times.
+ * <p>
+ * Unlike {@link SampleImageSetPreprocessor}, the SoI image is calculated
+ * together with the polarization image set of each channel, and
+ * {@link #getSoIImage(int)} returns it without another pass.
+ */
+class FusedSampleImageSetPreprocessor implements ISampleImageSetPreprocessor {
+    private final int _numChannels;
+
+    /**
+     * Indicates the sample image supplied to be processed.
+     */
+    private ICapturedImageSet _sampleImage;
+
+    private final ICapturedImageSetSegmenter _capturedImageSetSegmenter;
+    private final ICapturedImageSetReader _capturedImageSetReader;
+    private final IChannelFusedPreprocessor[] _fusedPreprocessors;
+
+    /**
+     * The SoI image of the polarization image set last created for each channel
+     * of the current sample image.
+     */
+    private final ISoIImage[] _soiImages;
+
+    public FusedSampleImageSetPreprocessor(ISampleImageSetPreprocessorBuilder builder) {
+        this._numChannels = builder.getNumChannels();
+
+        this._capturedImageSetReader = builder.getCapturedImageSetReader();
+        this._capturedImageSetSegmenter = builder.getSegmenter();
+
+        this._fusedPreprocessors = new IChannelFusedPreprocessor[this._numChannels];
+        for (int channel = 1; channel <= this._numChannels; channel++) {
+            this._fusedPreprocessors[channel - 1] = builder.getFusedPreprocessor(channel);
+        }
+
+        this._soiImages = new ISoIImage[this._numChannels];
+    }
+
+    @Override
+    public void setCapturedImageSet(ICapturedImageFileSet capturedImageFileSet) throws SampleSetPreprocessFailure {
+        try {
+            this._sampleImage = this._capturedImageSetReader.read(capturedImageFileSet);
+        } catch (CapturedImageReadFailure e) {
+            throw new SampleSetPreprocessFailure(e.getMessage());
+        }
+        Arrays.fill(this._soiImages, null);
+    }
+
+    @Override
+    public IPolarizationImageSet getPolarizationImageSet(int channel) {
+        IPolarizationImageSet polImageSet = this._capturedImageSetSegmenter.segment(this._sampleImage, channel);
+
+        this._soiImages[channel - 1] = this._fusedPreprocessors[channel - 1].processWithSoI(polImageSet);
+        return polImageSet;
+    }
+
+    @Override
+    public ISoIImage getSoIImage(int channel) {
+        ChannelUtils.checkChannelExists(channel, this._numChannels);
+        ISoIImage soiImage = this._soiImages[channel - 1];
+        if (soiImage == null) {
+            throw new IllegalStateException("Polarization image set of channel " + channel + " is not created.");
+        }
+
+        return soiImage;
+    }
+
+    @Override
+    public void closeResources() throws IOException {
+        this._capturedImageSetReader.close();
+    }
+
+}
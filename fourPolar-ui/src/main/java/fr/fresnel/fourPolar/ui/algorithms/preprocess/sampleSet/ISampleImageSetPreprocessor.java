@@ -50,6 +50,17 @@ public interface ISampleImageSetPreprocessor {
      */
     public IPolarizationImageSet getPolarizationImageSet(int channel) throws SampleSetPreprocessFailure;
 
+    /**
+     * Return the SoI image of the polarization image set that was last returned by
+     * {@link #getPolarizationImageSet(int)} for the given channel of the captured
+     * image set.
+     * 
+     * @throws IllegalStateException if the polarization image set of this channel
+     *                               is not yet created for the current captured
+     *                               image set.
+     */
+    public ISoIImage getSoIImage(int channel);
+
     /**
      * Close all IO resources associated with this processor.
      */
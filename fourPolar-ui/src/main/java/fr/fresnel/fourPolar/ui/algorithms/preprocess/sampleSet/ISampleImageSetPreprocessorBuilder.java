@@ -1,6 +1,7 @@
 package fr.fresnel.fourPolar.ui.algorithms.preprocess.sampleSet;
 
 import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.IChannelDarkBackgroundRemover;
+import fr.fresnel.fourPolar.algorithm.preprocess.fused.IChannelFusedPreprocessor;
 import fr.fresnel.fourPolar.algorithm.preprocess.realignment.IChannelRealigner;
 import fr.fresnel.fourPolar.algorithm.preprocess.segmentation.ICapturedImageSetSegmenter;
 import fr.fresnel.fourPolar.io.image.captured.ICapturedImageSetReader;
@@ -14,6 +15,8 @@ abstract class ISampleImageSetPreprocessorBuilder {
 
     abstract ICapturedImageSetReader getCapturedImageSetReader();
 
+    abstract IChannelFusedPreprocessor getFusedPreprocessor(int channel);
+
     abstract int getNumChannels();
 
     abstract IChannelRealigner getRealigners(int channel);
@@ -1,6 +1,7 @@
 package fr.fresnel.fourPolar.ui.algorithms.preprocess.sampleSet;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.IChannelDarkBackgroundRemover;
 import fr.fresnel.fourPolar.algorithm.preprocess.realignment.IChannelRealigner;
@@ -8,8 +9,12 @@ import fr.fresnel.fourPolar.algorithm.preprocess.segmentation.ICapturedImageSetS
 import fr.fresnel.fourPolar.core.image.captured.ICapturedImageSet;
 import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
 import fr.fresnel.fourPolar.core.image.polarization.IPolarizationImageSet;
+import fr.fresnel.fourPolar.core.image.soi.ISoIImage;
+import fr.fresnel.fourPolar.core.physics.channel.ChannelUtils;
 import fr.fresnel.fourPolar.io.exceptions.image.captured.CapturedImageReadFailure;
 import fr.fresnel.fourPolar.io.image.captured.ICapturedImageSetReader;
+import fr.fresnel.fourPolar.ui.algorithms.preprocess.soi.ISoIImageCreator;
+import fr.fresnel.fourPolar.ui.algorithms.preprocess.soi.SoIImageCreator;
 import fr.fresnel.fourPolar.ui.exceptions.algorithms.preprocess.sampleSet.SampleSetPreprocessFailure;
 
 class SampleImageSetPreprocessor implements ISampleImageSetPreprocessor {
@@ -25,6 +30,13 @@ class SampleImageSetPreprocessor implements ISampleImageSetPreprocessor {
 
     private final IChannelDarkBackgroundRemover[] _backgroundRemovers;
     private final IChannelRealigner[] _realigners;
+    private final ISoIImageCreator _soiImageCreator;
+
+    /**
+     * The polarization image set last created for each channel of the current
+     * sample image.
+     */
+    private final IPolarizationImageSet[] _polarizationImageSets;
 
     public SampleImageSetPreprocessor(ISampleImageSetPreprocessorBuilder builder) {
         this._numChannels = this._setNumChannels(builder);
@@ -34,11 +46,15 @@ class SampleImageSetPreprocessor implements ISampleImageSetPreprocessor {
 
         this._realigners = this._setChannelRealigners(builder);
         this._backgroundRemovers = this._setChannelDarkBackgroundRemover(builder);
+
+        this._soiImageCreator = SoIImageCreator.create(this._numChannels);
+        this._polarizationImageSets = new IPolarizationImageSet[this._numChannels];
     }
 
     @Override
     public void setCapturedImageSet(ICapturedImageFileSet capturedImageFileSet) throws SampleSetPreprocessFailure {
         this._sampleImage = this._readCapturedImageSet(capturedImageFileSet);
+        Arrays.fill(this._polarizationImageSets, null);
     }
 
     private ICapturedImageSet _readCapturedImageSet(ICapturedImageFileSet capturedImageFileSet)
@@ -57,9 +73,21 @@ class SampleImageSetPreprocessor implements ISampleImageSetPreprocessor {
         this._realignPolarizationImageSet(polImageSet);
         this._removeChannelDarkBackgrounds(polImageSet);
 
+        this._polarizationImageSets[channel - 1] = polImageSet;
         return polImageSet;
     }
 
+    @Override
+    public ISoIImage getSoIImage(int channel) {
+        ChannelUtils.checkChannelExists(channel, this._numChannels);
+        IPolarizationImageSet polImageSet = this._polarizationImageSets[channel - 1];
+        if (polImageSet == null) {
+            throw new IllegalStateException("Polarization image set of channel " + channel + " is not created.");
+        }
+
+        return this._soiImageCreator.create(polImageSet);
+    }
+
     @Override
     public void closeResources() throws IOException {
         this._closeCapturedImageReaderResources();
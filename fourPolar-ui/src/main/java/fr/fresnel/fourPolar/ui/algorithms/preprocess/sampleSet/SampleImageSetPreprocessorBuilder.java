@@ -4,6 +4,8 @@ import java.util.Objects;
 
 import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.ChannelDarkBackgroundRemover;
 import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.IChannelDarkBackgroundRemover;
+import fr.fresnel.fourPolar.algorithm.preprocess.fused.ChannelFusedPreprocessor;
+import fr.fresnel.fourPolar.algorithm.preprocess.fused.IChannelFusedPreprocessor;
 import fr.fresnel.fourPolar.algorithm.preprocess.realignment.ChannelRealigner;
 import fr.fresnel.fourPolar.algorithm.preprocess.realignment.IChannelRealigner;
 import fr.fresnel.fourPolar.algorithm.preprocess.segmentation.ICapturedImageSetSegmenter;
@@ -22,12 +24,16 @@ public class SampleImageSetPreprocessorBuilder extends ISampleImageSetPreprocess
     private final ICapturedImageSetSegmenter _segmenter;
     private final IChannelDarkBackgroundRemover[] _backgroundRemovers;
     private final IChannelRealigner[] _realigners;
+    private final IChannelFusedPreprocessor[] _fusedPreprocessors;
+    private boolean _fusePreprocessing;
 
     private final IFourPolarImagingSetup _imagingSetup;
 
     /**
      * Initialize the builder, setting all parameters to defaults. This includes
-     * reading captured images in tiff, using ImgLib2 image model,
+     * reading captured images in tiff, using ImgLib2 image model, and
+     * realigning, removing the dark background and calculating the SoI in one
+     * traversal of the pixels (see {@link #setFusedPreprocessing(boolean)}).
      * 
      * @param imagingSetup
      * @param registrationprocessresult
@@ -39,6 +45,8 @@ public class SampleImageSetPreprocessorBuilder extends ISampleImageSetPreprocess
         this._segmenter = this._setCapturedImageSetSegmenter(this._imagingSetup);
         this._realigners = this._setChannelRealigners(getNumChannels(), registrationProcessResult);
         this._backgroundRemovers = this._setChannelDarkBackgroundRemover(getNumChannels(), registrationProcessResult);
+        this._fusedPreprocessors = this._setChannelFusedPreprocessors(getNumChannels(), registrationProcessResult);
+        this._fusePreprocessing = true;
 
         this._capturedImageSetReader = new TiffCapturedImageSetReader(new ImgLib2ImageFactory());
 
@@ -57,6 +65,16 @@ public class SampleImageSetPreprocessorBuilder extends ISampleImageSetPreprocess
         this._capturedImageSetReader = reader;
     }
 
+    /**
+     * If true, the built processor realigns, removes the dark background and
+     * calculates the SoI of each channel in one traversal of the pixels, which
+     * is faster for large images. Otherwise, each step traverses the pixels
+     * separately. The results are the same in both cases. By default, true.
+     */
+    public void setFusedPreprocessing(boolean fusePreprocessing) {
+        this._fusePreprocessing = fusePreprocessing;
+    }
+
     /**
      * Set channel realigners
      * 
@@ -87,7 +105,26 @@ public class SampleImageSetPreprocessorBuilder extends ISampleImageSetPreprocess
         return channelRemovers;
     }
 
+    /**
+     * Set channel fused preprocessors.
+     */
+    private IChannelFusedPreprocessor[] _setChannelFusedPreprocessors(int numChannels,
+            RegistrationSetProcessResult registrationprocessresult) {
+        IChannelFusedPreprocessor[] fusedPreprocessors = new IChannelFusedPreprocessor[numChannels];
+
+        for (int channel = 1; channel <= getNumChannels(); channel++) {
+            fusedPreprocessors[channel - 1] = ChannelFusedPreprocessor.create(
+                    registrationprocessresult.getRegistrationResult(channel),
+                    registrationprocessresult.getDarkBackground(channel));
+        }
+
+        return fusedPreprocessors;
+    }
+
     public ISampleImageSetPreprocessor build() {
+        if (this._fusePreprocessing) {
+            return new FusedSampleImageSetPreprocessor(this);
+        }
         return new SampleImageSetPreprocessor(this);
     }
 
@@ -102,6 +139,12 @@ public class SampleImageSetPreprocessorBuilder extends ISampleImageSetPreprocess
         return this._capturedImageSetReader;
     }
 
+    @Override
+    IChannelFusedPreprocessor getFusedPreprocessor(int channel) {
+        ChannelUtils.checkChannelExists(channel, getNumChannels());
+        return this._fusedPreprocessors[channel - 1];
+    }
+
     @Override
     int getNumChannels() {
         return this._imagingSetup.getNumChannel();
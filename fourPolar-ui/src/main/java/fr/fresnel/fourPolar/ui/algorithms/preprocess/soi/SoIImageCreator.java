@@ -44,8 +44,7 @@ public class SoIImageCreator implements ISoIImageCreator {
 
     private void _calculateChannelSoI(IPolarizationImageSet polImageSet, ISoIImage soiImage) {
         int channel = polImageSet.channel();
-        this._soiCalculators[channel - 1].calculateUINT16Sum(polImageSet.getIterator(),
-                soiImage.getImage().getCursor());
+        this._soiCalculators[channel - 1].calculateUINT16Sum(polImageSet, soiImage.getImage());
     }
 
 }
\ No newline at end of file
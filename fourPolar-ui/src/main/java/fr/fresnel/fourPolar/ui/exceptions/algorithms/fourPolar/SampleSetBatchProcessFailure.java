@@ -0,0 +1,15 @@
+package fr.fresnel.fourPolar.ui.exceptions.algorithms.fourPolar;
+
+/**
+ * Thrown in case an {@link ISampleImageSetBatchWorker} fails to process a
+ * channel of a file set.
+ */
+public class SampleSetBatchProcessFailure extends Exception {
+
+    private static final long serialVersionUID = 90741238475610L;
+
+    public SampleSetBatchProcessFailure(String message) {
+        super(message);
+    }
+
+}
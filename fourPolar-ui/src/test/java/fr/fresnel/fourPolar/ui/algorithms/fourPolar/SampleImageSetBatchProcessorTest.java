@@ -0,0 +1,281 @@
+package fr.fresnel.fourPolar.ui.algorithms.fourPolar;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import fr.fresnel.fourPolar.algorithm.fourPolar.converters.IIntensityToOrientationConverter;
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFile;
+import fr.fresnel.fourPolar.core.image.captured.file.ICapturedImageFileSet;
+import fr.fresnel.fourPolar.core.image.generic.IMetadata;
+import fr.fresnel.fourPolar.core.image.generic.IPixelCursor;
+import fr.fresnel.fourPolar.core.image.generic.Image;
+import fr.fresnel.fourPolar.core.image.generic.axis.AxisOrder;
+import fr.fresnel.fourPolar.core.image.generic.imgLib2Model.ImgLib2ImageFactory;
+import fr.fresnel.fourPolar.core.image.generic.metadata.Metadata;
+import fr.fresnel.fourPolar.core.image.generic.pixel.IPixel;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.PixelTypes;
+import fr.fresnel.fourPolar.core.image.generic.pixel.types.UINT16;
+import fr.fresnel.fourPolar.core.imageSet.acquisition.sample.SampleImageSet;
+import fr.fresnel.fourPolar.core.imagingSetup.imageFormation.Cameras;
+import fr.fresnel.fourPolar.core.physics.dipole.IOrientationVector;
+import fr.fresnel.fourPolar.core.physics.dipole.OrientationAngle;
+import fr.fresnel.fourPolar.core.physics.polarization.IntensityVector;
+import fr.fresnel.fourPolar.core.physics.polarization.Polarization;
+import fr.fresnel.fourPolar.io.image.generic.tiff.scifio.SCIFIOUINT16TiffWriter;
+import fr.fresnel.fourPolar.io.image.orientation.file.TiffOrientationImageInDegreeFileSet;
+import fr.fresnel.fourPolar.io.image.polarization.file.TiffPolarizationImageFileSet;
+import fr.fresnel.fourPolar.io.image.soi.file.TiffSoIImageFile;
+import fr.fresnel.fourPolar.ui.exceptions.algorithms.fourPolar.SampleSetBatchProcessFailure;
+
+public class SampleImageSetBatchProcessorTest {
+    @Test
+    public void process_FiveFileSetsTwoChannels_ProcessesEveryChannelOnce() throws IOException {
+        SampleImageSet sampleImageSet = _createSampleImageSet(5);
+
+        Set<String> processed = ConcurrentHashMap.newKeySet();
+        AtomicInteger numProcessCalls = new AtomicInteger();
+        SampleImageSetBatchProcessor processor = new SampleImageSetBatchProcessor(2, 3,
+                () -> new BatchDummyWorker(processed, numProcessCalls, null));
+
+        SampleImageSetBatchReport report = processor.process(sampleImageSet);
+
+        assertTrue(numProcessCalls.get() == 10 && processed.size() == 10 && report.getNumFileSets() == 5
+                && report.getNumProcessedFileSets() == 5 && report.getFailures().isEmpty());
+    }
+
+    @Test
+    public void process_OneChannelFails_FileSetIsNotProcessed() throws IOException {
+        SampleImageSet sampleImageSet = _createSampleImageSet(3);
+
+        SampleImageSetBatchProcessor processor = new SampleImageSetBatchProcessor(2, 2,
+                () -> new BatchDummyWorker(ConcurrentHashMap.newKeySet(), new AtomicInteger(), "Set1"));
+
+        SampleImageSetBatchReport report = processor.process(sampleImageSet);
+
+        assertTrue(report.getNumProcessedFileSets() == 2 && report.getFailures().size() == 1
+                && report.getFailures().containsKey("Set1, channel 2"));
+    }
+
+    @Test
+    public void process_ThreeWorkers_EachWorkerIsUsedByOneThreadAndClosed() throws IOException {
+        SampleImageSet sampleImageSet = _createSampleImageSet(8);
+
+        Set<BatchDummyWorker> workers = ConcurrentHashMap.newKeySet();
+        SampleImageSetBatchProcessor processor = new SampleImageSetBatchProcessor(1, 3, () -> {
+            BatchDummyWorker worker = new BatchDummyWorker(ConcurrentHashMap.newKeySet(), new AtomicInteger(), null);
+            workers.add(worker);
+            return worker;
+        });
+
+        processor.process(sampleImageSet);
+
+        assertTrue(workers.size() == 3
+                && workers.stream().allMatch(worker -> worker.isClosed() && !worker.wasUsedConcurrently()));
+    }
+
+    /**
+     * Each channel has its own intensity and orientation, hence the images written
+     * for the two channels must be distinct files with different content.
+     */
+    @Test
+    public void process_OrientationWorkersTwoChannels_WritesDistinctImagesOfEachChannel() throws IOException {
+        File root = new File(SampleImageSetBatchProcessorTest.class.getResource("").getPath(), "TwoChannelBatch");
+        SampleImageSet sampleImageSet = new SampleImageSet(root);
+        ICapturedImageFileSet fileSet = new BatchDummyFileSet("TwoChannelSet");
+        sampleImageSet.addCapturedImageSet(fileSet);
+
+        _writePolarizationImages(root, fileSet, 1, 100);
+        _writePolarizationImages(root, fileSet, 2, 300);
+
+        IIntensityToOrientationConverter[] converters = { new BatchDummyConverter(0.5),
+                new BatchDummyConverter(1) };
+        SampleImageSetBatchProcessor processor = new SampleImageSetBatchProcessor(2, 2,
+                () -> new SampleImageSetOrientationWorker(converters, 0, new ImgLib2ImageFactory()));
+        SampleImageSetBatchReport report = processor.process(sampleImageSet);
+
+        File soi1 = new TiffSoIImageFile(root, fileSet, 1).getFile();
+        File soi2 = new TiffSoIImageFile(root, fileSet, 2).getFile();
+        File rho1 = new TiffOrientationImageInDegreeFileSet(root, fileSet, 1).getFile(OrientationAngle.rho);
+        File rho2 = new TiffOrientationImageInDegreeFileSet(root, fileSet, 2).getFile(OrientationAngle.rho);
+
+        assertTrue(report.getFailures().isEmpty() && soi1.exists() && soi2.exists() && rho1.exists()
+                && rho2.exists());
+        assertTrue(!soi1.equals(soi2) && !rho1.equals(rho2));
+        assertTrue(!Arrays.equals(Files.readAllBytes(soi1.toPath()), Files.readAllBytes(soi2.toPath()))
+                && !Arrays.equals(Files.readAllBytes(rho1.toPath()), Files.readAllBytes(rho2.toPath())));
+    }
+
+    @Test
+    public void constructor_ZeroWorkers_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SampleImageSetBatchProcessor(1, 0, () -> null));
+    }
+
+    private void _writePolarizationImages(File root, ICapturedImageFileSet fileSet, int channel, int intensity)
+            throws IOException {
+        IMetadata metadata = new Metadata.MetadataBuilder(new long[] { 4, 3, 1, 1, 1 }).axisOrder(AxisOrder.XYCZT)
+                .bitPerPixel(PixelTypes.UINT_16).build();
+        Image<UINT16> image = new ImgLib2ImageFactory().create(metadata, UINT16.zero());
+        for (IPixelCursor<UINT16> cursor = image.getCursor(); cursor.hasNext();) {
+            IPixel<UINT16> pixel = cursor.next();
+            pixel.value().set(intensity);
+            cursor.setPixel(pixel);
+        }
+
+        TiffPolarizationImageFileSet polFileSet = new TiffPolarizationImageFileSet(root, fileSet, channel);
+        SCIFIOUINT16TiffWriter writer = new SCIFIOUINT16TiffWriter();
+        for (Polarization polarization : Polarization.values()) {
+            writer.write(polFileSet.getFile(polarization), image);
+        }
+        writer.close();
+    }
+
+    private SampleImageSet _createSampleImageSet(int numFileSets) {
+        SampleImageSet sampleImageSet = new SampleImageSet(new File("root"));
+        for (int i = 0; i < numFileSets; i++) {
+            sampleImageSet.addCapturedImageSet(new BatchDummyFileSet("Set" + i));
+        }
+        return sampleImageSet;
+    }
+
+}
+
+class BatchDummyWorker implements ISampleImageSetBatchWorker {
+    private final Set<String> _processed;
+    private final AtomicInteger _numProcessCalls;
+    private final String _failingSetName;
+    private final AtomicInteger _numActiveThreads = new AtomicInteger();
+
+    private volatile boolean _usedConcurrently = false;
+    private volatile boolean _closed = false;
+
+    /**
+     * @param failingSetName is the file set whose second channel fails, or null.
+     */
+    public BatchDummyWorker(Set<String> processed, AtomicInteger numProcessCalls, String failingSetName) {
+        this._processed = processed;
+        this._numProcessCalls = numProcessCalls;
+        this._failingSetName = failingSetName;
+    }
+
+    @Override
+    public void process(File root4PProject, ICapturedImageFileSet fileSet, int channel)
+            throws IOException, SampleSetBatchProcessFailure {
+        if (this._numActiveThreads.incrementAndGet() > 1) {
+            this._usedConcurrently = true;
+        }
+
+        try {
+            Thread.sleep(2);
+            this._numProcessCalls.incrementAndGet();
+            this._processed.add(fileSet.getSetName() + channel);
+
+            if (fileSet.getSetName().equals(this._failingSetName) && channel == 2) {
+                throw new SampleSetBatchProcessFailure("failed");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this._numActiveThreads.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this._closed = true;
+    }
+
+    public boolean isClosed() {
+        return this._closed;
+    }
+
+    public boolean wasUsedConcurrently() {
+        return this._usedConcurrently;
+    }
+
+}
+
+/**
+ * Sets all angles of every intensity vector to the same value.
+ */
+class BatchDummyConverter implements IIntensityToOrientationConverter {
+    private final double _angle;
+
+    public BatchDummyConverter(double angle) {
+        this._angle = angle;
+    }
+
+    @Override
+    public void convert(IntensityVector intensity, IOrientationVector orientationVector) {
+        orientationVector.setAngles(this._angle, this._angle, this._angle);
+    }
+
+    @Override
+    public void convert(IntensityVector intensity, IOrientationVector orientationVector, double[] angles) {
+        this.convert(intensity, orientationVector);
+    }
+
+    @Override
+    public void convert(double[] pol0, double[] pol45, double[] pol90, double[] pol135, float[] rho, float[] delta,
+            float[] eta) {
+        Arrays.fill(rho, (float) this._angle);
+        Arrays.fill(delta, (float) this._angle);
+        Arrays.fill(eta, (float) this._angle);
+    }
+
+}
+
+class BatchDummyFileSet implements ICapturedImageFileSet {
+    private final String _setName;
+
+    public BatchDummyFileSet(String setName) {
+        this._setName = setName;
+    }
+
+    @Override
+    public ICapturedImageFile[] getFile(String label) {
+        return null;
+    }
+
+    @Override
+    public String getSetName() {
+        return this._setName;
+    }
+
+    @Override
+    public Cameras getnCameras() {
+        return null;
+    }
+
+    @Override
+    public boolean hasLabel(String label) {
+        return false;
+    }
+
+    @Override
+    public boolean deepEquals(ICapturedImageFileSet fileset) {
+        return false;
+    }
+
+    @Override
+    public Iterator<ICapturedImageFile> getIterator() {
+        return null;
+    }
+
+    @Override
+    public int[] getChannels() {
+        return null;
+    }
+
+}
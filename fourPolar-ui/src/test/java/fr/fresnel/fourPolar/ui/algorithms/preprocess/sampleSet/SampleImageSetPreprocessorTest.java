@@ -17,6 +17,8 @@ import org.junit.jupiter.api.Test;
 
 import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.ChannelDarkBackgroundRemover;
 import fr.fresnel.fourPolar.algorithm.preprocess.darkBackground.IChannelDarkBackgroundRemover;
+import fr.fresnel.fourPolar.algorithm.preprocess.fused.ChannelFusedPreprocessor;
+import fr.fresnel.fourPolar.algorithm.preprocess.fused.IChannelFusedPreprocessor;
 import fr.fresnel.fourPolar.algorithm.preprocess.fov.FoVCalculatorByIntersectionPointFourCamera;
 import fr.fresnel.fourPolar.algorithm.preprocess.fov.FoVCalculatorByIntersectionPointOneCamera;
 import fr.fresnel.fourPolar.algorithm.preprocess.fov.FoVCalculatorByIntersectionPointTwoCamera;
@@ -182,6 +184,49 @@ public class SampleImageSetPreprocessorTest {
         assertTrue(this._allPixelsOfAllPolarizationsAreEqualToVal(processor.getPolarizationImageSet(1), 0));
     }
 
+    @Test
+    public void getPolarizationImageSet_FusedOneCameraOneChannelAllZeroImage_AllPixelsAndSoIAreZero() {
+        Cameras camera = Cameras.One;
+        int[] channel1 = { 1 };
+        IFieldOfView fov = this.createFoVOneCamera(3, 3, 1, 1);
+        IFourPolarImagingSetup imagingSetup = createFPSetup(fov, camera, 1);
+
+        SSPDummyDarkBackground background = new SSPDummyDarkBackground(1, 10, 10, 10, 10);
+        SSPDummyChannelRegistrationResult regResult = new SSPDummyChannelRegistrationResult(1, new Affine2D(),
+                new Affine2D(), new Affine2D());
+        RegistrationSetProcessResult result = new RegistrationSetProcessResult(channel1.length);
+        result.setDarkBackground(1, background);
+        result.setRegistrationResult(1, regResult);
+
+        ISampleImageSetPreprocessorBuilder builder = this._createDefaultBuilder(result, imagingSetup);
+
+        File sampleImage = new File(_root, "OneCamera/AllZeroImage.tif");
+        ICapturedImageFile[] pol0 = { new SSPDummyCapturedImageFile(channel1, sampleImage) };
+        SSPDummyCapturedImageFileSet fileSet = new SSPDummyCapturedImageFileSet();
+        fileSet.setFileSet(Cameras.getLabels(camera)[0], pol0);
+        fileSet.setCameras(camera);
+
+        FusedSampleImageSetPreprocessor processor = new FusedSampleImageSetPreprocessor(builder);
+
+        assertDoesNotThrow(() -> {
+            processor.setCapturedImageSet(fileSet);
+            processor.getPolarizationImageSet(1);
+        });
+
+        IPolarizationImageSet polSet = processor.getPolarizationImageSet(1);
+        _allPolarizationHaveDimension(polSet, new long[] { 2, 2, 1, 1, 1 });
+        assertTrue(this._allPixelsOfAllPolarizationsAreEqualToVal(polSet, 0));
+
+        boolean soiIsZero = true;
+        for (IPixelCursor<UINT16> cursor = processor.getSoIImage(1).getImage().getCursor(); cursor.hasNext();) {
+            soiIsZero &= cursor.next().value().get() == 0;
+        }
+        assertTrue(soiIsZero);
+
+        // The SoI is calculated together with the polarization image set.
+        assertTrue(processor.getSoIImage(1) == processor.getSoIImage(1));
+    }
+
     private static String _root = SampleImageSetPreprocessorTest.class.getResource("").getPath();
 
     private boolean _allPixelsOfAllPolarizationsAreEqualToVal(IPolarizationImageSet imageSet, int value) {
@@ -325,6 +370,12 @@ class SSPDummyBuilder extends ISampleImageSetPreprocessorBuilder {
         return reader;
     }
 
+    @Override
+    IChannelFusedPreprocessor getFusedPreprocessor(int channel) {
+        return ChannelFusedPreprocessor.create(result.getRegistrationResult(channel),
+                result.getDarkBackground(channel));
+    }
+
     @Override
     int getNumChannels() {
         return setup.getNumChannel();